@@ -0,0 +1,61 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+
+/**
+ * Judge backed by an {@link AsyncJudge}.
+ *
+ * <p>
+ * Juries detect the {@link AsyncJudge} side and compose its future directly instead of
+ * blocking a pool thread; callers of {@link #judge(JudgmentContext)} block until the
+ * future completes.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see Judges#fromAsync(AsyncJudge)
+ * @see Judges#fromReactive(ReactiveJudge)
+ */
+final class AsyncJudgeAdapter implements Judge, AsyncJudge {
+
+	private final AsyncJudge delegate;
+
+	AsyncJudgeAdapter(AsyncJudge delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		return judgeAsync(context).join();
+	}
+
+	@Override
+	public CompletableFuture<Judgment> judgeAsync(JudgmentContext context) {
+		try {
+			return delegate.judgeAsync(context);
+		}
+		catch (RuntimeException ex) {
+			return CompletableFuture.failedFuture(ex);
+		}
+	}
+
+}
@@ -16,8 +16,24 @@
 
 package org.springaicommunity.judge;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Judgment;
 
 /**
@@ -29,6 +45,10 @@ import org.springaicommunity.judge.result.Judgment;
  * <li>Wrapping lambda judges with metadata via {@link NamedJudge}</li>
  * <li>Creating simple pass/fail judges</li>
  * <li>Extracting metadata from judges</li>
+ * <li>Bounding judge execution time</li>
+ * <li>Adapting {@link AsyncJudge} and {@link ReactiveJudge} implementations</li>
+ * <li>Composing judges sequentially ({@link #allOf}) or concurrently
+ * ({@link #allOfParallel})</li>
  * </ul>
  * </p>
  *
@@ -127,6 +147,131 @@ public final class Judges {
 		return (judge instanceof JudgeWithMetadata jwm) ? Optional.of(jwm.metadata()) : Optional.empty();
 	}
 
+	/**
+	 * Adapt an asynchronous judge to a {@link Judge}.
+	 * <p>
+	 * The returned judge also implements {@link AsyncJudge}. Juries call
+	 * {@link AsyncJudge#judgeAsync} and compose the future directly, so a non-blocking
+	 * judge does not tie up an executor thread while its judgment is pending. Calling
+	 * {@link Judge#judge} blocks until the future completes. Wrapping the result with
+	 * {@link #named} keeps it asynchronous (see {@link #asAsync(Judge)}).
+	 * </p>
+	 * <p>
+	 * Example usage:
+	 * </p>
+	 * <pre>{@code
+	 * Jury jury = SimpleJury.builder()
+	 *     .judge(Judges.named(Judges.fromAsync(llmJudge), "Correctness", null, JudgeType.LLM_POWERED))
+	 *     .judge(buildJudge)
+	 *     .votingStrategy(new MajorityVotingStrategy())
+	 *     .build();
+	 * }</pre>
+	 * @param judge the asynchronous judge
+	 * @return judge backed by the asynchronous judge
+	 */
+	public static Judge fromAsync(AsyncJudge judge) {
+		if (judge == null) {
+			throw new IllegalArgumentException("Judge must be non-null");
+		}
+		return new AsyncJudgeAdapter(judge);
+	}
+
+	/**
+	 * Adapt a reactive judge to a {@link Judge}.
+	 * <p>
+	 * Like {@link #fromAsync(AsyncJudge)}, the returned judge also implements
+	 * {@link AsyncJudge}; the Mono is subscribed when the judge is invoked and cancelling
+	 * the future cancels the subscription. Requires reactor-core on the classpath.
+	 * </p>
+	 * @param judge the reactive judge
+	 * @return judge backed by the reactive judge
+	 */
+	public static Judge fromReactive(ReactiveJudge judge) {
+		if (judge == null) {
+			throw new IllegalArgumentException("Judge must be non-null");
+		}
+		return new AsyncJudgeAdapter(ctx -> judge.judge(ctx).toFuture());
+	}
+
+	/**
+	 * Get the asynchronous side of a judge, if it has one.
+	 * <p>
+	 * Returns the judge itself if it implements {@link AsyncJudge}, or the wrapped judge
+	 * of a {@link NamedJudge} that does. Juries use this to avoid blocking a thread on
+	 * judges created with {@link #fromAsync(AsyncJudge)} or
+	 * {@link #fromReactive(ReactiveJudge)}.
+	 * </p>
+	 * @param judge the judge to inspect
+	 * @return the asynchronous judge, or empty if the judge only supports blocking calls
+	 */
+	public static Optional<AsyncJudge> asAsync(Judge judge) {
+		Judge target = (judge instanceof NamedJudge named) ? named.delegate() : judge;
+		return (target instanceof AsyncJudge async) ? Optional.of(async) : Optional.empty();
+	}
+
+	/**
+	 * Bound how long a judge may take.
+	 * <p>
+	 * Runs the judge on {@link JudgeExecutors#virtualThreads()} and waits at most the
+	 * given timeout. If the judge has not finished by then it is cancelled (its thread
+	 * interrupted) and an ERROR judgment is returned, so voting strategies apply their
+	 * error policy. Useful for bounding the individual judges of {@link #allOf} and
+	 * {@link #anyOf}. If the calling thread is interrupted while waiting, the judge is
+	 * cancelled and the interrupt is rethrown wrapped in a {@link CompletionException},
+	 * as {@code SimpleJury} does.
+	 * </p>
+	 * <p>
+	 * Example usage:
+	 * </p>
+	 * <pre>{@code
+	 * Judge bounded = Judges.allOf(
+	 *     Judges.withTimeout(buildSucceeds, Duration.ofMinutes(5)),
+	 *     Judges.withTimeout(correctness, Duration.ofSeconds(30)));
+	 * }</pre>
+	 * @param judge the judge to bound
+	 * @param timeout maximum time the judge may take
+	 * @return judge that returns an ERROR judgment on timeout (keeping the delegate's
+	 * metadata, if any)
+	 */
+	public static Judge withTimeout(Judge judge, Duration timeout) {
+		return withTimeout(judge, timeout, JudgeExecutors.virtualThreads());
+	}
+
+	/**
+	 * Bound how long a judge may take, running it on the given executor.
+	 * @param judge the judge to bound
+	 * @param timeout maximum time the judge may take
+	 * @param executor the executor that runs the judge
+	 * @return judge that returns an ERROR judgment on timeout
+	 * @see #withTimeout(Judge, Duration)
+	 */
+	public static Judge withTimeout(Judge judge, Duration timeout, Executor executor) {
+		if (judge == null || timeout == null || executor == null) {
+			throw new IllegalArgumentException("Judge, timeout and executor must be non-null");
+		}
+		Judge bounded = ctx -> {
+			FutureTask<Judgment> task = new FutureTask<>(() -> judge.judge(ctx));
+			executor.execute(task);
+			try {
+				return task.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+			}
+			catch (TimeoutException ex) {
+				task.cancel(true);
+				return Judgment.error("Judge did not complete within " + timeout, ex);
+			}
+			catch (ExecutionException ex) {
+				throw new CompletionException(ex.getCause());
+			}
+			catch (InterruptedException ex) {
+				task.cancel(true);
+				Thread.currentThread().interrupt();
+				throw new CompletionException(ex);
+			}
+		};
+		// Keep the delegate's identity for juries and monitoring
+		return tryMetadata(judge).<Judge>map(metadata -> new NamedJudge(bounded, metadata)).orElse(bounded);
+	}
+
 	/**
 	 * Compose two judges with AND logic.
 	 * <p>
@@ -233,4 +378,145 @@ public final class Judges {
 		};
 	}
 
+	/**
+	 * Compose two judges with AND logic, running both concurrently.
+	 * <p>
+	 * Parallel counterpart of {@link #and(Judge, Judge)}; see
+	 * {@link #allOfParallel(Judge...)}.
+	 * </p>
+	 * @param first the first judge
+	 * @param second the second judge
+	 * @return composed judge with AND logic
+	 */
+	public static Judge andParallel(Judge first, Judge second) {
+		return allOfParallel(first, second);
+	}
+
+	/**
+	 * Compose two judges with OR logic, running both concurrently.
+	 * <p>
+	 * Parallel counterpart of {@link #or(Judge, Judge)}; see
+	 * {@link #anyOfParallel(Judge...)}.
+	 * </p>
+	 * @param first the first judge
+	 * @param second the second judge
+	 * @return composed judge with OR logic
+	 */
+	public static Judge orParallel(Judge first, Judge second) {
+		return anyOfParallel(first, second);
+	}
+
+	/**
+	 * Compose multiple judges with AND logic, running them concurrently.
+	 * <p>
+	 * Starts every judge on {@link JudgeExecutors#virtualThreads()} and returns the first
+	 * judgment that does not pass, as soon as it arrives; the remaining judges are
+	 * cancelled and their threads interrupted, which stops blocking work such as sandbox
+	 * processes. If all judges pass, a passing judgment is returned. The latency is that
+	 * of the slowest judge when all pass, instead of the sum of all judges as with
+	 * {@link #allOf(Judge...)}.
+	 * </p>
+	 * <p>
+	 * Unlike {@link #allOf(Judge...)}, which judgment is reported when several fail
+	 * depends on which finishes first. If a judge throws, the others are cancelled and
+	 * the exception is rethrown wrapped in a {@link CompletionException}; the same
+	 * applies when the calling thread is interrupted.
+	 * </p>
+	 * <p>
+	 * Example usage:
+	 * </p>
+	 * <pre>{@code
+	 * Judge checks = Judges.allOfParallel(buildSucceeds, testsPass, lintPasses, coverageHolds);
+	 * }</pre>
+	 * @param judges the judges to compose (varargs)
+	 * @return composed judge with AND logic
+	 */
+	public static Judge allOfParallel(Judge... judges) {
+		return allOfParallel(JudgeExecutors.virtualThreads(), judges);
+	}
+
+	/**
+	 * Compose multiple judges with AND logic, running them concurrently on the given
+	 * executor.
+	 * @param executor the executor that runs the judges
+	 * @param judges the judges to compose (varargs)
+	 * @return composed judge with AND logic
+	 * @see #allOfParallel(Judge...)
+	 */
+	public static Judge allOfParallel(Executor executor, Judge... judges) {
+		return ctx -> firstMatching(executor, judges, ctx, judgment -> !judgment.pass(),
+				() -> Judgment.pass("All checks passed"));
+	}
+
+	/**
+	 * Compose multiple judges with OR logic, running them concurrently.
+	 * <p>
+	 * Starts every judge on {@link JudgeExecutors#virtualThreads()} and returns the first
+	 * passing judgment as soon as it arrives, cancelling the remaining judges. If all
+	 * judges fail, a failing judgment is returned. See {@link #allOfParallel(Judge...)}
+	 * for cancellation and exception handling.
+	 * </p>
+	 * <p>
+	 * Example usage:
+	 * </p>
+	 * <pre>{@code
+	 * Judge fallback = Judges.anyOfParallel(checkA, checkB, checkC);
+	 * }</pre>
+	 * @param judges the judges to compose (varargs)
+	 * @return composed judge with OR logic
+	 */
+	public static Judge anyOfParallel(Judge... judges) {
+		return anyOfParallel(JudgeExecutors.virtualThreads(), judges);
+	}
+
+	/**
+	 * Compose multiple judges with OR logic, running them concurrently on the given
+	 * executor.
+	 * @param executor the executor that runs the judges
+	 * @param judges the judges to compose (varargs)
+	 * @return composed judge with OR logic
+	 * @see #anyOfParallel(Judge...)
+	 */
+	public static Judge anyOfParallel(Executor executor, Judge... judges) {
+		return ctx -> firstMatching(executor, judges, ctx, Judgment::pass, () -> Judgment.fail("All checks failed"));
+	}
+
+	/**
+	 * Run judges concurrently and return the first judgment that decides the outcome.
+	 * @param executor the executor that runs the judges
+	 * @param judges the judges to run
+	 * @param context the judgment context
+	 * @param decisive predicate selecting a judgment that decides the outcome
+	 * @param otherwise judgment returned when no judgment is decisive
+	 * @return the first decisive judgment, or the fallback
+	 */
+	private static Judgment firstMatching(Executor executor, Judge[] judges, JudgmentContext context,
+			Predicate<Judgment> decisive, Supplier<Judgment> otherwise) {
+		CompletionService<Judgment> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<Judgment>> futures = new ArrayList<>(judges.length);
+		try {
+			for (Judge judge : judges) {
+				futures.add(completionService.submit(() -> judge.judge(context)));
+			}
+			for (int i = 0; i < judges.length; i++) {
+				Judgment judgment = completionService.take().get();
+				if (decisive.test(judgment)) {
+					return judgment;
+				}
+			}
+			return otherwise.get();
+		}
+		catch (ExecutionException ex) {
+			throw new CompletionException(ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		finally {
+			// Stop the losers; a no-op for judges that already finished
+			futures.forEach(future -> future.cancel(true));
+		}
+	}
+
 }
@@ -82,6 +82,14 @@ public final class NamedJudge implements JudgeWithMetadata {
 		return this.delegate.judge(context);
 	}
 
+	/**
+	 * Get the wrapped judge.
+	 * @return the delegate judge
+	 */
+	public Judge delegate() {
+		return this.delegate;
+	}
+
 	/**
 	 * Get the metadata for this judge.
 	 * @return the judge metadata
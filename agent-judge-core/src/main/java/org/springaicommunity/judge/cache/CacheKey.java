@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Identity of a cached judgment.
+ *
+ * <p>
+ * Two judge invocations share a key when the same judge (identity and version) is
+ * applied to the same inputs (content fingerprint) and the same relevant context fields.
+ * </p>
+ *
+ * @param judgeIdentity stable identity of the judge and its configuration
+ * @param judgeVersion version of the judge's logic; bump it to invalidate old entries
+ * @param inputFingerprint content fingerprint of the inputs the judge reads
+ * @param contextDigest digest of the context fields that influence the judgment
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public record CacheKey(String judgeIdentity, String judgeVersion, String inputFingerprint, String contextDigest) {
+
+	/**
+	 * Get a compact, fixed-length representation of this key, suitable as a file or
+	 * database key.
+	 * @return hex-encoded SHA-256 of all key components
+	 */
+	public String digest() {
+		return sha256(judgeIdentity, judgeVersion, inputFingerprint, contextDigest);
+	}
+
+	/**
+	 * Hash the given values into a hex-encoded SHA-256 digest.
+	 * <p>
+	 * Values are length-prefixed so that different splits of the same characters produce
+	 * different digests.
+	 * </p>
+	 * @param values the values to hash (null is treated as empty)
+	 * @return hex-encoded digest
+	 */
+	static String sha256(String... values) {
+		MessageDigest digest = newSha256();
+		for (String value : values) {
+			byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+			digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) ':');
+			digest.update(bytes);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	static MessageDigest newSha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+/**
+ * Point-in-time statistics of a {@link JudgmentCache}.
+ *
+ * @param hitCount lookups that found a judgment
+ * @param missCount lookups that found nothing (including expired entries)
+ * @param evictionCount entries removed because of the size limit or expiry
+ * @param size entries currently held
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public record CacheStats(long hitCount, long missCount, long evictionCount, long size) {
+
+	/**
+	 * Get the fraction of lookups that were hits.
+	 * @return hit rate between 0.0 and 1.0, or 0.0 if there were no lookups
+	 */
+	public double hitRate() {
+		long lookups = hitCount + missCount;
+		return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+	}
+
+}
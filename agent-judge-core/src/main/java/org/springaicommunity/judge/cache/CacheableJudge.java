@@ -0,0 +1,93 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.context.JudgmentContext;
+
+/**
+ * Judge that declares how its judgments may be cached.
+ *
+ * <p>
+ * A judge whose result depends only on its configuration, the files it reads and a few
+ * context fields can implement this interface so that {@link CachingJudge} keys it
+ * precisely: the identity must distinguish every configuration that can produce a
+ * different judgment, and the inputs should cover exactly the files the judge reads.
+ * Only judges implementing this interface are cached by
+ * {@link CachingJudge#decorator(JudgmentCache)}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * public class ReadmeJudge extends DeterministicJudge implements CacheableJudge {
+ *
+ *     public String cacheIdentity() {
+ *         return "ReadmeJudge";
+ *     }
+ *
+ *     public InputFingerprint cacheInputs() {
+ *         return InputFingerprint.paths("README.md");
+ *     }
+ *
+ *     public String cacheContextKey(JudgmentContext context) {
+ *         return ""; // reads only README.md
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public interface CacheableJudge extends JudgeWithMetadata {
+
+	/**
+	 * Get a stable identity for this judge and its configuration.
+	 * @return identity, by default the class name, judge name and description
+	 */
+	default String cacheIdentity() {
+		return CachingJudge.defaultIdentity(this);
+	}
+
+	/**
+	 * Get the version of this judge's logic. Change it whenever the judge would produce
+	 * a different judgment for the same inputs, so that stale entries are never served.
+	 * @return version, {@code "1"} by default
+	 */
+	default String cacheVersion() {
+		return "1";
+	}
+
+	/**
+	 * Get the fingerprint of the inputs this judge reads.
+	 * @return input fingerprint, the whole workspace by default
+	 */
+	default InputFingerprint cacheInputs() {
+		return InputFingerprint.workspace();
+	}
+
+	/**
+	 * Get the key of the context fields that influence this judge's result.
+	 * @param context the judgment context
+	 * @return context key, by default covering goal, agent output, status and metadata
+	 */
+	default String cacheContextKey(JudgmentContext context) {
+		return CachingJudge.defaultContextKey(context);
+	}
+
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.NamedJudge;
+import org.springaicommunity.judge.concurrent.Interruptions;
+import org.springaicommunity.judge.concurrent.SingleFlight;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+/**
+ * Judge decorator that memoizes judgments by workspace content.
+ *
+ * <p>
+ * Each invocation is keyed by the judge's identity and version, a content fingerprint
+ * of its inputs (see {@link InputFingerprint}) and a key of the relevant
+ * {@link JudgmentContext} fields. Retries, re-scoring with another jury and candidates
+ * that converge to the same files therefore reuse earlier judgments instead of rerunning
+ * builds or file checks. Judges implementing {@link CacheableJudge} supply their own
+ * key components; builder settings override them.
+ * </p>
+ *
+ * <p>
+ * Concurrent invocations with the same key (for example the same judge in several juries
+ * voting in parallel) are coalesced: one runs the judge and the others wait for its
+ * judgment (see {@link SingleFlight}). If the running invocation is cancelled, a waiting
+ * one runs the judge instead of sharing the cancellation; judgments of interrupted runs
+ * are neither shared nor cached (see {@link Interruptions#isInterrupted(Judgment)}). By
+ * default only {@code PASS} and {@code FAIL} judgments are cached, so errors and
+ * abstentions are retried. Judgments served from the cache carry the {@value #CACHE_HIT}
+ * metadata flag. If the inputs cannot be fingerprinted the judge runs uncached.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * JudgmentCache cache = InMemoryJudgmentCache.builder()
+ *     .maximumSize(1_000)
+ *     .timeToLive(Duration.ofHours(1))
+ *     .build();
+ *
+ * Judge cached = CachingJudge.builder()
+ *     .judge(BuildSuccessJudge.maven("compile"))
+ *     .cache(cache)
+ *     .build();
+ *
+ * // Or cache every cacheable judge of an existing jury
+ * Jury cachedJury = jury.decorateJudges(CachingJudge.decorator(cache));
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see CacheableJudge
+ * @see JudgmentCache
+ */
+public final class CachingJudge implements JudgeWithMetadata {
+
+	/**
+	 * Judgment metadata key marking a judgment served from the cache.
+	 */
+	public static final String CACHE_HIT = "cacheHit";
+
+	private static final Logger logger = LoggerFactory.getLogger(CachingJudge.class);
+
+	private final JudgeWithMetadata delegate;
+
+	private final JudgmentCache cache;
+
+	private final String identity;
+
+	private final String version;
+
+	private final InputFingerprint inputs;
+
+	private final Function<JudgmentContext, String> contextKey;
+
+	private final Predicate<Judgment> cacheWhen;
+
+	private final SingleFlight<CacheKey, Judgment> inFlight = new SingleFlight<>(
+			judgment -> !Interruptions.isInterrupted(judgment));
+
+	private CachingJudge(JudgeWithMetadata delegate, JudgmentCache cache, String identity, String version,
+			InputFingerprint inputs, Function<JudgmentContext, String> contextKey, Predicate<Judgment> cacheWhen) {
+		this.delegate = delegate;
+		this.cache = cache;
+		this.identity = identity;
+		this.version = version;
+		this.inputs = inputs;
+		this.contextKey = contextKey;
+		this.cacheWhen = cacheWhen;
+	}
+
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		CacheKey key;
+		try {
+			key = new CacheKey(identity, version, inputs.fingerprint(context), contextKey.apply(context));
+		}
+		catch (UncheckedIOException ex) {
+			logger.debug("Running judge '{}' uncached: {}", delegate.metadata().name(), ex.getMessage());
+			return delegate.judge(context);
+		}
+
+		return inFlight.run(key, () -> {
+			// Checked by the leader, so a judgment cached by a leader that just finished
+			// is reused rather than judged again
+			Optional<Judgment> cached = cache.get(key);
+			if (cached.isPresent()) {
+				return markHit(cached.get());
+			}
+			Judgment judgment = delegate.judge(context);
+			if (!Interruptions.isInterrupted(judgment) && cacheWhen.test(judgment)) {
+				cache.put(key, judgment);
+			}
+			return judgment;
+		});
+	}
+
+	private static Judgment markHit(Judgment judgment) {
+		return Judgment.builder()
+			.score(judgment.score())
+			.status(judgment.status())
+			.reasoning(judgment.reasoning())
+			.checks(judgment.checks())
+			.metadata(judgment.metadata())
+			.metadata(CACHE_HIT, true)
+			.build();
+	}
+
+	@Override
+	public JudgeMetadata metadata() {
+		return delegate.metadata();
+	}
+
+	/**
+	 * Get the cached judge.
+	 * @return the underlying judge
+	 */
+	public JudgeWithMetadata delegate() {
+		return delegate;
+	}
+
+	/**
+	 * Create a decorator that caches every {@link CacheableJudge}, whether used directly
+	 * or wrapped in a {@link NamedJudge}, and leaves other judges unchanged. Intended for
+	 * {@code Jury.decorateJudges(UnaryOperator)}.
+	 * @param cache the cache to use
+	 * @return judge decorator
+	 */
+	public static UnaryOperator<Judge> decorator(JudgmentCache cache) {
+		if (cache == null) {
+			throw new IllegalArgumentException("Cache must not be null");
+		}
+		return judge -> {
+			if (judge instanceof CachingJudge || cacheable(judge) == null) {
+				return judge;
+			}
+			return builder().judge((JudgeWithMetadata) judge).cache(cache).build();
+		};
+	}
+
+	/**
+	 * Default identity of a judge: its class name, name and description.
+	 * @param judge the judge
+	 * @return identity
+	 */
+	static String defaultIdentity(JudgeWithMetadata judge) {
+		JudgeMetadata metadata = judge.metadata();
+		return judge.getClass().getName() + ":" + metadata.name() + ":" + metadata.description();
+	}
+
+	/**
+	 * Default context key: goal, agent output, execution status and metadata. The
+	 * workspace location and timing fields are excluded, since the workspace content is
+	 * covered by the input fingerprint.
+	 * @param context the judgment context
+	 * @return context key
+	 */
+	static String defaultContextKey(JudgmentContext context) {
+		return CacheKey.sha256(context.goal(), context.agentOutput().orElse(null), String.valueOf(context.status()),
+				new TreeMap<>(context.metadata()).toString());
+	}
+
+	private static CacheableJudge cacheable(Judge judge) {
+		if (judge instanceof CacheableJudge cacheable) {
+			return cacheable;
+		}
+		if (judge instanceof NamedJudge named && named.delegate() instanceof CacheableJudge cacheable) {
+			return cacheable;
+		}
+		return null;
+	}
+
+	/**
+	 * Create a new builder for CachingJudge.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for CachingJudge.
+	 */
+	public static class Builder {
+
+		private JudgeWithMetadata judge;
+
+		private JudgmentCache cache;
+
+		private String version;
+
+		private InputFingerprint inputs;
+
+		private Function<JudgmentContext, String> contextKey;
+
+		private Predicate<Judgment> cacheWhen = judgment -> judgment.status() == JudgmentStatus.PASS
+				|| judgment.status() == JudgmentStatus.FAIL;
+
+		/**
+		 * Set the judge to cache.
+		 * @param judge the judge
+		 * @return this builder
+		 */
+		public Builder judge(JudgeWithMetadata judge) {
+			this.judge = judge;
+			return this;
+		}
+
+		/**
+		 * Set the cache to store judgments in.
+		 * @param cache the cache
+		 * @return this builder
+		 */
+		public Builder cache(JudgmentCache cache) {
+			this.cache = cache;
+			return this;
+		}
+
+		/**
+		 * Override the judge version.
+		 * @param version the version
+		 * @return this builder
+		 */
+		public Builder version(String version) {
+			this.version = version;
+			return this;
+		}
+
+		/**
+		 * Override the input fingerprint.
+		 * @param inputs the input fingerprint
+		 * @return this builder
+		 */
+		public Builder inputs(InputFingerprint inputs) {
+			this.inputs = inputs;
+			return this;
+		}
+
+		/**
+		 * Override the context key.
+		 * @param contextKey function extracting the relevant context fields
+		 * @return this builder
+		 */
+		public Builder contextKey(Function<JudgmentContext, String> contextKey) {
+			this.contextKey = contextKey;
+			return this;
+		}
+
+		/**
+		 * Set which judgments may be cached (default: {@code PASS} and {@code FAIL}).
+		 * @param cacheWhen predicate selecting cacheable judgments
+		 * @return this builder
+		 */
+		public Builder cacheWhen(Predicate<Judgment> cacheWhen) {
+			if (cacheWhen == null) {
+				throw new IllegalArgumentException("cacheWhen must not be null");
+			}
+			this.cacheWhen = cacheWhen;
+			return this;
+		}
+
+		/**
+		 * Build the CachingJudge instance.
+		 * @return configured CachingJudge
+		 * @throws IllegalStateException if no judge or cache was set
+		 */
+		public CachingJudge build() {
+			if (judge == null) {
+				throw new IllegalStateException("Judge is required");
+			}
+			if (cache == null) {
+				throw new IllegalStateException("Cache is required");
+			}
+			CacheableJudge cacheable = cacheable(judge);
+			String identity = cacheable != null ? cacheable.cacheIdentity() : defaultIdentity(judge);
+			String resolvedVersion = version != null ? version : cacheable != null ? cacheable.cacheVersion() : "1";
+			InputFingerprint resolvedInputs = inputs != null ? inputs
+					: cacheable != null ? cacheable.cacheInputs() : InputFingerprint.workspace();
+			Function<JudgmentContext, String> resolvedContextKey = contextKey != null ? contextKey
+					: cacheable != null ? cacheable::cacheContextKey : CachingJudge::defaultContextKey;
+			return new CachingJudge(judge, cache, identity, resolvedVersion, resolvedInputs, resolvedContextKey,
+					cacheWhen);
+		}
+
+	}
+
+}
@@ -0,0 +1,699 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.judge.result.Judgment;
+
+/**
+ * Persistent {@link JudgmentCache} shared by every process on the same machine.
+ *
+ * <p>
+ * Judgments are appended to a log file ({@value #LOG_FILE}) in the cache directory and
+ * read through a memory mapping, which is renewed as the log grows. Each process keeps
+ * a compact in-memory index from key digest to log offset, built by scanning the log
+ * once and then extended as other processes append, so a judgment computed by one
+ * evaluator is served to the others without rerunning the judge. Readers take no
+ * locks; writers serialize on an exclusive {@link FileLock} on {@value #LOCK_FILE}.
+ * Records carry a checksum, so a record torn by a crashed writer is ignored and
+ * overwritten.
+ * </p>
+ *
+ * <p>
+ * When the log grows past the size cap, the writer compacts it: superseded and expired
+ * records are dropped, and if the live records still exceed three quarters of the cap the
+ * oldest are evicted. The compacted log atomically replaces the old one, and other
+ * processes switch to it on their next access.
+ * </p>
+ *
+ * <p>
+ * Judgments are stored as JSON. Score, status, reasoning and checks are preserved, but
+ * only scalar metadata (strings, numbers, booleans) survives; values such as the
+ * {@code elapsed} duration and the {@code error} throwable are dropped.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * try (FileJudgmentCache cache = FileJudgmentCache.builder()
+ *         .directory(Path.of(System.getProperty("user.home"), ".cache", "agent-judge"))
+ *         .maxBytes(512 * 1024 * 1024)
+ *         .timeToLive(Duration.ofDays(7))
+ *         .build()) {
+ *     Jury cached = jury.decorateJudges(CachingJudge.decorator(cache));
+ *     Verdict verdict = cached.vote(context);
+ * }
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class FileJudgmentCache implements JudgmentCache, AutoCloseable {
+
+	/**
+	 * Name of the log file in the cache directory.
+	 */
+	public static final String LOG_FILE = "judgments.log";
+
+	/**
+	 * Name of the writer lock file in the cache directory.
+	 */
+	public static final String LOCK_FILE = "judgments.lock";
+
+	private static final Logger logger = LoggerFactory.getLogger(FileJudgmentCache.class);
+
+	private static final long MAGIC = 0x414A4A55444C4F47L;
+
+	private static final int FORMAT_VERSION = 1;
+
+	// magic, format version, generation
+	private static final int HEADER_SIZE = 8 + 4 + 8;
+
+	// record length, checksum, stored-at millis, key length
+	private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 2;
+
+	private static final long REMAP_MIN_GROWTH = 1024 * 1024;
+
+	// The log may exceed the cap by one record, itself no larger than the cap
+	private static final long MAX_BYTES_LIMIT = Integer.MAX_VALUE / 2;
+
+	private final Path logPath;
+
+	private final long maxBytes;
+
+	private final Duration timeToLive;
+
+	private final Clock clock;
+
+	private final Path lockPath;
+
+	// Reopened by writers if an interrupt during locking closed it
+	private volatile FileChannel lockChannel;
+
+	// File locks are held per JVM, so instances sharing a directory share this lock
+	private static final Map<Path, ReentrantLock> WRITE_LOCKS = new ConcurrentHashMap<>();
+
+	private final ReentrantLock writeLock;
+
+	private final Object refreshLock = new Object();
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+	private volatile Log log;
+
+	private volatile boolean closed;
+
+	private FileJudgmentCache(Path directory, long maxBytes, Duration timeToLive, Clock clock) {
+		this.logPath = directory.resolve(LOG_FILE);
+		this.lockPath = directory.resolve(LOCK_FILE);
+		this.maxBytes = maxBytes;
+		this.timeToLive = timeToLive;
+		this.clock = clock;
+		this.writeLock = WRITE_LOCKS.computeIfAbsent(directory.toAbsolutePath().normalize(),
+				path -> new ReentrantLock());
+		try {
+			Files.createDirectories(directory);
+			this.lockChannel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to open judgment cache in " + directory, ex);
+		}
+		writeLocked(() -> {
+			if (Files.exists(logPath) && !Log.isValid(logPath)) {
+				logger.warn("Replacing unreadable judgment cache log {}", logPath);
+				replaceLog(List.of());
+			}
+			else if (!Files.exists(logPath)) {
+				replaceLog(List.of());
+			}
+			this.log = Log.open(logPath);
+			this.log.scan();
+			return null;
+		});
+	}
+
+	@Override
+	public Optional<Judgment> get(CacheKey key) {
+		Log current = current();
+		Entry entry = current.index.get(key.digest());
+		if (entry == null || isExpired(entry)) {
+			missCount.incrementAndGet();
+			return Optional.empty();
+		}
+		try {
+			Judgment judgment = JudgmentCodec.decode(current.payload(entry));
+			hitCount.incrementAndGet();
+			return Optional.of(judgment);
+		}
+		catch (IOException | RuntimeException ex) {
+			logger.warn("Ignoring unreadable cached judgment at offset {}: {}", entry.offset(), ex.getMessage());
+			missCount.incrementAndGet();
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public void put(CacheKey key, Judgment judgment) {
+		byte[] record = encodeRecord(key.digest(), JudgmentCodec.encode(judgment), clock.millis());
+		if (HEADER_SIZE + record.length > maxBytes) {
+			logger.debug("Not caching judgment of {} bytes, larger than the cache", record.length);
+			return;
+		}
+		writeLocked(() -> {
+			Log current = refresh();
+			long end = current.end;
+			if (current.channel.size() > end) {
+				// Torn record left by a crashed writer
+				current.channel.truncate(end);
+			}
+			ByteBuffer buffer = ByteBuffer.wrap(record);
+			long position = end;
+			while (buffer.hasRemaining()) {
+				position += current.channel.write(buffer, position);
+			}
+			current.appended(key.digest(), end, record.length, storedAt(record));
+			if (current.end > maxBytes) {
+				compactLocked(current);
+			}
+			return null;
+		});
+	}
+
+	@Override
+	public void invalidateAll() {
+		writeLocked(() -> {
+			replaceLog(List.of());
+			refresh();
+			return null;
+		});
+	}
+
+	@Override
+	public CacheStats stats() {
+		return new CacheStats(hitCount.get(), missCount.get(), evictionCount.get(), current().index.size());
+	}
+
+	/**
+	 * Rewrite the log without superseded and expired records, evicting the oldest
+	 * records if the rest exceeds three quarters of the size cap.
+	 */
+	public void compact() {
+		writeLocked(() -> {
+			compactLocked(refresh());
+			return null;
+		});
+	}
+
+	/**
+	 * Get the current size of the log file.
+	 * @return log size in bytes
+	 */
+	public long sizeInBytes() {
+		return current().end;
+	}
+
+	@Override
+	public void close() {
+		synchronized (refreshLock) {
+			closed = true;
+			try {
+				log.channel.close();
+				lockChannel.close();
+			}
+			catch (IOException ex) {
+				logger.debug("Failed to close judgment cache: {}", ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Create a new builder for FileJudgmentCache.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private boolean isExpired(Entry entry) {
+		return timeToLive != null && clock.millis() - entry.storedAt() >= timeToLive.toMillis();
+	}
+
+	/**
+	 * Get the current log, cheaply checking for appends and replacement by other
+	 * processes.
+	 */
+	private Log current() {
+		Log current = log;
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(logPath, BasicFileAttributes.class);
+			if (!closed && current.channel.isOpen() && current.matches(attributes, logPath)
+					&& attributes.size() == current.scannedSize) {
+				return current;
+			}
+		}
+		catch (IOException ex) {
+			// Replaced concurrently; refresh below reopens it
+		}
+		return refresh();
+	}
+
+	private Log refresh() {
+		synchronized (refreshLock) {
+			if (closed) {
+				throw new IllegalStateException("Judgment cache is closed");
+			}
+			try {
+				Log current = log;
+				BasicFileAttributes attributes = Files.readAttributes(logPath, BasicFileAttributes.class);
+				// An interrupted read or write closes the channel; reopen it
+				if (!current.channel.isOpen() || !current.matches(attributes, logPath)) {
+					Log reopened = Log.open(logPath);
+					reopened.scan();
+					current.channel.close();
+					log = reopened;
+					return reopened;
+				}
+				current.scan();
+				return current;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to read judgment cache " + logPath, ex);
+			}
+		}
+	}
+
+	private void compactLocked(Log current) throws IOException {
+		List<Map.Entry<String, Entry>> live = new ArrayList<>();
+		for (Map.Entry<String, Entry> entry : current.index.entrySet()) {
+			if (!isExpired(entry.getValue())) {
+				live.add(entry);
+			}
+		}
+		int expired = current.index.size() - live.size();
+		live.sort(Comparator.comparingLong(entry -> entry.getValue().storedAt()));
+		long liveBytes = live.stream().mapToLong(entry -> entry.getValue().length()).sum();
+		int evicted = 0;
+		while (!live.isEmpty() && HEADER_SIZE + liveBytes > maxBytes * 3 / 4) {
+			liveBytes -= live.remove(0).getValue().length();
+			evicted++;
+		}
+		List<byte[]> records = new ArrayList<>(live.size());
+		for (Map.Entry<String, Entry> entry : live) {
+			records.add(current.record(entry.getValue()));
+		}
+		replaceLog(records);
+		evictionCount.addAndGet(expired + evicted);
+		refresh();
+	}
+
+	/**
+	 * Atomically replace the log with a new generation holding the given records.
+	 */
+	private void replaceLog(List<byte[]> records) throws IOException {
+		Path temp = Files.createTempFile(logPath.getParent(), LOG_FILE, ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+					.putLong(MAGIC)
+					.putInt(FORMAT_VERSION)
+					.putLong(ThreadLocalRandom.current().nextLong());
+				header.flip();
+				writeFully(channel, header);
+				for (byte[] record : records) {
+					writeFully(channel, ByteBuffer.wrap(record));
+				}
+				channel.force(true);
+			}
+			Files.move(temp, logPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private <T> T writeLocked(IoAction<T> action) {
+		// Interrupting a thread blocked on a file channel closes the channel, so defer the
+		// interrupt until the update is written rather than losing the lock channel or
+		// leaving a torn record
+		boolean interrupted = Thread.interrupted();
+		writeLock.lock();
+		try (FileLock lock = lockChannel().lock()) {
+			return action.run();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to update judgment cache " + logPath, ex);
+		}
+		finally {
+			writeLock.unlock();
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Get the lock channel, reopening it if an interrupt arriving while a writer waited
+	 * for the lock closed it. Called with the write lock held.
+	 */
+	private FileChannel lockChannel() throws IOException {
+		FileChannel channel = lockChannel;
+		if (!channel.isOpen() && !closed) {
+			channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			lockChannel = channel;
+		}
+		return channel;
+	}
+
+	private static long storedAt(byte[] record) {
+		return ByteBuffer.wrap(record).getLong(8);
+	}
+
+	private static byte[] encodeRecord(String key, byte[] payload, long storedAt) {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + keyBytes.length + payload.length);
+		buffer.putInt(buffer.capacity()).putInt(0).putLong(storedAt).putShort((short) keyBytes.length);
+		buffer.put(keyBytes).put(payload);
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 8, buffer.capacity() - 8);
+		buffer.putInt(4, (int) crc.getValue());
+		return buffer.array();
+	}
+
+	@FunctionalInterface
+	private interface IoAction<T> {
+
+		T run() throws IOException;
+
+	}
+
+	/**
+	 * Location of a record in the log.
+	 */
+	private record Entry(long offset, int length, long storedAt) {
+	}
+
+	/**
+	 * One generation of the log file: its channel, mapping and index.
+	 */
+	private static final class Log {
+
+		private final FileChannel channel;
+
+		private final Object fileKey;
+
+		private final long generation;
+
+		private final Map<String, Entry> index = new ConcurrentHashMap<>();
+
+		private volatile MappedByteBuffer mapping;
+
+		private volatile long end = HEADER_SIZE;
+
+		private volatile long scannedSize = HEADER_SIZE;
+
+		private Log(FileChannel channel, Object fileKey, long generation) {
+			this.channel = channel;
+			this.fileKey = fileKey;
+			this.generation = generation;
+		}
+
+		static Log open(Path path) throws IOException {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			try {
+				Long generation = readGeneration(channel);
+				if (generation == null) {
+					throw new IOException("Not a judgment cache log: " + path);
+				}
+				Object fileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+				return new Log(channel, fileKey, generation);
+			}
+			catch (IOException | RuntimeException ex) {
+				channel.close();
+				throw ex;
+			}
+		}
+
+		static boolean isValid(Path path) throws IOException {
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				return readGeneration(channel) != null;
+			}
+		}
+
+		/**
+		 * Read the generation from a log header.
+		 * @return the generation, or null if the header is missing or invalid
+		 */
+		private static Long readGeneration(FileChannel channel) throws IOException {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+				// Keep reading until the header is complete or the file ends
+			}
+			header.flip();
+			if (header.remaining() < HEADER_SIZE || header.getLong() != MAGIC || header.getInt() != FORMAT_VERSION) {
+				return null;
+			}
+			return header.getLong();
+		}
+
+		/**
+		 * Check whether the file at the log path is still this generation.
+		 */
+		boolean matches(BasicFileAttributes attributes, Path path) throws IOException {
+			if (fileKey != null) {
+				return fileKey.equals(attributes.fileKey());
+			}
+			try (FileChannel current = FileChannel.open(path, StandardOpenOption.READ)) {
+				return Objects.equals(generation, readGeneration(current));
+			}
+		}
+
+		/**
+		 * Index records appended since the last scan, stopping at the first incomplete
+		 * or corrupt record.
+		 */
+		synchronized void scan() throws IOException {
+			long size = channel.size();
+			if (size <= scannedSize) {
+				return;
+			}
+			scanFrom(size);
+		}
+
+		/**
+		 * Index a record this process has just appended, without reading it back (the
+		 * append may have replaced a torn record of the same size).
+		 */
+		synchronized void appended(String key, long offset, int length, long storedAt) {
+			index.put(key, new Entry(offset, length, storedAt));
+			end = offset + length;
+			scannedSize = end;
+		}
+
+		private void scanFrom(long size) throws IOException {
+			remapIfGrown(size);
+			long position = end;
+			CRC32 crc = new CRC32();
+			while (position + RECORD_HEADER_SIZE <= size) {
+				ByteBuffer header = read(position, RECORD_HEADER_SIZE);
+				int length = header.getInt(0);
+				if (length < RECORD_HEADER_SIZE || position + length > size) {
+					break;
+				}
+				int keyLength = header.getShort(16);
+				if (keyLength < 0 || RECORD_HEADER_SIZE + keyLength > length) {
+					break;
+				}
+				ByteBuffer record = read(position, length);
+				crc.reset();
+				crc.update(record.slice(8, length - 8));
+				if ((int) crc.getValue() != header.getInt(4)) {
+					break;
+				}
+				byte[] key = new byte[keyLength];
+				record.get(RECORD_HEADER_SIZE, key);
+				index.put(new String(key, StandardCharsets.UTF_8), new Entry(position, length, header.getLong(8)));
+				position += length;
+			}
+			end = position;
+			scannedSize = size;
+		}
+
+		/**
+		 * Map the log again once the unmapped tail has grown past a quarter of the
+		 * mapping (and at least {@value #REMAP_MIN_GROWTH} bytes), so the number of
+		 * mappings grows logarithmically with the log instead of one per append.
+		 */
+		private void remapIfGrown(long size) throws IOException {
+			MappedByteBuffer current = mapping;
+			long mapped = current != null ? current.capacity() : 0;
+			long target = Math.min(size, Integer.MAX_VALUE);
+			if (target - mapped > Math.max(REMAP_MIN_GROWTH, mapped / 4)) {
+				mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, target);
+			}
+		}
+
+		/**
+		 * Read a region of the log, from the mapping when it covers the region and from
+		 * the channel otherwise.
+		 */
+		private ByteBuffer read(long offset, int length) throws IOException {
+			MappedByteBuffer mapped = mapping;
+			if (mapped != null && offset + length <= mapped.capacity()) {
+				return mapped.slice((int) offset, length);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(length);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, offset + buffer.position()) < 0) {
+					throw new EOFException("Judgment cache log ends inside a record at offset " + offset);
+				}
+			}
+			return buffer.flip();
+		}
+
+		byte[] record(Entry entry) throws IOException {
+			byte[] bytes = new byte[entry.length()];
+			read(entry.offset(), entry.length()).get(0, bytes);
+			return bytes;
+		}
+
+		byte[] payload(Entry entry) throws IOException {
+			ByteBuffer record = read(entry.offset(), entry.length());
+			int keyLength = record.getShort(16);
+			byte[] bytes = new byte[entry.length() - RECORD_HEADER_SIZE - keyLength];
+			record.get(RECORD_HEADER_SIZE + keyLength, bytes);
+			return bytes;
+		}
+
+	}
+
+	/**
+	 * Builder for FileJudgmentCache.
+	 */
+	public static class Builder {
+
+		private Path directory;
+
+		private long maxBytes = 256L * 1024 * 1024;
+
+		private Duration timeToLive;
+
+		private Clock clock = Clock.systemUTC();
+
+		/**
+		 * Set the cache directory, created if needed. Processes sharing a directory share
+		 * judgments.
+		 * @param directory the cache directory
+		 * @return this builder
+		 */
+		public Builder directory(Path directory) {
+			this.directory = directory;
+			return this;
+		}
+
+		/**
+		 * Set the size cap of the log file (default 256 MiB, at most 1 GiB).
+		 * @param maxBytes maximum log size in bytes
+		 * @return this builder
+		 */
+		public Builder maxBytes(long maxBytes) {
+			if (maxBytes < 4096 || maxBytes > MAX_BYTES_LIMIT) {
+				throw new IllegalArgumentException("maxBytes must be between 4 KiB and 1 GiB");
+			}
+			this.maxBytes = maxBytes;
+			return this;
+		}
+
+		/**
+		 * Expire judgments a fixed time after they were stored.
+		 * @param timeToLive time to live (null for no expiry, the default)
+		 * @return this builder
+		 */
+		public Builder timeToLive(Duration timeToLive) {
+			if (timeToLive != null && (timeToLive.isZero() || timeToLive.isNegative())) {
+				throw new IllegalArgumentException("Time to live must be positive");
+			}
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * Set the clock used for expiry (for testing).
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			if (clock == null) {
+				throw new IllegalArgumentException("Clock must not be null");
+			}
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Open the cache, creating the log if it does not exist.
+		 * @return the cache
+		 * @throws UncheckedIOException if the directory cannot be used
+		 */
+		public FileJudgmentCache build() {
+			if (directory == null) {
+				throw new IllegalStateException("Directory is required");
+			}
+			return new FileJudgmentCache(directory, maxBytes, timeToLive, clock);
+		}
+
+	}
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springaicommunity.judge.result.Judgment;
+
+/**
+ * Bounded in-memory {@link JudgmentCache} with least-recently-used eviction and optional
+ * expiry.
+ *
+ * <p>
+ * When the cache holds {@code maximumSize} entries, storing another evicts the entry used
+ * least recently. With a time-to-live, entries older than the TTL are treated as absent
+ * and removed on lookup. All operations are synchronized; they only touch the map, so
+ * contention is negligible next to the judges being cached.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * JudgmentCache cache = InMemoryJudgmentCache.builder()
+ *     .maximumSize(10_000)
+ *     .timeToLive(Duration.ofHours(12))
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public class InMemoryJudgmentCache implements JudgmentCache {
+
+	private final Map<CacheKey, Entry> entries;
+
+	private final Duration timeToLive;
+
+	private final Clock clock;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	private InMemoryJudgmentCache(int maximumSize, Duration timeToLive, Clock clock) {
+		this.timeToLive = timeToLive;
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+				if (size() > maximumSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	@Override
+	public synchronized Optional<Judgment> get(CacheKey key) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			missCount++;
+			return Optional.empty();
+		}
+		if (entry.isExpired(clock.instant())) {
+			entries.remove(key);
+			evictionCount++;
+			missCount++;
+			return Optional.empty();
+		}
+		hitCount++;
+		return Optional.of(entry.judgment());
+	}
+
+	@Override
+	public synchronized void put(CacheKey key, Judgment judgment) {
+		Instant expiresAt = timeToLive != null ? clock.instant().plus(timeToLive) : null;
+		entries.put(key, new Entry(judgment, expiresAt));
+	}
+
+	@Override
+	public synchronized void invalidateAll() {
+		entries.clear();
+	}
+
+	@Override
+	public synchronized CacheStats stats() {
+		return new CacheStats(hitCount, missCount, evictionCount, entries.size());
+	}
+
+	/**
+	 * Create a new builder for InMemoryJudgmentCache.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private record Entry(Judgment judgment, Instant expiresAt) {
+
+		boolean isExpired(Instant now) {
+			return expiresAt != null && !now.isBefore(expiresAt);
+		}
+
+	}
+
+	/**
+	 * Builder for InMemoryJudgmentCache.
+	 */
+	public static class Builder {
+
+		private int maximumSize = 1_000;
+
+		private Duration timeToLive;
+
+		private Clock clock = Clock.systemUTC();
+
+		/**
+		 * Set the maximum number of cached judgments (default 1000).
+		 * @param maximumSize maximum entries
+		 * @return this builder
+		 */
+		public Builder maximumSize(int maximumSize) {
+			if (maximumSize < 1) {
+				throw new IllegalArgumentException("maximumSize must be at least 1");
+			}
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/**
+		 * Expire judgments a fixed time after they were stored.
+		 * @param timeToLive time to live (null for no expiry, the default)
+		 * @return this builder
+		 */
+		public Builder timeToLive(Duration timeToLive) {
+			if (timeToLive != null && (timeToLive.isZero() || timeToLive.isNegative())) {
+				throw new IllegalArgumentException("Time to live must be positive");
+			}
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * Set the clock used for expiry (for testing).
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			if (clock == null) {
+				throw new IllegalArgumentException("Clock must not be null");
+			}
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Build the InMemoryJudgmentCache instance.
+		 * @return configured cache
+		 */
+		public InMemoryJudgmentCache build() {
+			return new InMemoryJudgmentCache(maximumSize, timeToLive, clock);
+		}
+
+	}
+
+}
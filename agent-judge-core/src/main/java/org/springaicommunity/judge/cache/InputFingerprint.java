@@ -0,0 +1,135 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.fingerprint.WorkspaceFingerprinter;
+
+/**
+ * Content fingerprint of the inputs a judge reads.
+ *
+ * <p>
+ * Fingerprints depend only on file contents and workspace-relative paths, never on the
+ * workspace location or timestamps, so two candidate workspaces that converge to the
+ * same files produce the same fingerprint. Hashing is delegated to a
+ * {@link WorkspaceFingerprinter}, which only rehashes files that changed since the last
+ * fingerprint of the same directory.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * // Whole workspace, excluding build output and VCS metadata
+ * InputFingerprint all = InputFingerprint.workspace();
+ *
+ * // Only the files a judge actually reads
+ * InputFingerprint classes = InputFingerprint.paths("target/classes");
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see CachingJudge
+ */
+@FunctionalInterface
+public interface InputFingerprint {
+
+	/**
+	 * Fingerprint used when the context has no workspace.
+	 */
+	String NO_WORKSPACE = "none";
+
+	/**
+	 * Compute the fingerprint of the inputs in the given context.
+	 * @param context the judgment context
+	 * @return the fingerprint
+	 * @throws UncheckedIOException if the inputs cannot be read
+	 */
+	String fingerprint(JudgmentContext context);
+
+	/**
+	 * Fingerprint the whole workspace with the
+	 * {@linkplain WorkspaceFingerprinter#getDefault() default fingerprinter}, skipping
+	 * {@code target/} and {@code .git/} directories at any depth.
+	 * @return workspace fingerprint
+	 */
+	static InputFingerprint workspace() {
+		return workspace(WorkspaceFingerprinter.getDefault());
+	}
+
+	/**
+	 * Fingerprint the whole workspace with the given fingerprinter.
+	 * @param fingerprinter the fingerprinter, which defines the ignore rules
+	 * @return workspace fingerprint
+	 */
+	static InputFingerprint workspace(WorkspaceFingerprinter fingerprinter) {
+		return context -> {
+			if (context.workspace() == null) {
+				return NO_WORKSPACE;
+			}
+			return fingerprinter.fingerprint(context.workspace()).hash();
+		};
+	}
+
+	/**
+	 * Fingerprint only the given workspace-relative files or directories with the
+	 * {@linkplain WorkspaceFingerprinter#getDefault() default fingerprinter}. A declared
+	 * directory is hashed even if it is normally ignored (such as
+	 * {@code target/classes}); ignore rules apply below it. Missing paths are part of the
+	 * fingerprint.
+	 * @param relativePaths the paths the judge reads
+	 * @return fingerprint of the declared paths
+	 */
+	static InputFingerprint paths(String... relativePaths) {
+		return paths(WorkspaceFingerprinter.getDefault(), relativePaths);
+	}
+
+	/**
+	 * Fingerprint only the given workspace-relative files or directories with the given
+	 * fingerprinter.
+	 * @param fingerprinter the fingerprinter
+	 * @param relativePaths the paths the judge reads
+	 * @return fingerprint of the declared paths
+	 */
+	static InputFingerprint paths(WorkspaceFingerprinter fingerprinter, String... relativePaths) {
+		List<String> declared = List.of(relativePaths);
+		return context -> {
+			if (context.workspace() == null) {
+				return NO_WORKSPACE;
+			}
+			List<String> parts = new ArrayList<>();
+			for (String relativePath : declared) {
+				parts.add(relativePath);
+				parts.add(fingerprinter.hash(context.workspace().resolve(relativePath)).orElse("missing"));
+			}
+			return CacheKey.sha256(parts.toArray(String[]::new));
+		};
+	}
+
+	/**
+	 * Fingerprint nothing, for judges whose result depends only on context fields.
+	 * @return constant fingerprint
+	 */
+	static InputFingerprint none() {
+		return context -> NO_WORKSPACE;
+	}
+
+}
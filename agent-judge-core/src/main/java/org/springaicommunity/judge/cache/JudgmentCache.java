@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import java.util.Optional;
+
+import org.springaicommunity.judge.result.Judgment;
+
+/**
+ * Store of judgments keyed by {@link CacheKey}.
+ *
+ * <p>
+ * Implementations must be safe for concurrent use, since a jury runs its judges in
+ * parallel. Used by {@link CachingJudge}.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see InMemoryJudgmentCache
+ */
+public interface JudgmentCache {
+
+	/**
+	 * Look up a judgment.
+	 * @param key the cache key
+	 * @return the cached judgment, or empty if absent or expired
+	 */
+	Optional<Judgment> get(CacheKey key);
+
+	/**
+	 * Store a judgment, replacing any previous judgment for the key.
+	 * @param key the cache key
+	 * @param judgment the judgment to store
+	 */
+	void put(CacheKey key, Judgment judgment);
+
+	/**
+	 * Remove all judgments.
+	 */
+	void invalidateAll();
+
+	/**
+	 * Get current statistics.
+	 * @return cache statistics
+	 */
+	CacheStats stats();
+
+}
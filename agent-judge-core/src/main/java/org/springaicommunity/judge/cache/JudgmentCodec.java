@@ -0,0 +1,173 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springaicommunity.judge.result.Check;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.BooleanScore;
+import org.springaicommunity.judge.score.CategoricalScore;
+import org.springaicommunity.judge.score.NumericalScore;
+import org.springaicommunity.judge.score.Score;
+
+/**
+ * JSON encoding of judgments for persistent caches.
+ *
+ * <p>
+ * Score, status, reasoning and checks are encoded in full. Only scalar metadata
+ * (strings, numbers, booleans and enums, the latter as their names) is kept; values such
+ * as the {@code elapsed} duration or the {@code error} throwable do not survive a round
+ * trip.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+final class JudgmentCodec {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private JudgmentCodec() {
+	}
+
+	static byte[] encode(Judgment judgment) {
+		ObjectNode root = MAPPER.createObjectNode();
+		root.put("status", judgment.status().name());
+		root.put("reasoning", judgment.reasoning());
+		if (judgment.score() != null) {
+			root.set("score", encodeScore(judgment.score()));
+		}
+		ArrayNode checks = root.putArray("checks");
+		for (Check check : judgment.checks()) {
+			checks.addObject().put("name", check.name()).put("passed", check.passed()).put("message", check.message());
+		}
+		ObjectNode metadata = root.putObject("metadata");
+		judgment.metadata().forEach((key, value) -> {
+			if (value instanceof String string) {
+				metadata.put(key, string);
+			}
+			else if (value instanceof Boolean bool) {
+				metadata.put(key, bool);
+			}
+			else if (value instanceof Integer number) {
+				metadata.put(key, number);
+			}
+			else if (value instanceof Long number) {
+				metadata.put(key, number);
+			}
+			else if (value instanceof Number number) {
+				metadata.put(key, number.doubleValue());
+			}
+			else if (value instanceof Enum<?> constant) {
+				metadata.put(key, constant.name());
+			}
+		});
+		try {
+			return MAPPER.writeValueAsBytes(root);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	static Judgment decode(byte[] bytes) {
+		JsonNode root;
+		try {
+			root = MAPPER.readTree(bytes);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		Judgment.Builder builder = Judgment.builder()
+			.status(JudgmentStatus.valueOf(root.path("status").asText()))
+			.reasoning(root.path("reasoning").isNull() ? null : root.path("reasoning").asText());
+		if (root.hasNonNull("score")) {
+			builder.score(decodeScore(root.get("score")));
+		}
+		List<Check> checks = new ArrayList<>();
+		for (JsonNode check : root.path("checks")) {
+			checks.add(new Check(check.path("name").asText(), check.path("passed").asBoolean(),
+					check.path("message").isNull() ? null : check.path("message").asText()));
+		}
+		builder.checks(checks);
+		for (Map.Entry<String, JsonNode> field : iterable(root.path("metadata"))) {
+			JsonNode value = field.getValue();
+			if (value.isTextual()) {
+				builder.metadata(field.getKey(), value.asText());
+			}
+			else if (value.isBoolean()) {
+				builder.metadata(field.getKey(), value.asBoolean());
+			}
+			else if (value.isInt()) {
+				builder.metadata(field.getKey(), value.intValue());
+			}
+			else if (value.isLong()) {
+				builder.metadata(field.getKey(), value.longValue());
+			}
+			else if (value.isNumber()) {
+				builder.metadata(field.getKey(), value.doubleValue());
+			}
+		}
+		return builder.build();
+	}
+
+	private static ObjectNode encodeScore(Score score) {
+		ObjectNode node = MAPPER.createObjectNode();
+		node.put("type", score.type().name());
+		if (score instanceof BooleanScore bool) {
+			node.put("value", bool.value());
+		}
+		else if (score instanceof NumericalScore numerical) {
+			node.put("value", numerical.value()).put("min", numerical.min()).put("max", numerical.max());
+		}
+		else if (score instanceof CategoricalScore categorical) {
+			node.put("value", categorical.value());
+			ArrayNode allowed = node.putArray("allowedValues");
+			categorical.allowedValues().forEach(allowed::add);
+		}
+		return node;
+	}
+
+	private static Score decodeScore(JsonNode node) {
+		return switch (node.path("type").asText()) {
+			case "BOOLEAN" -> new BooleanScore(node.path("value").asBoolean());
+			case "NUMERICAL" -> new NumericalScore(node.path("value").asDouble(), node.path("min").asDouble(),
+					node.path("max").asDouble());
+			case "CATEGORICAL" -> {
+				List<String> allowed = new ArrayList<>();
+				node.path("allowedValues").forEach(value -> allowed.add(value.asText()));
+				yield new CategoricalScore(node.path("value").asText(), allowed);
+			}
+			default -> throw new IllegalArgumentException("Unknown score type: " + node.path("type").asText());
+		};
+	}
+
+	private static Iterable<Map.Entry<String, JsonNode>> iterable(JsonNode node) {
+		return node::fields;
+	}
+
+}
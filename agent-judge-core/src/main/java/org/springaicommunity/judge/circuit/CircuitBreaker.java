@@ -0,0 +1,354 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.circuit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker shared by the judges that depend on one failing resource.
+ *
+ * <p>
+ * When a model endpoint or a local build tool is broken, every judge that needs it keeps
+ * trying and fails slowly, in every verdict. A circuit breaker counts the outcomes of
+ * those judges (see {@link CircuitBreakerJudge}) and opens the circuit after
+ * {@code failureThreshold} consecutive failures, or once the failure rate of the last
+ * {@code windowSize} calls reaches {@code failureRateThreshold} (after at least
+ * {@code minimumCalls}). While the circuit is open, judges return an ERROR judgment at
+ * once. After {@code openDuration} the circuit is half open: a single probe call goes
+ * through, and its outcome closes the circuit or opens it again.
+ * </p>
+ *
+ * <p>
+ * Share one breaker per resource, for example one for all judges calling a model
+ * provider and another for all judges running Maven.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * CircuitBreaker modelEndpoint = CircuitBreaker.builder()
+ *     .name("openai")
+ *     .failureThreshold(5)
+ *     .openDuration(Duration.ofMinutes(1))
+ *     .build();
+ *
+ * Judge correctness = CircuitBreakerJudge.builder()
+ *     .judge(new CorrectnessJudge(chatClientBuilder))
+ *     .circuitBreaker(modelEndpoint)
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class CircuitBreaker {
+
+	private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+	private final String name;
+
+	private final int failureThreshold;
+
+	private final double failureRateThreshold;
+
+	private final int minimumCalls;
+
+	private final Duration openDuration;
+
+	private final Clock clock;
+
+	private final boolean[] window;
+
+	private CircuitState state = CircuitState.CLOSED;
+
+	private int windowCount;
+
+	private int windowFailures;
+
+	private int windowNext;
+
+	private int consecutiveFailures;
+
+	private Instant openedAt;
+
+	private boolean probing;
+
+	private CircuitBreaker(Builder builder) {
+		this.name = builder.name;
+		this.failureThreshold = builder.failureThreshold;
+		this.failureRateThreshold = builder.failureRateThreshold;
+		this.minimumCalls = builder.minimumCalls;
+		this.openDuration = builder.openDuration;
+		this.clock = builder.clock;
+		this.window = new boolean[builder.windowSize];
+	}
+
+	/**
+	 * Get the name of the guarded resource.
+	 * @return name
+	 */
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Get the current state. An open circuit whose open duration has passed is reported
+	 * as half open.
+	 * @return circuit state
+	 */
+	public synchronized CircuitState state() {
+		if (state == CircuitState.OPEN && !clock.instant().isBefore(retryAt())) {
+			return CircuitState.HALF_OPEN;
+		}
+		return state;
+	}
+
+	/**
+	 * Get when an open circuit lets a probe call through.
+	 * @return retry instant, or null if the circuit is closed
+	 */
+	public synchronized Instant retryAt() {
+		return openedAt != null ? openedAt.plus(openDuration) : null;
+	}
+
+	/**
+	 * Create a new builder for CircuitBreaker.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Ask to make a call.
+	 * @return {@link CircuitState#CLOSED} for a normal call,
+	 * {@link CircuitState#HALF_OPEN} for a probe call, or {@link CircuitState#OPEN} if
+	 * the call is refused
+	 */
+	synchronized CircuitState acquire() {
+		if (state == CircuitState.CLOSED) {
+			return CircuitState.CLOSED;
+		}
+		if (probing || clock.instant().isBefore(retryAt())) {
+			return CircuitState.OPEN;
+		}
+		state = CircuitState.HALF_OPEN;
+		probing = true;
+		return CircuitState.HALF_OPEN;
+	}
+
+	/**
+	 * Give back a permit without recording an outcome, for a call that was cancelled.
+	 * A cancelled probe lets the next call probe instead.
+	 * @param permit the state returned by {@link #acquire()} for the call
+	 */
+	synchronized void release(CircuitState permit) {
+		if (permit == CircuitState.HALF_OPEN) {
+			probing = false;
+		}
+	}
+
+	/**
+	 * Record the outcome of a call.
+	 * @param permit the state returned by {@link #acquire()} for the call
+	 * @param failed whether the call failed
+	 */
+	synchronized void record(CircuitState permit, boolean failed) {
+		if (permit == CircuitState.HALF_OPEN) {
+			probing = false;
+			if (failed) {
+				open("probe call failed");
+			}
+			else {
+				close();
+			}
+			return;
+		}
+		if (permit != CircuitState.CLOSED || state != CircuitState.CLOSED) {
+			// Calls admitted before the circuit opened do not change it
+			return;
+		}
+		if (windowCount == window.length) {
+			windowFailures -= window[windowNext] ? 1 : 0;
+		}
+		else {
+			windowCount++;
+		}
+		window[windowNext] = failed;
+		windowFailures += failed ? 1 : 0;
+		windowNext = (windowNext + 1) % window.length;
+		consecutiveFailures = failed ? consecutiveFailures + 1 : 0;
+
+		if (consecutiveFailures >= failureThreshold) {
+			open(consecutiveFailures + " consecutive failures");
+		}
+		else if (windowCount >= minimumCalls && windowFailures >= failureRateThreshold * windowCount) {
+			open(windowFailures + " of the last " + windowCount + " calls failed");
+		}
+	}
+
+	private void open(String reason) {
+		state = CircuitState.OPEN;
+		openedAt = clock.instant();
+		logger.warn("Circuit '{}' opened: {}; retrying after {}", name, reason, openDuration);
+	}
+
+	private void close() {
+		state = CircuitState.CLOSED;
+		openedAt = null;
+		windowCount = 0;
+		windowFailures = 0;
+		windowNext = 0;
+		consecutiveFailures = 0;
+		logger.info("Circuit '{}' closed", name);
+	}
+
+	/**
+	 * Builder for CircuitBreaker.
+	 */
+	public static final class Builder {
+
+		private String name = "default";
+
+		private int failureThreshold = 5;
+
+		private double failureRateThreshold = 0.5;
+
+		private int windowSize = 20;
+
+		private int minimumCalls = 10;
+
+		private Duration openDuration = Duration.ofSeconds(30);
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the name of the guarded resource, used in judgments and logs.
+		 * @param name the name
+		 * @return this builder
+		 */
+		public Builder name(String name) {
+			if (name == null || name.isBlank()) {
+				throw new IllegalArgumentException("name must not be blank");
+			}
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Set the number of consecutive failures that opens the circuit (default 5).
+		 * @param failureThreshold consecutive failures
+		 * @return this builder
+		 */
+		public Builder failureThreshold(int failureThreshold) {
+			if (failureThreshold < 1) {
+				throw new IllegalArgumentException("failureThreshold must be at least 1");
+			}
+			this.failureThreshold = failureThreshold;
+			return this;
+		}
+
+		/**
+		 * Set the failure rate of recent calls that opens the circuit (default 0.5).
+		 * @param failureRateThreshold failure rate between 0 exclusive and 1
+		 * @return this builder
+		 */
+		public Builder failureRateThreshold(double failureRateThreshold) {
+			if (!(failureRateThreshold > 0 && failureRateThreshold <= 1)) {
+				throw new IllegalArgumentException("failureRateThreshold must be greater than 0 and at most 1");
+			}
+			this.failureRateThreshold = failureRateThreshold;
+			return this;
+		}
+
+		/**
+		 * Set the number of recent calls the failure rate is computed over (default 20).
+		 * @param windowSize window size
+		 * @return this builder
+		 */
+		public Builder windowSize(int windowSize) {
+			if (windowSize < 1) {
+				throw new IllegalArgumentException("windowSize must be at least 1");
+			}
+			this.windowSize = windowSize;
+			return this;
+		}
+
+		/**
+		 * Set the number of calls needed before the failure rate can open the circuit
+		 * (default 10).
+		 * @param minimumCalls minimum calls
+		 * @return this builder
+		 */
+		public Builder minimumCalls(int minimumCalls) {
+			if (minimumCalls < 1) {
+				throw new IllegalArgumentException("minimumCalls must be at least 1");
+			}
+			this.minimumCalls = minimumCalls;
+			return this;
+		}
+
+		/**
+		 * Set how long the circuit stays open before a probe call (default 30 seconds).
+		 * @param openDuration open duration
+		 * @return this builder
+		 */
+		public Builder openDuration(Duration openDuration) {
+			if (openDuration == null || openDuration.isNegative()) {
+				throw new IllegalArgumentException("openDuration must not be null or negative");
+			}
+			this.openDuration = openDuration;
+			return this;
+		}
+
+		/**
+		 * Set the clock used for the open duration (for testing).
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			if (clock == null) {
+				throw new IllegalArgumentException("Clock must not be null");
+			}
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Build the CircuitBreaker instance.
+		 * @return configured circuit breaker
+		 * @throws IllegalStateException if minimumCalls exceeds windowSize
+		 */
+		public CircuitBreaker build() {
+			if (minimumCalls > windowSize) {
+				throw new IllegalStateException("minimumCalls must not exceed windowSize");
+			}
+			return new CircuitBreaker(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.circuit;
+
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.concurrent.Interruptions;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+/**
+ * Judge decorator that stops calling a judge while its {@link CircuitBreaker} is open.
+ *
+ * <p>
+ * Each judgment of the delegate is recorded as a success or a failure; by default only
+ * ERROR judgments and exceptions are failures, since a FAIL verdict means the judge
+ * worked. Calls cancelled by the caller (see {@link Interruptions}) are not recorded.
+ * While the circuit is open the delegate is not called and an ERROR judgment is returned
+ * at once, so voting strategies apply their error policy: with
+ * {@code new MajorityVotingStrategy(TiePolicy.ABSTAIN, ErrorPolicy.TREAT_AS_ABSTAIN)} a
+ * broken resource leaves the verdict to the other judges instead of failing it.
+ * </p>
+ *
+ * <p>
+ * Every judgment carries the circuit state after the call under {@value #CIRCUIT_STATE}
+ * and the breaker name under {@value #CIRCUIT_NAME}.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * CircuitBreaker maven = CircuitBreaker.builder().name("maven").build();
+ *
+ * Judge build = CircuitBreakerJudge.builder()
+ *     .judge(BuildSuccessJudge.maven("compile"))
+ *     .circuitBreaker(maven)
+ *     .failureWhen(CommandJudge::isExecutionFailure)
+ *     .build();
+ *
+ * // Or guard every LLM judge of an existing jury with one breaker
+ * Jury guarded = jury.decorateJudges(CircuitBreakerJudge.decorator(modelEndpoint,
+ *     judge -> Judges.tryMetadata(judge).map(m -> m.type() == JudgeType.LLM_POWERED).orElse(false)));
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see CircuitBreaker
+ */
+public final class CircuitBreakerJudge implements JudgeWithMetadata {
+
+	/**
+	 * Judgment metadata key for the {@link CircuitState} after the call.
+	 */
+	public static final String CIRCUIT_STATE = "circuitState";
+
+	/**
+	 * Judgment metadata key for the name of the circuit breaker.
+	 */
+	public static final String CIRCUIT_NAME = "circuitName";
+
+	private final Judge delegate;
+
+	private final JudgeMetadata metadata;
+
+	private final CircuitBreaker circuitBreaker;
+
+	private final Predicate<Judgment> failureWhen;
+
+	private CircuitBreakerJudge(Builder builder) {
+		this.delegate = builder.judge;
+		this.metadata = Judges.tryMetadata(builder.judge)
+			.orElseGet(() -> new JudgeMetadata("CircuitBreaker", "Judge guarded by a circuit breaker",
+					JudgeType.DETERMINISTIC));
+		this.circuitBreaker = builder.circuitBreaker;
+		this.failureWhen = builder.failureWhen;
+	}
+
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		CircuitState permit = circuitBreaker.acquire();
+		if (permit == CircuitState.OPEN) {
+			return withState(Judgment.error("Circuit '" + circuitBreaker.name() + "' is open; not calling "
+					+ metadata.name() + " until " + circuitBreaker.retryAt(), null));
+		}
+		Judgment judgment;
+		try {
+			judgment = delegate.judge(context);
+		}
+		catch (RuntimeException | Error ex) {
+			if (Interruptions.isInterruption(ex)) {
+				// Cancelled by the caller; says nothing about the guarded resource
+				circuitBreaker.release(permit);
+			}
+			else {
+				circuitBreaker.record(permit, true);
+			}
+			throw ex;
+		}
+		if (Interruptions.isInterrupted(judgment)) {
+			circuitBreaker.release(permit);
+		}
+		else {
+			circuitBreaker.record(permit, failureWhen.test(judgment));
+		}
+		return withState(judgment);
+	}
+
+	private Judgment withState(Judgment judgment) {
+		return Judgment.builder()
+			.score(judgment.score())
+			.status(judgment.status())
+			.reasoning(judgment.reasoning())
+			.checks(judgment.checks())
+			.metadata(judgment.metadata())
+			.metadata(CIRCUIT_NAME, circuitBreaker.name())
+			.metadata(CIRCUIT_STATE, circuitBreaker.state().name())
+			.build();
+	}
+
+	@Override
+	public JudgeMetadata metadata() {
+		return metadata;
+	}
+
+	/**
+	 * Get the guarded judge.
+	 * @return the underlying judge
+	 */
+	public Judge delegate() {
+		return delegate;
+	}
+
+	/**
+	 * Create a decorator that guards the selected judges with one circuit breaker and
+	 * leaves other judges unchanged. Intended for
+	 * {@code Jury.decorateJudges(UnaryOperator)}.
+	 * @param circuitBreaker the circuit breaker to share
+	 * @param select predicate selecting the judges to guard
+	 * @return judge decorator
+	 */
+	public static UnaryOperator<Judge> decorator(CircuitBreaker circuitBreaker, Predicate<Judge> select) {
+		if (circuitBreaker == null || select == null) {
+			throw new IllegalArgumentException("Circuit breaker and select must not be null");
+		}
+		return judge -> {
+			if (judge instanceof CircuitBreakerJudge || !select.test(judge)) {
+				return judge;
+			}
+			return builder().judge(judge).circuitBreaker(circuitBreaker).build();
+		};
+	}
+
+	/**
+	 * Create a new builder for CircuitBreakerJudge.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for CircuitBreakerJudge.
+	 */
+	public static class Builder {
+
+		private Judge judge;
+
+		private CircuitBreaker circuitBreaker;
+
+		private Predicate<Judgment> failureWhen = judgment -> judgment.status() == JudgmentStatus.ERROR;
+
+		/**
+		 * Set the judge to guard.
+		 * @param judge the judge
+		 * @return this builder
+		 */
+		public Builder judge(Judge judge) {
+			this.judge = judge;
+			return this;
+		}
+
+		/**
+		 * Set the circuit breaker, possibly shared with other judges using the same
+		 * resource.
+		 * @param circuitBreaker the circuit breaker
+		 * @return this builder
+		 */
+		public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+			this.circuitBreaker = circuitBreaker;
+			return this;
+		}
+
+		/**
+		 * Set which judgments count as failures of the resource (default: ERROR
+		 * judgments). Exceptions always count as failures.
+		 * @param failureWhen predicate selecting failed judgments
+		 * @return this builder
+		 */
+		public Builder failureWhen(Predicate<Judgment> failureWhen) {
+			if (failureWhen == null) {
+				throw new IllegalArgumentException("failureWhen must not be null");
+			}
+			this.failureWhen = failureWhen;
+			return this;
+		}
+
+		/**
+		 * Build the CircuitBreakerJudge instance.
+		 * @return configured CircuitBreakerJudge
+		 * @throws IllegalStateException if no judge or circuit breaker was set
+		 */
+		public CircuitBreakerJudge build() {
+			if (judge == null) {
+				throw new IllegalStateException("Judge is required");
+			}
+			if (circuitBreaker == null) {
+				throw new IllegalStateException("Circuit breaker is required");
+			}
+			return new CircuitBreakerJudge(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.circuit;
+
+/**
+ * State of a {@link CircuitBreaker}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public enum CircuitState {
+
+	/**
+	 * Calls go through and their outcomes are counted.
+	 */
+	CLOSED,
+
+	/**
+	 * Calls are refused with an ERROR judgment until the open duration has passed.
+	 */
+	OPEN,
+
+	/**
+	 * One probe call goes through; its outcome closes or reopens the circuit.
+	 */
+	HALF_OPEN
+
+}
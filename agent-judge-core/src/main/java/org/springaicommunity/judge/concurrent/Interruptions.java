@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.concurrent;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.CancellationException;
+
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+/**
+ * Helpers for telling cancellation apart from genuine judge failures.
+ *
+ * <p>
+ * Juries cancel judges that can no longer change the verdict, for example when voting
+ * short-circuits or a deadline passes. A cancelled judge usually surfaces as an
+ * exception wrapping {@link InterruptedException}, or as an I/O exception from an HTTP
+ * client whose thread was interrupted. Such a failure says nothing about the judge or the
+ * service it calls, so it must not be shared with other callers, counted against a
+ * circuit breaker or retried.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * catch (RuntimeException ex) {
+ *     if (Interruptions.isInterruption(ex)) {
+ *         throw ex; // cancelled by the caller, not a failure of the service
+ *     }
+ *     recordFailure(ex);
+ * }
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class Interruptions {
+
+	/**
+	 * Judgment metadata key marking a judgment of a run that was cut short by
+	 * interruption.
+	 */
+	public static final String INTERRUPTED = "interrupted";
+
+	private Interruptions() {
+		// Utility class - no instantiation
+	}
+
+	/**
+	 * Check whether a failure was caused by interruption or cancellation, or happened on
+	 * a thread that has been interrupted.
+	 * @param failure the failure, may be null
+	 * @return true if the current thread is interrupted or the cause chain contains an
+	 * {@link InterruptedException}, an {@link InterruptedIOException} other than a socket
+	 * timeout, a {@link ClosedByInterruptException} or a {@link CancellationException}
+	 */
+	public static boolean isInterruption(Throwable failure) {
+		if (Thread.currentThread().isInterrupted()) {
+			return true;
+		}
+		for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+			if (cause instanceof InterruptedException || cause instanceof ClosedByInterruptException
+					|| cause instanceof CancellationException) {
+				return true;
+			}
+			// SocketTimeoutException is an InterruptedIOException but a genuine timeout
+			if (cause instanceof InterruptedIOException && !(cause instanceof SocketTimeoutException)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Check whether a judgment only reports that its run was cancelled, so it must not
+	 * be cached or shared with other callers.
+	 * @param judgment the judgment
+	 * @return true if the current thread is interrupted, the judgment carries the
+	 * {@value #INTERRUPTED} metadata flag, or it is an {@code ERROR} judgment caused by
+	 * an interruption
+	 */
+	public static boolean isInterrupted(Judgment judgment) {
+		if (Boolean.TRUE.equals(judgment.metadata().get(INTERRUPTED))) {
+			return true;
+		}
+		return judgment.status() == JudgmentStatus.ERROR ? isInterruption(judgment.error())
+				: Thread.currentThread().isInterrupted();
+	}
+
+}
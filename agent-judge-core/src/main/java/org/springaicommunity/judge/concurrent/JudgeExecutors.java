@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executors suited to running judges that block.
+ *
+ * <p>
+ * Most judges block: {@code LLMJudge} waits on an HTTP call and {@code CommandJudge}
+ * waits on a child process. Running them on {@code ForkJoinPool.commonPool()} starves
+ * the pool and stalls unrelated parallel-stream code in the same JVM. The executor
+ * returned by {@link #virtualThreads()} gives every judge its own thread instead.
+ * </p>
+ *
+ * <p>
+ * On Java 21 and later the executor starts one virtual thread per judge. The project
+ * baseline is Java 17, so the virtual-thread factory is looked up at runtime; on older
+ * runtimes a cached pool of daemon platform threads is used instead. Both variants are
+ * unbounded, so bound concurrency at the jury level when calling rate-limited services.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * Jury jury = SimpleJury.builder()
+ *     .judge(correctnessJudge)
+ *     .judge(buildJudge)
+ *     .votingStrategy(new MajorityVotingStrategy())
+ *     .executor(JudgeExecutors.virtualThreads())
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class JudgeExecutors {
+
+	private static final Logger logger = LoggerFactory.getLogger(JudgeExecutors.class);
+
+	private JudgeExecutors() {
+		// Utility class - no instantiation
+	}
+
+	/**
+	 * Get the shared executor that runs each judge on its own (virtual, when available)
+	 * thread.
+	 * <p>
+	 * The executor is shared and must not be shut down by callers.
+	 * </p>
+	 * @return shared thread-per-task executor
+	 */
+	public static ExecutorService virtualThreads() {
+		return VirtualThreadsHolder.EXECUTOR;
+	}
+
+	/**
+	 * Check whether {@link #virtualThreads()} is backed by virtual threads.
+	 * @return true when running on a Java runtime with virtual thread support
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VirtualThreadsHolder.VIRTUAL;
+	}
+
+	/**
+	 * Create a thread factory producing named daemon threads.
+	 * @param prefix thread name prefix
+	 * @return daemon thread factory
+	 */
+	public static ThreadFactory daemonThreadFactory(String prefix) {
+		AtomicInteger counter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Lazily initialized holder so the reflective lookup only happens on first use.
+	 */
+	private static final class VirtualThreadsHolder {
+
+		private static final ExecutorService VIRTUAL_EXECUTOR = createVirtualThreadExecutor();
+
+		private static final boolean VIRTUAL = VIRTUAL_EXECUTOR != null;
+
+		private static final ExecutorService EXECUTOR = VIRTUAL ? VIRTUAL_EXECUTOR
+				: Executors.newCachedThreadPool(daemonThreadFactory("agent-judge-"));
+
+		private static ExecutorService createVirtualThreadExecutor() {
+			try {
+				Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				return (ExecutorService) factory.invoke(null);
+			}
+			catch (ReflectiveOperationException | RuntimeException ex) {
+				logger.debug("Virtual threads not available, falling back to cached platform threads", ex);
+				return null;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.concurrent;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into a single execution.
+ *
+ * <p>
+ * The first caller for a key (the leader) runs the call; callers arriving while it runs
+ * wait for its result instead of running their own. Only results accepted by the share
+ * predicate are handed to waiting callers. If the leader is interrupted or cancelled, or
+ * its result is not shared, one of the waiting callers runs the call instead, so a
+ * cancellation is never passed on to callers that did not ask for it. Other failures
+ * are rethrown to every waiting caller. Results may be {@code null}.
+ * </p>
+ *
+ * <p>
+ * By default nothing is remembered once a call completes. With a retention limit, the
+ * most recently used shared results are kept and returned to later callers without
+ * running the call again.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * SingleFlight<String, String> flight = new SingleFlight<>();
+ *
+ * // Concurrent callers with the same prompt share one model call
+ * String response = flight.run(prompt, () -> chatClient.prompt(prompt).call().content());
+ * }</pre>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class SingleFlight<K, V> {
+
+	private static final Object RETRY = new Object();
+
+	private final Map<K, CompletableFuture<V>> inFlight = new HashMap<>();
+
+	private final Map<K, V> retained;
+
+	private final Predicate<? super V> shareWhen;
+
+	private final AtomicLong joinedCount = new AtomicLong();
+
+	/**
+	 * Create a single flight that shares every result and retains none.
+	 */
+	public SingleFlight() {
+		this(result -> true);
+	}
+
+	/**
+	 * Create a single flight that retains no results.
+	 * @param shareWhen predicate selecting the results handed to waiting callers
+	 */
+	public SingleFlight(Predicate<? super V> shareWhen) {
+		this(shareWhen, 0);
+	}
+
+	/**
+	 * Create a single flight that retains recently shared results.
+	 * @param shareWhen predicate selecting the results handed to waiting callers and
+	 * retained
+	 * @param maxRetained maximum number of results retained, least recently used first
+	 * out (0 for none)
+	 */
+	public SingleFlight(Predicate<? super V> shareWhen, int maxRetained) {
+		if (shareWhen == null) {
+			throw new IllegalArgumentException("shareWhen must not be null");
+		}
+		if (maxRetained < 0) {
+			throw new IllegalArgumentException("maxRetained must not be negative");
+		}
+		this.shareWhen = shareWhen;
+		this.retained = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxRetained;
+			}
+		};
+	}
+
+	/**
+	 * Run a call, or join an identical call already in flight.
+	 * @param key the call key
+	 * @param call the call
+	 * @return the result of this call, of the call it joined, or a retained result
+	 * @throws CompletionException if waiting is interrupted or the joined call failed
+	 * with a checked exception
+	 */
+	public V run(K key, Supplier<? extends V> call) {
+		boolean joined = false;
+		while (true) {
+			CompletableFuture<V> pending = new CompletableFuture<>();
+			CompletableFuture<V> leader;
+			synchronized (inFlight) {
+				if (retained.containsKey(key)) {
+					return retained.get(key);
+				}
+				leader = inFlight.putIfAbsent(key, pending);
+			}
+			if (leader == null) {
+				return lead(key, pending, call);
+			}
+			if (!joined) {
+				joined = true;
+				joinedCount.incrementAndGet();
+			}
+			Object result = await(leader);
+			if (result != RETRY) {
+				@SuppressWarnings("unchecked")
+				V shared = (V) result;
+				return shared;
+			}
+			// The leader was cancelled or kept its result; retry, possibly as the new leader
+		}
+	}
+
+	/**
+	 * Get the number of calls that joined a call in flight, counting each call once
+	 * however many leaders it waited for.
+	 * @return joined calls
+	 */
+	public long getJoinedCount() {
+		return joinedCount.get();
+	}
+
+	/**
+	 * Get the number of distinct calls currently in flight.
+	 * @return in-flight calls
+	 */
+	public int getInFlightCount() {
+		synchronized (inFlight) {
+			return inFlight.size();
+		}
+	}
+
+	private V lead(K key, CompletableFuture<V> pending, Supplier<? extends V> call) {
+		V result;
+		boolean share;
+		try {
+			result = call.get();
+			share = shareWhen.test(result);
+		}
+		catch (RuntimeException | Error ex) {
+			synchronized (inFlight) {
+				inFlight.remove(key);
+			}
+			if (Interruptions.isInterruption(ex)) {
+				// Only this caller was cancelled; let a waiting caller run the call
+				pending.cancel(false);
+			}
+			else {
+				pending.completeExceptionally(ex);
+			}
+			throw ex;
+		}
+		synchronized (inFlight) {
+			inFlight.remove(key);
+			if (share) {
+				retained.put(key, result);
+			}
+		}
+		if (share) {
+			pending.complete(result);
+		}
+		else {
+			pending.cancel(false);
+		}
+		return result;
+	}
+
+	/**
+	 * Wait for the leader's result.
+	 * @param leader the leader's pending result
+	 * @return the result, or {@link #RETRY} if the leader was cancelled or did not share
+	 * its result
+	 */
+	private static Object await(CompletableFuture<?> leader) {
+		try {
+			return leader.get();
+		}
+		catch (CancellationException ex) {
+			return RETRY;
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new CompletionException(cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.context;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Point in time by which a verdict must be produced.
+ *
+ * <p>
+ * A deadline travels next to the {@link JudgmentContext} through nested juries (see
+ * {@code Jury.vote(JudgmentContext, Deadline)}), so an outer jury's budget also bounds
+ * every tier and sub-jury it runs. Each jury narrows the deadline with its own timeouts
+ * via {@link #min(Deadline)}; judges still running when it passes are reported as errors.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * Deadline deadline = Deadline.after(Duration.ofSeconds(30));
+ * Verdict verdict = jury.vote(context, deadline);
+ * }</pre>
+ *
+ * @param instant the instant at which the deadline expires
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public record Deadline(Instant instant) {
+
+	public Deadline {
+		Objects.requireNonNull(instant, "instant must not be null");
+	}
+
+	/**
+	 * Create a deadline the given duration from now.
+	 * @param timeout time allowed from now
+	 * @return deadline
+	 */
+	public static Deadline after(Duration timeout) {
+		Objects.requireNonNull(timeout, "timeout must not be null");
+		return new Deadline(Instant.now().plus(timeout));
+	}
+
+	/**
+	 * Create a deadline at the given instant.
+	 * @param instant the instant at which the deadline expires
+	 * @return deadline
+	 */
+	public static Deadline at(Instant instant) {
+		return new Deadline(instant);
+	}
+
+	/**
+	 * Get the time left before the deadline expires.
+	 * @return remaining time, never negative
+	 */
+	public Duration remaining() {
+		Duration remaining = Duration.between(Instant.now(), instant);
+		return remaining.isNegative() ? Duration.ZERO : remaining;
+	}
+
+	/**
+	 * Check whether the deadline has passed.
+	 * @return true if no time remains
+	 */
+	public boolean isExpired() {
+		return !Instant.now().isBefore(instant);
+	}
+
+	/**
+	 * Return whichever deadline expires first.
+	 * @param other another deadline (may be null, meaning unbounded)
+	 * @return the earlier deadline
+	 */
+	public Deadline min(Deadline other) {
+		if (other == null || !other.instant.isBefore(instant)) {
+			return this;
+		}
+		return other;
+	}
+
+	/**
+	 * Return the earlier of two possibly-null deadlines.
+	 * @param first first deadline (null means unbounded)
+	 * @param second second deadline (null means unbounded)
+	 * @return the earlier deadline, or null if both are unbounded
+	 */
+	public static Deadline earliest(Deadline first, Deadline second) {
+		return first != null ? first.min(second) : second;
+	}
+
+}
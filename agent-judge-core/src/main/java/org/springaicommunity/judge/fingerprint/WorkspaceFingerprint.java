@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.fingerprint;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable content fingerprint of a workspace directory tree.
+ *
+ * <p>
+ * The fingerprint is a Merkle tree: each file is hashed by content and each directory by
+ * the names, kinds and hashes of its children. Hashes never depend on the workspace
+ * location or on timestamps, so two workspaces with the same files have the same root
+ * hash, and the hash of any subtree (for example {@code src/main}) identifies that
+ * subtree's content on its own.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * WorkspaceFingerprint fingerprint = fingerprinter.fingerprint(context.workspace());
+ * String workspaceHash = fingerprint.hash();
+ * Optional<String> sources = fingerprint.hash("src/main");
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see WorkspaceFingerprinter
+ */
+public final class WorkspaceFingerprint {
+
+	private final Path root;
+
+	private final DirectoryNode tree;
+
+	WorkspaceFingerprint(Path root, DirectoryNode tree) {
+		this.root = root;
+		this.tree = tree;
+	}
+
+	/**
+	 * Get the fingerprinted directory.
+	 * @return absolute, normalized root path
+	 */
+	public Path root() {
+		return root;
+	}
+
+	/**
+	 * Get the hash of the whole tree.
+	 * @return hex-encoded root hash
+	 */
+	public String hash() {
+		return tree.hash();
+	}
+
+	/**
+	 * Get the hash of a file or subtree.
+	 * @param relativePath path relative to the root, using {@code /} separators
+	 * @return hash of the file or directory, or empty if it does not exist or is ignored
+	 */
+	public Optional<String> hash(String relativePath) {
+		Node node = tree;
+		for (String segment : relativePath.split("[/\\\\]")) {
+			if (segment.isEmpty() || segment.equals(".")) {
+				continue;
+			}
+			if (!(node instanceof DirectoryNode directory)) {
+				return Optional.empty();
+			}
+			node = directory.children().get(segment);
+			if (node == null) {
+				return Optional.empty();
+			}
+		}
+		return Optional.of(node.hash());
+	}
+
+	/**
+	 * Get the number of files in the tree, excluding ignored directories.
+	 * @return file count
+	 */
+	public int fileCount() {
+		return tree.fileCount();
+	}
+
+	DirectoryNode tree() {
+		return tree;
+	}
+
+	@Override
+	public String toString() {
+		return "WorkspaceFingerprint[root=" + root + ", hash=" + hash() + ", files=" + fileCount() + "]";
+	}
+
+	/**
+	 * Node of the Merkle tree.
+	 */
+	sealed interface Node permits FileNode, DirectoryNode {
+
+		String hash();
+
+	}
+
+	/**
+	 * File (or symbolic link) node. Size and modification time let a later scan reuse
+	 * the hash without reading the file; {@code recordedAt} is when it was hashed.
+	 */
+	record FileNode(String hash, long size, FileTime lastModified, Instant recordedAt) implements Node {
+	}
+
+	/**
+	 * Directory node with children sorted by name.
+	 */
+	record DirectoryNode(String hash, Map<String, Node> children, int fileCount) implements Node {
+	}
+
+}
@@ -0,0 +1,572 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.fingerprint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.springaicommunity.judge.fingerprint.WorkspaceFingerprint.DirectoryNode;
+import org.springaicommunity.judge.fingerprint.WorkspaceFingerprint.FileNode;
+import org.springaicommunity.judge.fingerprint.WorkspaceFingerprint.Node;
+
+/**
+ * Computes {@link WorkspaceFingerprint}s and keeps them up to date incrementally.
+ *
+ * <p>
+ * The first fingerprint of a workspace walks and hashes the whole tree, one fork/join
+ * task per directory. The fingerprinter remembers the tree, so later calls only rehash
+ * files whose size or modification time changed; unchanged files cost a single
+ * {@code stat}. Files modified within two seconds of being hashed are always rehashed,
+ * since coarse file system timestamps cannot tell such changes apart.
+ * </p>
+ *
+ * <p>
+ * With {@link Builder#watch(boolean) watching} enabled, directories are also registered
+ * with a {@link WatchService}, and later calls only revisit directories that reported
+ * changes; a call with no pending events does no I/O at all. Watching suits long-lived
+ * workspaces on file systems with native change notification; on others the JDK falls
+ * back to polling and stat-based checking is usually faster.
+ * </p>
+ *
+ * <p>
+ * Directories named {@code target} and {@code .git} are ignored at any depth below the
+ * root by default. State is kept for a bounded number of recently used roots.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * WorkspaceFingerprinter fingerprinter = WorkspaceFingerprinter.builder()
+ *     .ignore("node_modules")
+ *     .watch(true)
+ *     .build();
+ *
+ * WorkspaceFingerprint fingerprint = fingerprinter.fingerprint(workspace);
+ * boolean sameSources = fingerprint.hash("src/main").equals(previous.hash("src/main"));
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class WorkspaceFingerprinter implements AutoCloseable {
+
+	private static final Duration RACY_WINDOW = Duration.ofSeconds(2);
+
+	private static final Set<String> DEFAULT_IGNORED = Set.of("target", ".git");
+
+	private final Set<String> ignored;
+
+	private final ForkJoinPool pool;
+
+	private final boolean watch;
+
+	private final Map<Path, WorkspaceState> workspaces;
+
+	private WorkspaceFingerprinter(Set<String> ignored, int parallelism, boolean watch, int maxWorkspaces) {
+		this.ignored = Set.copyOf(ignored);
+		this.pool = new ForkJoinPool(parallelism);
+		this.watch = watch;
+		this.workspaces = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Path, WorkspaceState> eldest) {
+				if (size() > maxWorkspaces) {
+					eldest.getValue().close();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Get the shared fingerprinter with default settings (stat-based, no watching).
+	 * @return the default fingerprinter
+	 */
+	public static WorkspaceFingerprinter getDefault() {
+		return DefaultHolder.INSTANCE;
+	}
+
+	/**
+	 * Fingerprint a directory tree, reusing earlier results for unchanged files.
+	 * @param root the directory to fingerprint; ignore rules apply below it
+	 * @return current fingerprint
+	 * @throws IllegalArgumentException if root is not a directory
+	 * @throws UncheckedIOException if the tree cannot be read
+	 */
+	public WorkspaceFingerprint fingerprint(Path root) {
+		Path normalized = root.toAbsolutePath().normalize();
+		if (!Files.isDirectory(normalized)) {
+			throw new IllegalArgumentException("Not a directory: " + root);
+		}
+		WorkspaceState state;
+		synchronized (workspaces) {
+			state = workspaces.computeIfAbsent(normalized, WorkspaceState::new);
+		}
+		return state.refresh();
+	}
+
+	/**
+	 * Hash a file or directory.
+	 * @param path the file or directory
+	 * @return content hash of a file, tree hash of a directory, or empty if missing
+	 * @throws UncheckedIOException if the path cannot be read
+	 */
+	public Optional<String> hash(Path path) {
+		if (Files.isDirectory(path)) {
+			return Optional.of(fingerprint(path).hash());
+		}
+		if (Files.isRegularFile(path)) {
+			return Optional.of(hashContent(path));
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Forget all remembered trees and stop watching.
+	 */
+	@Override
+	public void close() {
+		synchronized (workspaces) {
+			workspaces.values().forEach(WorkspaceState::close);
+			workspaces.clear();
+		}
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Create a new builder for WorkspaceFingerprinter.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private boolean isIgnored(Path directory) {
+		return ignored.contains(directory.getFileName().toString());
+	}
+
+	static String hashContent(Path file) {
+		MessageDigest digest = newSha256();
+		byte[] buffer = new byte[8192];
+		try (InputStream in = Files.newInputStream(file)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to hash " + file, ex);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	static String hashDirectory(Map<String, Node> children) {
+		MessageDigest digest = newSha256();
+		children.forEach((name, node) -> {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) ':');
+			digest.update(bytes);
+			digest.update((byte) (node instanceof DirectoryNode ? 'd' : 'f'));
+			digest.update(node.hash().getBytes(StandardCharsets.UTF_8));
+		});
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest newSha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	/**
+	 * Remembered tree and watch registrations for one root.
+	 */
+	private final class WorkspaceState {
+
+		private final Path root;
+
+		private final Map<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+
+		private WatchService watcher;
+
+		private DirectoryNode tree;
+
+		WorkspaceState(Path root) {
+			this.root = root;
+			if (watch) {
+				try {
+					this.watcher = root.getFileSystem().newWatchService();
+				}
+				catch (IOException | UnsupportedOperationException ex) {
+					this.watcher = null;
+				}
+			}
+		}
+
+		synchronized WorkspaceFingerprint refresh() {
+			Set<Path> dirty = null;
+			if (tree != null && watcher != null) {
+				dirty = pendingChanges();
+				if (dirty != null && dirty.isEmpty()) {
+					return new WorkspaceFingerprint(root, tree);
+				}
+			}
+			DirectoryNode updated = pool.invoke(new DirectoryTask(this, root, tree, dirty, Instant.now()));
+			if (updated == null) {
+				throw new UncheckedIOException(new NoSuchFileException(root.toString()));
+			}
+			tree = updated;
+			return new WorkspaceFingerprint(root, tree);
+		}
+
+		/**
+		 * Drain watch events.
+		 * @return directories that changed, or null if events were lost and the whole
+		 * tree must be rescanned
+		 */
+		private Set<Path> pendingChanges() {
+			Set<Path> dirty = new HashSet<>();
+			boolean overflow = false;
+			WatchKey key;
+			while ((key = watcher.poll()) != null) {
+				Path directory = watchKeys.get(key);
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						overflow = true;
+					}
+				}
+				if (directory != null) {
+					dirty.add(directory);
+				}
+				if (!key.reset()) {
+					watchKeys.remove(key);
+					if (directory != null && directory.getParent() != null) {
+						dirty.add(directory.getParent());
+					}
+				}
+			}
+			return overflow ? null : dirty;
+		}
+
+		void register(Path directory) {
+			if (watcher == null) {
+				return;
+			}
+			try {
+				WatchKey key = directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+				watchKeys.put(key, directory);
+			}
+			catch (IOException ex) {
+				// Directory vanished; its parent's events will trigger a rescan
+			}
+		}
+
+		synchronized void close() {
+			if (watcher != null) {
+				try {
+					watcher.close();
+				}
+				catch (IOException ex) {
+					// Nothing left to release
+				}
+				watcher = null;
+			}
+			watchKeys.clear();
+			tree = null;
+		}
+
+	}
+
+	/**
+	 * Rebuilds one directory node, forking a subtask per subdirectory.
+	 */
+	private final class DirectoryTask extends RecursiveTask<DirectoryNode> {
+
+		private final WorkspaceState state;
+
+		private final Path directory;
+
+		private final DirectoryNode previous;
+
+		private final Set<Path> dirty;
+
+		private final Instant scanStart;
+
+		/**
+		 * @param previous the directory's node from the last scan, or null if new
+		 * @param dirty directories known to have changed, or null to check everything
+		 */
+		DirectoryTask(WorkspaceState state, Path directory, DirectoryNode previous, Set<Path> dirty,
+				Instant scanStart) {
+			this.state = state;
+			this.directory = directory;
+			this.previous = previous;
+			this.dirty = dirty;
+			this.scanStart = scanStart;
+		}
+
+		@Override
+		protected DirectoryNode compute() {
+			if (previous != null && dirty != null && !dirty.contains(directory)) {
+				if (dirty.stream().noneMatch(path -> path.startsWith(directory))) {
+					return previous;
+				}
+				return revisitSubdirectories();
+			}
+			return rescan();
+		}
+
+		private DirectoryNode revisitSubdirectories() {
+			Map<String, Node> children = new TreeMap<>(previous.children());
+			Map<String, DirectoryTask> tasks = new TreeMap<>();
+			previous.children().forEach((name, node) -> {
+				if (node instanceof DirectoryNode child) {
+					tasks.put(name, fork(directory.resolve(name), child));
+				}
+			});
+			return join(children, tasks);
+		}
+
+		private DirectoryNode rescan() {
+			if (previous == null) {
+				state.register(directory);
+			}
+			Map<String, Node> children = new TreeMap<>();
+			Map<String, DirectoryTask> tasks = new TreeMap<>();
+			Map<String, Node> before = previous != null ? previous.children() : Map.of();
+			try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+				for (Path entry : entries) {
+					String name = entry.getFileName().toString();
+					BasicFileAttributes attributes;
+					try {
+						attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+					}
+					catch (NoSuchFileException ex) {
+						continue;
+					}
+					if (attributes.isDirectory()) {
+						if (!isIgnored(entry)) {
+							Node old = before.get(name);
+							tasks.put(name, fork(entry, old instanceof DirectoryNode child ? child : null));
+						}
+					}
+					else if (attributes.isRegularFile() || attributes.isSymbolicLink()) {
+						FileNode file = hashFile(entry, attributes, before.get(name));
+						if (file != null) {
+							children.put(name, file);
+						}
+					}
+				}
+			}
+			catch (NoSuchFileException ex) {
+				return null;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to fingerprint " + directory, ex);
+			}
+			return join(children, tasks);
+		}
+
+		private FileNode hashFile(Path file, BasicFileAttributes attributes, Node old) {
+			if (old instanceof FileNode known && known.size() == attributes.size()
+					&& known.lastModified().equals(attributes.lastModifiedTime())
+					&& known.lastModified().toInstant().plus(RACY_WINDOW).isBefore(known.recordedAt())) {
+				return known;
+			}
+			String hash;
+			try {
+				hash = attributes.isSymbolicLink()
+						? HexFormat.of()
+							.formatHex(newSha256()
+								.digest(Files.readSymbolicLink(file).toString().getBytes(StandardCharsets.UTF_8)))
+						: hashContent(file);
+			}
+			catch (NoSuchFileException ex) {
+				return null;
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Failed to hash " + file, ex);
+			}
+			catch (UncheckedIOException ex) {
+				if (ex.getCause() instanceof NoSuchFileException) {
+					return null;
+				}
+				throw ex;
+			}
+			return new FileNode(hash, attributes.size(), attributes.lastModifiedTime(), scanStart);
+		}
+
+		private DirectoryTask fork(Path child, DirectoryNode childPrevious) {
+			DirectoryTask task = new DirectoryTask(state, child, childPrevious, dirty, scanStart);
+			task.fork();
+			return task;
+		}
+
+		private DirectoryNode join(Map<String, Node> children, Map<String, DirectoryTask> tasks) {
+			List<RuntimeException> failures = new ArrayList<>();
+			tasks.forEach((name, task) -> {
+				try {
+					DirectoryNode child = task.join();
+					if (child != null) {
+						children.put(name, child);
+					}
+					else {
+						children.remove(name);
+					}
+				}
+				catch (RuntimeException ex) {
+					failures.add(ex);
+				}
+			});
+			if (!failures.isEmpty()) {
+				throw failures.get(0);
+			}
+			int fileCount = 0;
+			for (Node node : children.values()) {
+				fileCount += node instanceof DirectoryNode child ? child.fileCount() : 1;
+			}
+			return new DirectoryNode(hashDirectory(children), Collections.unmodifiableMap(children), fileCount);
+		}
+
+	}
+
+	private static final class DefaultHolder {
+
+		static final WorkspaceFingerprinter INSTANCE = builder().build();
+
+	}
+
+	/**
+	 * Builder for WorkspaceFingerprinter.
+	 */
+	public static class Builder {
+
+		private final Set<String> ignored = new HashSet<>(DEFAULT_IGNORED);
+
+		private int parallelism = Runtime.getRuntime().availableProcessors();
+
+		private boolean watch;
+
+		private int maxWorkspaces = 64;
+
+		/**
+		 * Ignore directories with the given names, in addition to {@code target} and
+		 * {@code .git}.
+		 * @param directoryNames directory names to ignore
+		 * @return this builder
+		 */
+		public Builder ignore(String... directoryNames) {
+			ignored.addAll(List.of(directoryNames));
+			return this;
+		}
+
+		/**
+		 * Replace the ignored directory names, including the defaults.
+		 * @param directoryNames directory names to ignore (empty to ignore nothing)
+		 * @return this builder
+		 */
+		public Builder ignoredDirectories(Set<String> directoryNames) {
+			ignored.clear();
+			ignored.addAll(directoryNames);
+			return this;
+		}
+
+		/**
+		 * Set the number of threads used to hash a tree (default: available
+		 * processors).
+		 * @param parallelism hashing threads
+		 * @return this builder
+		 */
+		public Builder parallelism(int parallelism) {
+			if (parallelism < 1) {
+				throw new IllegalArgumentException("parallelism must be at least 1");
+			}
+			this.parallelism = parallelism;
+			return this;
+		}
+
+		/**
+		 * Track changes with a {@link WatchService} instead of checking every file
+		 * (default false).
+		 * @param watch whether to watch fingerprinted trees
+		 * @return this builder
+		 */
+		public Builder watch(boolean watch) {
+			this.watch = watch;
+			return this;
+		}
+
+		/**
+		 * Set how many roots to remember (default 64). The least recently used root is
+		 * forgotten, and fully rehashed if fingerprinted again.
+		 * @param maxWorkspaces maximum remembered roots
+		 * @return this builder
+		 */
+		public Builder maxWorkspaces(int maxWorkspaces) {
+			if (maxWorkspaces < 1) {
+				throw new IllegalArgumentException("maxWorkspaces must be at least 1");
+			}
+			this.maxWorkspaces = maxWorkspaces;
+			return this;
+		}
+
+		/**
+		 * Build the WorkspaceFingerprinter instance.
+		 * @return configured fingerprinter
+		 */
+		public WorkspaceFingerprinter build() {
+			return new WorkspaceFingerprinter(ignored, parallelism, watch, maxWorkspaces);
+		}
+
+	}
+
+}
@@ -22,6 +22,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.regex.Pattern;
 
+import org.springaicommunity.judge.cache.CacheableJudge;
+import org.springaicommunity.judge.cache.InputFingerprint;
 import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Check;
 import org.springaicommunity.judge.result.Judgment;
@@ -63,10 +65,16 @@ import org.springaicommunity.judge.score.BooleanScore;
  * }
  * }</pre>
  *
+ * <p>
+ * The judgment depends only on the target file, so when cached (see
+ * {@link org.springaicommunity.judge.cache.CachingJudge}) it is keyed on that file's
+ * content alone.
+ * </p>
+ *
  * @author Mark Pollack
  * @since 0.1.0
  */
-public class FileContentJudge extends DeterministicJudge {
+public class FileContentJudge extends DeterministicJudge implements CacheableJudge {
 
 	private final String filePath;
 
@@ -134,6 +142,21 @@ public class FileContentJudge extends DeterministicJudge {
 			.build();
 	}
 
+	@Override
+	public String cacheIdentity() {
+		return String.join(":", getClass().getName(), filePath, matchMode.name(), expectedContent);
+	}
+
+	@Override
+	public InputFingerprint cacheInputs() {
+		return InputFingerprint.paths(filePath);
+	}
+
+	@Override
+	public String cacheContextKey(JudgmentContext context) {
+		return "";
+	}
+
 	/**
 	 * Content matching mode.
 	 */
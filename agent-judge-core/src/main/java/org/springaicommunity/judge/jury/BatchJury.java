@@ -0,0 +1,399 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.Deadline;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Evaluates a jury over many contexts with bounded concurrency.
+ *
+ * <p>
+ * {@link #voteAll(Iterator)} returns a lazy {@link Stream} of {@link BatchVerdict}s. At
+ * most {@code maxConcurrency} contexts are judged at a time, and new contexts are only
+ * pulled from the input as the consumer takes results, so memory use is bounded by the
+ * concurrency limit rather than the size of the input. Results are emitted either in
+ * input order or, for the best throughput, in completion order.
+ * </p>
+ *
+ * <p>
+ * Limits per {@link JudgeType} bound how many judges of that type run at once across the
+ * whole batch, e.g. to stay within an LLM provider's rate limit while deterministic
+ * judges run freely. They are applied by decorating the jury's judges (see
+ * {@link Jury#decorateJudges}); the decorated judges stay asynchronous and cacheable when
+ * the originals are. Judges without metadata and file system checks are not limited.
+ * </p>
+ *
+ * <p>
+ * A context whose jury throws yields an error verdict instead of failing the stream.
+ * Closing the stream cancels contexts still being judged.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * BatchJury batch = BatchJury.builder()
+ *     .jury(jury)
+ *     .maxConcurrency(64)
+ *     .maxConcurrency(JudgeType.LLM_POWERED, 8)
+ *     .ordered(false)
+ *     .build();
+ *
+ * try (Stream<BatchVerdict> verdicts = batch.voteAll(contexts)) {
+ *     verdicts.forEach(result -> store(result.context(), result.verdict()));
+ * }
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public class BatchJury {
+
+	private final Jury jury;
+
+	private final int maxConcurrency;
+
+	private final boolean ordered;
+
+	private final Executor executor;
+
+	private final Duration timeout;
+
+	private BatchJury(Builder builder) {
+		Map<JudgeType, Semaphore> permitsByType = new EnumMap<>(JudgeType.class);
+		builder.typeLimits.forEach((type, limit) -> permitsByType.put(type, new Semaphore(limit, true)));
+		this.executor = builder.executor != null ? builder.executor : JudgeExecutors.virtualThreads();
+		this.jury = permitsByType.isEmpty() ? builder.jury
+				: builder.jury.decorateJudges(judge -> limit(judge, permitsByType, this.executor));
+		this.maxConcurrency = builder.maxConcurrency;
+		this.ordered = builder.ordered;
+		this.timeout = builder.timeout;
+	}
+
+	/**
+	 * Judge every context in the collection.
+	 * @param contexts the contexts to judge
+	 * @return lazy stream of verdicts
+	 * @see #voteAll(Iterator)
+	 */
+	public Stream<BatchVerdict> voteAll(Collection<JudgmentContext> contexts) {
+		return voteAll(contexts.iterator());
+	}
+
+	/**
+	 * Judge every context produced by the iterator.
+	 * <p>
+	 * The returned stream is lazy: contexts are pulled from the iterator only as results
+	 * are consumed, keeping at most {@code maxConcurrency} contexts in flight. The stream
+	 * is sequential and should be closed if it is not fully consumed.
+	 * </p>
+	 * @param contexts the contexts to judge
+	 * @return lazy stream of verdicts, in input order if this batch is ordered
+	 */
+	public Stream<BatchVerdict> voteAll(Iterator<JudgmentContext> contexts) {
+		if (contexts == null) {
+			throw new IllegalArgumentException("Contexts must not be null");
+		}
+		BatchSpliterator spliterator = new BatchSpliterator(contexts);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::cancelAll);
+	}
+
+	/**
+	 * Get the jury that judges each context, with the per-type limits applied.
+	 * @return the jury
+	 */
+	public Jury getJury() {
+		return jury;
+	}
+
+	/**
+	 * Get how many contexts are judged at the same time.
+	 * @return maximum contexts in flight
+	 */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Check whether results are emitted in input order.
+	 * @return true for input order, false for completion order
+	 */
+	public boolean isOrdered() {
+		return ordered;
+	}
+
+	private BatchVerdict judge(long index, JudgmentContext context) {
+		Verdict verdict;
+		try {
+			verdict = timeout != null ? jury.vote(context, Deadline.after(timeout)) : jury.vote(context);
+		}
+		catch (RuntimeException ex) {
+			Judgment error = Judgment.error("Jury threw exception: " + ex.getMessage(), ex);
+			verdict = Verdict.builder().aggregated(error).build();
+		}
+		return new BatchVerdict(index, context, verdict);
+	}
+
+	private static Judge limit(Judge judge, Map<JudgeType, Semaphore> permitsByType, Executor executor) {
+		JudgeMetadata metadata = Judges.tryMetadata(judge).orElse(null);
+		Semaphore permits = metadata != null ? permitsByType.get(metadata.type()) : null;
+		return permits != null ? PermitLimitedJudge.limit(judge, metadata, permits, executor) : judge;
+	}
+
+	/**
+	 * Create a new builder for BatchJury.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Pull-based source of batch results that keeps a bounded window of contexts in
+	 * flight.
+	 */
+	private final class BatchSpliterator implements Spliterator<BatchVerdict> {
+
+		private final Iterator<JudgmentContext> contexts;
+
+		// Submission order, used for ordered output and cancellation
+		private final Deque<Task> inFlight = new ArrayDeque<>();
+
+		// Completion order, used for unordered output
+		private final BlockingQueue<Task> completed = new LinkedBlockingQueue<>();
+
+		private long nextIndex;
+
+		BatchSpliterator(Iterator<JudgmentContext> contexts) {
+			this.contexts = contexts;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super BatchVerdict> action) {
+			fill();
+			if (inFlight.isEmpty()) {
+				return false;
+			}
+			try {
+				Task task;
+				if (ordered) {
+					task = inFlight.peekFirst();
+				}
+				else {
+					task = completed.take();
+				}
+				BatchVerdict result = task.get();
+				inFlight.remove(task);
+				action.accept(result);
+				return true;
+			}
+			catch (InterruptedException ex) {
+				cancelAll();
+				Thread.currentThread().interrupt();
+				throw new CompletionException(ex);
+			}
+			catch (ExecutionException ex) {
+				cancelAll();
+				throw new CompletionException(ex.getCause());
+			}
+		}
+
+		private void fill() {
+			while (inFlight.size() < maxConcurrency && contexts.hasNext()) {
+				Task task = new Task(nextIndex++, contexts.next());
+				inFlight.addLast(task);
+				executor.execute(task);
+			}
+		}
+
+		void cancelAll() {
+			inFlight.forEach(task -> task.cancel(true));
+			inFlight.clear();
+		}
+
+		@Override
+		public Spliterator<BatchVerdict> trySplit() {
+			return null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return (ordered ? ORDERED : 0) | NONNULL;
+		}
+
+		private final class Task extends FutureTask<BatchVerdict> {
+
+			Task(long index, JudgmentContext context) {
+				super(() -> judge(index, context));
+			}
+
+			@Override
+			protected void done() {
+				if (!ordered) {
+					completed.add(this);
+				}
+			}
+
+		}
+
+	}
+
+	/**
+	 * Builder for BatchJury.
+	 */
+	public static class Builder {
+
+		private Jury jury;
+
+		private int maxConcurrency = 16;
+
+		private final Map<JudgeType, Integer> typeLimits = new EnumMap<>(JudgeType.class);
+
+		private boolean ordered = true;
+
+		private Executor executor;
+
+		private Duration timeout;
+
+		/**
+		 * Set the jury that judges each context.
+		 * @param jury the jury
+		 * @return this builder
+		 */
+		public Builder jury(Jury jury) {
+			this.jury = jury;
+			return this;
+		}
+
+		/**
+		 * Set how many contexts are judged at the same time (default 16).
+		 * @param maxConcurrency maximum contexts in flight
+		 * @return this builder
+		 */
+		public Builder maxConcurrency(int maxConcurrency) {
+			if (maxConcurrency < 1) {
+				throw new IllegalArgumentException("maxConcurrency must be at least 1");
+			}
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/**
+		 * Limit how many judges of a type run at the same time across the batch.
+		 * @param type the judge type to limit
+		 * @param maxConcurrency maximum judges of this type running at once
+		 * @return this builder
+		 */
+		public Builder maxConcurrency(JudgeType type, int maxConcurrency) {
+			if (type == null) {
+				throw new IllegalArgumentException("Judge type must not be null");
+			}
+			if (maxConcurrency < 1) {
+				throw new IllegalArgumentException("maxConcurrency must be at least 1");
+			}
+			this.typeLimits.put(type, maxConcurrency);
+			return this;
+		}
+
+		/**
+		 * Emit results in input order (the default) or in completion order.
+		 * <p>
+		 * Ordered output can hold back finished results behind a slow context; unordered
+		 * output keeps every slot busy.
+		 * </p>
+		 * @param ordered true to emit results in input order
+		 * @return this builder
+		 */
+		public Builder ordered(boolean ordered) {
+			this.ordered = ordered;
+			return this;
+		}
+
+		/**
+		 * Set the executor that runs each context's vote. Defaults to
+		 * {@link JudgeExecutors#virtualThreads()}.
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Bound the time allowed for each context's verdict.
+		 * <p>
+		 * The deadline starts when the context begins judging and is passed to the jury
+		 * via {@link Jury#vote(JudgmentContext, Deadline)}.
+		 * </p>
+		 * @param timeout maximum time per context
+		 * @return this builder
+		 */
+		public Builder timeout(Duration timeout) {
+			if (timeout != null && (timeout.isZero() || timeout.isNegative())) {
+				throw new IllegalArgumentException("Timeout must be positive");
+			}
+			this.timeout = timeout;
+			return this;
+		}
+
+		/**
+		 * Build the BatchJury instance.
+		 * @return configured batch jury
+		 * @throws IllegalStateException if no jury was set
+		 */
+		public BatchJury build() {
+			if (jury == null) {
+				throw new IllegalStateException("Jury is required");
+			}
+			return new BatchJury(this);
+		}
+
+	}
+
+}
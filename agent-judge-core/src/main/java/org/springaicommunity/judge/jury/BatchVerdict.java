@@ -0,0 +1,37 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.springaicommunity.judge.context.JudgmentContext;
+
+/**
+ * Verdict for one context of a batch evaluation.
+ *
+ * <p>
+ * Produced by {@link BatchJury#voteAll(java.util.Iterator)}. The index identifies the
+ * position of the context in the input, which matters when results are streamed in
+ * completion order.
+ * </p>
+ *
+ * @param index zero-based position of the context in the batch input
+ * @param context the context that was judged
+ * @param verdict the verdict for the context (an error verdict if the jury threw)
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public record BatchVerdict(long index, JudgmentContext context, Verdict verdict) {
+}
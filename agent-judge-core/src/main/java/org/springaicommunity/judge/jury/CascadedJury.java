@@ -16,12 +16,24 @@
 
 package org.springaicommunity.judge.jury;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.UnaryOperator;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.Deadline;
 import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Judgment;
 import org.springaicommunity.judge.result.JudgmentStatus;
@@ -37,6 +49,23 @@ import org.springaicommunity.judge.result.JudgmentStatus;
  * </p>
  *
  * <p>
+ * A {@link Deadline} passed to {@link #vote(JudgmentContext, Deadline)} bounds the whole
+ * cascade: every tier receives the same deadline, so later tiers only get the time that
+ * earlier tiers left over.
+ * </p>
+ *
+ * <p>
+ * Tiers marked speculative (see {@link TierConfig#speculative()}) start as soon as the
+ * preceding tier starts, on the configured executor, so a slow LLM tier does not have to
+ * wait for a deterministic tier that usually escalates. At most
+ * {@link Builder#maxSpeculativeTiers(int)} tiers run ahead of the current one. When an
+ * earlier tier stops the cascade, speculative tiers still running are cancelled; the
+ * aggregated judgment's metadata then reports them under
+ * {@link #SPECULATIVE_TIERS_STARTED}, {@link #SPECULATIVE_TIERS_WASTED} and
+ * {@link #SPECULATION_WASTED_TIME}.
+ * </p>
+ *
+ * <p>
  * Example:
  * </p>
  * <pre>{@code
@@ -57,10 +86,33 @@ public class CascadedJury implements Jury {
 
 	private static final Logger logger = LoggerFactory.getLogger(CascadedJury.class);
 
+	/**
+	 * Aggregated judgment metadata key listing the tiers started speculatively.
+	 */
+	public static final String SPECULATIVE_TIERS_STARTED = "speculativeTiersStarted";
+
+	/**
+	 * Aggregated judgment metadata key listing speculative tiers whose work was discarded
+	 * because an earlier tier stopped the cascade.
+	 */
+	public static final String SPECULATIVE_TIERS_WASTED = "speculativeTiersWasted";
+
+	/**
+	 * Aggregated judgment metadata key holding the total time ({@link Duration}) spent in
+	 * discarded speculative tiers.
+	 */
+	public static final String SPECULATION_WASTED_TIME = "speculationWastedTime";
+
 	private final List<TierConfig> tiers;
 
-	private CascadedJury(List<TierConfig> tiers) {
+	private final Executor executor;
+
+	private final int maxSpeculativeTiers;
+
+	private CascadedJury(List<TierConfig> tiers, Executor executor, int maxSpeculativeTiers) {
 		this.tiers = List.copyOf(tiers);
+		this.executor = executor != null ? executor : JudgeExecutors.virtualThreads();
+		this.maxSpeculativeTiers = maxSpeculativeTiers;
 	}
 
 	@Override
@@ -75,16 +127,37 @@ public class CascadedJury implements Jury {
 
 	@Override
 	public Verdict vote(JudgmentContext context) {
+		return vote(context, null);
+	}
+
+	@Override
+	public CascadedJury decorateJudges(UnaryOperator<Judge> decorator) {
+		List<TierConfig> decorated = tiers.stream()
+			.map(tier -> new TierConfig(tier.name(), tier.jury().decorateJudges(decorator), tier.policy(),
+					tier.speculative()))
+			.toList();
+		return new CascadedJury(decorated, executor, maxSpeculativeTiers);
+	}
+
+	@Override
+	public Verdict vote(JudgmentContext context, Deadline deadline) {
 		List<Verdict> executedTierVerdicts = new ArrayList<>();
 		List<String> tiersExecuted = new ArrayList<>();
+		TierRuns runs = new TierRuns(context, deadline);
 
 		for (int i = 0; i < tiers.size(); i++) {
 			TierConfig tier = tiers.get(i);
 			tiersExecuted.add(tier.name());
+			runs.startSpeculativeTiersAfter(i);
 
 			Verdict tierVerdict;
 			try {
-				tierVerdict = tier.jury().vote(context);
+				tierVerdict = runs.await(i);
+			}
+			catch (InterruptedException ex) {
+				runs.cancelAfter(-1);
+				Thread.currentThread().interrupt();
+				throw new CompletionException(ex);
 			}
 			catch (Exception ex) {
 				logger.warn("Tier '{}' threw exception, escalating to next tier", tier.name(), ex);
@@ -97,29 +170,52 @@ public class CascadedJury implements Jury {
 
 			executedTierVerdicts.add(tierVerdict);
 
-			switch (tier.policy()) {
-				case REJECT_ON_ANY_FAIL -> {
-					if (hasAnyFail(tierVerdict)) {
-						return buildCascadeVerdict(tierVerdict, executedTierVerdicts, tier.name(), tiersExecuted);
-					}
-					// No failures → escalate
-				}
-				case ACCEPT_ON_ALL_PASS -> {
-					if (allPassed(tierVerdict)) {
-						return buildCascadeVerdict(tierVerdict, executedTierVerdicts, tier.name(), tiersExecuted);
-					}
-					// Not all passed → escalate
-				}
-				case FINAL_TIER -> {
-					return buildCascadeVerdict(tierVerdict, executedTierVerdicts, tier.name(), tiersExecuted);
-				}
+			// REJECT_ON_ANY_FAIL escalates without failures, ACCEPT_ON_ALL_PASS unless all pass
+			boolean stop = switch (tier.policy()) {
+				case REJECT_ON_ANY_FAIL -> hasAnyFail(tierVerdict);
+				case ACCEPT_ON_ALL_PASS -> allPassed(tierVerdict);
+				case FINAL_TIER -> true;
+			};
+			if (stop) {
+				Map<String, Object> speculation = runs.cancelAfter(i);
+				return buildCascadeVerdict(withSpeculation(tierVerdict, speculation), executedTierVerdicts, tier.name(),
+						tiersExecuted);
 			}
 		}
 
 		// Should not reach here if last tier is FINAL_TIER, but defensive fallback
 		Verdict lastVerdict = executedTierVerdicts.get(executedTierVerdicts.size() - 1);
-		return buildCascadeVerdict(lastVerdict, executedTierVerdicts, tiers.get(tiers.size() - 1).name(),
-				tiersExecuted);
+		return buildCascadeVerdict(withSpeculation(lastVerdict, runs.cancelAfter(tiers.size() - 1)),
+				executedTierVerdicts, tiers.get(tiers.size() - 1).name(), tiersExecuted);
+	}
+
+	/**
+	 * Copy a tier verdict, adding speculation statistics to its aggregated judgment.
+	 * @param tierVerdict the stopping tier's verdict
+	 * @param speculation speculation statistics (empty if nothing was speculated)
+	 * @return the verdict with statistics attached
+	 */
+	private Verdict withSpeculation(Verdict tierVerdict, Map<String, Object> speculation) {
+		if (speculation.isEmpty() || tierVerdict.aggregated() == null) {
+			return tierVerdict;
+		}
+		Judgment aggregated = tierVerdict.aggregated();
+		Map<String, Object> metadata = new HashMap<>(aggregated.metadata());
+		metadata.putAll(speculation);
+		Judgment withMetadata = Judgment.builder()
+			.score(aggregated.score())
+			.status(aggregated.status())
+			.reasoning(aggregated.reasoning())
+			.checks(aggregated.checks())
+			.metadata(metadata)
+			.build();
+		return Verdict.builder()
+			.aggregated(withMetadata)
+			.individual(tierVerdict.individual())
+			.individualByName(tierVerdict.individualByName())
+			.weights(tierVerdict.weights())
+			.subVerdicts(tierVerdict.subVerdicts())
+			.build();
 	}
 
 	private boolean hasAnyFail(Verdict tierVerdict) {
@@ -147,6 +243,127 @@ public class CascadedJury implements Jury {
 		return Verdict.builder().aggregated(errorJudgment).subVerdicts(allTierVerdicts).build();
 	}
 
+	/**
+	 * Tracks the tiers of a single vote, starting speculative tiers ahead of time.
+	 */
+	private final class TierRuns {
+
+		private final JudgmentContext context;
+
+		private final Deadline deadline;
+
+		private final Map<Integer, FutureTask<Verdict>> started = new LinkedHashMap<>();
+
+		private final Map<Integer, Long> startNanos = new HashMap<>();
+
+		private boolean speculationRejected;
+
+		TierRuns(JudgmentContext context, Deadline deadline) {
+			this.context = context;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Start the chain of speculative tiers following the current tier, up to the
+		 * speculation limit.
+		 * @param current index of the tier about to be awaited
+		 */
+		void startSpeculativeTiersAfter(int current) {
+			if (speculationRejected) {
+				return;
+			}
+			for (int j = current + 1; j < tiers.size() && j - current <= maxSpeculativeTiers; j++) {
+				if (!tiers.get(j).speculative()) {
+					break;
+				}
+				if (!started.containsKey(j)) {
+					TierConfig tier = tiers.get(j);
+					FutureTask<Verdict> task = new FutureTask<>(() -> tier.jury().vote(context, deadline));
+					started.put(j, task);
+					startNanos.put(j, System.nanoTime());
+					logger.debug("Speculatively starting tier '{}'", tier.name());
+					try {
+						executor.execute(task);
+					}
+					catch (RejectedExecutionException ex) {
+						logger.warn("Executor rejected speculative tier '{}', running remaining tiers inline",
+								tier.name(), ex);
+						abandonSpeculationAfter(current);
+						return;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Cancel the tiers started speculatively after the current tier and stop
+		 * speculating, so the remaining tiers run inline when reached.
+		 * @param current index of the tier about to be awaited
+		 */
+		private void abandonSpeculationAfter(int current) {
+			speculationRejected = true;
+			started.entrySet().removeIf(entry -> {
+				if (entry.getKey() <= current) {
+					return false;
+				}
+				entry.getValue().cancel(true);
+				startNanos.remove(entry.getKey());
+				return true;
+			});
+		}
+
+		/**
+		 * Get the verdict of a tier, running it on the caller thread unless it was
+		 * started speculatively.
+		 * @param index the tier index
+		 * @return the tier verdict
+		 * @throws Exception if the tier threw
+		 */
+		Verdict await(int index) throws Exception {
+			FutureTask<Verdict> task = started.get(index);
+			if (task == null) {
+				return tiers.get(index).jury().vote(context, deadline);
+			}
+			try {
+				return task.get();
+			}
+			catch (ExecutionException ex) {
+				if (ex.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw (Exception) ex.getCause();
+			}
+		}
+
+		/**
+		 * Cancel speculative tiers after the stopping tier and report wasted work.
+		 * @param stoppedAt index of the tier that stopped the cascade
+		 * @return speculation statistics, empty if no tier was started speculatively
+		 */
+		Map<String, Object> cancelAfter(int stoppedAt) {
+			if (started.isEmpty()) {
+				return Map.of();
+			}
+			List<String> wasted = new ArrayList<>();
+			Duration wastedTime = Duration.ZERO;
+			long now = System.nanoTime();
+			for (Map.Entry<Integer, FutureTask<Verdict>> entry : started.entrySet()) {
+				if (entry.getKey() > stoppedAt) {
+					entry.getValue().cancel(true);
+					wasted.add(tiers.get(entry.getKey()).name());
+					wastedTime = wastedTime.plusNanos(now - startNanos.get(entry.getKey()));
+				}
+			}
+			Map<String, Object> speculation = new HashMap<>();
+			speculation.put(SPECULATIVE_TIERS_STARTED,
+					started.keySet().stream().map(index -> tiers.get(index).name()).toList());
+			speculation.put(SPECULATIVE_TIERS_WASTED, List.copyOf(wasted));
+			speculation.put(SPECULATION_WASTED_TIME, wastedTime);
+			return speculation;
+		}
+
+	}
+
 	/**
 	 * Create a new builder for CascadedJury.
 	 * @return builder instance
@@ -162,6 +379,10 @@ public class CascadedJury implements Jury {
 
 		private final List<TierConfig> tiers = new ArrayList<>();
 
+		private Executor executor;
+
+		private int maxSpeculativeTiers = 1;
+
 		/**
 		 * Add a tier to the cascade.
 		 * @param name human-readable tier name (e.g., "deterministic")
@@ -174,6 +395,50 @@ public class CascadedJury implements Jury {
 			return this;
 		}
 
+		/**
+		 * Add a tier to the cascade, optionally starting it speculatively.
+		 * @param name human-readable tier name (e.g., "semantic")
+		 * @param jury the jury for this tier
+		 * @param policy how this tier's result maps to stop/escalate
+		 * @param speculative true to start this tier while the preceding tier is still
+		 * running
+		 * @return this builder
+		 * @see TierConfig#speculative()
+		 */
+		public Builder tier(String name, Jury jury, TierPolicy policy, boolean speculative) {
+			tiers.add(new TierConfig(name, jury, policy, speculative));
+			return this;
+		}
+
+		/**
+		 * Limit how many tiers may run ahead of the tier currently being awaited.
+		 * <p>
+		 * Bounds the cost of speculation: with the default of 1 only the next tier is
+		 * started early, even if several consecutive tiers are speculative.
+		 * </p>
+		 * @param maxSpeculativeTiers maximum number of tiers started ahead (0 disables
+		 * speculation)
+		 * @return this builder
+		 */
+		public Builder maxSpeculativeTiers(int maxSpeculativeTiers) {
+			if (maxSpeculativeTiers < 0) {
+				throw new IllegalArgumentException("maxSpeculativeTiers must be non-negative");
+			}
+			this.maxSpeculativeTiers = maxSpeculativeTiers;
+			return this;
+		}
+
+		/**
+		 * Set custom executor for speculative tiers.
+		 * @param executor the executor to use (default
+		 * {@link JudgeExecutors#virtualThreads()})
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
 		/**
 		 * Build the CascadedJury instance.
 		 * @return configured CascadedJury
@@ -187,7 +452,7 @@ public class CascadedJury implements Jury {
 				throw new IllegalStateException("Last tier must use FINAL_TIER policy, but '" + lastTier.name()
 						+ "' uses " + lastTier.policy());
 			}
-			return new CascadedJury(tiers);
+			return new CascadedJury(tiers, executor, maxSpeculativeTiers);
 		}
 
 	}
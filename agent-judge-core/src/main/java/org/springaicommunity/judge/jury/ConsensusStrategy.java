@@ -83,6 +83,17 @@ public class ConsensusStrategy implements VotingStrategy {
 			.build();
 	}
 
+	/**
+	 * Consensus is lost, and the verdict fixed as a failure, as soon as one judge passes
+	 * and another fails.
+	 */
+	@Override
+	public boolean isDecided(List<Judgment> completed, int pending) {
+		boolean anyPass = completed.stream().anyMatch(j -> toBoolean(j.score()));
+		boolean anyFail = completed.stream().anyMatch(j -> !toBoolean(j.score()));
+		return anyPass && anyFail;
+	}
+
 	@Override
 	public String getName() {
 		return "Consensus";
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.NamedJudge;
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.fs.FileContentJudge;
+import org.springaicommunity.judge.fs.FileExistsJudge;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Isolated executors per {@link JudgeType}.
+ *
+ * <p>
+ * Each configured type gets its own bounded thread pool and queue, so slow or stalled
+ * judges of one type (e.g. LLM judges during a provider outage) cannot take the threads
+ * that build and test judges need. When a bulkhead is full, further judges of that type
+ * are rejected immediately and recorded as
+ * {@link org.springaicommunity.judge.result.JudgmentStatus#ERROR} judgments instead of
+ * waiting. Judges whose type has no bulkhead, or that have no metadata, run on the jury's
+ * own executor.
+ * </p>
+ *
+ * <p>
+ * Cheap judges selected by {@link Builder#inlineWhen(Predicate)} skip the thread hop and
+ * run on the calling thread. By default these are the file system checks
+ * ({@link FileExistsJudge} and {@link FileContentJudge}). Inline judges are not bounded
+ * by jury timeouts, so only select judges that cannot block.
+ * </p>
+ *
+ * <p>
+ * Bulkheads are meant to be shared by every jury in the application and closed on
+ * shutdown.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * JudgeBulkheads bulkheads = JudgeBulkheads.builder()
+ *     .bulkhead(JudgeType.LLM_POWERED, 8, 32)
+ *     .bulkhead(JudgeType.DETERMINISTIC, 4, 16)
+ *     .build();
+ *
+ * Jury jury = SimpleJury.builder()
+ *     .judge(fileExistsJudge)
+ *     .judge(buildJudge)
+ *     .judge(correctnessJudge)
+ *     .votingStrategy(new MajorityVotingStrategy())
+ *     .bulkheads(bulkheads)
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see SimpleJury.Builder#bulkheads(JudgeBulkheads)
+ */
+public final class JudgeBulkheads implements AutoCloseable {
+
+	private final Map<JudgeType, ThreadPoolExecutor> executors;
+
+	private final Predicate<Judge> inline;
+
+	private JudgeBulkheads(Map<JudgeType, ThreadPoolExecutor> executors, Predicate<Judge> inline) {
+		this.executors = executors;
+		this.inline = inline;
+	}
+
+	/**
+	 * Check whether a judge should run on the calling thread.
+	 * @param judge the judge
+	 * @return true if the judge is cheap enough to run inline
+	 */
+	public boolean isInline(Judge judge) {
+		return inline.test(judge);
+	}
+
+	/**
+	 * Get the bulkhead executor for a judge's type.
+	 * @param judge the judge
+	 * @return the executor, or null if the judge's type has no bulkhead
+	 */
+	public Executor executorFor(Judge judge) {
+		return Judges.tryMetadata(judge).map(metadata -> (Executor) executors.get(metadata.type())).orElse(null);
+	}
+
+	/**
+	 * Get the number of judges of a type that are currently running.
+	 * @param type the judge type
+	 * @return running judges, or 0 if the type has no bulkhead
+	 */
+	public int getActiveCount(JudgeType type) {
+		ThreadPoolExecutor executor = executors.get(type);
+		return executor != null ? executor.getActiveCount() : 0;
+	}
+
+	/**
+	 * Get the number of judges of a type waiting for a thread.
+	 * @param type the judge type
+	 * @return queued judges, or 0 if the type has no bulkhead
+	 */
+	public int getQueueSize(JudgeType type) {
+		ThreadPoolExecutor executor = executors.get(type);
+		return executor != null ? executor.getQueue().size() : 0;
+	}
+
+	/**
+	 * Shut down all bulkhead executors. Running judges are allowed to finish.
+	 */
+	@Override
+	public void close() {
+		executors.values().forEach(ThreadPoolExecutor::shutdown);
+	}
+
+	/**
+	 * Default inline selector: the file system checks in core.
+	 * @param judge the judge
+	 * @return true for {@link FileExistsJudge} and {@link FileContentJudge}, including
+	 * when wrapped in a {@link NamedJudge}
+	 */
+	public static boolean isFileSystemCheck(Judge judge) {
+		Judge target = (judge instanceof NamedJudge named) ? named.delegate() : judge;
+		return target instanceof FileExistsJudge || target instanceof FileContentJudge;
+	}
+
+	/**
+	 * Create a new builder for JudgeBulkheads.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for JudgeBulkheads.
+	 */
+	public static class Builder {
+
+		private final Map<JudgeType, Limit> limits = new EnumMap<>(JudgeType.class);
+
+		private Predicate<Judge> inline = JudgeBulkheads::isFileSystemCheck;
+
+		/**
+		 * Give a judge type its own bounded pool.
+		 * @param type the judge type
+		 * @param maxConcurrent maximum judges of this type running at once
+		 * @param queueCapacity judges of this type that may wait for a thread before
+		 * further ones are rejected (0 for none)
+		 * @return this builder
+		 */
+		public Builder bulkhead(JudgeType type, int maxConcurrent, int queueCapacity) {
+			if (type == null) {
+				throw new IllegalArgumentException("Judge type must not be null");
+			}
+			if (maxConcurrent < 1) {
+				throw new IllegalArgumentException("maxConcurrent must be at least 1");
+			}
+			if (queueCapacity < 0) {
+				throw new IllegalArgumentException("queueCapacity must be non-negative");
+			}
+			limits.put(type, new Limit(maxConcurrent, queueCapacity));
+			return this;
+		}
+
+		/**
+		 * Select the judges that run on the calling thread. Defaults to
+		 * {@link JudgeBulkheads#isFileSystemCheck(Judge)}.
+		 * @param inline predicate selecting cheap, non-blocking judges
+		 * @return this builder
+		 */
+		public Builder inlineWhen(Predicate<Judge> inline) {
+			if (inline == null) {
+				throw new IllegalArgumentException("Inline predicate must not be null");
+			}
+			this.inline = inline;
+			return this;
+		}
+
+		/**
+		 * Build the JudgeBulkheads instance.
+		 * @return configured bulkheads
+		 */
+		public JudgeBulkheads build() {
+			Map<JudgeType, ThreadPoolExecutor> executors = new EnumMap<>(JudgeType.class);
+			limits.forEach((type, limit) -> executors.put(type, newBulkhead(type, limit)));
+			return new JudgeBulkheads(executors, inline);
+		}
+
+		private static ThreadPoolExecutor newBulkhead(JudgeType type, Limit limit) {
+			BlockingQueue<Runnable> queue = limit.queueCapacity() > 0 ? new ArrayBlockingQueue<>(limit.queueCapacity())
+					: new SynchronousQueue<>();
+			String prefix = "agent-judge-" + type.name().toLowerCase(Locale.ROOT).replace('_', '-') + "-";
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(limit.maxConcurrent(), limit.maxConcurrent(), 60,
+					TimeUnit.SECONDS, queue, JudgeExecutors.daemonThreadFactory(prefix),
+					new ThreadPoolExecutor.AbortPolicy());
+			executor.allowCoreThreadTimeOut(true);
+			return executor;
+		}
+
+		private record Limit(int maxConcurrent, int queueCapacity) {
+		}
+
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+
+/**
+ * A judgment published by a jury while it is still voting.
+ *
+ * @param context the context being judged
+ * @param judgeIndex position of the judge in the jury
+ * @param judgeName name of the judge
+ * @param judgment the judge's judgment
+ * @param provisional aggregate of all judgments completed so far, as computed by the
+ * jury's voting strategy
+ * @param completed number of judges completed so far, including this one
+ * @param total number of judges in the jury
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see VerdictListener
+ */
+public record JudgmentEvent(JudgmentContext context, int judgeIndex, String judgeName, Judgment judgment,
+		Judgment provisional, int completed, int total) {
+
+	/**
+	 * Get the number of judges still running.
+	 * @return judges not yet completed
+	 */
+	public int pending() {
+		return total - completed;
+	}
+
+}
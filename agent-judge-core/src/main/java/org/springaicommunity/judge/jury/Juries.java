@@ -126,6 +126,10 @@ public final class Juries {
 
 	/**
 	 * Create a meta-jury from multiple juries.
+	 * <p>
+	 * The juries run in parallel; use {@link MetaJury#builder()} to run them sequentially
+	 * or on a custom executor.
+	 * </p>
 	 * @param strategy the voting strategy for aggregating jury verdicts
 	 * @param juries the juries to combine
 	 * @return a meta-jury combining all juries
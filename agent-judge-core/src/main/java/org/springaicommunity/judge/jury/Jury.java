@@ -17,9 +17,11 @@
 package org.springaicommunity.judge.jury;
 
 import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.context.Deadline;
 import org.springaicommunity.judge.context.JudgmentContext;
 
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * Jury of multiple judges that vote on agent execution.
@@ -77,4 +79,36 @@ public interface Jury {
 	 */
 	Verdict vote(JudgmentContext context);
 
+	/**
+	 * Execute all judges within a deadline and aggregate their judgments into a verdict.
+	 * <p>
+	 * Juries that nest other juries pass the deadline on, so an outer budget bounds every
+	 * sub-jury. Judges still running when the deadline passes are reported as
+	 * {@link org.springaicommunity.judge.result.JudgmentStatus#ERROR} judgments. The
+	 * default implementation ignores the deadline.
+	 * </p>
+	 * @param context the judgment context
+	 * @param deadline the deadline for the verdict (null for no deadline)
+	 * @return verdict with aggregated and individual judgments
+	 */
+	default Verdict vote(JudgmentContext context, Deadline deadline) {
+		return vote(context);
+	}
+
+	/**
+	 * Create a copy of this jury whose judges are wrapped by the given decorator.
+	 * <p>
+	 * Juries that nest other juries apply the decorator recursively, so infrastructure
+	 * such as concurrency limits, caching or circuit breakers can be added to every judge
+	 * of an existing jury. Decorators should preserve judge metadata (e.g. by returning a
+	 * {@link org.springaicommunity.judge.NamedJudge}). The default implementation returns
+	 * this jury unchanged.
+	 * </p>
+	 * @param decorator function wrapping each judge
+	 * @return a jury with decorated judges
+	 */
+	default Jury decorateJudges(UnaryOperator<Judge> decorator) {
+		return this;
+	}
+
 }
@@ -116,6 +116,19 @@ public class MajorityVotingStrategy implements VotingStrategy {
 		return Judgment.builder().score(new BooleanScore(majorityPass)).status(status).reasoning(reasoning).build();
 	}
 
+	/**
+	 * The majority is decided once one side leads by more than the number of pending
+	 * judges, so that even if every pending judge voted for the other side it could not
+	 * catch up (ties included).
+	 */
+	@Override
+	public boolean isDecided(List<Judgment> completed, int pending) {
+		List<Judgment> processedJudgments = applyErrorPolicy(completed);
+		long passCount = processedJudgments.stream().filter(j -> j.status() == JudgmentStatus.PASS).count();
+		long failCount = processedJudgments.stream().filter(j -> j.status() == JudgmentStatus.FAIL).count();
+		return passCount > failCount + pending || failCount > passCount + pending;
+	}
+
 	@Override
 	public String getName() {
 		return "majority";
@@ -17,19 +17,39 @@
 package org.springaicommunity.judge.jury;
 
 import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.Deadline;
 import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Judgment;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
 
 /**
  * Meta-jury that aggregates verdicts from multiple sub-juries.
  *
  * <p>
- * Package-private implementation used by {@link Juries} utility for jury-of-juries
- * composition. Executes multiple juries and aggregates their verdicts using a voting
- * strategy.
+ * Used by the {@link Juries} utility for jury-of-juries composition, or built directly
+ * via {@link #builder()} to control execution. Executes multiple juries and aggregates
+ * their verdicts using a voting strategy.
+ * </p>
+ *
+ * <p>
+ * Sub-juries run in parallel by default, so a meta-jury over a deterministic, an exec and
+ * an LLM jury costs the slowest of them rather than their sum. Sub-verdicts keep the
+ * order in which the juries were added. The default executor is
+ * {@link JudgeExecutors#virtualThreads()}: sub-juries block while waiting on their own
+ * judges, which must not happen on {@code ForkJoinPool.commonPool()}. If a sub-jury
+ * throws, the others are cancelled.
  * </p>
  *
  * <p>
@@ -41,18 +61,33 @@ import java.util.Map;
  * @author Mark Pollack
  * @since 0.1.0
  */
-class MetaJury implements Jury {
+public class MetaJury implements Jury {
 
 	private final List<Jury> juries;
 
 	private final VotingStrategy metaStrategy;
 
+	private final boolean parallel;
+
+	private final Executor executor;
+
 	/**
-	 * Create a meta-jury from sub-juries.
+	 * Create a meta-jury from sub-juries, running them in parallel.
 	 * @param juries the sub-juries to aggregate
 	 * @param metaStrategy the voting strategy for aggregating jury verdicts
 	 */
 	MetaJury(List<Jury> juries, VotingStrategy metaStrategy) {
+		this(juries, metaStrategy, true, null);
+	}
+
+	/**
+	 * Create a meta-jury from sub-juries.
+	 * @param juries the sub-juries to aggregate
+	 * @param metaStrategy the voting strategy for aggregating jury verdicts
+	 * @param parallel true to run sub-juries concurrently
+	 * @param executor executor for parallel execution (null for the default)
+	 */
+	MetaJury(List<Jury> juries, VotingStrategy metaStrategy, boolean parallel, Executor executor) {
 		if (juries == null || juries.isEmpty()) {
 			throw new IllegalArgumentException("At least one jury is required");
 		}
@@ -61,6 +96,8 @@ class MetaJury implements Jury {
 		}
 		this.juries = List.copyOf(juries);
 		this.metaStrategy = metaStrategy;
+		this.parallel = parallel;
+		this.executor = executor != null ? executor : JudgeExecutors.virtualThreads();
 	}
 
 	@Override
@@ -76,8 +113,20 @@ class MetaJury implements Jury {
 
 	@Override
 	public Verdict vote(JudgmentContext context) {
-		// Execute all sub-juries
-		List<Verdict> subVerdicts = juries.stream().map(jury -> jury.vote(context)).toList();
+		return vote(context, null);
+	}
+
+	@Override
+	public MetaJury decorateJudges(UnaryOperator<Judge> decorator) {
+		List<Jury> decorated = juries.stream().map(jury -> jury.decorateJudges(decorator)).toList();
+		return new MetaJury(decorated, metaStrategy, parallel, executor);
+	}
+
+	@Override
+	public Verdict vote(JudgmentContext context, Deadline deadline) {
+		// Execute all sub-juries, sharing the deadline
+		List<Verdict> subVerdicts = parallel ? voteInParallel(context, deadline)
+				: juries.stream().map(jury -> jury.vote(context, deadline)).toList();
 
 		// Extract aggregated judgments from each jury verdict
 		List<Judgment> aggregatedJudgments = subVerdicts.stream().map(Verdict::aggregated).toList();
@@ -93,4 +142,130 @@ class MetaJury implements Jury {
 			.build();
 	}
 
+	/**
+	 * Run all sub-juries on the executor and collect their verdicts in jury order.
+	 * @param context the judgment context
+	 * @param deadline the deadline shared by all sub-juries (null if unbounded)
+	 * @return sub-verdicts in the same order as the juries
+	 */
+	private List<Verdict> voteInParallel(JudgmentContext context, Deadline deadline) {
+		CompletionService<Verdict> completionService = new ExecutorCompletionService<>(executor);
+		Map<Future<Verdict>, Integer> indexByFuture = new HashMap<>();
+		Verdict[] verdicts = new Verdict[juries.size()];
+
+		try {
+			for (int i = 0; i < juries.size(); i++) {
+				Jury jury = juries.get(i);
+				indexByFuture.put(completionService.submit(() -> jury.vote(context, deadline)), i);
+			}
+			for (int remaining = juries.size(); remaining > 0; remaining--) {
+				Future<Verdict> done = completionService.take();
+				verdicts[indexByFuture.get(done)] = done.get();
+			}
+		}
+		catch (ExecutionException ex) {
+			cancelAll(indexByFuture.keySet());
+			throw new CompletionException(ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			cancelAll(indexByFuture.keySet());
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		catch (RuntimeException ex) {
+			// Executor rejected a submission
+			cancelAll(indexByFuture.keySet());
+			throw ex;
+		}
+		return List.of(verdicts);
+	}
+
+	private static void cancelAll(Iterable<Future<Verdict>> futures) {
+		for (Future<Verdict> future : futures) {
+			future.cancel(true);
+		}
+	}
+
+	/**
+	 * Create a new builder for MetaJury.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for MetaJury.
+	 */
+	public static class Builder {
+
+		private final List<Jury> juries = new ArrayList<>();
+
+		private VotingStrategy votingStrategy;
+
+		private boolean parallel = true;
+
+		private Executor executor;
+
+		/**
+		 * Add a sub-jury.
+		 * @param jury the jury to add
+		 * @return this builder
+		 */
+		public Builder jury(Jury jury) {
+			if (jury == null) {
+				throw new IllegalArgumentException("Jury cannot be null");
+			}
+			juries.add(jury);
+			return this;
+		}
+
+		/**
+		 * Set the voting strategy for aggregating sub-jury verdicts.
+		 * @param votingStrategy the voting strategy
+		 * @return this builder
+		 */
+		public Builder votingStrategy(VotingStrategy votingStrategy) {
+			this.votingStrategy = votingStrategy;
+			return this;
+		}
+
+		/**
+		 * Enable or disable parallel execution of sub-juries.
+		 * @param parallel true for parallel execution (default), false for sequential
+		 * @return this builder
+		 */
+		public Builder parallel(boolean parallel) {
+			this.parallel = parallel;
+			return this;
+		}
+
+		/**
+		 * Set custom executor for parallel execution.
+		 * <p>
+		 * Each sub-jury blocks a thread while its own judges run, so prefer an executor
+		 * that does not share threads with those judges.
+		 * </p>
+		 * @param executor the executor to use (default
+		 * {@link JudgeExecutors#virtualThreads()})
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Build the MetaJury instance.
+		 * @return configured MetaJury
+		 */
+		public MetaJury build() {
+			if (votingStrategy == null) {
+				throw new IllegalStateException("Voting strategy is required");
+			}
+			return new MetaJury(juries, votingStrategy, parallel, executor);
+		}
+
+	}
+
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.springaicommunity.judge.AsyncJudge;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.NamedJudge;
+import org.springaicommunity.judge.cache.CacheableJudge;
+import org.springaicommunity.judge.cache.InputFingerprint;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Judge that holds a permit from a shared {@link Semaphore} while its delegate runs.
+ *
+ * <p>
+ * Used by {@link BatchJury} to bound how many judges of a type run at once. The wrapper
+ * keeps the capabilities the jury machinery looks for: it is an {@link AsyncJudge} when
+ * the delegate is one (waiting for the permit off the calling thread) and a
+ * {@link CacheableJudge} with the delegate's cache identity when the delegate is
+ * cacheable. File system checks are cheap, so {@link #limit} leaves them unwrapped and
+ * {@link JudgeBulkheads#isFileSystemCheck(Judge)} still recognizes them.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class PermitLimitedJudge implements JudgeWithMetadata {
+
+	private final Judge delegate;
+
+	private final JudgeMetadata metadata;
+
+	private final Semaphore permits;
+
+	private PermitLimitedJudge(Judge delegate, JudgeMetadata metadata, Semaphore permits) {
+		this.delegate = delegate;
+		this.metadata = metadata;
+		this.permits = permits;
+	}
+
+	/**
+	 * Wrap a judge so it holds a permit while running.
+	 * @param judge the judge to limit
+	 * @param metadata the judge's metadata
+	 * @param permits the permits shared by all judges of the same type
+	 * @param executor executor used by asynchronous judges to wait for a permit
+	 * @return the limited judge, or the judge itself for file system checks
+	 */
+	static Judge limit(Judge judge, JudgeMetadata metadata, Semaphore permits, Executor executor) {
+		if (JudgeBulkheads.isFileSystemCheck(judge)) {
+			return judge;
+		}
+		Judge target = (judge instanceof NamedJudge named) ? named.delegate() : judge;
+		if (target instanceof AsyncJudge async) {
+			return new Async(judge, metadata, permits, async, executor);
+		}
+		if (target instanceof CacheableJudge cacheable) {
+			return new Cacheable(judge, metadata, permits, cacheable);
+		}
+		return new PermitLimitedJudge(judge, metadata, permits);
+	}
+
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		try {
+			permits.acquire();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		try {
+			return delegate.judge(context);
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	@Override
+	public JudgeMetadata metadata() {
+		return metadata;
+	}
+
+	/**
+	 * Limited asynchronous judge. The permit is taken without blocking the caller and
+	 * released when the delegate's future completes. Cancelling the returned future
+	 * cancels the delegate's future, or gives the permit back as soon as it is acquired
+	 * when the call is still waiting for one.
+	 */
+	private static final class Async extends PermitLimitedJudge implements AsyncJudge {
+
+		private final AsyncJudge async;
+
+		private final Executor executor;
+
+		Async(Judge delegate, JudgeMetadata metadata, Semaphore permits, AsyncJudge async, Executor executor) {
+			super(delegate, metadata, permits);
+			this.async = async;
+			this.executor = executor;
+		}
+
+		@Override
+		public CompletableFuture<Judgment> judgeAsync(JudgmentContext context) {
+			Semaphore permits = super.permits;
+			CompletableFuture<Void> acquired = permits.tryAcquire() ? CompletableFuture.completedFuture(null)
+					: CompletableFuture.runAsync(permits::acquireUninterruptibly, executor);
+			CompletableFuture<Judgment> result = new CompletableFuture<>();
+			acquired.whenComplete((ignored, error) -> {
+				if (error != null) {
+					result.completeExceptionally(error);
+					return;
+				}
+				if (result.isDone()) {
+					// Cancelled while waiting for the permit
+					permits.release();
+					return;
+				}
+				CompletableFuture<Judgment> judgment;
+				try {
+					judgment = async.judgeAsync(context);
+				}
+				catch (RuntimeException ex) {
+					permits.release();
+					result.completeExceptionally(ex);
+					return;
+				}
+				judgment.whenComplete((value, failure) -> {
+					permits.release();
+					if (failure != null) {
+						result.completeExceptionally(failure);
+					}
+					else {
+						result.complete(value);
+					}
+				});
+				result.whenComplete((value, failure) -> {
+					if (result.isCancelled()) {
+						judgment.cancel(true);
+					}
+				});
+			});
+			return result;
+		}
+
+	}
+
+	/**
+	 * Limited cacheable judge, keyed exactly like its delegate.
+	 */
+	private static final class Cacheable extends PermitLimitedJudge implements CacheableJudge {
+
+		private final CacheableJudge cacheable;
+
+		Cacheable(Judge delegate, JudgeMetadata metadata, Semaphore permits, CacheableJudge cacheable) {
+			super(delegate, metadata, permits);
+			this.cacheable = cacheable;
+		}
+
+		@Override
+		public String cacheIdentity() {
+			return cacheable.cacheIdentity();
+		}
+
+		@Override
+		public String cacheVersion() {
+			return cacheable.cacheVersion();
+		}
+
+		@Override
+		public InputFingerprint cacheInputs() {
+			return cacheable.cacheInputs();
+		}
+
+		@Override
+		public String cacheContextKey(JudgmentContext context) {
+			return cacheable.cacheContextKey(context);
+		}
+
+	}
+
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.reactivestreams.Publisher;
+import org.springaicommunity.judge.AsyncJudge;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.ReactiveJudge;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Reactive jury that evaluates judges without blocking the caller.
+ *
+ * <p>
+ * Each judge is adapted to a {@link Mono}: a {@link ReactiveJudge} is subscribed to
+ * directly, an {@link AsyncJudge} is bridged from its {@code CompletableFuture}, and a
+ * plain blocking {@link Judge} is run on a scheduler (by default
+ * {@link Schedulers#boundedElastic()}). Only blocking judges occupy a thread while they
+ * run, so non-blocking judges can have many judgments in flight on a few threads.
+ * </p>
+ *
+ * <p>
+ * {@link #voteAll(Publisher)} judges a stream of contexts with at most
+ * {@code concurrency} contexts in flight. Contexts are requested from upstream as
+ * verdicts are consumed, so the result composes with operators such as
+ * {@code limitRate}. Following the separation of {@link Judge}, {@link AsyncJudge} and
+ * {@link ReactiveJudge}, this class does not implement the blocking {@link Jury}
+ * interface. Requires reactor-core on the classpath.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * ReactiveJury jury = ReactiveJury.builder()
+ *     .judge(buildSuccessJudge)
+ *     .reactiveJudge(correctnessJudge)
+ *     .votingStrategy(new MajorityVotingStrategy())
+ *     .concurrency(32)
+ *     .build();
+ *
+ * Flux<Verdict> verdicts = jury.voteAll(agentRuns.map(this::toContext))
+ *     .map(BatchVerdict::verdict);
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public class ReactiveJury {
+
+	private final List<Member> judges;
+
+	private final VotingStrategy votingStrategy;
+
+	private final Map<String, Double> weights;
+
+	private final Scheduler scheduler;
+
+	private final int concurrency;
+
+	private final boolean ordered;
+
+	private final Duration judgeTimeout;
+
+	private ReactiveJury(Builder builder) {
+		if (builder.judges.isEmpty()) {
+			throw new IllegalArgumentException("Jury must have at least one judge");
+		}
+		if (builder.votingStrategy == null) {
+			throw new IllegalArgumentException("Voting strategy is required");
+		}
+		this.judges = List.copyOf(builder.judges);
+		this.votingStrategy = builder.votingStrategy;
+		this.weights = Map.copyOf(builder.weights);
+		this.scheduler = builder.scheduler != null ? builder.scheduler : Schedulers.boundedElastic();
+		this.concurrency = builder.concurrency;
+		this.ordered = builder.ordered;
+		this.judgeTimeout = builder.judgeTimeout;
+	}
+
+	/**
+	 * Get the voting strategy used to aggregate judgments.
+	 * @return the voting strategy
+	 */
+	public VotingStrategy getVotingStrategy() {
+		return votingStrategy;
+	}
+
+	/**
+	 * Evaluate a context with all judges concurrently.
+	 * <p>
+	 * Nothing runs until the returned Mono is subscribed. If a judge signals an error the
+	 * remaining judges are cancelled and the Mono fails with that error; a judge that
+	 * exceeds the judge timeout is recorded as an ERROR judgment instead.
+	 * </p>
+	 * @param context the judgment context
+	 * @return a Mono emitting the verdict
+	 */
+	public Mono<Verdict> vote(JudgmentContext context) {
+		return Flux.range(0, judges.size())
+			.flatMap(index -> judge(index, context).map(judgment -> new IndexedJudgment(index, judgment)))
+			.collect(() -> new Judgment[judges.size()],
+					(results, result) -> results[result.index()] = result.judgment())
+			.map(this::toVerdict);
+	}
+
+	/**
+	 * Evaluate a stream of contexts.
+	 * <p>
+	 * At most {@code concurrency} contexts are judged at a time and upstream demand
+	 * follows downstream demand. A context whose evaluation fails yields an error verdict
+	 * instead of terminating the stream. Results are emitted in input order unless the
+	 * jury was built with {@code ordered(false)}.
+	 * </p>
+	 * @param contexts the contexts to judge
+	 * @return a Flux emitting one result per context
+	 */
+	public Flux<BatchVerdict> voteAll(Publisher<JudgmentContext> contexts) {
+		Function<Tuple2<Long, JudgmentContext>, Mono<BatchVerdict>> voter = indexed -> vote(indexed.getT2())
+			.onErrorResume(ex -> Mono.just(errorVerdict(ex)))
+			.map(verdict -> new BatchVerdict(indexed.getT1(), indexed.getT2(), verdict));
+		Flux<Tuple2<Long, JudgmentContext>> indexed = Flux.from(contexts).index();
+		return ordered ? indexed.flatMapSequential(voter, concurrency) : indexed.flatMap(voter, concurrency);
+	}
+
+	/**
+	 * Adapt the judge at the given index to a Mono, using its non-blocking API when it
+	 * has one.
+	 * @param index the judge index
+	 * @param context the judgment context
+	 * @return a Mono emitting the judgment
+	 */
+	private Mono<Judgment> judge(int index, JudgmentContext context) {
+		Mono<Judgment> judgment = judges.get(index)
+			.judge(context, scheduler)
+			.switchIfEmpty(Mono.fromSupplier(() -> noJudgment(index)));
+		if (judgeTimeout != null) {
+			judgment = judgment.timeout(judgeTimeout, Mono.fromSupplier(() -> timedOut(index)));
+		}
+		return judgment;
+	}
+
+	private Verdict toVerdict(Judgment[] results) {
+		List<Judgment> individualJudgments = Arrays.asList(results);
+		Map<String, Judgment> judgmentByName = new LinkedHashMap<>();
+		for (int i = 0; i < results.length; i++) {
+			judgmentByName.put(getJudgeName(i), results[i]);
+		}
+		return Verdict.builder()
+			.aggregated(votingStrategy.aggregate(individualJudgments, weights))
+			.individual(individualJudgments)
+			.individualByName(judgmentByName)
+			.weights(weights)
+			.build();
+	}
+
+	private Judgment timedOut(int index) {
+		String reasoning = "Judge '" + getJudgeName(index) + "' did not complete before its deadline";
+		return Judgment.error(reasoning, new TimeoutException(reasoning));
+	}
+
+	private Judgment noJudgment(int index) {
+		return Judgment.error("Judge '" + getJudgeName(index) + "' completed without a judgment", null);
+	}
+
+	private static Verdict errorVerdict(Throwable ex) {
+		Judgment error = Judgment.error("Jury threw exception: " + ex.getMessage(), ex);
+		return Verdict.builder().aggregated(error).build();
+	}
+
+	/**
+	 * Get judge name from metadata or generate default.
+	 * @param index the judge index
+	 * @return judge name
+	 */
+	private String getJudgeName(int index) {
+		String name = judges.get(index).name();
+		return name != null ? name : "Judge#" + (index + 1);
+	}
+
+	/**
+	 * Create a new builder for ReactiveJury.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private record IndexedJudgment(int index, Judgment judgment) {
+	}
+
+	private static String nameOf(Object judge) {
+		return (judge instanceof JudgeWithMetadata jwm) ? jwm.metadata().name() : null;
+	}
+
+	/**
+	 * A judge adapted to a {@link Mono}, using its non-blocking API when it has one.
+	 */
+	private sealed interface Member permits BlockingMember, AsyncMember, ReactiveMember {
+
+		/**
+		 * Create a member for a judge added through {@link Builder#judge(Judge)}.
+		 * @param judge the judge
+		 * @return the member, keeping the judge's name
+		 */
+		static Member of(Judge judge) {
+			String name = nameOf(judge);
+			if (judge instanceof ReactiveJudge reactiveJudge) {
+				return new ReactiveMember(reactiveJudge, name);
+			}
+			return Judges.asAsync(judge)
+				.<Member>map(asyncJudge -> new AsyncMember(asyncJudge, name))
+				.orElseGet(() -> new BlockingMember(judge, name));
+		}
+
+		/**
+		 * Get the judge's name.
+		 * @return the name, or null if the judge has no metadata
+		 */
+		String name();
+
+		/**
+		 * Evaluate the context.
+		 * @param context the judgment context
+		 * @param scheduler the scheduler for blocking judges
+		 * @return a Mono emitting the judgment
+		 */
+		Mono<Judgment> judge(JudgmentContext context, Scheduler scheduler);
+
+	}
+
+	private record BlockingMember(Judge judge, String name) implements Member {
+
+		@Override
+		public Mono<Judgment> judge(JudgmentContext context, Scheduler scheduler) {
+			return Mono.fromCallable(() -> judge.judge(context)).subscribeOn(scheduler);
+		}
+
+	}
+
+	private record AsyncMember(AsyncJudge judge, String name) implements Member {
+
+		@Override
+		public Mono<Judgment> judge(JudgmentContext context, Scheduler scheduler) {
+			return Mono.fromFuture(() -> judge.judgeAsync(context));
+		}
+
+	}
+
+	private record ReactiveMember(ReactiveJudge judge, String name) implements Member {
+
+		@Override
+		public Mono<Judgment> judge(JudgmentContext context, Scheduler scheduler) {
+			return Mono.defer(() -> judge.judge(context));
+		}
+
+	}
+
+	/**
+	 * Builder for ReactiveJury.
+	 */
+	public static class Builder {
+
+		private final List<Member> judges = new ArrayList<>();
+
+		private final Map<String, Double> weights = new HashMap<>();
+
+		private VotingStrategy votingStrategy;
+
+		private Scheduler scheduler;
+
+		private int concurrency = 16;
+
+		private boolean ordered = true;
+
+		private Duration judgeTimeout;
+
+		/**
+		 * Add a judge with equal weight (1.0).
+		 * <p>
+		 * A judge that also implements {@link ReactiveJudge} or {@link AsyncJudge} (see
+		 * {@link Judges#asAsync(Judge)}) is called through that interface; otherwise it
+		 * runs on the jury's scheduler.
+		 * </p>
+		 * @param judge the judge to add
+		 * @return this builder
+		 */
+		public Builder judge(Judge judge) {
+			return judge(judge, 1.0);
+		}
+
+		/**
+		 * Add a judge with a custom weight.
+		 * @param judge the judge to add
+		 * @param weight the weight for this judge
+		 * @return this builder
+		 */
+		public Builder judge(Judge judge, double weight) {
+			return add(judge != null ? Member.of(judge) : null, weight);
+		}
+
+		/**
+		 * Add an asynchronous judge with equal weight (1.0).
+		 * @param judge the judge to add
+		 * @return this builder
+		 */
+		public Builder asyncJudge(AsyncJudge judge) {
+			return asyncJudge(judge, 1.0);
+		}
+
+		/**
+		 * Add an asynchronous judge with a custom weight.
+		 * @param judge the judge to add
+		 * @param weight the weight for this judge
+		 * @return this builder
+		 */
+		public Builder asyncJudge(AsyncJudge judge, double weight) {
+			return add(judge != null ? new AsyncMember(judge, nameOf(judge)) : null, weight);
+		}
+
+		/**
+		 * Add a reactive judge with equal weight (1.0).
+		 * @param judge the judge to add
+		 * @return this builder
+		 */
+		public Builder reactiveJudge(ReactiveJudge judge) {
+			return reactiveJudge(judge, 1.0);
+		}
+
+		/**
+		 * Add a reactive judge with a custom weight.
+		 * @param judge the judge to add
+		 * @param weight the weight for this judge
+		 * @return this builder
+		 */
+		public Builder reactiveJudge(ReactiveJudge judge, double weight) {
+			return add(judge != null ? new ReactiveMember(judge, nameOf(judge)) : null, weight);
+		}
+
+		private Builder add(Member judge, double weight) {
+			if (judge == null) {
+				throw new IllegalArgumentException("Judge cannot be null");
+			}
+			if (weight < 0) {
+				throw new IllegalArgumentException("Weight must be non-negative");
+			}
+			judges.add(judge);
+			weights.put(String.valueOf(judges.size() - 1), weight);
+			return this;
+		}
+
+		/**
+		 * Set the voting strategy.
+		 * @param votingStrategy the voting strategy
+		 * @return this builder
+		 */
+		public Builder votingStrategy(VotingStrategy votingStrategy) {
+			this.votingStrategy = votingStrategy;
+			return this;
+		}
+
+		/**
+		 * Set the scheduler that runs blocking judges. Defaults to
+		 * {@link Schedulers#boundedElastic()}.
+		 * @param scheduler the scheduler
+		 * @return this builder
+		 */
+		public Builder scheduler(Scheduler scheduler) {
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		/**
+		 * Set how many contexts {@link ReactiveJury#voteAll(Publisher)} judges at the
+		 * same time (default 16).
+		 * @param concurrency maximum contexts in flight
+		 * @return this builder
+		 */
+		public Builder concurrency(int concurrency) {
+			if (concurrency < 1) {
+				throw new IllegalArgumentException("Concurrency must be at least 1");
+			}
+			this.concurrency = concurrency;
+			return this;
+		}
+
+		/**
+		 * Emit {@link ReactiveJury#voteAll(Publisher)} results in input order (the
+		 * default) or in completion order.
+		 * @param ordered true to emit results in input order
+		 * @return this builder
+		 */
+		public Builder ordered(boolean ordered) {
+			this.ordered = ordered;
+			return this;
+		}
+
+		/**
+		 * Bound how long each judge may take.
+		 * @param judgeTimeout maximum time per judge
+		 * @return this builder
+		 */
+		public Builder judgeTimeout(Duration judgeTimeout) {
+			if (judgeTimeout != null && (judgeTimeout.isZero() || judgeTimeout.isNegative())) {
+				throw new IllegalArgumentException("Judge timeout must be positive");
+			}
+			this.judgeTimeout = judgeTimeout;
+			return this;
+		}
+
+		/**
+		 * Build the ReactiveJury instance.
+		 * @return configured ReactiveJury
+		 * @throws IllegalArgumentException if no judge or voting strategy was set
+		 */
+		public ReactiveJury build() {
+			return new ReactiveJury(this);
+		}
+
+	}
+
+}
@@ -16,28 +16,89 @@
 
 package org.springaicommunity.judge.jury;
 
+import org.springaicommunity.judge.AsyncJudge;
 import org.springaicommunity.judge.Judge;
 import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.Deadline;
 import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Judgment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ForkJoinPool;
-import java.util.stream.Collectors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
 
 /**
  * Simple jury implementation with parallel judge execution.
  *
  * <p>
- * Executes all judges in parallel using CompletableFuture and aggregates their judgments
- * using the configured VotingStrategy. Parallel execution can be disabled for sequential
- * evaluation.
+ * Executes all judges in parallel on the configured executor and aggregates their
+ * judgments using the configured VotingStrategy. Parallel execution can be disabled for
+ * sequential evaluation.
+ * </p>
+ *
+ * <p>
+ * If a judge throws, the remaining judges are cancelled (their threads interrupted) and
+ * the exception is rethrown wrapped in a {@link CompletionException}. For judges that
+ * block on I/O, use {@link Builder#virtualThreads()} rather than the default
+ * {@code ForkJoinPool.commonPool()}.
+ * </p>
+ *
+ * <p>
+ * With {@link Builder#shortCircuit(boolean)} enabled, the jury asks the voting strategy
+ * after every judgment whether the outcome is already decided (see
+ * {@link VotingStrategy#isDecided(List, int)}). Once it is, the remaining judges are
+ * cancelled or skipped and appear in the verdict as not executed (see
+ * {@link Verdict#notExecuted()}).
+ * </p>
+ *
+ * <p>
+ * Judges can be bounded with a per-judge timeout ({@link Builder#judgeTimeout(Duration)})
+ * and the whole verdict with an overall timeout ({@link Builder#timeout(Duration)}) or a
+ * {@link Deadline} passed to {@link #vote(JudgmentContext, Deadline)}. A judge that
+ * misses its deadline is cancelled and recorded as an
+ * {@link org.springaicommunity.judge.result.JudgmentStatus#ERROR} judgment, which the
+ * voting strategy's error policy then handles.
+ * </p>
+ *
+ * <p>
+ * Judges that also implement {@link AsyncJudge} (see {@link Judges#fromAsync} and
+ * {@link Judges#fromReactive}) are started on the calling thread and their futures are
+ * composed directly, so they do not occupy an executor thread while pending. Cancelling
+ * such a judge cancels its future.
+ * </p>
+ *
+ * <p>
+ * With {@link Builder#bulkheads(JudgeBulkheads)}, each judge runs on the bounded pool for
+ * its {@link org.springaicommunity.judge.JudgeType}, and cheap judges run inline on the
+ * calling thread. A judge rejected by a full bulkhead is recorded as an ERROR judgment.
+ * </p>
+ *
+ * <p>
+ * Progress can be observed with a {@link VerdictListener}, registered on the builder or
+ * passed to {@link #vote(JudgmentContext, Deadline, VerdictListener)}, which receives
+ * each judgment as it arrives together with a provisional aggregate.
  * </p>
  *
  * <p>
@@ -59,6 +120,8 @@ import java.util.stream.Collectors;
  */
 public class SimpleJury implements Jury {
 
+	private static final Logger logger = LoggerFactory.getLogger(SimpleJury.class);
+
 	private final List<Judge> judges;
 
 	private final VotingStrategy votingStrategy;
@@ -69,8 +132,19 @@ public class SimpleJury implements Jury {
 
 	private final Executor executor;
 
+	private final boolean shortCircuit;
+
+	private final Duration judgeTimeout;
+
+	private final Duration timeout;
+
+	private final JudgeBulkheads bulkheads;
+
+	private final List<VerdictListener> listeners;
+
 	private SimpleJury(List<Judge> judges, VotingStrategy votingStrategy, Map<String, Double> weights, boolean parallel,
-			Executor executor) {
+			Executor executor, boolean shortCircuit, Duration judgeTimeout, Duration timeout, JudgeBulkheads bulkheads,
+			List<VerdictListener> listeners) {
 		if (judges == null || judges.isEmpty()) {
 			throw new IllegalArgumentException("Jury must have at least one judge");
 		}
@@ -82,6 +156,11 @@ public class SimpleJury implements Jury {
 		this.weights = Map.copyOf(weights);
 		this.parallel = parallel;
 		this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+		this.shortCircuit = shortCircuit;
+		this.judgeTimeout = judgeTimeout;
+		this.timeout = timeout;
+		this.bulkheads = bulkheads;
+		this.listeners = List.copyOf(listeners);
 	}
 
 	@Override
@@ -96,25 +175,55 @@ public class SimpleJury implements Jury {
 
 	@Override
 	public Verdict vote(JudgmentContext context) {
-		List<Judgment> individualJudgments;
+		return vote(context, null);
+	}
 
-		if (parallel) {
-			// Parallel execution using CompletableFuture
-			List<CompletableFuture<Judgment>> futures = judges.stream()
-				.map(judge -> CompletableFuture.supplyAsync(() -> judge.judge(context), executor))
-				.toList();
+	@Override
+	public SimpleJury decorateJudges(UnaryOperator<Judge> decorator) {
+		List<Judge> decorated = judges.stream().map(decorator).toList();
+		return new SimpleJury(decorated, votingStrategy, weights, parallel, executor, shortCircuit, judgeTimeout,
+				timeout, bulkheads, listeners);
+	}
+
+	@Override
+	public Verdict vote(JudgmentContext context, Deadline deadline) {
+		return vote(context, deadline, null);
+	}
 
-			// Wait for all to complete
-			CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+	/**
+	 * Evaluate the context, reporting progress to a listener.
+	 * <p>
+	 * The listener is notified in addition to any listeners registered on the builder.
+	 * </p>
+	 * @param context the judgment context
+	 * @param deadline point in time by which the verdict must be produced (null if
+	 * unbounded)
+	 * @param listener listener for this vote only (may be null)
+	 * @return the verdict
+	 */
+	public Verdict vote(JudgmentContext context, Deadline deadline, VerdictListener listener) {
+		Deadline verdictDeadline = Deadline.earliest(deadline, timeout != null ? Deadline.after(timeout) : null);
+		List<VerdictListener> voteListeners = listeners;
+		if (listener != null) {
+			voteListeners = new ArrayList<>(listeners);
+			voteListeners.add(listener);
+		}
 
-			// Collect results
-			individualJudgments = allOf.thenApply(v -> futures.stream().map(CompletableFuture::join).toList()).join();
+		// Slots stay null for judges skipped or cancelled by short-circuiting
+		Judgment[] results = new Judgment[judges.size()];
+
+		if (parallel) {
+			voteInParallel(context, verdictDeadline, results, voteListeners);
 		}
 		else {
-			// Sequential execution
-			individualJudgments = judges.stream().map(judge -> judge.judge(context)).toList();
+			voteSequentially(context, verdictDeadline, results, voteListeners);
 		}
 
+		boolean decidedEarly = Arrays.stream(results).anyMatch(Objects::isNull);
+		List<Judgment> individualJudgments = Arrays.stream(results)
+			.map(j -> j != null ? j : Verdict.notExecuted("Not executed: verdict decided early"))
+			.toList();
+
 		// Build identity map (preserves order via LinkedHashMap)
 		Map<String, Judgment> judgmentByName = new LinkedHashMap<>();
 		for (int i = 0; i < judges.size(); i++) {
@@ -122,15 +231,303 @@ public class SimpleJury implements Jury {
 			judgmentByName.put(name, individualJudgments.get(i));
 		}
 
-		// Aggregate using voting strategy
-		Judgment aggregated = votingStrategy.aggregate(individualJudgments, weights);
+		// Aggregate using voting strategy (only executed judges vote)
+		Judgment aggregated = decidedEarly ? votingStrategy.aggregate(executed(results), executedWeights(results))
+				: votingStrategy.aggregate(individualJudgments, weights);
 
-		return Verdict.builder()
+		Verdict verdict = Verdict.builder()
 			.aggregated(aggregated)
 			.individual(individualJudgments)
 			.individualByName(judgmentByName)
 			.weights(weights)
 			.build();
+		for (VerdictListener voteListener : voteListeners) {
+			try {
+				voteListener.onVerdict(verdict);
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Verdict listener failed on final verdict", ex);
+			}
+		}
+		return verdict;
+	}
+
+	/**
+	 * Run judges one after another, stopping once the verdict is decided.
+	 * @param context the judgment context
+	 * @param verdictDeadline deadline for the whole verdict (null if unbounded)
+	 * @param results slots to fill, in judge order
+	 * @param voteListeners listeners to notify of each judgment
+	 */
+	private void voteSequentially(JudgmentContext context, Deadline verdictDeadline, Judgment[] results,
+			List<VerdictListener> voteListeners) {
+		for (int i = 0; i < judges.size(); i++) {
+			Deadline judgeDeadline = judgeDeadline(verdictDeadline);
+			results[i] = (judgeDeadline != null || !runsOnCaller(i)) ? judgeWithin(i, context, judgeDeadline)
+					: judges.get(i).judge(context);
+			publish(context, results, i, voteListeners);
+			if (isDecided(results, i + 1)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Start a single judge and wait for it, giving up when its deadline passes.
+	 * @param index the judge index
+	 * @param context the judgment context
+	 * @param deadline the judge's deadline (null if unbounded)
+	 * @return the judgment, or an error judgment if the deadline passed
+	 */
+	private Judgment judgeWithin(int index, JudgmentContext context, Deadline deadline) {
+		if (deadline != null && deadline.isExpired()) {
+			return timedOut(index);
+		}
+		Future<Judgment> task = start(index, context, () -> {
+		});
+		try {
+			return deadline != null ? task.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS) : task.get();
+		}
+		catch (TimeoutException ex) {
+			task.cancel(true);
+			return timedOut(index);
+		}
+		catch (ExecutionException ex) {
+			throw new CompletionException(ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			task.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+	}
+
+	/**
+	 * Run all judges on the executor and collect their judgments in judge order.
+	 * <p>
+	 * Results are consumed in completion order so that a failing judge cancels its
+	 * siblings immediately instead of after every earlier judge has finished, and so
+	 * that short-circuiting can stop as soon as the deciding judgment arrives.
+	 * </p>
+	 * @param context the judgment context
+	 * @param verdictDeadline deadline for the whole verdict (null if unbounded)
+	 * @param results slots to fill, in judge order
+	 * @param voteListeners listeners to notify of each judgment
+	 */
+	private void voteInParallel(JudgmentContext context, Deadline verdictDeadline, Judgment[] results,
+			List<VerdictListener> voteListeners) {
+		BlockingQueue<Integer> completedIndexes = new LinkedBlockingQueue<>();
+		List<Future<Judgment>> futures = new ArrayList<>(Collections.nCopies(judges.size(), null));
+
+		// All judges start together, so they share one deadline
+		Deadline judgeDeadline = judgeDeadline(verdictDeadline);
+
+		try {
+			// Inline judges run last so they overlap with the judges already in flight
+			for (boolean inlinePass : new boolean[] { false, true }) {
+				for (int i = 0; i < judges.size(); i++) {
+					if (isInline(i) == inlinePass) {
+						int index = i;
+						futures.set(index, start(index, context, () -> completedIndexes.add(index)));
+					}
+				}
+			}
+			for (int completed = 1; completed <= judges.size(); completed++) {
+				Integer done = judgeDeadline != null
+						? completedIndexes.poll(judgeDeadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+						: completedIndexes.take();
+				if (done == null) {
+					// Deadline passed: every judge still running times out
+					cancelAll(futures);
+					for (int i = 0; i < results.length; i++) {
+						if (results[i] == null) {
+							results[i] = timedOut(i);
+							publish(context, results, i, voteListeners);
+						}
+					}
+					return;
+				}
+				results[done] = futures.get(done).get();
+				publish(context, results, done, voteListeners);
+				if (isDecided(results, completed)) {
+					cancelAll(futures);
+					return;
+				}
+			}
+		}
+		catch (ExecutionException ex) {
+			cancelAll(futures);
+			throw new CompletionException(ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			cancelAll(futures);
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		catch (RuntimeException ex) {
+			// Executor rejected a submission
+			cancelAll(futures);
+			throw ex;
+		}
+	}
+
+	/**
+	 * Start a judge without waiting for it.
+	 * <p>
+	 * Asynchronous judges are invoked directly and their future is returned. Blocking
+	 * judges run inline, on their bulkhead or on the jury's executor.
+	 * </p>
+	 * @param index the judge index
+	 * @param context the judgment context
+	 * @param onDone callback run when the judge completes, fails or is cancelled
+	 * @return future for the judgment
+	 */
+	private Future<Judgment> start(int index, JudgmentContext context, Runnable onDone) {
+		Judge judge = judges.get(index);
+		AsyncJudge asyncJudge = Judges.asAsync(judge).orElse(null);
+		if (asyncJudge != null) {
+			CompletableFuture<Judgment> future;
+			try {
+				future = asyncJudge.judgeAsync(context);
+			}
+			catch (RuntimeException ex) {
+				future = CompletableFuture.failedFuture(ex);
+			}
+			future.whenComplete((judgment, ex) -> onDone.run());
+			return future;
+		}
+		FutureTask<Judgment> task = new FutureTask<>(() -> judge.judge(context)) {
+			@Override
+			protected void done() {
+				onDone.run();
+			}
+		};
+		if (isInline(index)) {
+			task.run();
+			return task;
+		}
+		Executor bulkhead = bulkheads != null ? bulkheads.executorFor(judge) : null;
+		if (bulkhead == null) {
+			executor.execute(task);
+			return task;
+		}
+		try {
+			bulkhead.execute(task);
+			return task;
+		}
+		catch (RejectedExecutionException ex) {
+			String reasoning = "Judge '" + getJudgeName(judge, index) + "' rejected: bulkhead is full";
+			onDone.run();
+			return CompletableFuture.completedFuture(Judgment.error(reasoning, ex));
+		}
+	}
+
+	private boolean isInline(int index) {
+		return bulkheads != null && bulkheads.isInline(judges.get(index));
+	}
+
+	/**
+	 * Check whether a judge can run directly on the calling thread in sequential mode.
+	 * @param index the judge index
+	 * @return false for asynchronous judges and judges assigned to a bulkhead
+	 */
+	private boolean runsOnCaller(int index) {
+		Judge judge = judges.get(index);
+		if (Judges.asAsync(judge).isPresent()) {
+			return false;
+		}
+		return bulkheads == null || bulkheads.isInline(judge) || bulkheads.executorFor(judge) == null;
+	}
+
+	/**
+	 * Notify listeners of a judgment together with the provisional aggregate.
+	 * @param context the judgment context
+	 * @param results judgment slots, null for pending judges
+	 * @param index index of the judgment just recorded
+	 * @param voteListeners listeners to notify
+	 */
+	private void publish(JudgmentContext context, Judgment[] results, int index, List<VerdictListener> voteListeners) {
+		if (voteListeners.isEmpty()) {
+			return;
+		}
+		List<Judgment> completed = executed(results);
+		JudgmentEvent event = new JudgmentEvent(context, index, getJudgeName(judges.get(index), index),
+				results[index], votingStrategy.aggregate(completed, executedWeights(results)), completed.size(),
+				results.length);
+		for (VerdictListener voteListener : voteListeners) {
+			try {
+				voteListener.onJudgment(event);
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Verdict listener failed on judgment from '{}'", event.judgeName(), ex);
+			}
+		}
+	}
+
+	/**
+	 * Narrow the verdict deadline by the per-judge timeout, starting now.
+	 * @param verdictDeadline deadline for the whole verdict (null if unbounded)
+	 * @return the judge deadline, or null if judges are unbounded
+	 */
+	private Deadline judgeDeadline(Deadline verdictDeadline) {
+		return Deadline.earliest(verdictDeadline, judgeTimeout != null ? Deadline.after(judgeTimeout) : null);
+	}
+
+	/**
+	 * Create the error judgment recorded for a judge that missed its deadline.
+	 * @param index the judge index
+	 * @return error judgment
+	 */
+	private Judgment timedOut(int index) {
+		String name = getJudgeName(judges.get(index), index);
+		String reasoning = "Judge '" + name + "' did not complete before its deadline";
+		return Judgment.error(reasoning, new TimeoutException(reasoning));
+	}
+
+	/**
+	 * Ask the voting strategy whether the pending judges can still change the outcome.
+	 * @param results judgment slots, null for pending judges
+	 * @param completed number of completed judges
+	 * @return true if short-circuiting is enabled and the outcome is fixed
+	 */
+	private boolean isDecided(Judgment[] results, int completed) {
+		if (!shortCircuit || completed == results.length) {
+			return false;
+		}
+		return votingStrategy.isDecided(executed(results), results.length - completed);
+	}
+
+	private static List<Judgment> executed(Judgment[] results) {
+		return Arrays.stream(results).filter(Objects::nonNull).toList();
+	}
+
+	/**
+	 * Re-key weights by position among the executed judges so index-keyed strategies
+	 * stay aligned when some judges were skipped.
+	 * @param results judgment slots, null for skipped judges
+	 * @return weights keyed by executed-judge index
+	 */
+	private Map<String, Double> executedWeights(Judgment[] results) {
+		Map<String, Double> executedWeights = new HashMap<>();
+		int position = 0;
+		for (int i = 0; i < results.length; i++) {
+			if (results[i] != null) {
+				Double weight = weights.get(String.valueOf(i));
+				if (weight != null) {
+					executedWeights.put(String.valueOf(position), weight);
+				}
+				position++;
+			}
+		}
+		return executedWeights;
+	}
+
+	private static void cancelAll(Iterable<Future<Judgment>> futures) {
+		for (Future<Judgment> future : futures) {
+			if (future != null) {
+				future.cancel(true);
+			}
+		}
 	}
 
 	/**
@@ -166,6 +563,16 @@ public class SimpleJury implements Jury {
 
 		private Executor executor;
 
+		private boolean shortCircuit = false;
+
+		private Duration judgeTimeout;
+
+		private Duration timeout;
+
+		private JudgeBulkheads bulkheads;
+
+		private final List<VerdictListener> listeners = new ArrayList<>();
+
 		/**
 		 * Add a judge with equal weight (1.0).
 		 * @param judge the judge to add
@@ -223,6 +630,95 @@ public class SimpleJury implements Jury {
 			return this;
 		}
 
+		/**
+		 * Run each judge on its own thread, using virtual threads when the runtime
+		 * supports them.
+		 * <p>
+		 * Shorthand for {@code executor(JudgeExecutors.virtualThreads())}. Recommended
+		 * when judges block on LLM calls or child processes.
+		 * </p>
+		 * @return this builder
+		 * @see JudgeExecutors#virtualThreads()
+		 */
+		public Builder virtualThreads() {
+			return executor(JudgeExecutors.virtualThreads());
+		}
+
+		/**
+		 * Stop running judges once the voting strategy reports the verdict as decided.
+		 * <p>
+		 * Remaining judges are cancelled (parallel) or skipped (sequential) and recorded
+		 * as not executed in the verdict. Only strategies that override
+		 * {@link VotingStrategy#isDecided(List, int)} ever decide early, such as
+		 * {@link MajorityVotingStrategy} and {@link ConsensusStrategy}.
+		 * </p>
+		 * @param shortCircuit true to stop early, false to always run every judge
+		 * (default)
+		 * @return this builder
+		 */
+		public Builder shortCircuit(boolean shortCircuit) {
+			this.shortCircuit = shortCircuit;
+			return this;
+		}
+
+		/**
+		 * Bound how long any single judge may take.
+		 * <p>
+		 * A judge still running after this long is cancelled and recorded as an ERROR
+		 * judgment. In sequential mode, setting a timeout runs each judge on the
+		 * executor so it can be abandoned.
+		 * </p>
+		 * @param judgeTimeout maximum time per judge (null for no limit, the default)
+		 * @return this builder
+		 */
+		public Builder judgeTimeout(Duration judgeTimeout) {
+			this.judgeTimeout = judgeTimeout;
+			return this;
+		}
+
+		/**
+		 * Bound how long the whole verdict may take.
+		 * <p>
+		 * Combined with any deadline passed to {@link SimpleJury#vote(JudgmentContext,
+		 * Deadline)}; the earlier of the two applies.
+		 * </p>
+		 * @param timeout maximum time for the verdict (null for no limit, the default)
+		 * @return this builder
+		 */
+		public Builder timeout(Duration timeout) {
+			this.timeout = timeout;
+			return this;
+		}
+
+		/**
+		 * Run judges on per-type bulkheads instead of the shared executor.
+		 * <p>
+		 * Judges whose type has a bulkhead run on its bounded pool, judges selected as
+		 * inline run on the calling thread, and all others use the jury's executor.
+		 * Bulkheads apply in sequential mode too.
+		 * </p>
+		 * @param bulkheads the bulkheads, usually shared by all juries
+		 * @return this builder
+		 */
+		public Builder bulkheads(JudgeBulkheads bulkheads) {
+			this.bulkheads = bulkheads;
+			return this;
+		}
+
+		/**
+		 * Register a listener notified of every judgment and verdict.
+		 * @param listener the listener
+		 * @return this builder
+		 * @see SimpleJury#vote(JudgmentContext, Deadline, VerdictListener)
+		 */
+		public Builder listener(VerdictListener listener) {
+			if (listener == null) {
+				throw new IllegalArgumentException("Listener cannot be null");
+			}
+			this.listeners.add(listener);
+			return this;
+		}
+
 		/**
 		 * Build the SimpleJury instance.
 		 * @return configured SimpleJury
@@ -231,7 +727,8 @@ public class SimpleJury implements Jury {
 			if (votingStrategy == null) {
 				throw new IllegalStateException("Voting strategy is required");
 			}
-			return new SimpleJury(judges, votingStrategy, weights, parallel, executor);
+			return new SimpleJury(judges, votingStrategy, weights, parallel, executor, shortCircuit, judgeTimeout,
+					timeout, bulkheads, listeners);
 		}
 
 	}
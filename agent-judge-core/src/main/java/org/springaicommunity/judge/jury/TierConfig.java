@@ -21,13 +21,21 @@ import java.util.Objects;
 /**
  * Configuration for a single tier within a {@link CascadedJury}.
  *
+ * <p>
+ * A speculative tier is started as soon as the preceding tier starts instead of after it
+ * finishes. If the preceding tier then stops the cascade, the speculative tier is
+ * cancelled and its work is reported as wasted in the verdict. Speculation pays off when
+ * the preceding tier usually escalates; the flag has no effect on the first tier.
+ * </p>
+ *
  * @param name human-readable tier name for diagnostics (e.g., "deterministic")
  * @param jury the jury implementation for this tier
  * @param policy cascade control flow policy
+ * @param speculative whether to start this tier while the preceding tier is still running
  * @author Mark Pollack
  * @since 0.9.0
  */
-public record TierConfig(String name, Jury jury, TierPolicy policy) {
+public record TierConfig(String name, Jury jury, TierPolicy policy, boolean speculative) {
 
 	public TierConfig {
 		Objects.requireNonNull(name, "name must not be null");
@@ -35,4 +43,14 @@ public record TierConfig(String name, Jury jury, TierPolicy policy) {
 		Objects.requireNonNull(policy, "policy must not be null");
 	}
 
+	/**
+	 * Create a non-speculative tier.
+	 * @param name human-readable tier name for diagnostics
+	 * @param jury the jury implementation for this tier
+	 * @param policy cascade control flow policy
+	 */
+	public TierConfig(String name, Jury jury, TierPolicy policy) {
+		this(name, jury, policy, false);
+	}
+
 }
@@ -17,6 +17,8 @@
 package org.springaicommunity.judge.jury;
 
 import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.BooleanScore;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -42,6 +44,12 @@ import java.util.Map;
 public record Verdict(Judgment aggregated, List<Judgment> individual, Map<String, Judgment> individualByName,
 		Map<String, Double> weights, List<Verdict> subVerdicts) {
 
+	/**
+	 * Judgment metadata key marking a judge that was skipped or cancelled before it
+	 * produced a judgment (e.g. by short-circuit voting).
+	 */
+	public static final String NOT_EXECUTED = "notExecuted";
+
 	public Verdict {
 		// Defensive copy for immutability
 		individual = individual != null ? List.copyOf(individual) : List.of();
@@ -50,6 +58,42 @@ public record Verdict(Judgment aggregated, List<Judgment> individual, Map<String
 		subVerdicts = subVerdicts != null ? List.copyOf(subVerdicts) : List.of();
 	}
 
+	/**
+	 * Get the names of judges that were skipped or cancelled before producing a
+	 * judgment.
+	 * @return names of judges that did not execute
+	 */
+	public List<String> notExecuted() {
+		return individualByName.entrySet()
+			.stream()
+			.filter(entry -> isNotExecuted(entry.getValue()))
+			.map(Map.Entry::getKey)
+			.toList();
+	}
+
+	/**
+	 * Check whether a judgment is a placeholder for a judge that did not execute.
+	 * @param judgment the judgment to check
+	 * @return true if the judge was skipped or cancelled
+	 */
+	public static boolean isNotExecuted(Judgment judgment) {
+		return Boolean.TRUE.equals(judgment.metadata().get(NOT_EXECUTED));
+	}
+
+	/**
+	 * Create a placeholder judgment for a judge that was skipped or cancelled.
+	 * @param reasoning why the judge did not execute
+	 * @return abstaining judgment flagged as not executed
+	 */
+	static Judgment notExecuted(String reasoning) {
+		return Judgment.builder()
+			.score(new BooleanScore(false))
+			.status(JudgmentStatus.ABSTAIN)
+			.reasoning(reasoning)
+			.metadata(NOT_EXECUTED, true)
+			.build();
+	}
+
 	/**
 	 * Create a builder for Verdict.
 	 * @return new builder instance
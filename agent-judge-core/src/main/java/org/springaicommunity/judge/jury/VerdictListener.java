@@ -0,0 +1,69 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+/**
+ * Observer of a jury's progress while it votes.
+ *
+ * <p>
+ * {@link #onJudgment(JudgmentEvent)} is called as each judge finishes, in completion
+ * order, with the provisional aggregate of the judgments so far; {@link #onVerdict} is
+ * called once with the final verdict. Dashboards can show results as they arrive and
+ * schedulers can act on early signals, such as a failing build judge, without waiting
+ * for slower LLM judges.
+ * </p>
+ *
+ * <p>
+ * Callbacks run on the thread that called {@code vote}, one at a time, so
+ * implementations need no synchronization but should return quickly. Exceptions thrown
+ * by a listener are logged and do not affect the verdict. Judges skipped by
+ * short-circuiting produce no event.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * Jury jury = SimpleJury.builder()
+ *     .judge(buildJudge)
+ *     .judge(correctnessJudge)
+ *     .votingStrategy(new MajorityVotingStrategy())
+ *     .listener(event -> dashboard.update(event.judgeName(), event.judgment(), event.provisional()))
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ * @see SimpleJury.Builder#listener(VerdictListener)
+ */
+@FunctionalInterface
+public interface VerdictListener {
+
+	/**
+	 * Called when a judge finishes (including judges that timed out).
+	 * @param event the judgment and the provisional aggregate
+	 */
+	void onJudgment(JudgmentEvent event);
+
+	/**
+	 * Called once the verdict is complete.
+	 * @param verdict the final verdict
+	 */
+	default void onVerdict(Verdict verdict) {
+	}
+
+}
@@ -55,6 +55,24 @@ public interface VotingStrategy {
 	 */
 	Judgment aggregate(List<Judgment> judgments, Map<String, Double> weights);
 
+	/**
+	 * Determine whether the aggregated outcome is already fixed, whatever the pending
+	 * judges return.
+	 * <p>
+	 * Used by juries that short-circuit: once this returns true, the pending judges are
+	 * cancelled or skipped and {@link #aggregate(List, Map)} is called with the completed
+	 * judgments only. Implementations must only return true when no combination of
+	 * pending judgments could change the aggregated status. The default never decides
+	 * early, which is always safe.
+	 * </p>
+	 * @param completed the judgments received so far (in judge order)
+	 * @param pending the number of judges that have not yet returned
+	 * @return true if the outcome can no longer change
+	 */
+	default boolean isDecided(List<Judgment> completed, int pending) {
+		return false;
+	}
+
 	/**
 	 * Get the name of this voting strategy (for debugging and metadata).
 	 * @return strategy name
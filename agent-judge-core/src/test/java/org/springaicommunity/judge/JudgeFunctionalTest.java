@@ -17,12 +17,21 @@
 package org.springaicommunity.judge;
 
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.junit.jupiter.api.Test;
 import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import reactor.core.publisher.Mono;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests demonstrating Judge as a functional interface.
@@ -304,4 +313,135 @@ class JudgeFunctionalTest {
 		assertThat(judgment.reasoning()).isEqualTo("D passed");
 	}
 
+	@Test
+	void withTimeout_slowJudgeBecomesError() {
+		Judge slowJudge = ctx -> {
+			try {
+				Thread.sleep(10_000);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Judgment.pass("Too late");
+		};
+		Judge composed = Judges.allOf(ctx -> Judgment.pass("Fast passed"),
+				Judges.withTimeout(slowJudge, Duration.ofMillis(100)));
+
+		JudgmentContext context = JudgmentContext.builder().goal("test").workspace(Path.of("/tmp")).build();
+
+		Judgment judgment = composed.judge(context);
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(judgment.error()).isInstanceOf(TimeoutException.class);
+	}
+
+	@Test
+	void withTimeout_preservesMetadata() {
+		NamedJudge named = Judges.named(ctx -> Judgment.pass("OK"), "Named");
+
+		Judge bounded = Judges.withTimeout(named, Duration.ofSeconds(1));
+
+		assertThat(Judges.tryMetadata(bounded)).contains(named.metadata());
+		assertThat(bounded.judge(JudgmentContext.builder().goal("test").build()).pass()).isTrue();
+	}
+
+	@Test
+	void fromAsync_isDetectedThroughNamedJudge() {
+		AsyncJudge async = ctx -> CompletableFuture.completedFuture(Judgment.pass("Async OK"));
+
+		NamedJudge named = Judges.named(Judges.fromAsync(async), "Async");
+
+		assertThat(Judges.asAsync(named)).isPresent();
+		assertThat(Judges.asAsync(ctx -> Judgment.pass("Blocking"))).isEmpty();
+		assertThat(named.judge(JudgmentContext.builder().goal("test").build()).reasoning()).isEqualTo("Async OK");
+	}
+
+	@Test
+	void fromReactive_adaptsMonoToFuture() throws Exception {
+		ReactiveJudge reactive = ctx -> Mono.just(Judgment.pass("Reactive OK"));
+
+		Judge adapted = Judges.fromReactive(reactive);
+
+		JudgmentContext context = JudgmentContext.builder().goal("test").build();
+		assertThat(adapted.judge(context).reasoning()).isEqualTo("Reactive OK");
+		assertThat(Judges.asAsync(adapted).orElseThrow().judgeAsync(context).get().pass()).isTrue();
+	}
+
+	@Test
+	void allOfParallel_returnsFirstFailureAndCancelsOthers() throws InterruptedException {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Judge slowPass = ctx -> {
+			try {
+				Thread.sleep(10_000);
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+				Thread.currentThread().interrupt();
+			}
+			return Judgment.pass("Too late");
+		};
+		Judge fastFail = ctx -> Judgment.fail("Build failed");
+
+		long start = System.nanoTime();
+		Judgment judgment = Judges.allOfParallel(slowPass, fastFail).judge(simpleContext());
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(judgment.reasoning()).isEqualTo("Build failed");
+		assertThat(elapsedMillis).isLessThan(5_000);
+		assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void allOfParallel_runsJudgesConcurrently() {
+		// Each judge passes only if all five are running at the same time
+		CountDownLatch allStarted = new CountDownLatch(5);
+		Judge waitForOthers = ctx -> {
+			allStarted.countDown();
+			try {
+				return allStarted.await(5, TimeUnit.SECONDS) ? Judgment.pass("Overlapped") : Judgment.fail("Ran alone");
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return Judgment.fail("Interrupted");
+			}
+		};
+
+		Judgment judgment = Judges
+			.allOfParallel(waitForOthers, waitForOthers, waitForOthers, waitForOthers, waitForOthers)
+			.judge(simpleContext());
+
+		assertThat(judgment.reasoning()).isEqualTo("All checks passed");
+	}
+
+	@Test
+	void anyOfParallel_returnsFirstPass() {
+		Judgment judgment = Judges.anyOfParallel(ctx -> Judgment.fail("A failed"), ctx -> Judgment.pass("B passed"))
+			.judge(simpleContext());
+
+		assertThat(judgment.reasoning()).isEqualTo("B passed");
+	}
+
+	@Test
+	void parallelCombinators_matchSequentialFallbacks() {
+		assertThat(Judges.orParallel(ctx -> Judgment.fail("A"), ctx -> Judgment.fail("B")).judge(simpleContext())
+			.reasoning()).isEqualTo("All checks failed");
+		assertThat(Judges.andParallel(ctx -> Judgment.pass("A"), ctx -> Judgment.pass("B")).judge(simpleContext())
+			.reasoning()).isEqualTo("All checks passed");
+	}
+
+	@Test
+	void allOfParallel_rethrowsJudgeException() {
+		Judge throwing = ctx -> {
+			throw new IllegalStateException("Judge exploded");
+		};
+
+		assertThatThrownBy(() -> Judges.allOfParallel(throwing, ctx -> Judgment.pass("OK")).judge(simpleContext()))
+			.isInstanceOf(CompletionException.class)
+			.hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+	private static JudgmentContext simpleContext() {
+		return JudgmentContext.builder().goal("test").workspace(Path.of("/tmp")).build();
+	}
+
 }
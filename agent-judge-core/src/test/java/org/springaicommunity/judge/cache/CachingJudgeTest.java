@@ -0,0 +1,455 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.concurrent.Interruptions;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.fs.FileContentJudge;
+import org.springaicommunity.judge.jury.Jury;
+import org.springaicommunity.judge.jury.MajorityVotingStrategy;
+import org.springaicommunity.judge.jury.SimpleJury;
+import org.springaicommunity.judge.jury.Verdict;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.BooleanScore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springaicommunity.judge.JudgeTestFixtures.*;
+
+/**
+ * Tests for {@link CachingJudge}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class CachingJudgeTest {
+
+	@TempDir
+	Path workspace;
+
+	// ==================== Hits and Misses ====================
+
+	@Test
+	void secondInvocationIsServedFromCache() throws IOException {
+		Files.writeString(workspace.resolve("App.java"), "class App {}");
+		CountingJudge counting = new CountingJudge(() -> Judgment.pass("ok"));
+		CachingJudge judge = cachingJudge(counting);
+
+		Judgment first = judge.judge(withWorkspace("goal", workspace));
+		Judgment second = judge.judge(withWorkspace("goal", workspace));
+
+		assertThat(counting.calls()).isEqualTo(1);
+		assertThat(first.metadata()).doesNotContainKey(CachingJudge.CACHE_HIT);
+		assertThat(second.metadata()).containsEntry(CachingJudge.CACHE_HIT, true);
+		assertThat(second.status()).isEqualTo(first.status());
+		assertThat(second.reasoning()).isEqualTo(first.reasoning());
+	}
+
+	@Test
+	void changedWorkspaceContentIsAMiss() throws IOException {
+		Files.writeString(workspace.resolve("App.java"), "class App {}");
+		CountingJudge counting = new CountingJudge(() -> Judgment.pass("ok"));
+		CachingJudge judge = cachingJudge(counting);
+
+		judge.judge(withWorkspace("goal", workspace));
+		Files.writeString(workspace.resolve("App.java"), "class App { int x; }");
+		judge.judge(withWorkspace("goal", workspace));
+
+		assertThat(counting.calls()).isEqualTo(2);
+	}
+
+	@Test
+	void identicalWorkspacesInDifferentLocationsShareEntries(@TempDir Path other) throws IOException {
+		Files.writeString(workspace.resolve("App.java"), "class App {}");
+		Files.writeString(other.resolve("App.java"), "class App {}");
+		CountingJudge counting = new CountingJudge(() -> Judgment.pass("ok"));
+		CachingJudge judge = cachingJudge(counting);
+
+		judge.judge(withWorkspace("goal", workspace));
+		judge.judge(withWorkspace("goal", other));
+
+		assertThat(counting.calls()).isEqualTo(1);
+	}
+
+	@Test
+	void buildOutputAndVcsDirectoriesAreIgnored() throws IOException {
+		Files.writeString(workspace.resolve("App.java"), "class App {}");
+		CountingJudge counting = new CountingJudge(() -> Judgment.pass("ok"));
+		CachingJudge judge = cachingJudge(counting);
+
+		judge.judge(withWorkspace("goal", workspace));
+		Files.createDirectories(workspace.resolve("target/classes"));
+		Files.writeString(workspace.resolve("target/classes/App.class"), "bytes");
+		Files.createDirectories(workspace.resolve(".git"));
+		Files.writeString(workspace.resolve(".git/HEAD"), "ref: refs/heads/main");
+		judge.judge(withWorkspace("goal", workspace));
+
+		assertThat(counting.calls()).isEqualTo(1);
+	}
+
+	@Test
+	void differentContextFieldsAreAMiss() {
+		CountingJudge counting = new CountingJudge(() -> Judgment.pass("ok"));
+		CachingJudge judge = cachingJudge(counting);
+
+		judge.judge(withWorkspace("first goal", workspace));
+		judge.judge(withWorkspace("second goal", workspace));
+
+		assertThat(counting.calls()).isEqualTo(2);
+	}
+
+	@Test
+	void newVersionDoesNotReuseOldEntries() {
+		JudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		CountingJudge counting = new CountingJudge(() -> Judgment.pass("ok"));
+
+		CachingJudge.builder()
+			.judge(counting)
+			.cache(cache)
+			.version("1")
+			.build()
+			.judge(withWorkspace("goal", workspace));
+		CachingJudge.builder()
+			.judge(counting)
+			.cache(cache)
+			.version("2")
+			.build()
+			.judge(withWorkspace("goal", workspace));
+
+		assertThat(counting.calls()).isEqualTo(2);
+	}
+
+	@Test
+	void errorsAreNotCachedByDefault() {
+		CountingJudge counting = new CountingJudge(() -> Judgment.error("boom", null));
+		CachingJudge judge = cachingJudge(counting);
+
+		judge.judge(withWorkspace("goal", workspace));
+		judge.judge(withWorkspace("goal", workspace));
+
+		assertThat(counting.calls()).isEqualTo(2);
+	}
+
+	@Test
+	void interruptedJudgmentsAreNotCached() {
+		CountingJudge counting = new CountingJudge(CachingJudgeTest::interruptedFail);
+		CachingJudge judge = cachingJudge(counting);
+
+		judge.judge(withWorkspace("goal", workspace));
+		judge.judge(withWorkspace("goal", workspace));
+
+		assertThat(counting.calls()).isEqualTo(2);
+	}
+
+	@Test
+	void judgmentsReturnedOnInterruptedThreadAreNotCached() {
+		CountingJudge counting = new CountingJudge(() -> {
+			Thread.currentThread().interrupt();
+			return Judgment.fail("Cut short");
+		});
+		CachingJudge judge = cachingJudge(counting);
+
+		judge.judge(withWorkspace("goal", workspace));
+		Thread.interrupted();
+		judge.judge(withWorkspace("goal", workspace));
+		Thread.interrupted();
+
+		assertThat(counting.calls()).isEqualTo(2);
+	}
+
+	@Test
+	void statsReflectHitsAndMisses() {
+		JudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		CachingJudge judge = CachingJudge.builder()
+			.judge(new CountingJudge(() -> Judgment.pass("ok")))
+			.cache(cache)
+			.build();
+
+		judge.judge(withWorkspace("goal", workspace));
+		judge.judge(withWorkspace("goal", workspace));
+		judge.judge(withWorkspace("goal", workspace));
+
+		assertThat(cache.stats().missCount()).isEqualTo(1);
+		assertThat(cache.stats().hitCount()).isEqualTo(2);
+	}
+
+	// ==================== Cacheable Judges ====================
+
+	@Test
+	void fileContentJudgeIsKeyedOnItsFileOnly() throws IOException {
+		Files.writeString(workspace.resolve("out.txt"), "Hello World");
+		JudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		CachingJudge judge = CachingJudge.builder()
+			.judge(new FileContentJudge("out.txt", "Hello", FileContentJudge.MatchMode.CONTAINS))
+			.cache(cache)
+			.build();
+
+		assertThat(judge.judge(withWorkspace("goal", workspace)).pass()).isTrue();
+		// Unrelated files and context fields do not affect the key
+		Files.writeString(workspace.resolve("other.txt"), "unrelated");
+		Judgment cached = judge.judge(withWorkspace("another goal", workspace));
+		assertThat(cached.metadata()).containsEntry(CachingJudge.CACHE_HIT, true);
+
+		Files.writeString(workspace.resolve("out.txt"), "Goodbye");
+		Judgment fresh = judge.judge(withWorkspace("goal", workspace));
+		assertThat(fresh.pass()).isFalse();
+		assertThat(fresh.metadata()).doesNotContainKey(CachingJudge.CACHE_HIT);
+	}
+
+	@Test
+	void fileContentJudgesWithDifferentExpectationsDoNotCollide() throws IOException {
+		Files.writeString(workspace.resolve("out.txt"), "Hello World");
+		JudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		Judge hello = CachingJudge.builder()
+			.judge(new FileContentJudge("out.txt", "Hello", FileContentJudge.MatchMode.CONTAINS))
+			.cache(cache)
+			.build();
+		Judge goodbye = CachingJudge.builder()
+			.judge(new FileContentJudge("out.txt", "Goodbye", FileContentJudge.MatchMode.CONTAINS))
+			.cache(cache)
+			.build();
+
+		assertThat(hello.judge(withWorkspace("goal", workspace)).pass()).isTrue();
+		assertThat(goodbye.judge(withWorkspace("goal", workspace)).pass()).isFalse();
+	}
+
+	@Test
+	void decoratorCachesOnlyCacheableJudges() throws IOException {
+		Files.writeString(workspace.resolve("out.txt"), "Hello World");
+		JudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		CountingJudge plain = new CountingJudge(() -> Judgment.pass("ok"));
+		Jury jury = SimpleJury.builder()
+			.judge(plain)
+			.judge(new FileContentJudge("out.txt", "Hello World"))
+			.votingStrategy(new MajorityVotingStrategy())
+			.build()
+			.decorateJudges(CachingJudge.decorator(cache));
+
+		jury.vote(withWorkspace("goal", workspace));
+		Verdict second = jury.vote(withWorkspace("goal", workspace));
+
+		assertThat(plain.calls()).isEqualTo(2);
+		assertThat(second.individual().get(1).metadata()).containsEntry(CachingJudge.CACHE_HIT, true);
+		assertThat(cache.stats().hitCount()).isEqualTo(1);
+	}
+
+	// ==================== Concurrency ====================
+
+	@Test
+	void concurrentInvocationsRunJudgeOnce() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CountingJudge counting = new CountingJudge(() -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Judgment.pass("ok");
+		});
+		CachingJudge judge = cachingJudge(counting);
+		JudgmentContext context = withWorkspace("goal", workspace);
+
+		List<Future<Judgment>> futures = new ArrayList<>();
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> judge.judge(context)));
+			}
+			Thread.sleep(200);
+			release.countDown();
+			for (Future<Judgment> future : futures) {
+				assertThat(future.get().pass()).isTrue();
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(counting.calls()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentWaitersSeeLeaderFailure() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CachingJudge judge = cachingJudge(new CountingJudge(() -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IllegalStateException("boom");
+		}));
+		JudgmentContext context = withWorkspace("goal", workspace);
+
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			Future<Judgment> first = executor.submit(() -> judge.judge(context));
+			Future<Judgment> second = executor.submit(() -> judge.judge(context));
+			Thread.sleep(200);
+			release.countDown();
+			assertThatThrownBy(first::get).hasRootCauseInstanceOf(IllegalStateException.class);
+			assertThatThrownBy(second::get).hasRootCauseInstanceOf(IllegalStateException.class);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void cancelledLeaderHandsOverToWaiter() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CachingJudge judge = cachingJudge(new CountingJudge(() -> {
+			if (calls.incrementAndGet() == 1) {
+				try {
+					new CountDownLatch(1).await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new CompletionException(ex);
+				}
+			}
+			return Judgment.pass("ok");
+		}));
+		JudgmentContext context = withWorkspace("goal", workspace);
+
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			Future<Judgment> leader = executor.submit(() -> judge.judge(context));
+			Thread.sleep(100);
+			Future<Judgment> waiter = executor.submit(() -> judge.judge(context));
+			Thread.sleep(100);
+			leader.cancel(true);
+
+			assertThat(waiter.get(5, TimeUnit.SECONDS).pass()).isTrue();
+			assertThat(calls.get()).isEqualTo(2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void interruptedJudgmentIsNotSharedWithWaiter() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CachingJudge judge = cachingJudge(new CountingJudge(() -> {
+			if (calls.incrementAndGet() == 1) {
+				try {
+					new CountDownLatch(1).await();
+				}
+				catch (InterruptedException ex) {
+					// Like a command judge, report the cancelled run instead of throwing
+					Thread.currentThread().interrupt();
+					return interruptedFail();
+				}
+			}
+			return Judgment.pass("ok");
+		}));
+		JudgmentContext context = withWorkspace("goal", workspace);
+
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			Future<Judgment> leader = executor.submit(() -> judge.judge(context));
+			Thread.sleep(100);
+			Future<Judgment> waiter = executor.submit(() -> judge.judge(context));
+			Thread.sleep(100);
+			leader.cancel(true);
+
+			assertThat(waiter.get(5, TimeUnit.SECONDS).pass()).isTrue();
+			assertThat(calls.get()).isEqualTo(2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// ==================== Builder Validation ====================
+
+	@Test
+	void builderRequiresJudgeAndCache() {
+		assertThatThrownBy(() -> CachingJudge.builder().cache(InMemoryJudgmentCache.builder().build()).build())
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Judge is required");
+		assertThatThrownBy(() -> CachingJudge.builder().judge(Judges.named(ctx -> Judgment.pass("ok"), "J")).build())
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Cache is required");
+	}
+
+	private static CachingJudge cachingJudge(JudgeWithMetadata judge) {
+		return CachingJudge.builder().judge(judge).cache(InMemoryJudgmentCache.builder().build()).build();
+	}
+
+	private static Judgment interruptedFail() {
+		return Judgment.builder()
+			.score(new BooleanScore(false))
+			.status(JudgmentStatus.FAIL)
+			.reasoning("Command execution failed: interrupted")
+			.metadata(Interruptions.INTERRUPTED, true)
+			.build();
+	}
+
+	private static class CountingJudge implements JudgeWithMetadata {
+
+		private final Supplier<Judgment> result;
+
+		private final AtomicInteger calls = new AtomicInteger();
+
+		CountingJudge(Supplier<Judgment> result) {
+			this.result = result;
+		}
+
+		@Override
+		public Judgment judge(JudgmentContext context) {
+			calls.incrementAndGet();
+			return result.get();
+		}
+
+		@Override
+		public JudgeMetadata metadata() {
+			return new JudgeMetadata("Counting", "Counts invocations", JudgeType.DETERMINISTIC);
+		}
+
+		int calls() {
+			return calls.get();
+		}
+
+	}
+
+}
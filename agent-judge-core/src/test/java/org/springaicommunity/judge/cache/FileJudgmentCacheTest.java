@@ -0,0 +1,342 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springaicommunity.judge.result.Check;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.CategoricalScore;
+import org.springaicommunity.judge.score.NumericalScore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link FileJudgmentCache}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class FileJudgmentCacheTest {
+
+	@TempDir
+	Path directory;
+
+	// ==================== Serialization ====================
+
+	@Test
+	void roundTripsScoreStatusReasoningChecksAndScalarMetadata() {
+		Judgment judgment = Judgment.builder()
+			.score(new NumericalScore(7.5, 0, 10))
+			.status(JudgmentStatus.PASS)
+			.reasoning("Looks good")
+			.check(Check.pass("compiles", "Build succeeded"))
+			.check(Check.fail("style", "Two warnings"))
+			.metadata("attempts", 3)
+			.metadata("model", "gpt")
+			.metadata("strict", true)
+			.metadata("elapsed", Duration.ofSeconds(2))
+			.build();
+
+		try (FileJudgmentCache cache = cache()) {
+			cache.put(key("a"), judgment);
+			Judgment cached = cache.get(key("a")).orElseThrow();
+
+			assertThat(cached.score()).isEqualTo(judgment.score());
+			assertThat(cached.status()).isEqualTo(JudgmentStatus.PASS);
+			assertThat(cached.reasoning()).isEqualTo("Looks good");
+			assertThat(cached.checks()).isEqualTo(judgment.checks());
+			assertThat(cached.metadata()).containsEntry("attempts", 3)
+				.containsEntry("model", "gpt")
+				.containsEntry("strict", true)
+				.doesNotContainKey("elapsed");
+		}
+	}
+
+	@Test
+	void roundTripsCategoricalScores() {
+		Judgment judgment = Judgment.builder()
+			.score(new CategoricalScore("B", List.of("A", "B", "C")))
+			.status(JudgmentStatus.PASS)
+			.reasoning("Grade B")
+			.build();
+
+		try (FileJudgmentCache cache = cache()) {
+			cache.put(key("a"), judgment);
+
+			assertThat(cache.get(key("a")).orElseThrow().score()).isEqualTo(judgment.score());
+		}
+	}
+
+	// ==================== Sharing and Persistence ====================
+
+	@Test
+	void judgmentsSurviveReopening() {
+		try (FileJudgmentCache cache = cache()) {
+			cache.put(key("a"), Judgment.pass("ok"));
+		}
+
+		try (FileJudgmentCache reopened = cache()) {
+			assertThat(reopened.get(key("a"))).hasValueSatisfying(j -> assertThat(j.reasoning()).isEqualTo("ok"));
+		}
+	}
+
+	@Test
+	void instancesSharingADirectorySeeEachOthersWrites() {
+		try (FileJudgmentCache writer = cache(); FileJudgmentCache reader = cache()) {
+			assertThat(reader.get(key("a"))).isEmpty();
+
+			writer.put(key("a"), Judgment.pass("from writer"));
+
+			assertThat(reader.get(key("a")))
+				.hasValueSatisfying(j -> assertThat(j.reasoning()).isEqualTo("from writer"));
+		}
+	}
+
+	@Test
+	void logGrowingPastItsMappingStaysReadable() {
+		String padding = "x".repeat(1024);
+		try (FileJudgmentCache writer = cache(); FileJudgmentCache reader = cache()) {
+			for (int i = 0; i < 3000; i++) {
+				writer.put(key("input-" + i), Judgment.pass(i + padding));
+				if (i % 500 == 0) {
+					// Make the reader map the log part way through
+					assertThat(reader.get(key("input-" + i))).isPresent();
+				}
+			}
+
+			for (int i = 0; i < 3000; i++) {
+				String expected = i + padding;
+				assertThat(writer.get(key("input-" + i)).orElseThrow().reasoning()).isEqualTo(expected);
+				assertThat(reader.get(key("input-" + i)).orElseThrow().reasoning()).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Test
+	void interruptedReaderDoesNotBreakTheCache() {
+		try (FileJudgmentCache cache = cache()) {
+			cache.put(key("a"), Judgment.pass("ok"));
+
+			Thread.currentThread().interrupt();
+			try {
+				cache.get(key("a"));
+			}
+			finally {
+				Thread.interrupted();
+			}
+
+			assertThat(cache.get(key("a"))).hasValueSatisfying(j -> assertThat(j.reasoning()).isEqualTo("ok"));
+			cache.put(key("b"), Judgment.pass("after"));
+			assertThat(cache.get(key("b"))).isPresent();
+		}
+	}
+
+	@Test
+	void interruptedWriterDoesNotBreakTheCache() {
+		try (FileJudgmentCache cache = cache()) {
+			boolean stillInterrupted;
+			Thread.currentThread().interrupt();
+			try {
+				cache.put(key("a"), Judgment.pass("ok"));
+			}
+			finally {
+				stillInterrupted = Thread.interrupted();
+			}
+
+			assertThat(stillInterrupted).isTrue();
+			assertThat(cache.get(key("a"))).isPresent();
+			cache.put(key("b"), Judgment.pass("after"));
+			assertThat(cache.get(key("b"))).isPresent();
+		}
+	}
+
+	@Test
+	void laterPutReplacesEarlierJudgment() {
+		try (FileJudgmentCache cache = cache()) {
+			cache.put(key("a"), Judgment.pass("first"));
+			cache.put(key("a"), Judgment.fail("second"));
+
+			assertThat(cache.get(key("a")).orElseThrow().reasoning()).isEqualTo("second");
+			assertThat(cache.stats().size()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void tornRecordIsIgnoredAndOverwritten() throws IOException {
+		try (FileJudgmentCache cache = cache()) {
+			cache.put(key("a"), Judgment.pass("ok"));
+			// Simulate a writer that crashed halfway through a record
+			Files.write(directory.resolve(FileJudgmentCache.LOG_FILE), new byte[] { 0, 0, 0, 100, 1, 2, 3 },
+					StandardOpenOption.APPEND);
+
+			assertThat(cache.get(key("a"))).isPresent();
+
+			cache.put(key("b"), Judgment.pass("after crash"));
+		}
+
+		try (FileJudgmentCache reopened = cache()) {
+			assertThat(reopened.get(key("a"))).isPresent();
+			assertThat(reopened.get(key("b"))).isPresent();
+		}
+	}
+
+	@Test
+	void unreadableLogIsReplaced() throws IOException {
+		Files.writeString(directory.resolve(FileJudgmentCache.LOG_FILE), "not a log");
+
+		try (FileJudgmentCache cache = cache()) {
+			cache.put(key("a"), Judgment.pass("ok"));
+
+			assertThat(cache.get(key("a"))).isPresent();
+		}
+	}
+
+	// ==================== Size Cap and Expiry ====================
+
+	@Test
+	void compactionKeepsLogUnderSizeCap() {
+		try (FileJudgmentCache cache = FileJudgmentCache.builder().directory(directory).maxBytes(8192).build()) {
+			for (int i = 0; i < 200; i++) {
+				cache.put(key("input-" + i), Judgment.pass("judgment " + i));
+			}
+
+			assertThat(cache.sizeInBytes()).isLessThanOrEqualTo(8192);
+			assertThat(cache.get(key("input-199"))).isPresent();
+			assertThat(cache.get(key("input-0"))).isEmpty();
+			assertThat(cache.stats().evictionCount()).isPositive();
+		}
+	}
+
+	@Test
+	void compactionDropsSupersededRecords() {
+		try (FileJudgmentCache cache = cache()) {
+			for (int i = 0; i < 20; i++) {
+				cache.put(key("a"), Judgment.pass("version " + i));
+			}
+			long before = cache.sizeInBytes();
+
+			cache.compact();
+
+			assertThat(cache.sizeInBytes()).isLessThan(before);
+			assertThat(cache.get(key("a")).orElseThrow().reasoning()).isEqualTo("version 19");
+		}
+	}
+
+	@Test
+	void expiredJudgmentsAreMisses() {
+		Instant now = Instant.parse("2024-01-01T00:00:00Z");
+		FileJudgmentCache.Builder builder = FileJudgmentCache.builder()
+			.directory(directory)
+			.timeToLive(Duration.ofHours(1));
+		try (FileJudgmentCache writer = builder.clock(Clock.fixed(now, ZoneOffset.UTC)).build()) {
+			writer.put(key("a"), Judgment.pass("ok"));
+		}
+
+		try (FileJudgmentCache later = builder.clock(Clock.fixed(now.plus(Duration.ofHours(2)), ZoneOffset.UTC))
+			.build()) {
+			assertThat(later.get(key("a"))).isEmpty();
+			later.compact();
+			assertThat(later.stats().size()).isZero();
+		}
+	}
+
+	@Test
+	void invalidateAllIsVisibleToOtherInstances() {
+		try (FileJudgmentCache first = cache(); FileJudgmentCache second = cache()) {
+			first.put(key("a"), Judgment.pass("ok"));
+			assertThat(second.get(key("a"))).isPresent();
+
+			first.invalidateAll();
+
+			assertThat(second.get(key("a"))).isEmpty();
+		}
+	}
+
+	// ==================== Concurrency ====================
+
+	@Test
+	void concurrentWritersAndReadersDoNotLoseJudgments() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try (FileJudgmentCache first = cache(); FileJudgmentCache second = cache()) {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 50; i++) {
+				FileJudgmentCache cache = i % 2 == 0 ? first : second;
+				String input = "input-" + i;
+				futures.add(executor.submit(() -> {
+					cache.put(key(input), Judgment.pass(input));
+					assertThat(cache.get(key(input))).isPresent();
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+
+			for (int i = 0; i < 50; i++) {
+				assertThat(first.get(key("input-" + i))).isPresent();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	// ==================== Lifecycle ====================
+
+	@Test
+	void closedCacheRejectsUse() {
+		FileJudgmentCache cache = cache();
+		cache.close();
+
+		assertThatThrownBy(() -> cache.get(key("a"))).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void builderValidation() {
+		assertThatThrownBy(() -> FileJudgmentCache.builder().build()).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Directory is required");
+		assertThatThrownBy(() -> FileJudgmentCache.builder().maxBytes(100))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> FileJudgmentCache.builder().maxBytes(Integer.MAX_VALUE))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private FileJudgmentCache cache() {
+		return FileJudgmentCache.builder().directory(directory).build();
+	}
+
+	private static CacheKey key(String input) {
+		return new CacheKey("judge", "1", input, "");
+	}
+
+}
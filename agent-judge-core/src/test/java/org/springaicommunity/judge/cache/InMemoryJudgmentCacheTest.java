@@ -0,0 +1,149 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.result.Judgment;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link InMemoryJudgmentCache}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class InMemoryJudgmentCacheTest {
+
+	@Test
+	void storesAndReturnsJudgments() {
+		InMemoryJudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		Judgment judgment = Judgment.pass("ok");
+
+		cache.put(key("a"), judgment);
+
+		assertThat(cache.get(key("a"))).contains(judgment);
+		assertThat(cache.get(key("b"))).isEmpty();
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedWhenFull() {
+		InMemoryJudgmentCache cache = InMemoryJudgmentCache.builder().maximumSize(2).build();
+		cache.put(key("a"), Judgment.pass("a"));
+		cache.put(key("b"), Judgment.pass("b"));
+		cache.get(key("a")); // a is now more recent than b
+
+		cache.put(key("c"), Judgment.pass("c"));
+
+		assertThat(cache.get(key("a"))).isPresent();
+		assertThat(cache.get(key("b"))).isEmpty();
+		assertThat(cache.get(key("c"))).isPresent();
+		assertThat(cache.stats().evictionCount()).isEqualTo(1);
+		assertThat(cache.stats().size()).isEqualTo(2);
+	}
+
+	@Test
+	void expiresEntriesAfterTimeToLive() {
+		MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+		InMemoryJudgmentCache cache = InMemoryJudgmentCache.builder()
+			.timeToLive(Duration.ofMinutes(10))
+			.clock(clock)
+			.build();
+		cache.put(key("a"), Judgment.pass("ok"));
+
+		clock.advance(Duration.ofMinutes(9));
+		assertThat(cache.get(key("a"))).isPresent();
+
+		clock.advance(Duration.ofMinutes(1));
+		assertThat(cache.get(key("a"))).isEmpty();
+		assertThat(cache.stats().size()).isZero();
+	}
+
+	@Test
+	void tracksHitsAndMisses() {
+		InMemoryJudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		cache.put(key("a"), Judgment.pass("ok"));
+
+		cache.get(key("a"));
+		cache.get(key("a"));
+		cache.get(key("b"));
+
+		CacheStats stats = cache.stats();
+		assertThat(stats.hitCount()).isEqualTo(2);
+		assertThat(stats.missCount()).isEqualTo(1);
+		assertThat(stats.hitRate()).isCloseTo(2.0 / 3, within(1e-9));
+	}
+
+	@Test
+	void invalidateAllClearsEntries() {
+		InMemoryJudgmentCache cache = InMemoryJudgmentCache.builder().build();
+		cache.put(key("a"), Judgment.pass("ok"));
+
+		cache.invalidateAll();
+
+		assertThat(cache.get(key("a"))).isEmpty();
+	}
+
+	@Test
+	void rejectsInvalidConfiguration() {
+		assertThatThrownBy(() -> InMemoryJudgmentCache.builder().maximumSize(0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> InMemoryJudgmentCache.builder().timeToLive(Duration.ZERO))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static CacheKey key(String input) {
+		return new CacheKey("judge", "1", input, "");
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+	}
+
+}
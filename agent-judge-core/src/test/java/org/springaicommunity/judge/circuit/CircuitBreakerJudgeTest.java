@@ -0,0 +1,270 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.circuit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.jury.ErrorPolicy;
+import org.springaicommunity.judge.jury.MajorityVotingStrategy;
+import org.springaicommunity.judge.jury.TiePolicy;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link CircuitBreakerJudge} and {@link CircuitBreaker}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class CircuitBreakerJudgeTest {
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private final AtomicReference<JudgmentStatus> outcome = new AtomicReference<>(JudgmentStatus.ERROR);
+
+	private final Judge resource = context -> {
+		calls.incrementAndGet();
+		return switch (outcome.get()) {
+			case PASS -> Judgment.pass("ok");
+			case FAIL -> Judgment.fail("verdict failed");
+			case ABSTAIN -> Judgment.abstain("abstained");
+			case ERROR -> Judgment.error("endpoint down", null);
+		};
+	};
+
+	// ==================== Opening ====================
+
+	@Test
+	void consecutiveFailuresOpenTheCircuit() {
+		CircuitBreakerJudge judge = guard(breaker().failureThreshold(3).build());
+
+		for (int i = 0; i < 3; i++) {
+			judge.judge(context());
+		}
+		Judgment refused = judge.judge(context());
+
+		assertThat(calls.get()).isEqualTo(3);
+		assertThat(refused.status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(refused.reasoning()).contains("Circuit 'model' is open");
+		assertThat(refused.metadata()).containsEntry(CircuitBreakerJudge.CIRCUIT_STATE, "OPEN")
+			.containsEntry(CircuitBreakerJudge.CIRCUIT_NAME, "model");
+	}
+
+	@Test
+	void failureRateOpensTheCircuit() {
+		CircuitBreakerJudge judge = guard(
+				breaker().failureThreshold(100).failureRateThreshold(0.5).windowSize(10).minimumCalls(4).build());
+
+		for (JudgmentStatus status : List.of(JudgmentStatus.PASS, JudgmentStatus.ERROR, JudgmentStatus.PASS,
+				JudgmentStatus.ERROR)) {
+			outcome.set(status);
+			judge.judge(context());
+		}
+
+		assertThat(judge.judge(context()).metadata()).containsEntry(CircuitBreakerJudge.CIRCUIT_STATE, "OPEN");
+		assertThat(calls.get()).isEqualTo(4);
+	}
+
+	@Test
+	void failVerdictsDoNotOpenTheCircuit() {
+		CircuitBreakerJudge judge = guard(breaker().failureThreshold(2).build());
+		outcome.set(JudgmentStatus.FAIL);
+
+		for (int i = 0; i < 5; i++) {
+			assertThat(judge.judge(context()).status()).isEqualTo(JudgmentStatus.FAIL);
+		}
+
+		assertThat(calls.get()).isEqualTo(5);
+	}
+
+	@Test
+	void exceptionsCountAsFailures() {
+		CircuitBreaker breaker = breaker().failureThreshold(2).build();
+		CircuitBreakerJudge judge = CircuitBreakerJudge.builder().judge(context -> {
+			throw new IllegalStateException("boom");
+		}).circuitBreaker(breaker).build();
+
+		assertThatThrownBy(() -> judge.judge(context())).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> judge.judge(context())).isInstanceOf(IllegalStateException.class);
+
+		assertThat(breaker.state()).isEqualTo(CircuitState.OPEN);
+		assertThat(judge.judge(context()).status()).isEqualTo(JudgmentStatus.ERROR);
+	}
+
+	@Test
+	void cancelledCallsAreNotFailures() {
+		CircuitBreaker breaker = breaker().failureThreshold(2).build();
+		CircuitBreakerJudge judge = CircuitBreakerJudge.builder().judge(context -> {
+			throw new CompletionException(new InterruptedException());
+		}).circuitBreaker(breaker).build();
+		CircuitBreakerJudge swallowing = CircuitBreakerJudge.builder()
+			.judge(context -> Judgment.error("cancelled", new CancellationException()))
+			.circuitBreaker(breaker)
+			.build();
+
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> judge.judge(context())).isInstanceOf(CompletionException.class);
+			assertThat(swallowing.judge(context()).status()).isEqualTo(JudgmentStatus.ERROR);
+		}
+
+		assertThat(breaker.state()).isEqualTo(CircuitState.CLOSED);
+	}
+
+	// ==================== Half Open ====================
+
+	@Test
+	void successfulProbeClosesTheCircuit() {
+		CircuitBreaker breaker = breaker().failureThreshold(1).openDuration(Duration.ofSeconds(30)).build();
+		CircuitBreakerJudge judge = guard(breaker);
+		judge.judge(context());
+
+		clock.advance(Duration.ofSeconds(31));
+		assertThat(breaker.state()).isEqualTo(CircuitState.HALF_OPEN);
+		outcome.set(JudgmentStatus.PASS);
+		Judgment probe = judge.judge(context());
+
+		assertThat(probe.status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(probe.metadata()).containsEntry(CircuitBreakerJudge.CIRCUIT_STATE, "CLOSED");
+		assertThat(breaker.retryAt()).isNull();
+	}
+
+	@Test
+	void failedProbeReopensTheCircuit() {
+		CircuitBreaker breaker = breaker().failureThreshold(1).openDuration(Duration.ofSeconds(30)).build();
+		CircuitBreakerJudge judge = guard(breaker);
+		judge.judge(context());
+
+		clock.advance(Duration.ofSeconds(31));
+		judge.judge(context());
+		Judgment refused = judge.judge(context());
+
+		assertThat(calls.get()).isEqualTo(2);
+		assertThat(refused.metadata()).containsEntry(CircuitBreakerJudge.CIRCUIT_STATE, "OPEN");
+		assertThat(breaker.retryAt()).isEqualTo(clock.instant().plusSeconds(30));
+	}
+
+	@Test
+	void onlyOneProbeAtATime() {
+		CircuitBreaker breaker = breaker().failureThreshold(1).build();
+		guard(breaker).judge(context());
+		clock.advance(Duration.ofMinutes(1));
+
+		assertThat(breaker.acquire()).isEqualTo(CircuitState.HALF_OPEN);
+		assertThat(breaker.acquire()).isEqualTo(CircuitState.OPEN);
+	}
+
+	@Test
+	void cancelledProbeLetsTheNextCallProbe() {
+		CircuitBreaker breaker = breaker().failureThreshold(1).build();
+		guard(breaker).judge(context());
+		clock.advance(Duration.ofMinutes(1));
+		CircuitBreakerJudge cancelled = CircuitBreakerJudge.builder().judge(context -> {
+			throw new CompletionException(new InterruptedException());
+		}).circuitBreaker(breaker).build();
+
+		assertThatThrownBy(() -> cancelled.judge(context())).isInstanceOf(CompletionException.class);
+
+		assertThat(breaker.state()).isEqualTo(CircuitState.HALF_OPEN);
+		assertThat(breaker.acquire()).isEqualTo(CircuitState.HALF_OPEN);
+	}
+
+	// ==================== Voting ====================
+
+	@Test
+	void openCircuitAbstainsUnderErrorPolicy() {
+		CircuitBreakerJudge judge = guard(breaker().failureThreshold(1).build());
+		judge.judge(context());
+		MajorityVotingStrategy strategy = new MajorityVotingStrategy(TiePolicy.FAIL, ErrorPolicy.TREAT_AS_ABSTAIN);
+
+		Judgment verdict = strategy.aggregate(List.of(Judgment.pass("build passed"), judge.judge(context())),
+				Map.of());
+
+		assertThat(verdict.status()).isEqualTo(JudgmentStatus.PASS);
+	}
+
+	@Test
+	void decoratorGuardsSelectedJudgesOnly() {
+		CircuitBreaker breaker = breaker().build();
+		Judge other = context -> Judgment.pass("other");
+
+		var decorator = CircuitBreakerJudge.decorator(breaker, judge -> judge == resource);
+
+		assertThat(decorator.apply(resource)).isInstanceOf(CircuitBreakerJudge.class);
+		assertThat(decorator.apply(other)).isSameAs(other);
+	}
+
+	// ==================== Helper Methods ====================
+
+	private CircuitBreaker.Builder breaker() {
+		return CircuitBreaker.builder().name("model").clock(clock);
+	}
+
+	private CircuitBreakerJudge guard(CircuitBreaker breaker) {
+		return CircuitBreakerJudge.builder().judge(resource).circuitBreaker(breaker).build();
+	}
+
+	private static JudgmentContext context() {
+		return JudgmentContext.builder().goal("Fix the bug").build();
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+	}
+
+}
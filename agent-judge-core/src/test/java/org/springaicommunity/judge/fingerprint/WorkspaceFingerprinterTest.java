@@ -0,0 +1,251 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.fingerprint;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link WorkspaceFingerprinter}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class WorkspaceFingerprinterTest {
+
+	@TempDir
+	Path workspace;
+
+	private final WorkspaceFingerprinter fingerprinter = WorkspaceFingerprinter.builder().parallelism(2).build();
+
+	@AfterEach
+	void close() {
+		fingerprinter.close();
+	}
+
+	// ==================== Content Hashing ====================
+
+	@Test
+	void identicalTreesHaveIdenticalHashes(@TempDir Path other) throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+		write(other, "src/main/App.java", "class App {}");
+
+		assertThat(fingerprinter.fingerprint(workspace).hash()).isEqualTo(fingerprinter.fingerprint(other).hash());
+	}
+
+	@Test
+	void contentChangesChangeTheHash() throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+		String before = fingerprinter.fingerprint(workspace).hash();
+
+		write(workspace, "src/main/App.java", "class App { int x; }");
+
+		assertThat(fingerprinter.fingerprint(workspace).hash()).isNotEqualTo(before);
+	}
+
+	@Test
+	void renamesChangeTheHash() throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+		String before = fingerprinter.fingerprint(workspace).hash();
+
+		Files.move(workspace.resolve("src/main/App.java"), workspace.resolve("src/main/Main.java"));
+
+		assertThat(fingerprinter.fingerprint(workspace).hash()).isNotEqualTo(before);
+	}
+
+	@Test
+	void deletionsChangeTheHash() throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+		write(workspace, "src/main/Util.java", "class Util {}");
+		String before = fingerprinter.fingerprint(workspace).hash();
+
+		Files.delete(workspace.resolve("src/main/Util.java"));
+
+		WorkspaceFingerprint after = fingerprinter.fingerprint(workspace);
+		assertThat(after.hash()).isNotEqualTo(before);
+		assertThat(after.fileCount()).isEqualTo(1);
+	}
+
+	@Test
+	void sameSizeRewriteWithinTimestampGranularityIsDetected() throws IOException {
+		Path file = write(workspace, "src/main/App.java", "aaaa");
+		FileTime modified = Files.getLastModifiedTime(file);
+		String before = fingerprinter.fingerprint(workspace).hash();
+
+		Files.writeString(file, "bbbb");
+		Files.setLastModifiedTime(file, modified);
+
+		assertThat(fingerprinter.fingerprint(workspace).hash()).isNotEqualTo(before);
+	}
+
+	@Test
+	void unchangedOldFilesAreNotReread() throws IOException {
+		Path file = write(workspace, "src/main/App.java", "aaaa");
+		FileTime old = FileTime.from(Instant.now().minus(Duration.ofHours(1)));
+		Files.setLastModifiedTime(file, old);
+		String before = fingerprinter.fingerprint(workspace).hash();
+
+		// Same size and timestamp: the remembered hash is trusted
+		Files.writeString(file, "bbbb");
+		Files.setLastModifiedTime(file, old);
+
+		assertThat(fingerprinter.fingerprint(workspace).hash()).isEqualTo(before);
+	}
+
+	// ==================== Ignore Rules ====================
+
+	@Test
+	void buildOutputAndVcsDirectoriesAreIgnored() throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+
+		write(workspace, "target/classes/App.class", "bytes");
+		write(workspace, "module/target/classes/Lib.class", "bytes");
+		write(workspace, ".git/HEAD", "ref: refs/heads/main");
+
+		WorkspaceFingerprint after = fingerprinter.fingerprint(workspace);
+		assertThat(after.hash("target")).isEmpty();
+		assertThat(after.fileCount()).isEqualTo(1);
+		assertThat(after.hash("module")).isPresent();
+		assertThat(after.hash("module/target")).isEmpty();
+	}
+
+	@Test
+	void ignoredDirectoriesAreConfigurable() throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+		write(workspace, "node_modules/lib/index.js", "module.exports = {}");
+
+		try (WorkspaceFingerprinter custom = WorkspaceFingerprinter.builder().ignore("node_modules").build();
+				WorkspaceFingerprinter none = WorkspaceFingerprinter.builder().ignoredDirectories(Set.of()).build()) {
+			assertThat(custom.fingerprint(workspace).fileCount()).isEqualTo(1);
+			assertThat(none.fingerprint(workspace).fileCount()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void ignoredDirectoryCanBeFingerprintedAsRoot() throws IOException {
+		write(workspace, "target/classes/App.class", "bytes");
+
+		WorkspaceFingerprint classes = fingerprinter.fingerprint(workspace.resolve("target/classes"));
+
+		assertThat(classes.fileCount()).isEqualTo(1);
+	}
+
+	// ==================== Subtree Hashes ====================
+
+	@Test
+	void subtreeHashMatchesStandaloneFingerprint() throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+		write(workspace, "src/test/AppTest.java", "class AppTest {}");
+
+		WorkspaceFingerprint whole = fingerprinter.fingerprint(workspace);
+
+		assertThat(whole.hash("src/main")).contains(fingerprinter.fingerprint(workspace.resolve("src/main")).hash());
+		assertThat(whole.hash("src/main/App.java")).isPresent();
+		assertThat(whole.hash("src/missing")).isEmpty();
+		assertThat(whole.hash("")).contains(whole.hash());
+	}
+
+	@Test
+	void unrelatedChangesLeaveSubtreeHashUnchanged() throws IOException {
+		write(workspace, "src/main/App.java", "class App {}");
+		write(workspace, "src/test/AppTest.java", "class AppTest {}");
+		WorkspaceFingerprint before = fingerprinter.fingerprint(workspace);
+
+		write(workspace, "src/test/AppTest.java", "class AppTest { void test() {} }");
+		WorkspaceFingerprint after = fingerprinter.fingerprint(workspace);
+
+		assertThat(after.hash("src/main")).isEqualTo(before.hash("src/main"));
+		assertThat(after.hash("src/test")).isNotEqualTo(before.hash("src/test"));
+	}
+
+	@Test
+	void hashOfFileIsContentHash() throws IOException {
+		write(workspace, "a.txt", "same");
+		write(workspace, "b.txt", "same");
+
+		assertThat(fingerprinter.hash(workspace.resolve("a.txt")))
+			.isEqualTo(fingerprinter.hash(workspace.resolve("b.txt")));
+		assertThat(fingerprinter.hash(workspace.resolve("missing.txt"))).isEmpty();
+	}
+
+	// ==================== Watching ====================
+
+	@Test
+	void watchingFingerprinterSeesChanges() throws Exception {
+		write(workspace, "src/main/App.java", "class App {}");
+		try (WorkspaceFingerprinter watching = WorkspaceFingerprinter.builder().watch(true).build()) {
+			String before = watching.fingerprint(workspace).hash();
+			assertThat(watching.fingerprint(workspace).hash()).isEqualTo(before);
+
+			write(workspace, "src/main/pkg/Util.java", "class Util {}");
+
+			String after = awaitChange(watching, before);
+			assertThat(after).isEqualTo(fingerprinter.fingerprint(workspace).hash());
+
+			write(workspace, "src/main/pkg/Util.java", "class Util { int x; }");
+
+			assertThat(awaitChange(watching, after)).isEqualTo(fingerprinter.fingerprint(workspace).hash());
+		}
+	}
+
+	// ==================== Validation ====================
+
+	@Test
+	void rejectsMissingRoot() {
+		assertThatThrownBy(() -> fingerprinter.fingerprint(workspace.resolve("missing")))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void builderRejectsInvalidSettings() {
+		assertThatThrownBy(() -> WorkspaceFingerprinter.builder().parallelism(0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> WorkspaceFingerprinter.builder().maxWorkspaces(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Path write(Path root, String relativePath, String content) throws IOException {
+		Path file = root.resolve(relativePath);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+		return file;
+	}
+
+	// Watch events are delivered asynchronously, so poll until the change shows up
+	private String awaitChange(WorkspaceFingerprinter watching, String previous) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		String current = watching.fingerprint(workspace).hash();
+		while (current.equals(previous) && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+			current = watching.fingerprint(workspace).hash();
+		}
+		return current;
+	}
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.AsyncJudge;
+import org.springaicommunity.judge.DeterministicJudge;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.cache.CacheableJudge;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.fs.FileExistsJudge;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springaicommunity.judge.JudgeTestFixtures.*;
+
+/**
+ * Tests for {@link BatchJury}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class BatchJuryTest {
+
+	// ==================== Output Order ====================
+
+	@Test
+	void orderedOutputFollowsInputOrder() {
+		// Earlier contexts take longer, so completion order is the reverse of input order
+		Judge judge = Judges.named(ctx -> {
+			sleep(10L * (10 - Integer.parseInt(ctx.goal())));
+			return Judgment.pass("ok");
+		}, "Slow", null, JudgeType.DETERMINISTIC);
+
+		BatchJury batch = BatchJury.builder().jury(sequentialJury(judge)).maxConcurrency(10).build();
+
+		List<Long> indexes;
+		try (Stream<BatchVerdict> verdicts = batch.voteAll(contexts(10))) {
+			indexes = verdicts.map(BatchVerdict::index).toList();
+		}
+
+		assertThat(indexes).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+	}
+
+	@Test
+	void unorderedOutputFollowsCompletionOrder() {
+		Judge judge = Judges.named(ctx -> {
+			sleep("0".equals(ctx.goal()) ? 300 : 10);
+			return Judgment.pass("ok");
+		}, "Slow", null, JudgeType.DETERMINISTIC);
+
+		BatchJury batch = BatchJury.builder().jury(sequentialJury(judge)).maxConcurrency(5).ordered(false).build();
+
+		List<BatchVerdict> verdicts;
+		try (Stream<BatchVerdict> stream = batch.voteAll(contexts(5))) {
+			verdicts = stream.toList();
+		}
+
+		assertThat(verdicts).hasSize(5);
+		assertThat(verdicts.get(4).index()).isZero();
+		assertThat(verdicts.get(4).context().goal()).isEqualTo("0");
+	}
+
+	// ==================== Concurrency Limits ====================
+
+	@Test
+	void neverExceedsGlobalConcurrency() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		Judge judge = tracking("Tracked", JudgeType.DETERMINISTIC, running, peak);
+
+		BatchJury batch = BatchJury.builder().jury(sequentialJury(judge)).maxConcurrency(4).build();
+
+		long count;
+		try (Stream<BatchVerdict> verdicts = batch.voteAll(contexts(40))) {
+			count = verdicts.count();
+		}
+
+		assertThat(count).isEqualTo(40);
+		assertThat(peak.get()).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void limitsConcurrencyPerJudgeType() {
+		AtomicInteger llmRunning = new AtomicInteger();
+		AtomicInteger llmPeak = new AtomicInteger();
+		AtomicInteger deterministicRunning = new AtomicInteger();
+		AtomicInteger deterministicPeak = new AtomicInteger();
+		Jury jury = sequentialJury(tracking("Build", JudgeType.DETERMINISTIC, deterministicRunning, deterministicPeak),
+				tracking("Correctness", JudgeType.LLM_POWERED, llmRunning, llmPeak));
+
+		BatchJury batch = BatchJury.builder()
+			.jury(jury)
+			.maxConcurrency(8)
+			.maxConcurrency(JudgeType.LLM_POWERED, 2)
+			.build();
+
+		List<BatchVerdict> verdicts;
+		try (Stream<BatchVerdict> stream = batch.voteAll(contexts(24))) {
+			verdicts = stream.toList();
+		}
+
+		assertThat(verdicts).allSatisfy(result -> {
+			assertThat(result.verdict().aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+			// Decorated judges keep their names
+			assertThat(result.verdict().individualByName()).containsKeys("Build", "Correctness");
+		});
+		assertThat(llmPeak.get()).isLessThanOrEqualTo(2);
+		assertThat(deterministicPeak.get()).isGreaterThan(2);
+	}
+
+	@Test
+	void typeLimitsKeepJudgeCapabilities() {
+		Jury jury = sequentialJury(Judges.named(new AsyncEcho(), "Async", null, JudgeType.LLM_POWERED),
+				new CacheableEcho(), new FileExistsJudge("README.md"));
+
+		BatchJury batch = BatchJury.builder()
+			.jury(jury)
+			.maxConcurrency(JudgeType.LLM_POWERED, 1)
+			.maxConcurrency(JudgeType.DETERMINISTIC, 1)
+			.build();
+
+		List<Judge> judges = batch.getJury().getJudges();
+		assertThat(Judges.asAsync(judges.get(0))).isPresent();
+		assertThat(judges.get(1)).isInstanceOf(CacheableJudge.class);
+		assertThat(((CacheableJudge) judges.get(1)).cacheIdentity()).isEqualTo(new CacheableEcho().cacheIdentity());
+		assertThat(JudgeBulkheads.isFileSystemCheck(judges.get(2))).isTrue();
+		assertThat(Judges.asAsync(judges.get(0)).orElseThrow().judgeAsync(simpleContext("goal")).join().status())
+			.isEqualTo(JudgmentStatus.PASS);
+	}
+
+	@Test
+	void cancelledWaitingCallReleasesItsPermit() {
+		Semaphore permits = new Semaphore(1);
+		List<Runnable> waiters = new ArrayList<>();
+		AsyncJudge limited = Judges
+			.asAsync(PermitLimitedJudge.limit(new AsyncEcho(), LLM_METADATA, permits, waiters::add))
+			.orElseThrow();
+
+		permits.acquireUninterruptibly();
+		CompletableFuture<Judgment> waiting = limited.judgeAsync(simpleContext("goal"));
+		waiting.cancel(true);
+		permits.release();
+		waiters.forEach(Runnable::run);
+
+		assertThat(permits.availablePermits()).isEqualTo(1);
+		assertThat(limited.judgeAsync(simpleContext("goal")).join().status()).isEqualTo(JudgmentStatus.PASS);
+	}
+
+	@Test
+	void cancellingLimitedCallCancelsDelegate() {
+		Semaphore permits = new Semaphore(1);
+		CompletableFuture<Judgment> pending = new CompletableFuture<>();
+		AsyncJudge limited = Judges
+			.asAsync(PermitLimitedJudge.limit(new AsyncEcho(pending), LLM_METADATA, permits, Runnable::run))
+			.orElseThrow();
+
+		limited.judgeAsync(simpleContext("goal")).cancel(true);
+
+		assertThat(pending).isCancelled();
+		assertThat(permits.availablePermits()).isEqualTo(1);
+	}
+
+	// ==================== Backpressure ====================
+
+	@Test
+	void pullsContextsOnlyAsResultsAreConsumed() {
+		AtomicInteger pulled = new AtomicInteger();
+		Iterator<JudgmentContext> endless = Stream.generate(() -> simpleContext("goal"))
+			.peek(ctx -> pulled.incrementAndGet())
+			.iterator();
+
+		BatchJury batch = BatchJury.builder().jury(sequentialJury(alwaysPass("Pass"))).maxConcurrency(4).build();
+
+		List<BatchVerdict> firstThree;
+		try (Stream<BatchVerdict> verdicts = batch.voteAll(endless)) {
+			firstThree = verdicts.limit(3).toList();
+		}
+
+		assertThat(firstThree).hasSize(3);
+		// Never more than the results taken plus the in-flight window
+		assertThat(pulled.get()).isLessThanOrEqualTo(3 + 4);
+	}
+
+	// ==================== Error Handling ====================
+
+	@Test
+	void juryExceptionYieldsErrorVerdictForThatContext() {
+		Jury jury = new Jury() {
+			@Override
+			public Verdict vote(JudgmentContext context) {
+				if ("1".equals(context.goal())) {
+					throw new IllegalStateException("boom");
+				}
+				return Verdict.builder().aggregated(Judgment.pass("ok")).build();
+			}
+
+			@Override
+			public List<Judge> getJudges() {
+				return List.of();
+			}
+
+			@Override
+			public VotingStrategy getVotingStrategy() {
+				return new MajorityVotingStrategy();
+			}
+		};
+
+		List<BatchVerdict> verdicts;
+		try (Stream<BatchVerdict> stream = BatchJury.builder().jury(jury).build().voteAll(contexts(3))) {
+			verdicts = stream.toList();
+		}
+
+		assertThat(verdicts).extracting(result -> result.verdict().aggregated().status())
+			.containsExactly(JudgmentStatus.PASS, JudgmentStatus.ERROR, JudgmentStatus.PASS);
+		assertThat(verdicts.get(1).verdict().aggregated().error()).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void builderValidatesConfiguration() {
+		assertThatThrownBy(() -> BatchJury.builder().build()).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Jury is required");
+		assertThatThrownBy(() -> BatchJury.builder().maxConcurrency(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> BatchJury.builder().maxConcurrency(JudgeType.LLM_POWERED, 0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// ==================== Helpers ====================
+
+	private static final JudgeMetadata LLM_METADATA = new JudgeMetadata("Async", "Async echo", JudgeType.LLM_POWERED);
+
+	private static Jury sequentialJury(Judge... judges) {
+		SimpleJury.Builder builder = SimpleJury.builder().votingStrategy(new MajorityVotingStrategy()).parallel(false);
+		for (Judge judge : judges) {
+			builder.judge(judge);
+		}
+		return builder.build();
+	}
+
+	private static Iterator<JudgmentContext> contexts(int count) {
+		return IntStream.range(0, count).mapToObj(i -> simpleContext(String.valueOf(i))).iterator();
+	}
+
+	private static Judge tracking(String name, JudgeType type, AtomicInteger running, AtomicInteger peak) {
+		return Judges.named(ctx -> {
+			peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				sleep(20);
+				return Judgment.pass("ok");
+			}
+			finally {
+				running.decrementAndGet();
+			}
+		}, name, null, type);
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class AsyncEcho implements Judge, AsyncJudge {
+
+		private final CompletableFuture<Judgment> result;
+
+		AsyncEcho() {
+			this(CompletableFuture.completedFuture(Judgment.pass("async")));
+		}
+
+		AsyncEcho(CompletableFuture<Judgment> result) {
+			this.result = result;
+		}
+
+		@Override
+		public Judgment judge(JudgmentContext context) {
+			return Judgment.pass("sync");
+		}
+
+		@Override
+		public CompletableFuture<Judgment> judgeAsync(JudgmentContext context) {
+			return result;
+		}
+
+	}
+
+	private static class CacheableEcho extends DeterministicJudge implements CacheableJudge {
+
+		CacheableEcho() {
+			super("Echo", "Echoes the goal");
+		}
+
+		@Override
+		public Judgment judge(JudgmentContext context) {
+			return Judgment.pass(context.goal());
+		}
+
+	}
+
+}
@@ -18,8 +18,18 @@ package org.springaicommunity.judge.jury;
 
 import org.junit.jupiter.api.Test;
 import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
 import org.springaicommunity.judge.result.JudgmentStatus;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springaicommunity.judge.JudgeTestFixtures.*;
@@ -444,6 +454,125 @@ class CascadedJuryTest {
 		assertThat(verdict.subVerdicts()).hasSize(3);
 	}
 
+	// ==================== Speculative execution ====================
+
+	@Test
+	void speculativeTierOverlapsWithPrecedingTier() {
+		CountDownLatch semanticStarted = new CountDownLatch(1);
+		AtomicBoolean overlapped = new AtomicBoolean();
+		// The first tier only finishes once the speculative tier is running alongside it
+		Jury tier1 = SimpleJury.builder().judge(ctx -> {
+			try {
+				overlapped.set(semanticStarted.await(5, TimeUnit.SECONDS));
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return booleanPass("Build passed");
+		}).votingStrategy(new MajorityVotingStrategy()).virtualThreads().build();
+		Jury finalTier = SimpleJury.builder().judge(ctx -> {
+			semanticStarted.countDown();
+			return booleanPass("Looks correct");
+		}).votingStrategy(new MajorityVotingStrategy()).virtualThreads().build();
+
+		CascadedJury jury = CascadedJury.builder()
+			.tier("deterministic", tier1, TierPolicy.REJECT_ON_ANY_FAIL)
+			.tier("semantic", finalTier, TierPolicy.FINAL_TIER, true)
+			.build();
+
+		Verdict verdict = jury.vote(context);
+
+		assertThat(overlapped).isTrue();
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(verdict.subVerdicts()).hasSize(2);
+		assertThat(verdict.aggregated().metadata()).containsEntry(CascadedJury.SPECULATIVE_TIERS_STARTED,
+				List.of("semantic"));
+		assertThat(verdict.aggregated().metadata()).containsEntry(CascadedJury.SPECULATIVE_TIERS_WASTED, List.of());
+	}
+
+	@Test
+	void speculativeTierCancelledWhenEarlierTierStops() throws InterruptedException {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Jury tier1 = SimpleJury.builder()
+			.judge(slow("Build", 100, booleanFail("Build failed")))
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+		Jury finalTier = SimpleJury.builder().judge(ctx -> {
+			try {
+				Thread.sleep(10_000);
+				return Judgment.pass("Too late");
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+				return Judgment.error("Interrupted", ex);
+			}
+		}).votingStrategy(new MajorityVotingStrategy()).parallel(false).build();
+
+		CascadedJury jury = CascadedJury.builder()
+			.tier("deterministic", tier1, TierPolicy.REJECT_ON_ANY_FAIL)
+			.tier("semantic", finalTier, TierPolicy.FINAL_TIER, true)
+			.build();
+
+		Verdict verdict = jury.vote(context);
+
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(verdict.subVerdicts()).hasSize(1);
+		assertThat(verdict.aggregated().metadata()).containsEntry(CascadedJury.SPECULATIVE_TIERS_WASTED,
+				List.of("semantic"));
+		assertThat((Duration) verdict.aggregated().metadata().get(CascadedJury.SPECULATION_WASTED_TIME))
+			.isPositive();
+		assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void speculationLimitedByMaxSpeculativeTiers() {
+		var tier2 = recording("Structural", booleanPass("Structure ok"));
+		var tier3 = recording("Semantic", booleanPass("Looks correct"));
+
+		CascadedJury jury = CascadedJury.builder()
+			.tier("deterministic", Juries.fromJudges(new MajorityVotingStrategy(), alwaysFail("Build")),
+					TierPolicy.REJECT_ON_ANY_FAIL)
+			.tier("structural", Juries.fromJudges(new MajorityVotingStrategy(), tier2), TierPolicy.ACCEPT_ON_ALL_PASS,
+					true)
+			.tier("semantic", Juries.fromJudges(new MajorityVotingStrategy(), tier3), TierPolicy.FINAL_TIER, true)
+			.maxSpeculativeTiers(0)
+			.build();
+
+		Verdict verdict = jury.vote(context);
+
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(verdict.aggregated().metadata()).doesNotContainKey(CascadedJury.SPECULATIVE_TIERS_STARTED);
+		assertThat(tier2.getInvocationCount()).isZero();
+		assertThat(tier3.getInvocationCount()).isZero();
+	}
+
+	@Test
+	void rejectedSpeculationCancelsStartedTiersAndRunsInline() {
+		AtomicInteger submissions = new AtomicInteger();
+		Executor acceptsOnce = task -> {
+			if (submissions.incrementAndGet() > 1) {
+				throw new RejectedExecutionException("saturated");
+			}
+			new Thread(task).start();
+		};
+		CascadedJury jury = CascadedJury.builder()
+			.tier("deterministic", Juries.fromJudges(new MajorityVotingStrategy(), alwaysPass("Build")),
+					TierPolicy.REJECT_ON_ANY_FAIL)
+			.tier("structural", slowTier("Structure", 200, booleanFail("Structure off")),
+					TierPolicy.ACCEPT_ON_ALL_PASS, true)
+			.tier("semantic", slowTier("Semantic", 50, booleanPass("Looks correct")), TierPolicy.FINAL_TIER, true)
+			.maxSpeculativeTiers(2)
+			.executor(acceptsOnce)
+			.build();
+
+		Verdict verdict = jury.vote(context);
+
+		assertThat(submissions.get()).isEqualTo(2);
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(verdict.subVerdicts()).hasSize(3);
+		assertThat(verdict.aggregated().metadata()).doesNotContainKey(CascadedJury.SPECULATIVE_TIERS_STARTED);
+	}
+
 	// ==================== getJudges / getVotingStrategy ====================
 
 	@Test
@@ -475,6 +604,14 @@ class CascadedJuryTest {
 
 	// ==================== Helper ====================
 
+	private static Jury slowTier(String judgeName, long delayMillis, Judgment result) {
+		return SimpleJury.builder()
+			.judge(slow(judgeName, delayMillis, result))
+			.votingStrategy(new MajorityVotingStrategy())
+			.virtualThreads()
+			.build();
+	}
+
 	/**
 	 * A jury that throws an exception on vote().
 	 */
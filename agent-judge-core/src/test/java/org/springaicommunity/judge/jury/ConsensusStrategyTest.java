@@ -244,6 +244,22 @@ class ConsensusStrategyTest {
 		assertThat(result.reasoning()).contains("No consensus");
 	}
 
+	// ==================== Early Decision ====================
+
+	@Test
+	void shouldBeDecidedOnceJudgesDisagree() {
+		ConsensusStrategy strategy = new ConsensusStrategy();
+
+		assertThat(strategy.isDecided(List.of(booleanPass("Judge 1"), booleanFail("Judge 2")), 3)).isTrue();
+	}
+
+	@Test
+	void shouldNotBeDecidedWhileJudgesAgree() {
+		ConsensusStrategy strategy = new ConsensusStrategy();
+
+		assertThat(strategy.isDecided(List.of(booleanPass("Judge 1"), booleanPass("Judge 2")), 3)).isFalse();
+	}
+
 	// ==================== Metadata Tests ====================
 
 	@Test
@@ -217,6 +217,39 @@ class MajorityVotingStrategyTest {
 		assertThat(result.status()).isEqualTo(JudgmentStatus.PASS);
 	}
 
+	// ==================== Early Decision ====================
+
+	@Test
+	void shouldBeDecidedWhenLeadExceedsPendingVotes() {
+		MajorityVotingStrategy strategy = new MajorityVotingStrategy();
+
+		List<Judgment> completed = List.of(booleanPass("Judge 1"), booleanPass("Judge 2"), booleanPass("Judge 3"));
+
+		assertThat(strategy.isDecided(completed, 2)).isTrue();
+	}
+
+	@Test
+	void shouldNotBeDecidedWhenPendingVotesCouldTie() {
+		MajorityVotingStrategy strategy = new MajorityVotingStrategy();
+
+		List<Judgment> completed = List.of(booleanPass("Judge 1"), booleanPass("Judge 2"), booleanFail("Judge 3"));
+
+		assertThat(strategy.isDecided(completed, 1)).isFalse();
+	}
+
+	@Test
+	void earlyDecisionShouldApplyErrorPolicy() {
+		List<Judgment> completed = List.of(booleanFail("Judge 1"), errorJudgment(), errorJudgment());
+
+		assertThat(new MajorityVotingStrategy(TiePolicy.FAIL, ErrorPolicy.TREAT_AS_FAIL).isDecided(completed, 2))
+			.isTrue();
+		assertThat(new MajorityVotingStrategy(TiePolicy.FAIL, ErrorPolicy.IGNORE).isDecided(completed, 2)).isFalse();
+	}
+
+	private static Judgment errorJudgment() {
+		return Judgment.error("Evaluation error", new RuntimeException("Test error"));
+	}
+
 	// ==================== Metadata Tests ====================
 
 	@Test
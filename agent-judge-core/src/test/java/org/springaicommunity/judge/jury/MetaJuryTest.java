@@ -17,10 +17,19 @@
 package org.springaicommunity.judge.jury;
 
 import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.context.Deadline;
 import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
 import org.springaicommunity.judge.result.JudgmentStatus;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -200,6 +209,66 @@ class MetaJuryTest {
 			.hasMessageContaining("Meta voting strategy is required");
 	}
 
+	// ==================== Parallel Execution Tests ====================
+
+	@Test
+	void shouldRunSubJuriesInParallel() {
+		Jury jury1 = slowJury("Slow1", booleanPass("Pass"));
+		Jury jury2 = slowJury("Slow2", booleanFail("Fail"));
+		Jury jury3 = slowJury("Slow3", booleanPass("Pass"));
+
+		MetaJury metaJury = MetaJury.builder()
+			.jury(jury1)
+			.jury(jury2)
+			.jury(jury3)
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+
+		long start = System.nanoTime();
+		Verdict verdict = metaJury.vote(simpleContext("Test goal"));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// Sequential execution would take 3 * 500ms; order must still match jury order
+		assertThat(elapsedMillis).isLessThan(1_400);
+		assertThat(verdict.subVerdicts()).extracting(v -> v.aggregated().status())
+			.containsExactly(JudgmentStatus.PASS, JudgmentStatus.FAIL, JudgmentStatus.PASS);
+	}
+
+	@Test
+	void shouldRunSubJuriesSequentiallyWhenDisabled() {
+		var executor = Executors.newFixedThreadPool(2);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Jury jury1 = Juries.fromJudges(new MajorityVotingStrategy(),
+				concurrencyTracking("J1", running, maxRunning, booleanPass("Pass")));
+		Jury jury2 = Juries.fromJudges(new MajorityVotingStrategy(),
+				concurrencyTracking("J2", running, maxRunning, booleanFail("Fail")));
+
+		MetaJury metaJury = MetaJury.builder()
+			.jury(jury1)
+			.jury(jury2)
+			.votingStrategy(new ConsensusStrategy())
+			.parallel(false)
+			.executor(executor)
+			.build();
+
+		Verdict verdict = metaJury.vote(simpleContext("Test goal"));
+
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(verdict.subVerdicts()).hasSize(2);
+		// The executor could run both sub-juries at once; sequential mode must not
+		assertThat(maxRunning.get()).isEqualTo(1);
+
+		executor.shutdown();
+	}
+
+	@Test
+	void builderShouldRequireVotingStrategy() {
+		assertThatThrownBy(() -> MetaJury.builder()
+			.jury(Juries.fromJudges(new MajorityVotingStrategy(), alwaysPass("J1")))
+			.build()).isInstanceOf(IllegalStateException.class).hasMessageContaining("Voting strategy is required");
+	}
+
 	// ==================== Integration Tests ====================
 
 	@Test
@@ -233,6 +302,24 @@ class MetaJuryTest {
 		assertThat(infraVerdict.subVerdicts()).hasSize(2);
 	}
 
+	@Test
+	void shouldPropagateDeadlineToSubJuries() {
+		Jury fastJury = Juries.fromJudges(new MajorityVotingStrategy(), alwaysPass("Fast"));
+		Jury slowJury = SimpleJury.builder()
+			.judge(slow("Slow", 10_000, booleanPass("Slow pass")))
+			.votingStrategy(new MajorityVotingStrategy())
+			.virtualThreads()
+			.build();
+
+		MetaJury metaJury = new MetaJury(List.of(fastJury, slowJury), new MajorityVotingStrategy());
+
+		Verdict verdict = metaJury.vote(simpleContext("Test goal"), Deadline.after(Duration.ofMillis(200)));
+
+		Verdict slowVerdict = verdict.subVerdicts().get(1);
+		assertThat(slowVerdict.individual().get(0).status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(verdict.subVerdicts().get(0).aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+	}
+
 	@Test
 	void shouldPreserveIndividualJudgmentsFromEachJury() {
 		Jury jury1 = Juries.fromJudges(new MajorityVotingStrategy(), alwaysPass("J1"), alwaysPass("J2"));
@@ -250,4 +337,30 @@ class MetaJuryTest {
 		assertThat(verdict.individual().get(1).status()).isEqualTo(JudgmentStatus.FAIL); // jury2
 	}
 
+	private static Judge concurrencyTracking(String name, AtomicInteger running, AtomicInteger maxRunning,
+			Judgment result) {
+		return Judges.named(ctx -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(100);
+				return result;
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Judgment.error("Interrupted", e);
+			}
+			finally {
+				running.decrementAndGet();
+			}
+		}, name, null, JudgeType.DETERMINISTIC);
+	}
+
+	private static Jury slowJury(String name, Judgment result) {
+		return SimpleJury.builder()
+			.judge(slow(name, 500, result))
+			.votingStrategy(new MajorityVotingStrategy())
+			.virtualThreads()
+			.build();
+	}
+
 }
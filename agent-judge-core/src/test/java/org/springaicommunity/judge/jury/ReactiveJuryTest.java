@@ -0,0 +1,219 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.jury;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.AsyncJudge;
+import org.springaicommunity.judge.ReactiveJudge;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springaicommunity.judge.JudgeTestFixtures.*;
+
+/**
+ * Tests for {@link ReactiveJury}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class ReactiveJuryTest {
+
+	// ==================== Single Verdict ====================
+
+	@Test
+	void aggregatesBlockingAsyncAndReactiveJudges() {
+		AsyncJudge asyncJudge = ctx -> CompletableFuture.completedFuture(Judgment.pass("async"));
+		ReactiveJudge reactiveJudge = ctx -> Mono.just(Judgment.fail("reactive"));
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.judge(alwaysPass("Blocking"))
+			.asyncJudge(asyncJudge)
+			.reactiveJudge(reactiveJudge)
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("goal")).block();
+
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(verdict.individual()).extracting(Judgment::reasoning)
+			.containsExactly("Always passes", "async", "reactive");
+		assertThat(verdict.individualByName()).containsKeys("Blocking", "Judge#2", "Judge#3");
+	}
+
+	@Test
+	void judgeTimeoutRecordsError() {
+		ReactiveJudge neverCompletes = ctx -> Mono.never();
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.judge(alwaysPass("Fast"))
+			.reactiveJudge(neverCompletes)
+			.votingStrategy(new MajorityVotingStrategy())
+			.judgeTimeout(Duration.ofMillis(100))
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("goal")).block(Duration.ofSeconds(5));
+
+		assertThat(verdict.individual().get(1).status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(verdict.individual().get(1).reasoning()).contains("did not complete before its deadline");
+	}
+
+	@Test
+	void judgeErrorFailsVote() {
+		ReactiveJudge failing = ctx -> Mono.error(new IllegalStateException("boom"));
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.reactiveJudge(failing)
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+
+		assertThatThrownBy(() -> jury.vote(simpleContext("goal")).block()).isInstanceOf(IllegalStateException.class)
+			.hasMessage("boom");
+	}
+
+	@Test
+	void emptyOrNullResultRecordsError() {
+		ReactiveJudge empty = ctx -> Mono.empty();
+		AsyncJudge nullResult = ctx -> CompletableFuture.completedFuture(null);
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.judge(alwaysPass("Blocking"))
+			.reactiveJudge(empty)
+			.asyncJudge(nullResult)
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("goal")).block(Duration.ofSeconds(5));
+
+		assertThat(verdict.individual()).extracting(Judgment::status)
+			.containsExactly(JudgmentStatus.PASS, JudgmentStatus.ERROR, JudgmentStatus.ERROR);
+		assertThat(verdict.individualByName().get("Judge#2").reasoning()).contains("completed without a judgment");
+	}
+
+	// ==================== Streaming ====================
+
+	@Test
+	void nonBlockingJudgesDoNotNeedAThreadPerVerdict() {
+		ReactiveJudge delayed = ctx -> Mono.delay(Duration.ofMillis(200)).thenReturn(Judgment.pass("ok"));
+		AsyncJudge async = ctx -> CompletableFuture.supplyAsync(() -> Judgment.pass("ok"),
+				CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.reactiveJudge(delayed)
+			.asyncJudge(async)
+			.votingStrategy(new MajorityVotingStrategy())
+			.concurrency(500)
+			.build();
+
+		long start = System.nanoTime();
+		List<BatchVerdict> verdicts = jury.voteAll(Flux.range(0, 500).map(i -> simpleContext("goal-" + i)))
+			.collectList()
+			.block(Duration.ofSeconds(10));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(verdicts).hasSize(500)
+			.allSatisfy(result -> assertThat(result.verdict().aggregated().status()).isEqualTo(JudgmentStatus.PASS));
+		// 500 verdicts of 200ms each overlap instead of queueing for threads
+		assertThat(elapsedMillis).isLessThan(2000);
+	}
+
+	@Test
+	void orderedStreamPreservesInputOrder() {
+		ReactiveJudge delayed = ctx -> Mono.delay(Duration.ofMillis(10L * (10 - Long.parseLong(ctx.goal()))))
+			.thenReturn(Judgment.pass("ok"));
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.reactiveJudge(delayed)
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+
+		List<BatchVerdict> verdicts = jury.voteAll(Flux.range(0, 10).map(i -> simpleContext(String.valueOf(i))))
+			.collectList()
+			.block(Duration.ofSeconds(5));
+
+		assertThat(verdicts).extracting(BatchVerdict::index).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+		assertThat(verdicts).extracting(result -> result.context().goal()).containsExactly("0", "1", "2", "3", "4",
+				"5", "6", "7", "8", "9");
+	}
+
+	@Test
+	void requestsContextsOnlyAsVerdictsAreConsumed() {
+		AtomicLong emitted = new AtomicLong();
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		ReactiveJudge tracked = ctx -> Mono.delay(Duration.ofMillis(20))
+			.doOnSubscribe(subscription -> peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+			.doFinally(signal -> inFlight.decrementAndGet())
+			.thenReturn(Judgment.pass("ok"));
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.reactiveJudge(tracked)
+			.votingStrategy(new MajorityVotingStrategy())
+			.concurrency(4)
+			.build();
+
+		Flux<JudgmentContext> endless = Flux.range(0, Integer.MAX_VALUE)
+			.map(i -> simpleContext("goal-" + i))
+			.doOnNext(ctx -> emitted.incrementAndGet());
+
+		List<BatchVerdict> verdicts = jury.voteAll(endless).take(20).collectList().block(Duration.ofSeconds(5));
+
+		assertThat(verdicts).hasSize(20);
+		assertThat(peak.get()).isLessThanOrEqualTo(4);
+		assertThat(emitted.get()).isLessThanOrEqualTo(20 + 4);
+	}
+
+	@Test
+	void failingContextYieldsErrorVerdictWithoutEndingStream() {
+		ReactiveJudge judge = ctx -> "1".equals(ctx.goal()) ? Mono.error(new IllegalStateException("boom"))
+				: Mono.just(Judgment.pass("ok"));
+
+		ReactiveJury jury = ReactiveJury.builder()
+			.reactiveJudge(judge)
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+
+		List<BatchVerdict> verdicts = jury.voteAll(Flux.range(0, 3).map(i -> simpleContext(String.valueOf(i))))
+			.collectList()
+			.block(Duration.ofSeconds(5));
+
+		assertThat(verdicts).extracting(result -> result.verdict().aggregated().status())
+			.containsExactly(JudgmentStatus.PASS, JudgmentStatus.ERROR, JudgmentStatus.PASS);
+	}
+
+	@Test
+	void builderRequiresJudgesAndStrategy() {
+		assertThatThrownBy(() -> ReactiveJury.builder().votingStrategy(new MajorityVotingStrategy()).build())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("at least one judge");
+		assertThatThrownBy(() -> ReactiveJury.builder().judge(alwaysPass("J")).build())
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Voting strategy is required");
+	}
+
+}
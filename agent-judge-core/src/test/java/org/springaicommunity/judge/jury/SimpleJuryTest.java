@@ -17,14 +17,29 @@
 package org.springaicommunity.judge.jury;
 
 import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.AsyncJudge;
 import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.Deadline;
 import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.fs.FileExistsJudge;
 import org.springaicommunity.judge.result.Judgment;
 import org.springaicommunity.judge.result.JudgmentStatus;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -292,4 +307,384 @@ class SimpleJuryTest {
 		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
 	}
 
+	// ==================== Short-Circuit ====================
+
+	@Test
+	void shouldSkipRemainingJudgesOnceMajorityIsDecided() {
+		var fourth = recording("Fourth", booleanPass("Recorded"));
+		var fifth = recording("Fifth", booleanPass("Recorded"));
+
+		SimpleJury jury = SimpleJury.builder()
+			.judge(alwaysPass("First"))
+			.judge(alwaysPass("Second"))
+			.judge(alwaysPass("Third"))
+			.judge(fourth)
+			.judge(fifth)
+			.votingStrategy(new MajorityVotingStrategy())
+			.parallel(false)
+			.shortCircuit(true)
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(verdict.individual()).hasSize(5);
+		assertThat(verdict.notExecuted()).containsExactlyInAnyOrder("Fourth", "Fifth");
+		assertThat(fourth.getInvocationCount()).isZero();
+		assertThat(fifth.getInvocationCount()).isZero();
+	}
+
+	@Test
+	void shouldCancelSlowJudgesOnceConsensusIsLost() {
+		SimpleJury jury = SimpleJury.builder()
+			.judge(alwaysPass("Pass"))
+			.judge(alwaysFail("Fail"))
+			.judge(slow("Slow", 10_000, booleanPass("Slow pass")))
+			.votingStrategy(new ConsensusStrategy())
+			.shortCircuit(true)
+			.virtualThreads()
+			.build();
+
+		long start = System.nanoTime();
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(verdict.notExecuted()).containsExactly("Slow");
+		assertThat(elapsedMillis).isLessThan(5_000);
+	}
+
+	@Test
+	void shouldRunAllJudgesWithoutShortCircuit() {
+		var third = recording("Third", booleanPass("Recorded"));
+
+		SimpleJury jury = SimpleJury.builder()
+			.judge(alwaysPass("First"))
+			.judge(alwaysPass("Second"))
+			.judge(third)
+			.votingStrategy(new MajorityVotingStrategy())
+			.parallel(false)
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+
+		assertThat(verdict.notExecuted()).isEmpty();
+		assertThat(third.getInvocationCount()).isEqualTo(1);
+	}
+
+	// ==================== Timeouts ====================
+
+	@Test
+	void shouldRecordErrorForJudgeExceedingTimeout() {
+		SimpleJury jury = SimpleJury.builder()
+			.judge(slow("Slow", 10_000, booleanPass("Slow pass")))
+			.judge(alwaysPass("Fast"))
+			.votingStrategy(new MajorityVotingStrategy(TiePolicy.FAIL, ErrorPolicy.TREAT_AS_ABSTAIN))
+			.judgeTimeout(Duration.ofMillis(200))
+			.virtualThreads()
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+
+		assertThat(verdict.individualByName().get("Slow").status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(verdict.individualByName().get("Slow").error()).isInstanceOf(TimeoutException.class);
+		assertThat(verdict.individualByName().get("Fast").status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+	}
+
+	@Test
+	void shouldApplyJudgeTimeoutInSequentialMode() {
+		SimpleJury jury = SimpleJury.builder()
+			.judge(slow("Slow", 10_000, booleanPass("Slow pass")))
+			.judge(alwaysPass("Fast"))
+			.votingStrategy(new MajorityVotingStrategy())
+			.parallel(false)
+			.judgeTimeout(Duration.ofMillis(200))
+			.virtualThreads()
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+
+		assertThat(verdict.individualByName().get("Slow").status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(verdict.individualByName().get("Fast").status()).isEqualTo(JudgmentStatus.PASS);
+	}
+
+	@Test
+	void shouldTimeOutAllJudgesWhenDeadlineAlreadyExpired() {
+		SimpleJury jury = SimpleJury.builder()
+			.judge(alwaysPass("Judge1"))
+			.judge(alwaysPass("Judge2"))
+			.votingStrategy(new MajorityVotingStrategy())
+			.parallel(false)
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"), Deadline.at(Instant.now().minusSeconds(1)));
+
+		assertThat(verdict.individual()).allMatch(j -> j.status() == JudgmentStatus.ERROR);
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.FAIL);
+	}
+
+	@Test
+	void shouldBoundVerdictWithOverallTimeout() {
+		SimpleJury jury = SimpleJury.builder()
+			.judge(slow("Slow1", 10_000, booleanPass("Slow pass")))
+			.judge(slow("Slow2", 10_000, booleanPass("Slow pass")))
+			.votingStrategy(new MajorityVotingStrategy())
+			.timeout(Duration.ofMillis(200))
+			.virtualThreads()
+			.build();
+
+		long start = System.nanoTime();
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(verdict.individual()).allMatch(j -> j.status() == JudgmentStatus.ERROR);
+		assertThat(elapsedMillis).isLessThan(5_000);
+	}
+
+	// ==================== Virtual Threads ====================
+
+	@Test
+	void shouldRunManyBlockingJudgesConcurrentlyOnVirtualThreads() {
+		int judgeCount = 128;
+		SimpleJury.Builder builder = SimpleJury.builder().votingStrategy(new MajorityVotingStrategy()).virtualThreads();
+		for (int i = 0; i < judgeCount; i++) {
+			builder.judge(slow("Blocking" + i, 200, booleanPass("Slow pass")));
+		}
+		SimpleJury jury = builder.build();
+
+		long start = System.nanoTime();
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		// Sequential execution would take 128 * 200ms = 25.6s
+		assertThat(verdict.individual()).hasSize(judgeCount);
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(elapsedMillis).isLessThan(5_000);
+	}
+
+	@Test
+	void shouldCancelSiblingJudgesWhenOneThrows() throws InterruptedException {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Judge blocking = ctx -> {
+			try {
+				Thread.sleep(10_000);
+				return Judgment.pass("Finished");
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+				return Judgment.error("Interrupted", ex);
+			}
+		};
+		Judge throwing = ctx -> {
+			throw new IllegalStateException("Judge exploded");
+		};
+
+		SimpleJury jury = SimpleJury.builder()
+			.judge(blocking)
+			.judge(throwing)
+			.votingStrategy(new MajorityVotingStrategy())
+			.virtualThreads()
+			.build();
+
+		assertThatThrownBy(() -> jury.vote(simpleContext("Test goal"))).isInstanceOf(CompletionException.class)
+			.hasCauseInstanceOf(IllegalStateException.class);
+		assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+	}
+
+	// ==================== Async Judges ====================
+
+	@Test
+	void shouldComposeAsyncJudgesWithoutExecutorThreads() {
+		AsyncJudge delayed = ctx -> CompletableFuture.supplyAsync(() -> booleanPass("Async pass"),
+				CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+		ExecutorService singleThread = Executors.newSingleThreadExecutor();
+		try {
+			SimpleJury.Builder builder = SimpleJury.builder()
+				.votingStrategy(new MajorityVotingStrategy())
+				.executor(singleThread);
+			for (int i = 0; i < 200; i++) {
+				builder.judge(Judges.named(Judges.fromAsync(delayed), "Async" + i));
+			}
+
+			long start = System.nanoTime();
+			Verdict verdict = builder.build().vote(simpleContext("Test goal"));
+			long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+			// A blocking adapter would serialize on the single thread: 200 * 200ms = 40s
+			assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+			assertThat(verdict.individualByName()).containsKey("Async199");
+			assertThat(elapsedMillis).isLessThan(5_000);
+		}
+		finally {
+			singleThread.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldTimeOutPendingAsyncJudge() {
+		AsyncJudge neverCompletes = ctx -> new CompletableFuture<>();
+
+		SimpleJury jury = SimpleJury.builder()
+			.judge(alwaysPass("Fast"))
+			.judge(Judges.fromAsync(neverCompletes))
+			.votingStrategy(new MajorityVotingStrategy())
+			.parallel(false)
+			.judgeTimeout(Duration.ofMillis(100))
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+
+		assertThat(verdict.individual().get(1).status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(verdict.individual().get(1).error()).isInstanceOf(TimeoutException.class);
+	}
+
+	@Test
+	void shouldPropagateFailedAsyncJudgment() {
+		AsyncJudge failing = ctx -> CompletableFuture.failedFuture(new IllegalStateException("Async failure"));
+
+		SimpleJury jury = SimpleJury.builder()
+			.judge(alwaysPass("Fast"))
+			.judge(Judges.fromAsync(failing))
+			.votingStrategy(new MajorityVotingStrategy())
+			.build();
+
+		assertThatThrownBy(() -> jury.vote(simpleContext("Test goal"))).isInstanceOf(CompletionException.class)
+			.hasCauseInstanceOf(IllegalStateException.class);
+	}
+
+	// ==================== Bulkheads ====================
+
+	@Test
+	void shouldRunInlineJudgesOnCallingThread() {
+		Thread caller = Thread.currentThread();
+		Judge threadReporting = ctx -> Judgment.pass(Thread.currentThread() == caller ? "caller" : "pool");
+
+		try (JudgeBulkheads bulkheads = JudgeBulkheads.builder()
+			.bulkhead(JudgeType.DETERMINISTIC, 2, 4)
+			.inlineWhen(judge -> Judges.tryMetadata(judge).map(m -> m.name().equals("Cheap")).orElse(false))
+			.build()) {
+
+			SimpleJury jury = SimpleJury.builder()
+				.judge(Judges.named(threadReporting, "Cheap"))
+				.judge(Judges.named(threadReporting, "Expensive"))
+				.votingStrategy(new MajorityVotingStrategy())
+				.bulkheads(bulkheads)
+				.build();
+
+			Verdict verdict = jury.vote(simpleContext("Test goal"));
+
+			assertThat(verdict.individualByName().get("Cheap").reasoning()).isEqualTo("caller");
+			assertThat(verdict.individualByName().get("Expensive").reasoning()).isEqualTo("pool");
+		}
+	}
+
+	@Test
+	void shouldRejectJudgesOfExhaustedTypeWithoutBlockingOthers() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Judge stalledLlm = Judges.named(ctx -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return Judgment.pass("LLM answered");
+		}, "StalledLLM", null, JudgeType.LLM_POWERED);
+
+		try (JudgeBulkheads bulkheads = JudgeBulkheads.builder()
+			.bulkhead(JudgeType.LLM_POWERED, 1, 0)
+			.bulkhead(JudgeType.DETERMINISTIC, 2, 4)
+			.build()) {
+
+			SimpleJury llmJury = SimpleJury.builder()
+				.judge(stalledLlm)
+				.votingStrategy(new MajorityVotingStrategy())
+				.bulkheads(bulkheads)
+				.build();
+			CompletableFuture<Verdict> stalled = CompletableFuture.supplyAsync(
+					() -> llmJury.vote(simpleContext("Test goal")), JudgeExecutors.virtualThreads());
+			while (bulkheads.getActiveCount(JudgeType.LLM_POWERED) == 0) {
+				Thread.sleep(10);
+			}
+
+			SimpleJury mixedJury = SimpleJury.builder()
+				.judge(alwaysPass("Build"))
+				.judge(Judges.named(ctx -> Judgment.pass("Never runs"), "Correctness", null, JudgeType.LLM_POWERED))
+				.votingStrategy(new MajorityVotingStrategy())
+				.bulkheads(bulkheads)
+				.build();
+
+			Verdict verdict = mixedJury.vote(simpleContext("Test goal"));
+
+			assertThat(verdict.individualByName().get("Build").status()).isEqualTo(JudgmentStatus.PASS);
+			assertThat(verdict.individualByName().get("Correctness").status()).isEqualTo(JudgmentStatus.ERROR);
+			assertThat(verdict.individualByName().get("Correctness").reasoning()).contains("bulkhead is full");
+
+			release.countDown();
+			assertThat(stalled.get(2, TimeUnit.SECONDS).aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+		}
+	}
+
+	@Test
+	void shouldTreatFileSystemChecksAsInlineByDefault() {
+		assertThat(JudgeBulkheads.isFileSystemCheck(new FileExistsJudge("pom.xml"))).isTrue();
+		assertThat(JudgeBulkheads.isFileSystemCheck(alwaysPass("Build"))).isFalse();
+	}
+
+	// ==================== Progress Listeners ====================
+
+	@Test
+	void shouldPublishJudgmentsInCompletionOrderWithProvisionalAggregate() {
+		List<JudgmentEvent> events = new CopyOnWriteArrayList<>();
+		List<Verdict> verdicts = new CopyOnWriteArrayList<>();
+
+		SimpleJury jury = SimpleJury.builder()
+			.judge(slow("Correctness", 300, booleanPass("Looks right")))
+			.judge(slow("Build", 10, booleanFail("Build failed")))
+			.judge(slow("Tests", 150, booleanPass("Tests pass")))
+			.votingStrategy(new MajorityVotingStrategy())
+			.virtualThreads()
+			.listener(new VerdictListener() {
+				@Override
+				public void onJudgment(JudgmentEvent event) {
+					events.add(event);
+				}
+
+				@Override
+				public void onVerdict(Verdict verdict) {
+					verdicts.add(verdict);
+				}
+			})
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"));
+
+		assertThat(events).extracting(JudgmentEvent::judgeName).containsExactly("Build", "Tests", "Correctness");
+		assertThat(events.get(0).provisional().status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(events.get(0).pending()).isEqualTo(2);
+		assertThat(events.get(2).provisional().status()).isEqualTo(verdict.aggregated().status());
+		assertThat(verdicts).containsExactly(verdict);
+	}
+
+	@Test
+	void shouldIgnoreFailingListener() {
+		List<String> judged = new CopyOnWriteArrayList<>();
+
+		SimpleJury jury = SimpleJury.builder()
+			.judge(alwaysPass("J1"))
+			.judge(alwaysPass("J2"))
+			.votingStrategy(new MajorityVotingStrategy())
+			.parallel(false)
+			.listener(event -> {
+				throw new IllegalStateException("Broken dashboard");
+			})
+			.build();
+
+		Verdict verdict = jury.vote(simpleContext("Test goal"), null, event -> judged.add(event.judgeName()));
+
+		assertThat(verdict.aggregated().status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(judged).containsExactly("J1", "J2");
+	}
+
 }
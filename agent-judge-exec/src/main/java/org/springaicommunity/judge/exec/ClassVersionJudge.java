@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.stream.Stream;
 
 import org.springaicommunity.judge.DeterministicJudge;
+import org.springaicommunity.judge.cache.CacheableJudge;
+import org.springaicommunity.judge.cache.InputFingerprint;
 import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Check;
 import org.springaicommunity.judge.result.Judgment;
@@ -45,10 +47,15 @@ import org.springaicommunity.judge.score.BooleanScore;
  * Common major versions: Java 8 = 52, Java 11 = 55, Java 17 = 61, Java 21 = 65.
  * </p>
  *
+ * <p>
+ * When cached, judgments are keyed on the content of {@code target/classes/} and the
+ * expected version only.
+ * </p>
+ *
  * @author Mark Pollack
  * @since 0.9.0
  */
-public class ClassVersionJudge extends DeterministicJudge {
+public class ClassVersionJudge extends DeterministicJudge implements CacheableJudge {
 
 	private static final int CLASS_MAGIC = 0xCAFEBABE;
 
@@ -128,6 +135,16 @@ public class ClassVersionJudge extends DeterministicJudge {
 			.build();
 	}
 
+	@Override
+	public InputFingerprint cacheInputs() {
+		return InputFingerprint.paths("target/classes");
+	}
+
+	@Override
+	public String cacheContextKey(JudgmentContext context) {
+		return String.valueOf(context.metadata().get("targetClassVersion"));
+	}
+
 	/**
 	 * Read the major version from a .class file (bytes 6-7 per JVM spec §4.1).
 	 * @param classFile path to the .class file
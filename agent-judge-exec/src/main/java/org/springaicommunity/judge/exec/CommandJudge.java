@@ -17,6 +17,7 @@
 package org.springaicommunity.judge.exec;
 
 import org.springaicommunity.judge.DeterministicJudge;
+import org.springaicommunity.judge.concurrent.Interruptions;
 import org.springaicommunity.judge.context.JudgmentContext;
 import org.springaicommunity.judge.result.Check;
 import org.springaicommunity.judge.result.Judgment;
@@ -158,13 +159,43 @@ public class CommandJudge extends DeterministicJudge {
 				.build();
 		}
 		catch (Exception e) {
-			return Judgment.builder()
+			if (e instanceof InterruptedException) {
+				// Cancelled by a jury or parallel combinator; keep the interrupt visible
+				Thread.currentThread().interrupt();
+			}
+			Judgment.Builder failure = Judgment.builder()
 				.score(new BooleanScore(false))
 				.status(JudgmentStatus.FAIL)
 				.reasoning("Command execution failed: " + e.getMessage())
-				.check(Check.fail("command_execution", "Execution error: " + e.getMessage()))
-				.build();
+				.check(Check.fail("command_execution", "Execution error: " + e.getMessage()));
+			if (Interruptions.isInterruption(e)) {
+				failure.metadata(Interruptions.INTERRUPTED, true);
+			}
+			return failure.build();
+		}
+	}
+
+	/**
+	 * Check whether a judgment of this judge reports that the command could not be run,
+	 * rather than that it ran and failed. This is the case for ERROR judgments, for
+	 * sandbox errors and timeouts, and for the shell exit codes 126 (not executable) and
+	 * 127 (command not found), but not for runs cancelled by interruption (marked with
+	 * {@link Interruptions#INTERRUPTED} metadata). Intended as the failure predicate of a
+	 * circuit breaker guarding a build tool, so that a broken installation opens the
+	 * circuit while failing builds do not.
+	 * @param judgment a judgment returned by a CommandJudge
+	 * @return true if the command could not be run
+	 */
+	public static boolean isExecutionFailure(Judgment judgment) {
+		if (judgment.status() == JudgmentStatus.ERROR) {
+			return true;
+		}
+		if (judgment.status() != JudgmentStatus.FAIL
+				|| Boolean.TRUE.equals(judgment.metadata().get(Interruptions.INTERRUPTED))) {
+			return false;
 		}
+		Object exitCode = judgment.metadata().get("exitCode");
+		return exitCode == null || Integer.valueOf(126).equals(exitCode) || Integer.valueOf(127).equals(exitCode);
 	}
 
 	/**
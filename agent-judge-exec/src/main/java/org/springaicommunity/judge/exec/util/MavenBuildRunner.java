@@ -93,6 +93,9 @@ public class MavenBuildRunner {
 
 		}
 		catch (Exception e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
 			logger.error("Failed to execute Maven build", e);
 			return new BuildResult(-1, "Error executing Maven: " + e.getMessage(), Duration.ZERO, false);
 		}
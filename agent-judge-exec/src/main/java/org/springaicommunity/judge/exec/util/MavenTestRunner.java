@@ -102,6 +102,9 @@ public class MavenTestRunner {
 
 		}
 		catch (Exception e) {
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
 			logger.error("Failed to execute Maven tests", e);
 			return new TestRunResult(-1, "Error executing Maven: " + e.getMessage(), Duration.ZERO, false);
 		}
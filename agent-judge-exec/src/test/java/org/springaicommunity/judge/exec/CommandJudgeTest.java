@@ -26,6 +26,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -101,6 +102,34 @@ class CommandJudgeTest {
 			.containsKey("duration");
 	}
 
+	@Test
+	void missingCommandIsAnExecutionFailure() {
+		Judgment judgment = new CommandJudge("nonexistentcommand123").judge(createContext());
+
+		assertThat(CommandJudge.isExecutionFailure(judgment)).isTrue();
+	}
+
+	@Test
+	void failingCommandIsNotAnExecutionFailure() {
+		Judgment judgment = new CommandJudge("grep 'nonexistent' /dev/null").judge(createContext());
+
+		assertThat(judgment.pass()).isFalse();
+		assertThat(CommandJudge.isExecutionFailure(judgment)).isFalse();
+	}
+
+	@Test
+	void interruptedCommandIsNotAnExecutionFailure() {
+		CommandJudge judge = new CommandJudge("sleep 60", 0, Duration.ofMinutes(1), workspace -> {
+			throw new CompletionException(new InterruptedException("cancelled"));
+		});
+
+		Judgment judgment = judge.judge(createContext());
+
+		assertThat(judgment.pass()).isFalse();
+		assertThat(judgment.metadata()).containsEntry("interrupted", true).doesNotContainKey("exitCode");
+		assertThat(CommandJudge.isExecutionFailure(judgment)).isFalse();
+	}
+
 	private JudgmentContext createContext() {
 		return JudgmentContext.builder()
 			.goal("Test goal")
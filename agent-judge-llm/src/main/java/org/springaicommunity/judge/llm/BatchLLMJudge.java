@@ -0,0 +1,452 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.prompt.TokenEstimator;
+import org.springaicommunity.judge.result.Judgment;
+import org.springframework.ai.chat.client.ChatClient;
+
+/**
+ * Base class for LLM judges that judge many contexts with one model call.
+ *
+ * <p>
+ * For cheap checks on short outputs, a model call is dominated by its fixed overhead. A
+ * batch judge packs several contexts into one prompt as numbered items and reads back
+ * one numbered answer per item: subclasses describe the task ({@link #describeTask()}),
+ * render one context ({@link #formatItem(JudgmentContext)}) and read one answer
+ * ({@link #parseAnswer(String, JudgmentContext)}).
+ * </p>
+ *
+ * <p>
+ * Batches are sized from {@link BatchOptions}: items are added until the estimated
+ * prompt reaches the token budget or the batch limit. Items whose answer is missing or
+ * unreadable are retried in a smaller batch, and a batch with no readable answer is
+ * split in half, down to single items, which become ERROR judgments if still
+ * unreadable. The batch limit adapts: it halves after a malformed batch and grows by one
+ * after each complete one. Judgments carry the size of the batch that produced them
+ * under {@value #BATCH_SIZE}.
+ * </p>
+ *
+ * <p>
+ * {@link #judgeAll(List)} judges a list of contexts directly. Contexts judged one at a
+ * time by concurrent callers, such as a {@code BatchJury} evaluating many contexts, are
+ * collected for up to {@link BatchOptions#linger()} and judged together, so batch
+ * evaluation makes a fraction of the model calls without changes to the jury. A caller
+ * interrupted while waiting fails with a {@link CompletionException} and is left out of
+ * its batch; the other callers are judged as usual.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * public class MentionsTestsJudge extends BatchLLMJudge {
+ *
+ *     public MentionsTestsJudge(ChatClient.Builder chatClientBuilder) {
+ *         super("MentionsTests", "Checks that the summary mentions tests", chatClientBuilder,
+ *                 LLMJudgeOptions.defaults(), BatchOptions.defaults());
+ *     }
+ *
+ *     &#64;Override
+ *     protected String describeTask() {
+ *         return "Decide whether each agent summary says which tests were run.";
+ *     }
+ *
+ *     &#64;Override
+ *     protected String formatItem(JudgmentContext context) {
+ *         return context.agentOutput().orElse("");
+ *     }
+ *
+ *     &#64;Override
+ *     protected Judgment parseAnswer(String answer, JudgmentContext context) {
+ *         if (answer.startsWith("YES")) {
+ *             return Judgment.pass(answer);
+ *         }
+ *         return answer.startsWith("NO") ? Judgment.fail(answer) : null;
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public abstract class BatchLLMJudge extends LLMJudge {
+
+	/**
+	 * Judgment metadata key for the number of contexts in the prompt that produced the
+	 * judgment.
+	 */
+	public static final String BATCH_SIZE = "batchSize";
+
+	private static final Pattern ANSWER = Pattern.compile("(?m)^[ \\t>*#-]*\\[(\\d+)\\][ \\t]*:?");
+
+	private static final TokenEstimator TOKENS = TokenEstimator.approximate();
+
+	private final BatchOptions batchOptions;
+
+	private final AtomicInteger batchLimit;
+
+	private final Object lock = new Object();
+
+	private List<Pending> pending = new ArrayList<>();
+
+	/**
+	 * Create a batch judge.
+	 * @param name the judge name
+	 * @param description the judge description
+	 * @param chatClientBuilder the chat client builder for LLM calls (null allowed for
+	 * testing)
+	 * @param options options for the model call
+	 * @param batchOptions sizing of batches
+	 */
+	protected BatchLLMJudge(String name, String description, ChatClient.Builder chatClientBuilder,
+			LLMJudgeOptions options, BatchOptions batchOptions) {
+		super(name, description, chatClientBuilder, options);
+		this.batchOptions = batchOptions != null ? batchOptions : BatchOptions.defaults();
+		this.batchLimit = new AtomicInteger(this.batchOptions.maxBatchSize());
+	}
+
+	/**
+	 * Describe what to decide for each item.
+	 * @return task instructions
+	 */
+	protected abstract String describeTask();
+
+	/**
+	 * Render one context as an item of the batch prompt.
+	 * @param context the judgment context
+	 * @return the item text
+	 */
+	protected abstract String formatItem(JudgmentContext context);
+
+	/**
+	 * Read the answer for one item.
+	 * @param answer the answer text following the item number
+	 * @param context the context the answer is for
+	 * @return the judgment, or null if the answer cannot be read (the item is then
+	 * retried in a smaller batch)
+	 */
+	protected abstract Judgment parseAnswer(String answer, JudgmentContext context);
+
+	/**
+	 * Describe the expected form of each answer.
+	 * @return answer format
+	 */
+	protected String answerFormat() {
+		return "YES or NO, followed by a one-sentence reason";
+	}
+
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		if (batchOptions.linger().isZero()) {
+			return judgeAll(List.of(context)).get(0);
+		}
+		Pending self = new Pending(context);
+		List<Pending> batch = null;
+		boolean leader;
+		synchronized (lock) {
+			pending.add(self);
+			leader = pending.size() == 1;
+			if (pending.size() >= batchLimit.get()) {
+				batch = drain();
+			}
+		}
+		InterruptedException interrupted = null;
+		if (batch == null && leader) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(batchOptions.linger().toNanos());
+			}
+			catch (InterruptedException ex) {
+				// Send what has been collected so far, without this caller
+				Thread.currentThread().interrupt();
+				self.judgment.cancel(false);
+				interrupted = ex;
+			}
+			synchronized (lock) {
+				if (!pending.isEmpty() && pending.get(0) == self) {
+					batch = drain();
+				}
+			}
+		}
+		if (batch != null) {
+			// Run apart from this caller, so that cancelling it does not fail the others
+			List<Pending> drained = batch;
+			JudgeExecutors.virtualThreads().execute(() -> run(drained));
+		}
+		if (interrupted != null) {
+			throw new CompletionException(interrupted);
+		}
+		return await(self);
+	}
+
+	/**
+	 * Judge several contexts, packing them into as few model calls as the batch options
+	 * allow. Batches run concurrently.
+	 * @param contexts the contexts to judge
+	 * @return one judgment per context, in order
+	 */
+	public List<Judgment> judgeAll(List<JudgmentContext> contexts) {
+		List<String> items = contexts.stream().map(this::formatItem).toList();
+		Judgment[] judgments = new Judgment[contexts.size()];
+		List<List<Integer>> batches = partition(items);
+		if (batches.size() == 1) {
+			evaluate(batches.get(0), items, contexts, judgments);
+		}
+		else {
+			CompletableFuture
+				.allOf(batches.stream()
+					.map(batch -> CompletableFuture.runAsync(() -> evaluate(batch, items, contexts, judgments),
+							JudgeExecutors.virtualThreads()))
+					.toArray(CompletableFuture[]::new))
+				.join();
+		}
+		return List.of(judgments);
+	}
+
+	@Override
+	protected String buildPrompt(JudgmentContext context) {
+		return batchPrompt(List.of(formatItem(context)));
+	}
+
+	@Override
+	protected Judgment parseResponse(String response, JudgmentContext context) {
+		String answer = parseAnswers(response, 1)[0];
+		Judgment judgment = answer != null ? parseAnswer(answer, context) : null;
+		return judgment != null ? judgment : Judgment.error("Could not read the answer: " + response, null);
+	}
+
+	/**
+	 * Get the current batch limit, which adapts to malformed batches.
+	 * @return most contexts per prompt at the moment
+	 */
+	public int batchLimit() {
+		return batchLimit.get();
+	}
+
+	private List<Pending> drain() {
+		List<Pending> batch = pending;
+		pending = new ArrayList<>();
+		return batch;
+	}
+
+	private void run(List<Pending> drained) {
+		// Callers cancelled while the batch was collected are left out
+		List<Pending> batch = drained.stream().filter(waiting -> !waiting.judgment.isDone()).toList();
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			List<Judgment> judgments = judgeAll(batch.stream().map(Pending::context).toList());
+			for (int i = 0; i < batch.size(); i++) {
+				batch.get(i).judgment.complete(judgments.get(i));
+			}
+		}
+		catch (RuntimeException | Error ex) {
+			batch.forEach(waiting -> waiting.judgment.completeExceptionally(ex));
+		}
+	}
+
+	private Judgment await(Pending self) {
+		try {
+			return self.judgment.get();
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new CompletionException(cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			self.judgment.cancel(false);
+			synchronized (lock) {
+				pending.remove(self);
+			}
+			throw new CompletionException(ex);
+		}
+	}
+
+	/**
+	 * Split items into batches within the batch limit and the token budget.
+	 */
+	private List<List<Integer>> partition(List<String> items) {
+		int limit = batchLimit.get();
+		Integer maxTokens = options().chatOptions() != null ? options().chatOptions().getMaxTokens() : null;
+		if (maxTokens != null) {
+			limit = Math.min(limit, Math.max(1, maxTokens / batchOptions.answerTokens()));
+		}
+		int overhead = TOKENS.estimate(batchPrompt(List.of()));
+		List<List<Integer>> batches = new ArrayList<>();
+		List<Integer> batch = new ArrayList<>();
+		int tokens = overhead;
+		for (int i = 0; i < items.size(); i++) {
+			int itemTokens = TOKENS.estimate(items.get(i)) + 4;
+			if (!batch.isEmpty() && (batch.size() >= limit || tokens + itemTokens > batchOptions.maxPromptTokens())) {
+				batches.add(batch);
+				batch = new ArrayList<>();
+				tokens = overhead;
+			}
+			batch.add(i);
+			tokens += itemTokens;
+		}
+		if (!batch.isEmpty()) {
+			batches.add(batch);
+		}
+		return batches;
+	}
+
+	private void evaluate(List<Integer> batch, List<String> items, List<JudgmentContext> contexts,
+			Judgment[] judgments) {
+		String prompt = batchPrompt(batch.stream().map(items::get).toList());
+		String[] answers;
+		try {
+			answers = parseAnswers(call(prompt, batch.size() == 1 ? contexts.get(batch.get(0)) : null), batch.size());
+		}
+		catch (RuntimeException ex) {
+			// A failed call is not a malformed batch; splitting would only repeat it
+			for (int index : batch) {
+				judgments[index] = Judgment.error("Model call failed: " + ex.getMessage(), ex);
+			}
+			return;
+		}
+
+		List<Integer> unread = new ArrayList<>();
+		for (int i = 0; i < batch.size(); i++) {
+			int index = batch.get(i);
+			Judgment judgment = answers[i] != null ? parseAnswer(answers[i], contexts.get(index)) : null;
+			if (judgment != null) {
+				judgments[index] = withBatchSize(judgment, batch.size());
+			}
+			else {
+				unread.add(index);
+			}
+		}
+		if (unread.isEmpty()) {
+			batchLimit.accumulateAndGet(batch.size(),
+					(limit, size) -> size >= limit ? Math.min(batchOptions.maxBatchSize(), limit + 1) : limit);
+			return;
+		}
+		batchLimit.accumulateAndGet(batch.size(), (limit, size) -> Math.max(1, Math.min(limit, size / 2)));
+		if (batch.size() == 1) {
+			judgments[batch.get(0)] = Judgment.error("Could not read the answer for this context", null);
+		}
+		else if (unread.size() < batch.size()) {
+			evaluate(unread, items, contexts, judgments);
+		}
+		else {
+			int half = batch.size() / 2;
+			evaluate(batch.subList(0, half), items, contexts, judgments);
+			evaluate(batch.subList(half, batch.size()), items, contexts, judgments);
+		}
+	}
+
+	private String batchPrompt(List<String> items) {
+		StringBuilder prompt = new StringBuilder(describeTask()).append("\n\n");
+		prompt.append("Evaluate each of the ").append(items.size()).append(" items below independently.\n\n");
+		for (int i = 0; i < items.size(); i++) {
+			prompt.append('[').append(i + 1).append("]\n").append(items.get(i)).append("\n\n");
+		}
+		prompt.append("Answer every item, in order, starting each answer on a new line with its number in brackets:\n");
+		prompt.append("[1] <answer>\n[2] <answer>\n");
+		prompt.append("where each answer is ").append(answerFormat()).append('.');
+		return prompt.toString();
+	}
+
+	/**
+	 * Find the answer text for each item number; numbers that are out of range or
+	 * answered twice are treated as unanswered.
+	 */
+	static String[] parseAnswers(String response, int count) {
+		String[] answers = new String[count];
+		boolean[] seen = new boolean[count];
+		boolean[] duplicate = new boolean[count];
+		if (response == null) {
+			return answers;
+		}
+		Matcher matcher = ANSWER.matcher(response);
+		int number = -1;
+		int start = 0;
+		while (true) {
+			boolean found = matcher.find();
+			if (number >= 1 && number <= count) {
+				String answer = response.substring(start, found ? matcher.start() : response.length()).trim();
+				duplicate[number - 1] = seen[number - 1];
+				seen[number - 1] = true;
+				answers[number - 1] = answer.isEmpty() ? null : answer;
+			}
+			if (!found) {
+				break;
+			}
+			number = parseNumber(matcher.group(1));
+			start = matcher.end();
+		}
+		for (int i = 0; i < count; i++) {
+			if (duplicate[i]) {
+				answers[i] = null;
+			}
+		}
+		return answers;
+	}
+
+	private static int parseNumber(String digits) {
+		try {
+			return Integer.parseInt(digits);
+		}
+		catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+
+	private static Judgment withBatchSize(Judgment judgment, int batchSize) {
+		return Judgment.builder()
+			.score(judgment.score())
+			.status(judgment.status())
+			.reasoning(judgment.reasoning())
+			.checks(judgment.checks())
+			.metadata(judgment.metadata())
+			.metadata(BATCH_SIZE, batchSize)
+			.build();
+	}
+
+	/**
+	 * A context waiting for its batch.
+	 */
+	private record Pending(JudgmentContext context, CompletableFuture<Judgment> judgment) {
+
+		Pending(JudgmentContext context) {
+			this(context, new CompletableFuture<>());
+		}
+
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the batches a {@link BatchLLMJudge} packs into one prompt.
+ *
+ * <p>
+ * A batch holds at most {@code maxBatchSize} contexts and is cut earlier when the
+ * estimated prompt would exceed {@code maxPromptTokens}, or when the expected answers
+ * ({@code answerTokens} each) would exceed the request's {@code maxTokens}. Contexts
+ * judged one at a time, for example by a {@code BatchJury}, are collected for up to
+ * {@code linger} before their batch is sent. Options are immutable and may be shared by
+ * several judges.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * BatchOptions batching = BatchOptions.builder()
+ *     .maxBatchSize(32)
+ *     .maxPromptTokens(12_000)
+ *     .linger(Duration.ofMillis(50))
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class BatchOptions {
+
+	private static final BatchOptions DEFAULTS = builder().build();
+
+	private final int maxBatchSize;
+
+	private final int maxPromptTokens;
+
+	private final int answerTokens;
+
+	private final Duration linger;
+
+	private BatchOptions(Builder builder) {
+		this.maxBatchSize = builder.maxBatchSize;
+		this.maxPromptTokens = builder.maxPromptTokens;
+		this.answerTokens = builder.answerTokens;
+		this.linger = builder.linger;
+	}
+
+	/**
+	 * Get the default options.
+	 * @return default batch options
+	 */
+	public static BatchOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Get the most contexts per prompt.
+	 * @return maximum batch size
+	 */
+	public int maxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * Get the estimated prompt size a batch may reach.
+	 * @return maximum prompt tokens
+	 */
+	public int maxPromptTokens() {
+		return maxPromptTokens;
+	}
+
+	/**
+	 * Get the expected answer size per context.
+	 * @return answer tokens
+	 */
+	public int answerTokens() {
+		return answerTokens;
+	}
+
+	/**
+	 * Get how long contexts judged one at a time wait for others to share their batch.
+	 * @return linger time
+	 */
+	public Duration linger() {
+		return linger;
+	}
+
+	/**
+	 * Create a new builder for BatchOptions.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for BatchOptions.
+	 */
+	public static final class Builder {
+
+		private int maxBatchSize = 20;
+
+		private int maxPromptTokens = 8_000;
+
+		private int answerTokens = 60;
+
+		private Duration linger = Duration.ofMillis(20);
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the most contexts per prompt (default 20).
+		 * @param maxBatchSize maximum batch size
+		 * @return this builder
+		 */
+		public Builder maxBatchSize(int maxBatchSize) {
+			if (maxBatchSize < 1) {
+				throw new IllegalArgumentException("maxBatchSize must be at least 1");
+			}
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * Set the estimated prompt size a batch may reach (default 8000 tokens). A
+		 * single context larger than this is still sent, alone.
+		 * @param maxPromptTokens maximum prompt tokens
+		 * @return this builder
+		 */
+		public Builder maxPromptTokens(int maxPromptTokens) {
+			if (maxPromptTokens < 1) {
+				throw new IllegalArgumentException("maxPromptTokens must be at least 1");
+			}
+			this.maxPromptTokens = maxPromptTokens;
+			return this;
+		}
+
+		/**
+		 * Set the expected answer size per context (default 60 tokens), used with the
+		 * request's {@code maxTokens}.
+		 * @param answerTokens answer tokens
+		 * @return this builder
+		 */
+		public Builder answerTokens(int answerTokens) {
+			if (answerTokens < 1) {
+				throw new IllegalArgumentException("answerTokens must be at least 1");
+			}
+			this.answerTokens = answerTokens;
+			return this;
+		}
+
+		/**
+		 * Set how long contexts judged one at a time wait for others to share their
+		 * batch (default 20 ms). Zero sends each context on its own.
+		 * @param linger linger time
+		 * @return this builder
+		 */
+		public Builder linger(Duration linger) {
+			if (linger == null || linger.isNegative()) {
+				throw new IllegalArgumentException("linger must not be null or negative");
+			}
+			this.linger = linger;
+			return this;
+		}
+
+		/**
+		 * Build the BatchOptions instance.
+		 * @return configured options
+		 */
+		public BatchOptions build() {
+			return new BatchOptions(this);
+		}
+
+	}
+
+}
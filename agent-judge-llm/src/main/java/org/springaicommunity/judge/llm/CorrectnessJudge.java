@@ -17,11 +17,15 @@
 package org.springaicommunity.judge.llm;
 
 import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.prompt.PromptBudget;
 import org.springaicommunity.judge.result.Judgment;
 import org.springaicommunity.judge.result.JudgmentStatus;
 import org.springaicommunity.judge.score.BooleanScore;
 import org.springframework.ai.chat.client.ChatClient;
 
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * LLM-powered judge that evaluates if the agent accomplished its goal.
  *
@@ -29,7 +33,8 @@ import org.springframework.ai.chat.client.ChatClient;
  * CorrectnessJudge uses an LLM to determine if the agent successfully completed the task
  * specified in the goal. It provides a simple YES/NO judgment with reasoning, making it
  * ideal for cases where semantic understanding is needed but deterministic rules are
- * insufficient.
+ * insufficient. A response with neither an {@code Answer:} line nor a YES or NO is
+ * judged ABSTAIN.
  * </p>
  *
  * <p>
@@ -54,6 +59,19 @@ import org.springframework.ai.chat.client.ChatClient;
  * </ul>
  *
  * <p>
+ * <strong>Prompt Size:</strong> By default the whole agent output is sent and the
+ * workspace is named by its path. With a {@link PromptBudget}, long output is shortened
+ * to its head, tail and goal-relevant passages, and a digest of the workspace (its files
+ * and excerpts of the files changed since the agent started) is included.
+ * </p>
+ *
+ * <p>
+ * <strong>Streaming:</strong> The verdict is read from the {@code Answer:} line as soon
+ * as it arrives, so with {@link ResponseMode#STREAMING_UNTIL_VERDICT} the judgment is
+ * made after the first few tokens and the reasoning is not generated.
+ * </p>
+ *
+ * <p>
  * <strong>Best Practice:</strong> Combine with deterministic judges in a Jury for robust
  * evaluation. Use deterministic judges for objective criteria (file exists, build
  * succeeds) and CorrectnessJudge for subjective assessment (quality, helpfulness).
@@ -86,12 +104,58 @@ import org.springframework.ai.chat.client.ChatClient;
  */
 public class CorrectnessJudge extends LLMJudge {
 
+	/**
+	 * The answer line, e.g. {@code Answer: YES} or {@code **Answer:** no}.
+	 */
+	private static final Pattern ANSWER = Pattern.compile("(?im)^\\W*answer\\W*(YES|NO)(?!\\p{L})");
+
+	/**
+	 * An answer line followed by at least one more character, so that the answer word
+	 * is complete.
+	 */
+	private static final Pattern COMPLETE_ANSWER = Pattern.compile("(?im)^\\W*answer\\W*(YES|NO)[^\\p{L}]");
+
+	/**
+	 * A YES anywhere in a response without an answer line.
+	 */
+	private static final Pattern YES_WORD = Pattern.compile("(?i)(?<!\\p{L})YES(?!\\p{L})");
+
+	/**
+	 * A NO anywhere in a response without an answer line.
+	 */
+	private static final Pattern NO_WORD = Pattern.compile("(?i)(?<!\\p{L})NO(?!\\p{L})");
+
+	private final PromptBudget promptBudget;
+
 	/**
 	 * Create a correctness judge with the given chat client builder.
 	 * @param chatClientBuilder the chat client builder for LLM calls
 	 */
 	public CorrectnessJudge(ChatClient.Builder chatClientBuilder) {
-		super("Correctness", "Evaluates if agent accomplished the goal", chatClientBuilder);
+		this(chatClientBuilder, LLMJudgeOptions.defaults());
+	}
+
+	/**
+	 * Create a correctness judge with the given chat client builder and call options.
+	 * @param chatClientBuilder the chat client builder for LLM calls
+	 * @param options options for the model call
+	 */
+	public CorrectnessJudge(ChatClient.Builder chatClientBuilder, LLMJudgeOptions options) {
+		this(chatClientBuilder, options, null);
+	}
+
+	/**
+	 * Create a correctness judge with the given chat client builder, call options and
+	 * prompt budget.
+	 * @param chatClientBuilder the chat client builder for LLM calls
+	 * @param options options for the model call
+	 * @param promptBudget budgets for agent output and workspace digest (null to send
+	 * the full output and the workspace path only)
+	 */
+	public CorrectnessJudge(ChatClient.Builder chatClientBuilder, LLMJudgeOptions options,
+			PromptBudget promptBudget) {
+		super("Correctness", "Evaluates if agent accomplished the goal", chatClientBuilder, options);
+		this.promptBudget = promptBudget;
 	}
 
 	@Override
@@ -99,6 +163,13 @@ public class CorrectnessJudge extends LLMJudge {
 		String goal = context.goal();
 		String workspace = context.workspace() != null ? context.workspace().toString() : "Not specified";
 		String output = context.agentOutput().orElse("No output provided");
+		if (promptBudget != null) {
+			output = promptBudget.agentOutput(output, goal);
+			String digest = promptBudget.workspace(context.workspace(), context.startedAt());
+			if (!digest.isEmpty()) {
+				workspace = workspace + "\n" + digest;
+			}
+		}
 
 		return String.format("""
 				Goal: %s
@@ -115,8 +186,22 @@ public class CorrectnessJudge extends LLMJudge {
 
 	@Override
 	protected Judgment parseResponse(String response, JudgmentContext context) {
-		// Extract YES/NO answer
-		boolean pass = response.toUpperCase().contains("YES");
+		// Extract YES/NO answer, preferring the requested answer line
+		Matcher answer = ANSWER.matcher(response);
+		boolean pass;
+		if (answer.find()) {
+			pass = answer.group(1).equalsIgnoreCase("YES");
+		}
+		else if (YES_WORD.matcher(response).find()) {
+			pass = true;
+		}
+		else if (NO_WORD.matcher(response).find()) {
+			pass = false;
+		}
+		else {
+			// No verdict to read; juries and routing treat the judgment as unparseable
+			return Judgment.abstain(extractReasoning(response));
+		}
 
 		// Extract reasoning (everything after "Reasoning:")
 		String reasoning = extractReasoning(response);
@@ -128,6 +213,11 @@ public class CorrectnessJudge extends LLMJudge {
 			.build();
 	}
 
+	@Override
+	protected boolean hasVerdict(String partialResponse) {
+		return COMPLETE_ANSWER.matcher(partialResponse).find();
+	}
+
 	private String extractReasoning(String response) {
 		// Try to extract reasoning section
 		int reasoningIndex = response.indexOf("Reasoning:");
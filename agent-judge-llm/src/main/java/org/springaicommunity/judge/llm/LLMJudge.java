@@ -16,12 +16,23 @@
 
 package org.springaicommunity.judge.llm;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springaicommunity.judge.JudgeMetadata;
 import org.springaicommunity.judge.JudgeType;
 import org.springaicommunity.judge.JudgeWithMetadata;
 import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.cache.CacheMode;
+import org.springaicommunity.judge.llm.cache.LLMResponseCache;
+import org.springaicommunity.judge.llm.gateway.LLMGateway;
+import org.springaicommunity.judge.llm.hedge.HedgeStats;
+import org.springaicommunity.judge.llm.hedge.RequestHedger;
 import org.springaicommunity.judge.result.Judgment;
 import org.springframework.ai.chat.client.ChatClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Locale;
+import java.util.Optional;
 
 /**
  * Base class for LLM-powered judges.
@@ -40,6 +51,16 @@ import org.springframework.ai.chat.client.ChatClient;
  * </p>
  *
  * <p>
+ * The model call itself ({@link #call(String, JudgmentContext)}) can be tuned with
+ * {@link LLMJudgeOptions}, for example to send request options, to cache responses by
+ * prompt, to coalesce identical concurrent calls, to throttle calls through a shared
+ * gateway or to hedge calls that are slower than this judge usually is. With a streaming
+ * {@link ResponseMode}, the response is streamed, and judges that recognize their verdict
+ * in a partial response ({@link #hasVerdict(String)}) can stop the stream as soon as it
+ * appears.
+ * </p>
+ *
+ * <p>
  * <strong>Design Rationale:</strong> LLM judges complement deterministic judges by
  * providing nuanced evaluation that's difficult to express in rules. Examples: code
  * quality assessment, semantic correctness, creativity evaluation. While slower and more
@@ -82,10 +103,16 @@ import org.springframework.ai.chat.client.ChatClient;
  */
 public abstract class LLMJudge implements JudgeWithMetadata {
 
+	private static final Logger logger = LoggerFactory.getLogger(LLMJudge.class);
+
 	private final JudgeMetadata metadata;
 
 	protected final ChatClient chatClient;
 
+	private final LLMJudgeOptions options;
+
+	private final RequestHedger hedger;
+
 	/**
 	 * Create an LLM judge with metadata and chat client.
 	 * @param name the judge name
@@ -94,8 +121,23 @@ public abstract class LLMJudge implements JudgeWithMetadata {
 	 * testing)
 	 */
 	protected LLMJudge(String name, String description, ChatClient.Builder chatClientBuilder) {
+		this(name, description, chatClientBuilder, LLMJudgeOptions.defaults());
+	}
+
+	/**
+	 * Create an LLM judge with metadata, chat client and call options.
+	 * @param name the judge name
+	 * @param description the judge description
+	 * @param chatClientBuilder the chat client builder for LLM calls (null allowed for
+	 * testing)
+	 * @param options options for the model call
+	 */
+	protected LLMJudge(String name, String description, ChatClient.Builder chatClientBuilder,
+			LLMJudgeOptions options) {
 		this.metadata = new JudgeMetadata(name, description, JudgeType.LLM_POWERED);
 		this.chatClient = chatClientBuilder != null ? chatClientBuilder.build() : null;
+		this.options = options != null ? options : LLMJudgeOptions.defaults();
+		this.hedger = this.options.hedgePolicy() != null ? new RequestHedger(this.options.hedgePolicy()) : null;
 	}
 
 	/**
@@ -135,10 +177,168 @@ public abstract class LLMJudge implements JudgeWithMetadata {
 	@Override
 	public Judgment judge(JudgmentContext context) {
 		String prompt = buildPrompt(context);
-		String response = this.chatClient.prompt().user(prompt).call().content();
+		String response = call(prompt, context);
 		return parseResponse(response, context);
 	}
 
+	/**
+	 * Get the response for a prompt, from the response cache or an identical call in
+	 * flight if possible.
+	 * <p>
+	 * Subclasses that make several calls per judgment use this method so that every
+	 * call benefits from the configured {@link LLMJudgeOptions}.
+	 * </p>
+	 * @param prompt the prompt text
+	 * @param context the judgment context (its metadata may override the cache mode or
+	 * mark the call as a sample)
+	 * @return the response text
+	 */
+	protected String call(String prompt, JudgmentContext context) {
+		LLMResponseCache cache = this.options.responseCache();
+		Object sample = context != null ? context.metadata().get(LLMJudgeOptions.SAMPLE) : null;
+		CacheMode mode = cache != null && sample == null ? cacheMode(context) : CacheMode.BYPASS;
+		String key = null;
+		if (mode != CacheMode.BYPASS) {
+			key = cache.key(prompt, this.options.chatOptions());
+			if (mode == CacheMode.READ_WRITE) {
+				Optional<String> cached = cache.get(key);
+				if (cached.isPresent()) {
+					return cached.get();
+				}
+			}
+		}
+		String response = coalesce(prompt, sample);
+		boolean complete = this.options.responseMode() != ResponseMode.STREAMING_UNTIL_VERDICT;
+		if (key != null && response != null && complete) {
+			cache.put(key, response);
+		}
+		return response;
+	}
+
+	private String coalesce(String prompt, Object sample) {
+		RequestCoalescer coalescer = this.options.requestCoalescer();
+		if (coalescer == null) {
+			return hedge(prompt);
+		}
+		// Truncated responses must not be shared with callers expecting a complete one,
+		// and samples must stay independent of each other
+		String namespace = this.options.responseMode() == ResponseMode.STREAMING_UNTIL_VERDICT ? "verdict" : "";
+		if (sample != null) {
+			namespace = namespace + "|sample:" + sample;
+		}
+		return coalescer.call(PromptKey.of(namespace, prompt, this.options.chatOptions()), () -> hedge(prompt));
+	}
+
+	private String hedge(String prompt) {
+		if (this.hedger == null) {
+			return throttle(prompt);
+		}
+		// Duplicates go through the gateway too, so they count against its limits
+		return this.hedger.call(() -> throttle(prompt));
+	}
+
+	private String throttle(String prompt) {
+		LLMGateway gateway = this.options.gateway();
+		if (gateway == null) {
+			return respond(prompt);
+		}
+		return gateway.call(prompt, this.options.chatOptions(), () -> respond(prompt));
+	}
+
+	private String respond(String prompt) {
+		return switch (this.options.responseMode()) {
+			case BLOCKING -> callModel(prompt);
+			case STREAMING -> collect(prompt, false);
+			case STREAMING_UNTIL_VERDICT -> collect(prompt, true);
+		};
+	}
+
+	private String collect(String prompt, boolean untilVerdict) {
+		StringBuilder response = new StringBuilder();
+		Flux<String> chunks = streamModel(prompt).doOnNext(response::append);
+		if (untilVerdict) {
+			// takeUntil cancels the rest of the stream once the verdict is known
+			chunks = chunks.takeUntil(chunk -> hasVerdict(response.toString()));
+		}
+		chunks.blockLast();
+		return response.toString();
+	}
+
+	/**
+	 * Send a prompt to the model.
+	 * @param prompt the prompt text
+	 * @return the response text
+	 */
+	protected String callModel(String prompt) {
+		ChatClient.ChatClientRequestSpec request = this.chatClient.prompt().user(prompt);
+		if (this.options.chatOptions() != null) {
+			request = request.options(this.options.chatOptions());
+		}
+		return request.call().content();
+	}
+
+	/**
+	 * Stream a prompt's response from the model.
+	 * @param prompt the prompt text
+	 * @return the response text in chunks
+	 */
+	protected Flux<String> streamModel(String prompt) {
+		ChatClient.ChatClientRequestSpec request = this.chatClient.prompt().user(prompt);
+		if (this.options.chatOptions() != null) {
+			request = request.options(this.options.chatOptions());
+		}
+		return request.stream().content();
+	}
+
+	/**
+	 * Check whether a partial response already contains the verdict.
+	 * <p>
+	 * Used with {@link ResponseMode#STREAMING_UNTIL_VERDICT} to stop streaming early;
+	 * {@link #parseResponse(String, JudgmentContext)} must then accept the partial
+	 * response. Only return true once the verdict cannot change with more text, for
+	 * example when the answer word is followed by a line break. The default never
+	 * recognizes a verdict, so the whole response is streamed.
+	 * </p>
+	 * @param partialResponse the response received so far
+	 * @return true if the rest of the response is not needed
+	 */
+	protected boolean hasVerdict(String partialResponse) {
+		return false;
+	}
+
+	/**
+	 * Get the hedging statistics of this judge.
+	 * @return statistics snapshot, or null if calls are not hedged
+	 */
+	public HedgeStats hedgeStats() {
+		return this.hedger != null ? this.hedger.stats() : null;
+	}
+
+	/**
+	 * Get the call options of this judge.
+	 * @return the options
+	 */
+	protected LLMJudgeOptions options() {
+		return this.options;
+	}
+
+	private CacheMode cacheMode(JudgmentContext context) {
+		Object override = context != null ? context.metadata().get(LLMJudgeOptions.CACHE_MODE) : null;
+		if (override instanceof CacheMode mode) {
+			return mode;
+		}
+		if (override instanceof String name) {
+			try {
+				return CacheMode.valueOf(name.trim().toUpperCase(Locale.ROOT));
+			}
+			catch (IllegalArgumentException ex) {
+				logger.warn("Ignoring unknown {} '{}' in context metadata, using {}", LLMJudgeOptions.CACHE_MODE, name,
+						this.options.cacheMode());
+			}
+		}
+		return this.options.cacheMode();
+	}
+
 	@Override
 	public JudgeMetadata metadata() {
 		return this.metadata;
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.cache.CacheMode;
+import org.springaicommunity.judge.llm.cache.LLMResponseCache;
+import org.springaicommunity.judge.llm.gateway.LLMGateway;
+import org.springaicommunity.judge.llm.hedge.HedgePolicy;
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+/**
+ * Optional features of the model call made by an {@link LLMJudge}.
+ *
+ * <p>
+ * The defaults reproduce a plain blocking call: no request options, no caching, no
+ * coalescing, no throttling and no hedging. Options are immutable and may be shared by
+ * several judges.
+ * </p>
+ *
+ * <p>
+ * The cache mode can be overridden for a single evaluation by putting a
+ * {@link CacheMode} (or its name, in any case) in the context metadata under
+ * {@link #CACHE_MODE}; an unknown name is logged and ignored.
+ * Evaluations marked with a sample number under {@link #SAMPLE} (see
+ * {@link SelfConsistencyJudge}) always call the model.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * LLMJudgeOptions options = LLMJudgeOptions.builder()
+ *     .chatOptions(ChatOptions.builder().model("gpt-4o-mini").temperature(0.0).build())
+ *     .responseCache(LLMResponseCache.builder().maxEntries(5_000).build())
+ *     .build();
+ *
+ * Judge judge = new CorrectnessJudge(chatClientBuilder, options);
+ *
+ * // Force a fresh model call for one evaluation
+ * JudgmentContext context = JudgmentContext.builder()
+ *     .goal("...")
+ *     .metadata(LLMJudgeOptions.CACHE_MODE, CacheMode.REFRESH)
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class LLMJudgeOptions {
+
+	/**
+	 * Context metadata key overriding the {@link CacheMode} for one evaluation.
+	 */
+	public static final String CACHE_MODE = "llmCacheMode";
+
+	/**
+	 * Context metadata key marking an evaluation as one of several independent samples.
+	 * Sampled evaluations skip the response cache and are coalesced only with the same
+	 * sample of the same prompt.
+	 */
+	public static final String SAMPLE = "llmSample";
+
+	private static final LLMJudgeOptions DEFAULTS = builder().build();
+
+	private final ChatOptions chatOptions;
+
+	private final LLMResponseCache responseCache;
+
+	private final CacheMode cacheMode;
+
+	private final RequestCoalescer requestCoalescer;
+
+	private final LLMGateway gateway;
+
+	private final ResponseMode responseMode;
+
+	private final HedgePolicy hedgePolicy;
+
+	private LLMJudgeOptions(Builder builder) {
+		this.chatOptions = builder.chatOptions;
+		this.responseCache = builder.responseCache;
+		this.cacheMode = builder.cacheMode;
+		this.requestCoalescer = builder.requestCoalescer;
+		this.gateway = builder.gateway;
+		this.responseMode = builder.responseMode;
+		this.hedgePolicy = builder.hedgePolicy;
+	}
+
+	/**
+	 * Get the default options.
+	 * @return options with no features enabled
+	 */
+	public static LLMJudgeOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * Get the options sent with each request.
+	 * @return request options, or null to use the chat client's defaults
+	 */
+	public ChatOptions chatOptions() {
+		return chatOptions;
+	}
+
+	/**
+	 * Get the response cache.
+	 * @return response cache, or null if responses are not cached
+	 */
+	public LLMResponseCache responseCache() {
+		return responseCache;
+	}
+
+	/**
+	 * Get the default cache mode.
+	 * @return cache mode
+	 */
+	public CacheMode cacheMode() {
+		return cacheMode;
+	}
+
+	/**
+	 * Get the request coalescer.
+	 * @return request coalescer, or null if identical calls are not coalesced
+	 */
+	public RequestCoalescer requestCoalescer() {
+		return requestCoalescer;
+	}
+
+	/**
+	 * Get the gateway that throttles model calls.
+	 * @return gateway, or null if calls are not throttled
+	 */
+	public LLMGateway gateway() {
+		return gateway;
+	}
+
+	/**
+	 * Get how the response is received.
+	 * @return response mode
+	 */
+	public ResponseMode responseMode() {
+		return responseMode;
+	}
+
+	/**
+	 * Get the policy for hedging slow model calls.
+	 * @return hedge policy, or null if calls are not hedged
+	 */
+	public HedgePolicy hedgePolicy() {
+		return hedgePolicy;
+	}
+
+	/**
+	 * Copy a context, marking it as the given sample.
+	 * @param context the judgment context
+	 * @param index the sample number
+	 * @return context with {@link #SAMPLE} set in its metadata
+	 */
+	static JudgmentContext sample(JudgmentContext context, int index) {
+		Map<String, Object> metadata = new HashMap<>(context.metadata());
+		metadata.put(SAMPLE, index);
+		return new JudgmentContext(context.goal(), context.workspace(), context.executionTime(), context.startedAt(),
+				context.agentOutput(), context.status(), context.error(), metadata);
+	}
+
+	/**
+	 * Create a new builder for LLMJudgeOptions.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for LLMJudgeOptions.
+	 */
+	public static class Builder {
+
+		private ChatOptions chatOptions;
+
+		private LLMResponseCache responseCache;
+
+		private CacheMode cacheMode = CacheMode.READ_WRITE;
+
+		private RequestCoalescer requestCoalescer;
+
+		private LLMGateway gateway;
+
+		private ResponseMode responseMode = ResponseMode.BLOCKING;
+
+		private HedgePolicy hedgePolicy;
+
+		/**
+		 * Set the options sent with each request, such as model and temperature. They
+		 * are also part of the response cache key.
+		 * @param chatOptions the request options
+		 * @return this builder
+		 */
+		public Builder chatOptions(ChatOptions chatOptions) {
+			this.chatOptions = chatOptions;
+			return this;
+		}
+
+		/**
+		 * Cache responses by prompt.
+		 * @param responseCache the cache (null to disable caching)
+		 * @return this builder
+		 */
+		public Builder responseCache(LLMResponseCache responseCache) {
+			this.responseCache = responseCache;
+			return this;
+		}
+
+		/**
+		 * Set the default cache mode (default {@link CacheMode#READ_WRITE}).
+		 * @param cacheMode the cache mode
+		 * @return this builder
+		 */
+		public Builder cacheMode(CacheMode cacheMode) {
+			if (cacheMode == null) {
+				throw new IllegalArgumentException("Cache mode must not be null");
+			}
+			this.cacheMode = cacheMode;
+			return this;
+		}
+
+		/**
+		 * Coalesce concurrent identical calls into one model call.
+		 * @param requestCoalescer the coalescer, possibly shared with other judges using
+		 * the same model (null to disable)
+		 * @return this builder
+		 */
+		public Builder requestCoalescer(RequestCoalescer requestCoalescer) {
+			this.requestCoalescer = requestCoalescer;
+			return this;
+		}
+
+		/**
+		 * Throttle model calls through a gateway.
+		 * @param gateway the gateway, shared by all judges calling the same provider
+		 * account (null to disable)
+		 * @return this builder
+		 */
+		public Builder gateway(LLMGateway gateway) {
+			this.gateway = gateway;
+			return this;
+		}
+
+		/**
+		 * Set how the response is received (default {@link ResponseMode#BLOCKING}).
+		 * @param responseMode the response mode
+		 * @return this builder
+		 */
+		public Builder responseMode(ResponseMode responseMode) {
+			if (responseMode == null) {
+				throw new IllegalArgumentException("responseMode must not be null");
+			}
+			this.responseMode = responseMode;
+			return this;
+		}
+
+		/**
+		 * Send a duplicate of model calls slower than usual and use the first response.
+		 * Each judge tracks its own latency, so the policy may be shared.
+		 * @param hedgePolicy the hedge policy (null to disable)
+		 * @return this builder
+		 */
+		public Builder hedgePolicy(HedgePolicy hedgePolicy) {
+			this.hedgePolicy = hedgePolicy;
+			return this;
+		}
+
+		/**
+		 * Build the LLMJudgeOptions instance.
+		 * @return configured options
+		 */
+		public LLMJudgeOptions build() {
+			return new LLMJudgeOptions(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+/**
+ * Identity of a model request, used to cache and coalesce identical calls.
+ *
+ * <p>
+ * Two requests have the same key when their namespace, {@link ChatOptions} (model,
+ * sampling parameters, token limit and stop sequences) and prompt text are equal.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class PromptKey {
+
+	private PromptKey() {
+	}
+
+	/**
+	 * Compute the key of a request.
+	 * @param namespace scope of the key, such as a model configured outside the options
+	 * @param prompt the prompt text
+	 * @param options the request options (may be null)
+	 * @return hex-encoded SHA-256 key
+	 */
+	public static String of(String namespace, String prompt, ChatOptions options) {
+		return sha256(namespace != null ? namespace : "", describe(options), prompt);
+	}
+
+	private static String describe(ChatOptions options) {
+		if (options == null) {
+			return "";
+		}
+		return String.join("|", String.valueOf(options.getModel()), String.valueOf(options.getTemperature()),
+				String.valueOf(options.getTopP()), String.valueOf(options.getTopK()),
+				String.valueOf(options.getMaxTokens()), String.valueOf(options.getFrequencyPenalty()),
+				String.valueOf(options.getPresencePenalty()), String.valueOf(options.getStopSequences()));
+	}
+
+	private static String sha256(String... values) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+		for (String value : values) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) ':');
+			digest.update(bytes);
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+}
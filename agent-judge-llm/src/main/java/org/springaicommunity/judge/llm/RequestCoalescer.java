@@ -0,0 +1,107 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springaicommunity.judge.concurrent.SingleFlight;
+
+/**
+ * Single-flight deduplication of identical in-flight model calls.
+ *
+ * <p>
+ * When a batch fans out, several judges often send the same prompt at the same moment,
+ * for example for duplicate agent outputs. With a coalescer configured (see
+ * {@link LLMJudgeOptions.Builder#requestCoalescer(RequestCoalescer)}), the first caller
+ * for a key makes the model call and concurrent callers with the same key wait for its
+ * response instead of paying for their own (see {@link SingleFlight}). If the caller
+ * making the call is cancelled, its interrupt is not shared: a waiting caller makes the
+ * call instead. Nothing is remembered once the call completes; combine with a response
+ * cache to reuse responses later.
+ * </p>
+ *
+ * <p>
+ * A coalescer may be shared by several judges, as long as they use the same model:
+ * keys cover the prompt and request options, not the chat client.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * RequestCoalescer coalescer = new RequestCoalescer();
+ * Judge judge = new CorrectnessJudge(chatClientBuilder,
+ *     LLMJudgeOptions.builder().requestCoalescer(coalescer).build());
+ *
+ * // After a batch
+ * log.info("{} of {} requests coalesced", coalescer.getCoalescedCount(),
+ *     coalescer.getCoalescedCount() + coalescer.getCallCount());
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class RequestCoalescer {
+
+	private final SingleFlight<String, String> inFlight = new SingleFlight<>();
+
+	private final AtomicLong callCount = new AtomicLong();
+
+	/**
+	 * Make a call, or join an identical call already in flight.
+	 * @param key the request key (see {@link PromptKey})
+	 * @param call the model call
+	 * @return the response of this call or of the call it joined, which may be
+	 * {@code null}
+	 * @throws CompletionException if waiting is interrupted or the joined call failed
+	 * with a checked exception
+	 */
+	public String call(String key, Supplier<String> call) {
+		return inFlight.run(key, () -> {
+			callCount.incrementAndGet();
+			return call.get();
+		});
+	}
+
+	/**
+	 * Get the number of calls that reached the model.
+	 * @return model calls made
+	 */
+	public long getCallCount() {
+		return callCount.get();
+	}
+
+	/**
+	 * Get the number of calls that joined an identical call in flight. A call that joins
+	 * again after the call it joined was cancelled is counted once.
+	 * @return coalesced calls
+	 */
+	public long getCoalescedCount() {
+		return inFlight.getJoinedCount();
+	}
+
+	/**
+	 * Get the number of distinct calls currently in flight.
+	 * @return in-flight calls
+	 */
+	public int getInFlightCount() {
+		return inFlight.getInFlightCount();
+	}
+
+}
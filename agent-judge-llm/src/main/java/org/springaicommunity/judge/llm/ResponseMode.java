@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+/**
+ * How an {@link LLMJudge} receives the model's response.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public enum ResponseMode {
+
+	/**
+	 * Wait for the complete response in one call (the default).
+	 */
+	BLOCKING,
+
+	/**
+	 * Stream the response and judge it once complete.
+	 */
+	STREAMING,
+
+	/**
+	 * Stream the response and cancel the rest once the judge recognizes its verdict (see
+	 * {@link LLMJudge#hasVerdict(String)}), trading the reasoning after the verdict for
+	 * latency and completion tokens. Truncated responses are not stored in the response
+	 * cache.
+	 */
+	STREAMING_UNTIL_VERDICT
+
+}
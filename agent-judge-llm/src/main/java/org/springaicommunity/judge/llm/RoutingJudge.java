@@ -0,0 +1,323 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.Judges;
+import org.springaicommunity.judge.concurrent.Interruptions;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+/**
+ * Judge that asks a cheap model first and escalates to a stronger model only when the
+ * cheap answer is not trustworthy.
+ *
+ * <p>
+ * Most checks are easy, and a small, fast model judges them as well as a large one. The
+ * routing judge runs the cheap judge and accepts its verdict unless it is low-confidence:
+ * </p>
+ * <ul>
+ * <li>{@code unparseable} - the cheap judgment is ERROR or ABSTAIN, or the cheap judge
+ * throws;</li>
+ * <li>{@code hedged} - the cheap judgment matches the low-confidence predicate, by
+ * default reasoning with hedging phrases such as "not sure" or "unclear";</li>
+ * <li>{@code disagreement} - with two cheap samples (the default), the samples reach
+ * different verdicts.</li>
+ * </ul>
+ * <p>
+ * In those cases the strong judge decides. The first cheap call is an ordinary request,
+ * so a response cache can serve it; only the second sample is marked with
+ * {@link LLMJudgeOptions#SAMPLE}, so it bypasses the cache and draws a fresh answer. The
+ * cheap judge should sample at a non-zero temperature for disagreement to be
+ * detectable. The second sample is skipped when the first one already escalates.
+ * </p>
+ *
+ * <p>
+ * Every judgment records the route ({@value #ROUTE}), the escalation reason
+ * ({@value #ESCALATION_REASON}, absent when not escalated), the calls made to each judge
+ * ({@value #CHEAP_CALLS}, {@value #STRONG_CALLS}) and their cost ({@value #COST}) in
+ * configurable relative units.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * LLMJudgeOptions sampling = LLMJudgeOptions.builder()
+ *     .chatOptions(ChatOptions.builder().temperature(0.7).build())
+ *     .build();
+ *
+ * Judge correctness = RoutingJudge.builder()
+ *     .cheapJudge(new CorrectnessJudge(miniModelClientBuilder, sampling))
+ *     .strongJudge(new CorrectnessJudge(largeModelClientBuilder))
+ *     .callCosts(1, 15)
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class RoutingJudge implements JudgeWithMetadata {
+
+	/**
+	 * Judgment metadata key for the judge that decided: {@code "cheap"} or
+	 * {@code "strong"}.
+	 */
+	public static final String ROUTE = "route";
+
+	/**
+	 * Judgment metadata key for why the strong judge was asked: {@code "unparseable"},
+	 * {@code "hedged"} or {@code "disagreement"}.
+	 */
+	public static final String ESCALATION_REASON = "escalationReason";
+
+	/**
+	 * Judgment metadata key for the number of cheap judge calls.
+	 */
+	public static final String CHEAP_CALLS = "cheapCalls";
+
+	/**
+	 * Judgment metadata key for the number of strong judge calls.
+	 */
+	public static final String STRONG_CALLS = "strongCalls";
+
+	/**
+	 * Judgment metadata key for the cost of the calls, in the configured units.
+	 */
+	public static final String COST = "routingCost";
+
+	private static final Pattern HEDGING = Pattern.compile("(?i)\\b(not sure|unsure|unclear|uncertain|"
+			+ "cannot (be )?determine|can't (be )?determine|hard to (say|tell)|ambiguous|insufficient information|"
+			+ "not enough information)\\b");
+
+	private final Judge cheapJudge;
+
+	private final Judge strongJudge;
+
+	private final JudgeMetadata metadata;
+
+	private final int cheapSamples;
+
+	private final Predicate<Judgment> lowConfidence;
+
+	private final double cheapCallCost;
+
+	private final double strongCallCost;
+
+	private RoutingJudge(Builder builder) {
+		this.cheapJudge = builder.cheapJudge;
+		this.strongJudge = builder.strongJudge;
+		this.metadata = Judges.tryMetadata(builder.strongJudge)
+			.or(() -> Judges.tryMetadata(builder.cheapJudge))
+			.orElseGet(() -> new JudgeMetadata("Routing", "Cheap model first, strong model when unsure",
+					JudgeType.LLM_POWERED));
+		this.cheapSamples = builder.cheapSamples;
+		this.lowConfidence = builder.lowConfidence;
+		this.cheapCallCost = builder.cheapCallCost;
+		this.strongCallCost = builder.strongCallCost;
+	}
+
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		Judgment first = cheap(context);
+		String reason = escalationReason(first);
+		int cheapCalls = 1;
+		if (reason == null && cheapSamples > 1) {
+			// A fresh sample rather than the first answer served again from the cache
+			Judgment second = cheap(LLMJudgeOptions.sample(context, 1));
+			cheapCalls++;
+			reason = escalationReason(second);
+			if (reason == null && second.status() != first.status()) {
+				reason = "disagreement";
+			}
+		}
+		if (reason == null) {
+			return route(first, "cheap", null, cheapCalls, 0);
+		}
+		return route(strongJudge.judge(context), "strong", reason, cheapCalls, 1);
+	}
+
+	@Override
+	public JudgeMetadata metadata() {
+		return metadata;
+	}
+
+	/**
+	 * Create a new builder for RoutingJudge.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Default low-confidence predicate: reasoning with hedging phrases.
+	 * @param judgment a cheap judgment
+	 * @return true if the reasoning hedges
+	 */
+	public static boolean isHedged(Judgment judgment) {
+		return judgment.reasoning() != null && HEDGING.matcher(judgment.reasoning()).find();
+	}
+
+	private Judgment cheap(JudgmentContext context) {
+		try {
+			return cheapJudge.judge(context);
+		}
+		catch (RuntimeException ex) {
+			if (Interruptions.isInterruption(ex)) {
+				throw ex;
+			}
+			// A failing cheap model is no reason to fail the judgment; the strong one decides
+			return Judgment.error("Cheap judge failed: " + ex.getMessage(), ex);
+		}
+	}
+
+	private String escalationReason(Judgment judgment) {
+		if (judgment.status() == JudgmentStatus.ERROR || judgment.status() == JudgmentStatus.ABSTAIN) {
+			return "unparseable";
+		}
+		return lowConfidence.test(judgment) ? "hedged" : null;
+	}
+
+	private Judgment route(Judgment judgment, String route, String reason, int cheapCalls, int strongCalls) {
+		Map<String, Object> metadata = new HashMap<>(judgment.metadata());
+		metadata.put(ROUTE, route);
+		if (reason != null) {
+			metadata.put(ESCALATION_REASON, reason);
+		}
+		metadata.put(CHEAP_CALLS, cheapCalls);
+		metadata.put(STRONG_CALLS, strongCalls);
+		metadata.put(COST, cheapCalls * cheapCallCost + strongCalls * strongCallCost);
+		return Judgment.builder()
+			.score(judgment.score())
+			.status(judgment.status())
+			.reasoning(judgment.reasoning())
+			.checks(judgment.checks())
+			.metadata(metadata)
+			.build();
+	}
+
+	/**
+	 * Builder for RoutingJudge.
+	 */
+	public static final class Builder {
+
+		private Judge cheapJudge;
+
+		private Judge strongJudge;
+
+		private int cheapSamples = 2;
+
+		private Predicate<Judgment> lowConfidence = RoutingJudge::isHedged;
+
+		private double cheapCallCost = 1;
+
+		private double strongCallCost = 10;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the judge asked first, typically backed by a small, fast model.
+		 * @param cheapJudge the cheap judge
+		 * @return this builder
+		 */
+		public Builder cheapJudge(Judge cheapJudge) {
+			this.cheapJudge = cheapJudge;
+			return this;
+		}
+
+		/**
+		 * Set the judge asked when the cheap answer is low-confidence.
+		 * @param strongJudge the strong judge
+		 * @return this builder
+		 */
+		public Builder strongJudge(Judge strongJudge) {
+			this.strongJudge = strongJudge;
+			return this;
+		}
+
+		/**
+		 * Set how many cheap samples must agree (default 2).
+		 * @param cheapSamples 1 or 2
+		 * @return this builder
+		 */
+		public Builder cheapSamples(int cheapSamples) {
+			if (cheapSamples < 1 || cheapSamples > 2) {
+				throw new IllegalArgumentException("cheapSamples must be 1 or 2");
+			}
+			this.cheapSamples = cheapSamples;
+			return this;
+		}
+
+		/**
+		 * Set which cheap judgments are too unsure to accept (default
+		 * {@link RoutingJudge#isHedged(Judgment)}). ERROR and ABSTAIN judgments always
+		 * escalate.
+		 * @param lowConfidence predicate selecting low-confidence judgments
+		 * @return this builder
+		 */
+		public Builder lowConfidenceWhen(Predicate<Judgment> lowConfidence) {
+			if (lowConfidence == null) {
+				throw new IllegalArgumentException("lowConfidence must not be null");
+			}
+			this.lowConfidence = lowConfidence;
+			return this;
+		}
+
+		/**
+		 * Set the relative cost of one call to each judge (default 1 and 10).
+		 * @param cheapCallCost cost of a cheap call
+		 * @param strongCallCost cost of a strong call
+		 * @return this builder
+		 */
+		public Builder callCosts(double cheapCallCost, double strongCallCost) {
+			if (cheapCallCost < 0 || strongCallCost < 0) {
+				throw new IllegalArgumentException("Call costs must not be negative");
+			}
+			this.cheapCallCost = cheapCallCost;
+			this.strongCallCost = strongCallCost;
+			return this;
+		}
+
+		/**
+		 * Build the RoutingJudge instance.
+		 * @return configured RoutingJudge
+		 * @throws IllegalStateException if the cheap or strong judge is missing
+		 */
+		public RoutingJudge build() {
+			if (cheapJudge == null) {
+				throw new IllegalStateException("cheapJudge is required");
+			}
+			if (strongJudge == null) {
+				throw new IllegalStateException("strongJudge is required");
+			}
+			return new RoutingJudge(this);
+		}
+
+	}
+
+}
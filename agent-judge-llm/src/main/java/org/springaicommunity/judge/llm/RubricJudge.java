@@ -0,0 +1,534 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.concurrent.SingleFlight;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.prompt.PromptBudget;
+import org.springaicommunity.judge.result.Check;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.NumericalScore;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.converter.BeanOutputConverter;
+
+/**
+ * LLM judge that scores several named criteria in a single model call.
+ *
+ * <p>
+ * Evaluating N semantic criteria with N separate LLM judges costs N model calls, each
+ * re-sending the whole context. A rubric judge sends the context once, asks for a score
+ * and reasoning per criterion as structured (JSON) output, and fans the answer back out:
+ * </p>
+ * <ul>
+ * <li>{@link #judge(JudgmentContext)} returns one judgment whose
+ * {@link NumericalScore} is the weighted average of the criterion scores, with one
+ * {@link Check} per criterion and each criterion's score in the metadata under
+ * {@code criterion.<name>};</li>
+ * <li>{@link #criterionJudges()} returns one judge per criterion, for juries that should
+ * weigh and report the criteria separately. Criterion judges evaluating the same context
+ * share one model call.</li>
+ * </ul>
+ *
+ * <p>
+ * A criterion passes when its score reaches the pass threshold; the rubric passes when
+ * the weighted average does. Criteria the model leaves out are reported as
+ * {@code ABSTAIN}, and an unparseable response as {@code ERROR}. Evaluations are
+ * remembered per context (up to {@code maxEvaluations}), so judging an equal context
+ * again returns the same result without a model call.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * RubricJudge rubric = RubricJudge.builder()
+ *     .chatClientBuilder(chatClientBuilder)
+ *     .criterion("Correctness", "The change does what the goal asks")
+ *     .criterion("Tests", "New behavior is covered by tests", 2.0)
+ *     .criterion("Readability", "Code is clear and follows project conventions")
+ *     .scale(0, 10)
+ *     .passThreshold(6)
+ *     .build();
+ *
+ * // One judge, one verdict
+ * Judgment judgment = rubric.judge(context);
+ *
+ * // One jury member per criterion, still one model call per context
+ * SimpleJury.Builder jury = SimpleJury.builder().votingStrategy(new WeightedAverageStrategy());
+ * rubric.criterionJudges().forEach(jury::judge);
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public class RubricJudge extends LLMJudge {
+
+	private static final String CRITERION_PREFIX = "criterion.";
+
+	private final List<Criterion> criteria;
+
+	private final double minScore;
+
+	private final double maxScore;
+
+	private final double passThreshold;
+
+	private final PromptBudget promptBudget;
+
+	private final BeanOutputConverter<RubricScores> converter = new BeanOutputConverter<>(RubricScores.class);
+
+	private final SingleFlight<JudgmentContext, Map<String, Judgment>> evaluations;
+
+	private final List<Judge> criterionJudges;
+
+	protected RubricJudge(Builder builder) {
+		super(builder.name, builder.description, builder.chatClientBuilder, builder.options);
+		this.criteria = List.copyOf(builder.criteria);
+		this.minScore = builder.minScore;
+		this.maxScore = builder.maxScore;
+		this.passThreshold = builder.passThreshold != null ? builder.passThreshold
+				: (builder.minScore + builder.maxScore) / 2;
+		this.promptBudget = builder.promptBudget;
+		this.evaluations = new SingleFlight<>(evaluation -> true, builder.maxEvaluations);
+		List<Judge> judges = new ArrayList<>();
+		for (Criterion criterion : this.criteria) {
+			judges.add(new CriterionJudge(criterion));
+		}
+		this.criterionJudges = List.copyOf(judges);
+	}
+
+	/**
+	 * Evaluate all criteria and combine them into one judgment.
+	 * @param context the judgment context
+	 * @return judgment with the weighted average score and one check per criterion
+	 */
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		return combine(evaluate(context));
+	}
+
+	/**
+	 * Get one judge per criterion, in rubric order.
+	 * <p>
+	 * Each judge is named after its criterion and returns that criterion's judgment. The
+	 * judges share the rubric's evaluations, so a jury running all of them on one
+	 * context makes a single model call.
+	 * </p>
+	 * @return criterion judges
+	 */
+	public List<Judge> criterionJudges() {
+		return criterionJudges;
+	}
+
+	/**
+	 * Get the criteria of this rubric.
+	 * @return criteria in rubric order
+	 */
+	public List<Criterion> criteria() {
+		return criteria;
+	}
+
+	@Override
+	protected String buildPrompt(JudgmentContext context) {
+		String goal = context.goal();
+		String workspace = context.workspace() != null ? context.workspace().toString() : "Not specified";
+		String output = context.agentOutput().orElse("No output provided");
+		if (promptBudget != null) {
+			output = promptBudget.agentOutput(output, goal);
+			String digest = promptBudget.workspace(context.workspace(), context.startedAt());
+			if (!digest.isEmpty()) {
+				workspace = workspace + "\n" + digest;
+			}
+		}
+		StringBuilder rubric = new StringBuilder();
+		for (int i = 0; i < criteria.size(); i++) {
+			Criterion criterion = criteria.get(i);
+			rubric.append(i + 1).append(". ").append(criterion.name()).append(": ").append(criterion.description());
+			rubric.append('\n');
+		}
+		return String.format("""
+				Goal: %s
+				Workspace: %s
+				Agent Output: %s
+
+				Evaluate the agent's work against each criterion below. Score each criterion \
+				from %s to %s, where %s means fully satisfied, and explain the score briefly. \
+				Use the criterion names exactly as given.
+
+				Criteria:
+				%s
+				%s
+				""", goal, workspace, output, format(minScore), format(maxScore), format(maxScore), rubric,
+				converter.getFormat());
+	}
+
+	@Override
+	protected Judgment parseResponse(String response, JudgmentContext context) {
+		return combine(parseCriteria(response));
+	}
+
+	/**
+	 * Evaluate all criteria for a context, reusing an evaluation of an equal context
+	 * that is in flight or was made recently.
+	 * @param context the judgment context
+	 * @return judgment per criterion name
+	 */
+	protected Map<String, Judgment> evaluate(JudgmentContext context) {
+		return evaluations.run(context, () -> parseCriteria(call(buildPrompt(context), context)));
+	}
+
+	private Map<String, Judgment> parseCriteria(String response) {
+		RubricScores scores;
+		try {
+			scores = converter.convert(response);
+		}
+		catch (RuntimeException ex) {
+			scores = null;
+		}
+		Map<String, Judgment> judgments = new LinkedHashMap<>();
+		if (scores == null || scores.criteria() == null) {
+			IllegalStateException error = new IllegalStateException("Unparseable rubric response: " + response);
+			for (Criterion criterion : criteria) {
+				judgments.put(criterion.name(), Judgment.error("Could not parse rubric response", error));
+			}
+			return judgments;
+		}
+		Map<String, CriterionScore> byName = new LinkedHashMap<>();
+		for (CriterionScore score : scores.criteria()) {
+			if (score != null && score.name() != null) {
+				byName.putIfAbsent(normalize(score.name()), score);
+			}
+		}
+		for (Criterion criterion : criteria) {
+			CriterionScore score = byName.get(normalize(criterion.name()));
+			judgments.put(criterion.name(), score != null && score.score() != null ? toJudgment(criterion, score)
+					: Judgment.abstain("Criterion not evaluated by the model: " + criterion.name()));
+		}
+		return judgments;
+	}
+
+	private Judgment toJudgment(Criterion criterion, CriterionScore score) {
+		double value = Math.max(minScore, Math.min(maxScore, score.score()));
+		boolean pass = value >= passThreshold;
+		return Judgment.builder()
+			.score(new NumericalScore(value, minScore, maxScore))
+			.status(pass ? JudgmentStatus.PASS : JudgmentStatus.FAIL)
+			.reasoning(score.reasoning() != null ? score.reasoning() : "")
+			.metadata("criterion", criterion.name())
+			.build();
+	}
+
+	private Judgment combine(Map<String, Judgment> judgments) {
+		double weightedSum = 0;
+		double totalWeight = 0;
+		List<Check> checks = new ArrayList<>();
+		Map<String, Object> metadata = new LinkedHashMap<>();
+		StringBuilder reasoning = new StringBuilder();
+		Judgment firstError = null;
+		for (Criterion criterion : criteria) {
+			Judgment judgment = judgments.get(criterion.name());
+			if (reasoning.length() > 0) {
+				reasoning.append('\n');
+			}
+			reasoning.append(criterion.name()).append(": ");
+			if (judgment.score() instanceof NumericalScore score) {
+				weightedSum += score.value() * criterion.weight();
+				totalWeight += criterion.weight();
+				metadata.put(CRITERION_PREFIX + criterion.name(), score.value());
+				String message = format(score.value()) + "/" + format(maxScore) + " - " + judgment.reasoning();
+				checks.add(judgment.pass() ? Check.pass(criterion.name(), message)
+						: Check.fail(criterion.name(), message));
+				reasoning.append(message);
+			}
+			else {
+				checks.add(Check.fail(criterion.name(), judgment.reasoning()));
+				reasoning.append(judgment.reasoning());
+				if (firstError == null && judgment.status() == JudgmentStatus.ERROR) {
+					firstError = judgment;
+				}
+			}
+		}
+		if (totalWeight == 0) {
+			if (firstError != null) {
+				return firstError;
+			}
+			return Judgment.builder()
+				.status(JudgmentStatus.ABSTAIN)
+				.reasoning(reasoning.toString())
+				.checks(checks)
+				.build();
+		}
+		double average = Math.max(minScore, Math.min(maxScore, weightedSum / totalWeight));
+		return Judgment.builder()
+			.score(new NumericalScore(average, minScore, maxScore))
+			.status(average >= passThreshold ? JudgmentStatus.PASS : JudgmentStatus.FAIL)
+			.reasoning(reasoning.toString())
+			.checks(checks)
+			.metadata(metadata)
+			.build();
+	}
+
+	private static String normalize(String name) {
+		return name.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static String format(double value) {
+		return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+	}
+
+	/**
+	 * Create a new builder for RubricJudge.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * A named criterion of a rubric.
+	 *
+	 * @param name the criterion name, unique within the rubric
+	 * @param description what the criterion requires, as shown to the model
+	 * @param weight the criterion's weight in the rubric score
+	 */
+	public record Criterion(String name, String description, double weight) {
+
+		public Criterion {
+			if (name == null || name.isBlank()) {
+				throw new IllegalArgumentException("name must not be blank");
+			}
+			if (description == null || description.isBlank()) {
+				throw new IllegalArgumentException("description must not be blank");
+			}
+			if (!(weight > 0)) {
+				throw new IllegalArgumentException("weight must be positive");
+			}
+		}
+
+	}
+
+	/**
+	 * Structured response requested from the model.
+	 */
+	record RubricScores(List<CriterionScore> criteria) {
+	}
+
+	/**
+	 * Score of one criterion in the structured response.
+	 */
+	record CriterionScore(String name, Double score, String reasoning) {
+	}
+
+	/**
+	 * Judge reporting one criterion of the rubric.
+	 */
+	private final class CriterionJudge implements JudgeWithMetadata {
+
+		private final Criterion criterion;
+
+		private final JudgeMetadata metadata;
+
+		private CriterionJudge(Criterion criterion) {
+			this.criterion = criterion;
+			this.metadata = new JudgeMetadata(criterion.name(), criterion.description(), JudgeType.LLM_POWERED);
+		}
+
+		@Override
+		public Judgment judge(JudgmentContext context) {
+			return evaluate(context).get(criterion.name());
+		}
+
+		@Override
+		public JudgeMetadata metadata() {
+			return metadata;
+		}
+
+	}
+
+	/**
+	 * Builder for RubricJudge.
+	 */
+	public static class Builder {
+
+		private final List<Criterion> criteria = new ArrayList<>();
+
+		private String name = "Rubric";
+
+		private String description = "Scores the agent's work against several criteria";
+
+		private ChatClient.Builder chatClientBuilder;
+
+		private LLMJudgeOptions options = LLMJudgeOptions.defaults();
+
+		private double minScore = 0;
+
+		private double maxScore = 10;
+
+		private Double passThreshold;
+
+		private PromptBudget promptBudget;
+
+		private int maxEvaluations = 64;
+
+		protected Builder() {
+		}
+
+		/**
+		 * Set the judge name and description.
+		 * @param name the judge name
+		 * @param description the judge description
+		 * @return this builder
+		 */
+		public Builder name(String name, String description) {
+			if (name == null || name.isBlank()) {
+				throw new IllegalArgumentException("name must not be blank");
+			}
+			this.name = name;
+			this.description = description;
+			return this;
+		}
+
+		/**
+		 * Set the chat client builder for LLM calls.
+		 * @param chatClientBuilder the chat client builder (null allowed for testing)
+		 * @return this builder
+		 */
+		public Builder chatClientBuilder(ChatClient.Builder chatClientBuilder) {
+			this.chatClientBuilder = chatClientBuilder;
+			return this;
+		}
+
+		/**
+		 * Set the options for the model call.
+		 * @param options the options
+		 * @return this builder
+		 */
+		public Builder options(LLMJudgeOptions options) {
+			if (options == null) {
+				throw new IllegalArgumentException("options must not be null");
+			}
+			this.options = options;
+			return this;
+		}
+
+		/**
+		 * Add a criterion with weight 1.
+		 * @param name the criterion name
+		 * @param description what the criterion requires
+		 * @return this builder
+		 */
+		public Builder criterion(String name, String description) {
+			return criterion(name, description, 1.0);
+		}
+
+		/**
+		 * Add a weighted criterion.
+		 * @param name the criterion name
+		 * @param description what the criterion requires
+		 * @param weight the criterion's weight in the rubric score
+		 * @return this builder
+		 */
+		public Builder criterion(String name, String description, double weight) {
+			Criterion criterion = new Criterion(name, description, weight);
+			for (Criterion existing : criteria) {
+				if (normalize(existing.name()).equals(normalize(name))) {
+					throw new IllegalArgumentException("Duplicate criterion: " + name);
+				}
+			}
+			criteria.add(criterion);
+			return this;
+		}
+
+		/**
+		 * Set the score scale (default 0 to 10).
+		 * @param minScore the lowest score
+		 * @param maxScore the highest score
+		 * @return this builder
+		 */
+		public Builder scale(double minScore, double maxScore) {
+			if (!(maxScore > minScore)) {
+				throw new IllegalArgumentException("maxScore must be greater than minScore");
+			}
+			this.minScore = minScore;
+			this.maxScore = maxScore;
+			return this;
+		}
+
+		/**
+		 * Set the score at which a criterion, and the rubric, passes (default the middle
+		 * of the scale).
+		 * @param passThreshold the passing score
+		 * @return this builder
+		 */
+		public Builder passThreshold(double passThreshold) {
+			this.passThreshold = passThreshold;
+			return this;
+		}
+
+		/**
+		 * Set budgets for agent output and workspace digest in the prompt.
+		 * @param promptBudget the prompt budget (null to send the full output)
+		 * @return this builder
+		 */
+		public Builder promptBudget(PromptBudget promptBudget) {
+			this.promptBudget = promptBudget;
+			return this;
+		}
+
+		/**
+		 * Set how many evaluations are kept for criterion judges (default 64).
+		 * @param maxEvaluations maximum remembered evaluations
+		 * @return this builder
+		 */
+		public Builder maxEvaluations(int maxEvaluations) {
+			if (maxEvaluations < 0) {
+				throw new IllegalArgumentException("maxEvaluations must not be negative");
+			}
+			this.maxEvaluations = maxEvaluations;
+			return this;
+		}
+
+		/**
+		 * Build the RubricJudge instance.
+		 * @return configured RubricJudge
+		 * @throws IllegalStateException if no criterion was added or the pass threshold
+		 * is outside the scale
+		 */
+		public RubricJudge build() {
+			if (criteria.isEmpty()) {
+				throw new IllegalStateException("At least one criterion is required");
+			}
+			if (passThreshold != null && (passThreshold < minScore || passThreshold > maxScore)) {
+				throw new IllegalStateException("passThreshold must be within the scale");
+			}
+			return new RubricJudge(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeMetadata;
+import org.springaicommunity.judge.JudgeType;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.concurrent.Interruptions;
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.NumericalScore;
+
+/**
+ * Self-consistency wrapper that samples a noisy judge until its verdict is settled.
+ *
+ * <p>
+ * A single LLM verdict is noisy; a fixed number of samples makes every evaluation pay
+ * for the hardest one. This judge samples the wrapped judge one at a time (or in small
+ * parallel waves) and stops as soon as a sequential probability ratio test (SPRT)
+ * decides between "mostly PASS" and "mostly FAIL": with the defaults, two agreeing
+ * samples settle an easy case, while split votes continue up to the maximum number of
+ * samples.
+ * </p>
+ *
+ * <p>
+ * The test compares pass rates of {@code 0.5 + margin} and {@code 0.5 - margin} with
+ * error rate {@code errorRate} in both directions. The result is the majority verdict
+ * (ABSTAIN on a tie) with a {@link NumericalScore} between 0 and 1 holding the
+ * probability that the work passes, given the votes. Its metadata records the samples
+ * used ({@link #SAMPLES}), the votes ({@link #PASS_VOTES}, {@link #FAIL_VOTES}) and the
+ * confidence in the verdict ({@link #CONFIDENCE}). Samples that end in ERROR or ABSTAIN
+ * count toward the samples used but not toward the votes. Sampling stops when the
+ * calling thread is interrupted, which fails the judgment with a
+ * {@link CompletionException}.
+ * </p>
+ *
+ * <p>
+ * Samples must be independent: each is evaluated with a sample number in the context
+ * metadata ({@link LLMJudgeOptions#SAMPLE}), which makes LLM judges skip the response
+ * cache and coalesce only identical samples. The wrapped judge should also sample at a
+ * non-zero temperature.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * LLMJudgeOptions sampling = LLMJudgeOptions.builder()
+ *     .chatOptions(ChatOptions.builder().temperature(0.8).build())
+ *     .build();
+ *
+ * Judge judge = SelfConsistencyJudge.builder()
+ *     .judge(new CorrectnessJudge(chatClientBuilder, sampling))
+ *     .maxSamples(7)
+ *     .build();
+ *
+ * Judgment judgment = judge.judge(context);
+ * int samples = (int) judgment.metadata().get(SelfConsistencyJudge.SAMPLES);
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class SelfConsistencyJudge implements JudgeWithMetadata {
+
+	/**
+	 * Judgment metadata key for the number of samples taken.
+	 */
+	public static final String SAMPLES = "samples";
+
+	/**
+	 * Judgment metadata key for the number of PASS samples.
+	 */
+	public static final String PASS_VOTES = "passVotes";
+
+	/**
+	 * Judgment metadata key for the number of FAIL samples.
+	 */
+	public static final String FAIL_VOTES = "failVotes";
+
+	/**
+	 * Judgment metadata key for the probability that the verdict is right.
+	 */
+	public static final String CONFIDENCE = "confidence";
+
+	private final Judge judge;
+
+	private final JudgeMetadata metadata;
+
+	private final int maxSamples;
+
+	private final int waveSize;
+
+	private final Executor executor;
+
+	private final double passStep;
+
+	private final double failStep;
+
+	private final double acceptBound;
+
+	private final double rejectBound;
+
+	private SelfConsistencyJudge(Builder builder) {
+		this.judge = builder.judge;
+		JudgeMetadata delegate = builder.judge instanceof JudgeWithMetadata withMetadata ? withMetadata.metadata()
+				: null;
+		this.metadata = delegate != null ? delegate
+				: new JudgeMetadata("SelfConsistency", "Samples a judge until its verdict is settled",
+						JudgeType.LLM_POWERED);
+		this.maxSamples = builder.maxSamples;
+		this.waveSize = builder.waveSize;
+		this.executor = builder.executor != null ? builder.executor : JudgeExecutors.virtualThreads();
+		double high = 0.5 + builder.margin;
+		double low = 0.5 - builder.margin;
+		this.passStep = Math.log(high / low);
+		this.failStep = Math.log((1 - high) / (1 - low));
+		this.acceptBound = Math.log((1 - builder.errorRate) / builder.errorRate);
+		this.rejectBound = -this.acceptBound;
+	}
+
+	@Override
+	public Judgment judge(JudgmentContext context) {
+		int samples = 0;
+		int passVotes = 0;
+		int failVotes = 0;
+		double logRatio = 0;
+		Judgment passExample = null;
+		Judgment failExample = null;
+		Judgment otherExample = null;
+		boolean settled = false;
+		while (samples < maxSamples && !settled) {
+			if (Thread.currentThread().isInterrupted()) {
+				// A sample may have ended in ERROR because the caller was cancelled
+				throw new CompletionException(new InterruptedException("Interrupted while sampling"));
+			}
+			int wave = Math.min(waveSize, maxSamples - samples);
+			for (Judgment sample : sample(context, samples, wave)) {
+				if (sample.status() == JudgmentStatus.PASS) {
+					passVotes++;
+					logRatio += passStep;
+					passExample = passExample != null ? passExample : sample;
+				}
+				else if (sample.status() == JudgmentStatus.FAIL) {
+					failVotes++;
+					logRatio += failStep;
+					failExample = failExample != null ? failExample : sample;
+				}
+				else {
+					otherExample = otherExample != null ? otherExample : sample;
+				}
+			}
+			samples += wave;
+			settled = logRatio >= acceptBound || logRatio <= rejectBound;
+		}
+		if (passVotes + failVotes == 0) {
+			return otherExample;
+		}
+
+		double passProbability = passProbability(passVotes, failVotes);
+		JudgmentStatus status = passVotes > failVotes ? JudgmentStatus.PASS
+				: failVotes > passVotes ? JudgmentStatus.FAIL : JudgmentStatus.ABSTAIN;
+		Judgment example = status == JudgmentStatus.FAIL ? failExample
+				: passExample != null ? passExample : failExample;
+		double confidence = status == JudgmentStatus.PASS ? passProbability
+				: status == JudgmentStatus.FAIL ? 1 - passProbability : 0.5;
+		String summary = String.format("%d of %d samples passed%s", passVotes, passVotes + failVotes,
+				settled ? "" : " (not settled after " + samples + " samples)");
+
+		Map<String, Object> metadata = new HashMap<>(example.metadata());
+		metadata.put(SAMPLES, samples);
+		metadata.put(PASS_VOTES, passVotes);
+		metadata.put(FAIL_VOTES, failVotes);
+		metadata.put(CONFIDENCE, confidence);
+		return Judgment.builder()
+			.score(NumericalScore.normalized(passProbability))
+			.status(status)
+			.reasoning(summary + ". " + example.reasoning())
+			.checks(example.checks())
+			.metadata(metadata)
+			.build();
+	}
+
+	@Override
+	public JudgeMetadata metadata() {
+		return metadata;
+	}
+
+	/**
+	 * Create a new builder for SelfConsistencyJudge.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private List<Judgment> sample(JudgmentContext context, int first, int count) {
+		if (count == 1) {
+			return List.of(sampleOne(context, first));
+		}
+		// FutureTask rather than CompletableFuture, so cancelling interrupts the samples
+		List<FutureTask<Judgment>> tasks = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			int index = first + i;
+			FutureTask<Judgment> task = new FutureTask<>(() -> sampleOne(context, index));
+			tasks.add(task);
+			executor.execute(task);
+		}
+		List<Judgment> judgments = new ArrayList<>();
+		for (FutureTask<Judgment> task : tasks) {
+			try {
+				judgments.add(task.get());
+			}
+			catch (ExecutionException ex) {
+				judgments.add(Judgment.error("Sample failed: " + ex.getCause().getMessage(), ex.getCause()));
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				tasks.forEach(pending -> pending.cancel(true));
+				throw new CompletionException(ex);
+			}
+		}
+		return judgments;
+	}
+
+	private Judgment sampleOne(JudgmentContext context, int index) {
+		try {
+			return judge.judge(LLMJudgeOptions.sample(context, index));
+		}
+		catch (RuntimeException ex) {
+			if (Interruptions.isInterruption(ex)) {
+				throw ex;
+			}
+			return Judgment.error("Sample failed: " + ex.getMessage(), ex);
+		}
+	}
+
+	/**
+	 * Probability that the pass rate exceeds one half, under a uniform prior:
+	 * {@code P(Binomial(n + 1, 1/2) <= passVotes)} with {@code n} the number of votes.
+	 */
+	static double passProbability(int passVotes, int failVotes) {
+		int trials = passVotes + failVotes + 1;
+		double coefficient = 1;
+		double sum = 0;
+		for (int k = 0; k <= passVotes; k++) {
+			sum += coefficient;
+			coefficient = coefficient * (trials - k) / (k + 1);
+		}
+		return Math.min(1.0, sum / Math.pow(2, trials));
+	}
+
+	/**
+	 * Builder for SelfConsistencyJudge.
+	 */
+	public static final class Builder {
+
+		private Judge judge;
+
+		private int maxSamples = 7;
+
+		private int waveSize = 1;
+
+		private double margin = 0.3;
+
+		private double errorRate = 0.1;
+
+		private Executor executor;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the judge to sample.
+		 * @param judge the judge
+		 * @return this builder
+		 */
+		public Builder judge(Judge judge) {
+			this.judge = judge;
+			return this;
+		}
+
+		/**
+		 * Set the most samples taken for one judgment (default 7).
+		 * @param maxSamples maximum samples, between 1 and 100
+		 * @return this builder
+		 */
+		public Builder maxSamples(int maxSamples) {
+			if (maxSamples < 1 || maxSamples > 100) {
+				throw new IllegalArgumentException("maxSamples must be between 1 and 100");
+			}
+			this.maxSamples = maxSamples;
+			return this;
+		}
+
+		/**
+		 * Set how many samples are taken in parallel before testing again (default 1,
+		 * sequential).
+		 * @param waveSize samples per wave
+		 * @return this builder
+		 */
+		public Builder waveSize(int waveSize) {
+			if (waveSize < 1) {
+				throw new IllegalArgumentException("waveSize must be at least 1");
+			}
+			this.waveSize = waveSize;
+			return this;
+		}
+
+		/**
+		 * Set how far from one half the pass rates tested against each other are
+		 * (default 0.3, testing 0.8 against 0.2). Smaller margins need more samples.
+		 * @param margin distance from one half, between 0 and 0.5 exclusive
+		 * @return this builder
+		 */
+		public Builder margin(double margin) {
+			if (!(margin > 0 && margin < 0.5)) {
+				throw new IllegalArgumentException("margin must be between 0 and 0.5 exclusive");
+			}
+			this.margin = margin;
+			return this;
+		}
+
+		/**
+		 * Set the accepted probability of settling on the wrong verdict (default 0.1).
+		 * Smaller error rates need more samples.
+		 * @param errorRate error rate, between 0 and 0.5 exclusive
+		 * @return this builder
+		 */
+		public Builder errorRate(double errorRate) {
+			if (!(errorRate > 0 && errorRate < 0.5)) {
+				throw new IllegalArgumentException("errorRate must be between 0 and 0.5 exclusive");
+			}
+			this.errorRate = errorRate;
+			return this;
+		}
+
+		/**
+		 * Set the executor for parallel waves (default
+		 * {@link JudgeExecutors#virtualThreads()}).
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Build the SelfConsistencyJudge instance.
+		 * @return configured SelfConsistencyJudge
+		 * @throws IllegalStateException if no judge was set
+		 */
+		public SelfConsistencyJudge build() {
+			if (judge == null) {
+				throw new IllegalStateException("judge is required");
+			}
+			return new SelfConsistencyJudge(this);
+		}
+
+	}
+
+}
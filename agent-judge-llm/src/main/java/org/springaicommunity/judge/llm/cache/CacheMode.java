@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.cache;
+
+/**
+ * How an LLM judge uses its {@link LLMResponseCache} for a call.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public enum CacheMode {
+
+	/**
+	 * Serve cached responses and store new ones (the default).
+	 */
+	READ_WRITE,
+
+	/**
+	 * Always call the model, then replace the cached response.
+	 */
+	REFRESH,
+
+	/**
+	 * Call the model without reading or writing the cache.
+	 */
+	BYPASS
+
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.judge.cache.CacheStats;
+import org.springaicommunity.judge.llm.PromptKey;
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+/**
+ * Cache of LLM responses keyed by model options and prompt.
+ *
+ * <p>
+ * Re-running an evaluation, or judging several contexts that share goal and output,
+ * often produces exactly the same prompt. With a response cache configured (see
+ * {@code LLMJudgeOptions}), such calls are answered without a model round trip, saving
+ * both latency and token cost. Keys are {@link PromptKey}s of the cache namespace, the
+ * request {@link ChatOptions} and the prompt text; use the namespace to separate models
+ * configured outside the request options, for example on the {@code ChatModel}.
+ * </p>
+ *
+ * <p>
+ * Responses are kept in a bounded least-recently-used memory tier and, if a directory is
+ * configured, in a disk tier of one file per response that survives restarts and can be
+ * shared by several processes. Disk entries are written atomically; disk errors are
+ * logged and treated as misses. Both tiers honor the time-to-live.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * LLMResponseCache cache = LLMResponseCache.builder()
+ *     .namespace("gpt-4o-mini")
+ *     .maxEntries(5_000)
+ *     .timeToLive(Duration.ofDays(1))
+ *     .directory(Path.of(".judge-cache/llm"))
+ *     .build();
+ *
+ * Judge judge = new CorrectnessJudge(chatClientBuilder,
+ *     LLMJudgeOptions.builder().responseCache(cache).build());
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class LLMResponseCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(LLMResponseCache.class);
+
+	private final String namespace;
+
+	private final Duration timeToLive;
+
+	private final Path directory;
+
+	private final Clock clock;
+
+	private final Map<String, Entry> memory;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	private LLMResponseCache(String namespace, int maxEntries, Duration timeToLive, Path directory, Clock clock) {
+		this.namespace = namespace;
+		this.timeToLive = timeToLive;
+		this.directory = directory;
+		this.clock = clock;
+		this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() > maxEntries) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Compute the cache key of a request.
+	 * @param prompt the prompt text
+	 * @param options the request options (may be null)
+	 * @return hex-encoded key
+	 */
+	public String key(String prompt, ChatOptions options) {
+		return PromptKey.of(namespace, prompt, options);
+	}
+
+	/**
+	 * Look up a response, first in memory and then on disk.
+	 * @param key the cache key
+	 * @return the cached response, or empty if absent or expired
+	 */
+	public Optional<String> get(String key) {
+		long now = clock.millis();
+		synchronized (this) {
+			Entry entry = memory.get(key);
+			if (entry != null) {
+				if (!isExpired(entry.storedAt(), now)) {
+					hitCount++;
+					return Optional.of(entry.response());
+				}
+				memory.remove(key);
+			}
+		}
+		Entry stored = readDisk(key, now);
+		synchronized (this) {
+			if (stored == null) {
+				missCount++;
+				return Optional.empty();
+			}
+			hitCount++;
+			memory.put(key, stored);
+			return Optional.of(stored.response());
+		}
+	}
+
+	/**
+	 * Store a response in memory and, if configured, on disk.
+	 * @param key the cache key
+	 * @param response the response text
+	 */
+	public void put(String key, String response) {
+		Objects.requireNonNull(response, "response must not be null");
+		Entry entry = new Entry(response, clock.millis());
+		synchronized (this) {
+			memory.put(key, entry);
+		}
+		writeDisk(key, entry);
+	}
+
+	/**
+	 * Remove all responses from both tiers.
+	 */
+	public void invalidateAll() {
+		synchronized (this) {
+			memory.clear();
+		}
+		if (directory != null && Files.isDirectory(directory)) {
+			try (Stream<Path> files = Files.walk(directory)) {
+				files.sorted(Comparator.reverseOrder()).filter(path -> !path.equals(directory)).forEach(path -> {
+					try {
+						Files.deleteIfExists(path);
+					}
+					catch (IOException ex) {
+						logger.warn("Failed to delete cached response {}: {}", path, ex.getMessage());
+					}
+				});
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to clear response cache {}: {}", directory, ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Get current statistics. Hits include responses found on disk; the size and
+	 * evictions refer to the memory tier.
+	 * @return cache statistics
+	 */
+	public synchronized CacheStats stats() {
+		return new CacheStats(hitCount, missCount, evictionCount, memory.size());
+	}
+
+	/**
+	 * Create a new builder for LLMResponseCache.
+	 * @return builder instance
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private boolean isExpired(long storedAt, long now) {
+		return timeToLive != null && now - storedAt >= timeToLive.toMillis();
+	}
+
+	private Path diskPath(String key) {
+		return directory.resolve(key.substring(0, 2)).resolve(key);
+	}
+
+	private Entry readDisk(String key, long now) {
+		if (directory == null) {
+			return null;
+		}
+		Path path = diskPath(key);
+		try {
+			String content = Files.readString(path, StandardCharsets.UTF_8);
+			int newline = content.indexOf('\n');
+			long storedAt = Long.parseLong(content.substring(0, newline));
+			if (isExpired(storedAt, now)) {
+				Files.deleteIfExists(path);
+				return null;
+			}
+			return new Entry(content.substring(newline + 1), storedAt);
+		}
+		catch (NoSuchFileException ex) {
+			return null;
+		}
+		catch (IOException | RuntimeException ex) {
+			logger.warn("Ignoring unreadable cached response {}: {}", path, ex.getMessage());
+			return null;
+		}
+	}
+
+	private void writeDisk(String key, Entry entry) {
+		if (directory == null) {
+			return;
+		}
+		Path path = diskPath(key);
+		try {
+			Files.createDirectories(path.getParent());
+			Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+			try {
+				Files.writeString(temp, entry.storedAt() + "\n" + entry.response(), StandardCharsets.UTF_8);
+				Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			finally {
+				Files.deleteIfExists(temp);
+			}
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to store response in {}: {}", path, ex.getMessage());
+		}
+	}
+
+	private record Entry(String response, long storedAt) {
+	}
+
+	/**
+	 * Builder for LLMResponseCache.
+	 */
+	public static class Builder {
+
+		private String namespace = "";
+
+		private int maxEntries = 1_000;
+
+		private Duration timeToLive;
+
+		private Path directory;
+
+		private Clock clock = Clock.systemUTC();
+
+		/**
+		 * Set a namespace that is part of every key, such as the model name.
+		 * @param namespace the namespace
+		 * @return this builder
+		 */
+		public Builder namespace(String namespace) {
+			this.namespace = namespace != null ? namespace : "";
+			return this;
+		}
+
+		/**
+		 * Set the maximum number of responses kept in memory (default 1000).
+		 * @param maxEntries maximum memory entries
+		 * @return this builder
+		 */
+		public Builder maxEntries(int maxEntries) {
+			if (maxEntries < 1) {
+				throw new IllegalArgumentException("maxEntries must be at least 1");
+			}
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/**
+		 * Expire responses a fixed time after they were stored.
+		 * @param timeToLive time to live (null for no expiry, the default)
+		 * @return this builder
+		 */
+		public Builder timeToLive(Duration timeToLive) {
+			if (timeToLive != null && (timeToLive.isZero() || timeToLive.isNegative())) {
+				throw new IllegalArgumentException("Time to live must be positive");
+			}
+			this.timeToLive = timeToLive;
+			return this;
+		}
+
+		/**
+		 * Enable the disk tier in the given directory.
+		 * @param directory the directory for cached responses (null to disable)
+		 * @return this builder
+		 */
+		public Builder directory(Path directory) {
+			this.directory = directory;
+			return this;
+		}
+
+		/**
+		 * Set the clock used for expiry (for testing).
+		 * @param clock the clock
+		 * @return this builder
+		 */
+		public Builder clock(Clock clock) {
+			if (clock == null) {
+				throw new IllegalArgumentException("Clock must not be null");
+			}
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Build the LLMResponseCache instance.
+		 * @return configured cache
+		 */
+		public LLMResponseCache build() {
+			return new LLMResponseCache(namespace, maxEntries, timeToLive, directory, clock);
+		}
+
+	}
+
+}
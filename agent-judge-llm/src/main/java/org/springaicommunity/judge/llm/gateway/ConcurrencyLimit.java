@@ -0,0 +1,104 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.gateway;
+
+/**
+ * Concurrency limit adapted to observed latency and rate limiting.
+ *
+ * <p>
+ * Additive increase, multiplicative decrease: each successful call that was made while
+ * the limit was mostly in use grows the limit by {@code 1/limit}, so it grows by about
+ * one per round trip. Latency is tracked by two moving averages: a short-term one over
+ * roughly the last ten calls and a long-term baseline over a few hundred. When the
+ * short-term average exceeds {@code tolerance} times the baseline, the provider is
+ * queueing and the limit shrinks by 10%; a rate-limited call halves it. Averaging keeps
+ * a mix of short and long answers from reading as queueing, and the slow baseline follows
+ * drifts in prompt size or provider load. Until a baseline has been established over the
+ * first calls the limit only reacts to rate limiting.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+final class ConcurrencyLimit {
+
+	private static final double LATENCY_BACKOFF = 0.9;
+
+	private static final double RATE_LIMIT_BACKOFF = 0.5;
+
+	private static final int WARMUP_SAMPLES = 32;
+
+	private static final double SHORT_TERM_WEIGHT = 0.1;
+
+	private static final double BASELINE_WEIGHT = 1.0 / 256;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final double tolerance;
+
+	private double limit;
+
+	private double shortTermNanos;
+
+	private double baselineNanos;
+
+	private long samples;
+
+	ConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+	}
+
+	synchronized int current() {
+		return (int) limit;
+	}
+
+	/**
+	 * Record a successful call.
+	 * @param latencyNanos latency of the call
+	 * @param inFlight calls in flight when it started, including itself
+	 */
+	synchronized void onSuccess(long latencyNanos, int inFlight) {
+		if (++samples <= WARMUP_SAMPLES) {
+			// Both averages start as the plain mean of the first calls
+			shortTermNanos += (latencyNanos - shortTermNanos) / samples;
+			baselineNanos = shortTermNanos;
+		}
+		else {
+			shortTermNanos += (latencyNanos - shortTermNanos) * SHORT_TERM_WEIGHT;
+			baselineNanos += (latencyNanos - baselineNanos) * BASELINE_WEIGHT;
+		}
+		if (shortTermNanos > baselineNanos * tolerance) {
+			limit = Math.max(minLimit, limit * LATENCY_BACKOFF);
+		}
+		else if (inFlight * 2 >= limit) {
+			limit = Math.min(maxLimit, limit + 1 / limit);
+		}
+	}
+
+	/**
+	 * Record a call rejected by the provider's rate limit.
+	 */
+	synchronized void onRateLimited() {
+		limit = Math.max(minLimit, limit * RATE_LIMIT_BACKOFF);
+	}
+
+}
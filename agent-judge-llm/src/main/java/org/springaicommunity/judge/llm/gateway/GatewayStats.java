@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.gateway;
+
+/**
+ * Point-in-time statistics of an {@link LLMGateway}.
+ *
+ * @param queueDepth calls waiting for a rate-limit permit or a concurrency slot
+ * @param inFlight calls currently with the model
+ * @param concurrencyLimit current adaptive concurrency limit
+ * @param completedCount calls that returned a response
+ * @param rateLimitedCount calls the provider rejected with a rate limit, including
+ * retried ones
+ * @param rejectedCount calls the gateway refused because its queue was full or the wait
+ * was too long
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public record GatewayStats(int queueDepth, int inFlight, int concurrencyLimit, long completedCount,
+		long rateLimitedCount, long rejectedCount) {
+
+}
@@ -0,0 +1,581 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.gateway;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.judge.llm.prompt.TokenEstimator;
+import org.springframework.ai.chat.prompt.ChatOptions;
+
+/**
+ * Throttle shared by the LLM judges that call one provider account.
+ *
+ * <p>
+ * Without a gateway every judge calls its model as soon as it is asked, so a large batch
+ * quickly exceeds the provider's rate limits and the rejected calls surface as
+ * {@code ERROR} judgments. A gateway (see {@code LLMJudgeOptions}) makes each call wait
+ * for:
+ * </p>
+ * <ul>
+ * <li>a request permit, if a requests-per-minute limit is set;</li>
+ * <li>token permits for the estimated prompt and completion size, if a tokens-per-minute
+ * limit is set. Tokens are estimated at four characters each plus the request's
+ * {@code maxTokens} (or the configured completion estimate), and corrected once the
+ * response is known;</li>
+ * <li>a concurrency slot. The concurrency limit adapts to the provider: it grows while
+ * recent latency stays near its long-term average, shrinks when it rises well above it
+ * (the provider is queueing) and halves when a call is rate limited.</li>
+ * </ul>
+ *
+ * <p>
+ * Rate-limited calls (HTTP 429, recognized from the exception by default) are retried
+ * with exponential backoff. Calls are refused with a {@link RejectedExecutionException}
+ * when the queue is full or the wait would exceed the maximum wait; interrupted calls
+ * fail with a {@link CompletionException}. {@link #stats()} exposes the queue depth and
+ * limit for monitoring.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * LLMGateway gateway = LLMGateway.builder()
+ *     .requestsPerMinute(500)
+ *     .tokensPerMinute(200_000)
+ *     .maxConcurrency(32)
+ *     .maxWait(Duration.ofMinutes(2))
+ *     .build();
+ *
+ * LLMJudgeOptions options = LLMJudgeOptions.builder().gateway(gateway).build();
+ * Judge correctness = new CorrectnessJudge(chatClientBuilder, options);
+ * Judge quality = new CodeQualityJudge(chatClientBuilder, options);
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class LLMGateway {
+
+	private static final Logger logger = LoggerFactory.getLogger(LLMGateway.class);
+
+	private static final TokenEstimator TOKENS = TokenEstimator.approximate();
+
+	/**
+	 * Status 429 named as such in an exception message, not any number containing 429.
+	 */
+	private static final Pattern RATE_LIMITED_MESSAGE = Pattern
+		.compile("(?i)\\b(?:HTTP(?:/[\\d.]+)?|status(?:\\W?code)?)\\W{0,3}429\\b|\\b429\\W{0,3}Too Many Requests");
+
+	private static final String[] STATUS_ACCESSORS = { "getStatusCode", "getRawStatusCode", "statusCode" };
+
+	private final TokenBucket requests;
+
+	private final TokenBucket tokens;
+
+	private final ConcurrencyLimit limit;
+
+	private final int maxQueueDepth;
+
+	private final Duration maxWait;
+
+	private final int rateLimitRetries;
+
+	private final Duration retryBackoff;
+
+	private final Predicate<Throwable> rateLimited;
+
+	private final int completionTokens;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition slotAvailable = lock.newCondition();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicLong completedCount = new AtomicLong();
+
+	private final AtomicLong rateLimitedCount = new AtomicLong();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	private int inFlight;
+
+	private LLMGateway(Builder builder) {
+		this.requests = builder.requestsPerMinute > 0 ? new TokenBucket(builder.requestsPerMinute, System::nanoTime)
+				: null;
+		this.tokens = builder.tokensPerMinute > 0 ? new TokenBucket(builder.tokensPerMinute, System::nanoTime) : null;
+		int initialConcurrency = Math.max(builder.minConcurrency,
+				Math.min(builder.maxConcurrency, builder.initialConcurrency));
+		this.limit = new ConcurrencyLimit(initialConcurrency, builder.minConcurrency, builder.maxConcurrency,
+				builder.latencyTolerance);
+		this.maxQueueDepth = builder.maxQueueDepth;
+		this.maxWait = builder.maxWait;
+		this.rateLimitRetries = builder.rateLimitRetries;
+		this.retryBackoff = builder.retryBackoff;
+		this.rateLimited = builder.rateLimited;
+		this.completionTokens = builder.completionTokens;
+	}
+
+	/**
+	 * Make a model call once the rate and concurrency limits allow it.
+	 * @param prompt the prompt text, used to estimate tokens
+	 * @param options the request options (may be null); {@code maxTokens} bounds the
+	 * completion estimate
+	 * @param call the model call
+	 * @return the response
+	 * @throws RejectedExecutionException if the queue is full or the wait would exceed
+	 * the maximum wait
+	 * @throws CompletionException if interrupted while waiting
+	 */
+	public String call(String prompt, ChatOptions options, Supplier<String> call) {
+		long deadline = maxWait != null ? System.nanoTime() + maxWait.toNanos() : Long.MAX_VALUE;
+		int estimate = estimateTokens(prompt) + completionTokens(options);
+		for (int attempt = 0;; attempt++) {
+			acquire(estimate, deadline);
+			long start = System.nanoTime();
+			int concurrent = inFlight();
+			try {
+				String response = call.get();
+				limit.onSuccess(System.nanoTime() - start, concurrent);
+				completedCount.incrementAndGet();
+				if (tokens != null) {
+					tokens.release(estimate - estimateTokens(prompt) - estimateTokens(response));
+				}
+				return response;
+			}
+			catch (RuntimeException ex) {
+				if (!rateLimited.test(ex)) {
+					throw ex;
+				}
+				rateLimitedCount.incrementAndGet();
+				limit.onRateLimited();
+				if (attempt >= rateLimitRetries) {
+					throw ex;
+				}
+				logger.debug("Model call rate limited, retrying (attempt {} of {})", attempt + 1, rateLimitRetries);
+			}
+			finally {
+				releaseSlot();
+			}
+			backoff(retryBackoff.toNanos() << Math.min(attempt, 16), deadline);
+		}
+	}
+
+	/**
+	 * Get the current statistics.
+	 * @return statistics snapshot
+	 */
+	public GatewayStats stats() {
+		return new GatewayStats(queued.get(), inFlight(), limit.current(), completedCount.get(),
+				rateLimitedCount.get(), rejectedCount.get());
+	}
+
+	/**
+	 * Create a new builder for LLMGateway.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private void acquire(int estimate, long deadline) {
+		long wait = requests != null ? requests.reserve(1) : 0;
+		if (tokens != null) {
+			wait = Math.max(wait, tokens.reserve(estimate));
+		}
+		if (wait > deadline - System.nanoTime()) {
+			refund(estimate);
+			throw reject("LLM gateway rate limit wait of " + TimeUnit.NANOSECONDS.toMillis(wait)
+					+ " ms exceeds the maximum wait");
+		}
+		boolean waiting = false;
+		try {
+			if (wait > 0) {
+				enqueue();
+				waiting = true;
+				TimeUnit.NANOSECONDS.sleep(wait);
+			}
+			acquireSlot(deadline, waiting);
+		}
+		catch (InterruptedException ex) {
+			refund(estimate);
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		catch (RejectedExecutionException ex) {
+			refund(estimate);
+			throw ex;
+		}
+		finally {
+			if (waiting) {
+				queued.decrementAndGet();
+			}
+		}
+	}
+
+	private void acquireSlot(long deadline, boolean waiting) throws InterruptedException {
+		boolean enqueued = false;
+		lock.lockInterruptibly();
+		try {
+			while (inFlight >= limit.current()) {
+				if (!waiting && !enqueued) {
+					enqueue();
+					enqueued = true;
+				}
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					throw reject("LLM gateway concurrency wait exceeds the maximum wait");
+				}
+				slotAvailable.awaitNanos(remaining);
+			}
+			inFlight++;
+		}
+		finally {
+			if (enqueued) {
+				queued.decrementAndGet();
+			}
+			lock.unlock();
+		}
+	}
+
+	private void enqueue() {
+		if (queued.incrementAndGet() > maxQueueDepth) {
+			queued.decrementAndGet();
+			throw reject("LLM gateway queue is full (" + maxQueueDepth + " waiting)");
+		}
+	}
+
+	private void releaseSlot() {
+		lock.lock();
+		try {
+			inFlight--;
+			slotAvailable.signalAll();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private int inFlight() {
+		lock.lock();
+		try {
+			return inFlight;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void refund(int estimate) {
+		if (requests != null) {
+			requests.release(1);
+		}
+		if (tokens != null) {
+			tokens.release(estimate);
+		}
+	}
+
+	private void backoff(long nanos, long deadline) {
+		if (nanos > deadline - System.nanoTime()) {
+			throw reject("LLM gateway retry backoff exceeds the maximum wait");
+		}
+		try {
+			TimeUnit.NANOSECONDS.sleep(nanos);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+	}
+
+	private RejectedExecutionException reject(String message) {
+		rejectedCount.incrementAndGet();
+		return new RejectedExecutionException(message);
+	}
+
+	private int completionTokens(ChatOptions options) {
+		Integer maxTokens = options != null ? options.getMaxTokens() : null;
+		return maxTokens != null ? maxTokens : completionTokens;
+	}
+
+	private static int estimateTokens(String text) {
+		return TOKENS.estimate(text);
+	}
+
+	/**
+	 * Recognize HTTP 429 responses anywhere in the cause chain: from an exception type
+	 * such as {@code HttpClientErrorException.TooManyRequests}, a status code exposed by
+	 * {@code getStatusCode()}, or a message naming the status (for example
+	 * {@code "HTTP 429"} or {@code "429 Too Many Requests"}).
+	 */
+	private static boolean isRateLimited(Throwable ex) {
+		for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+			String type = cause.getClass().getSimpleName();
+			String message = cause.getMessage();
+			if (type.contains("TooManyRequests") || type.contains("RateLimit") || statusCode(cause) == 429
+					|| (message != null && RATE_LIMITED_MESSAGE.matcher(message).find())) {
+				return true;
+			}
+			if (cause.getCause() == cause) {
+				break;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Read the HTTP status of client exceptions that expose one, without depending on a
+	 * particular HTTP client.
+	 * @return the status code, or -1 if the exception has none
+	 */
+	private static int statusCode(Throwable ex) {
+		for (String accessor : STATUS_ACCESSORS) {
+			try {
+				Object status = ex.getClass().getMethod(accessor).invoke(ex);
+				if (status instanceof Integer code) {
+					return code;
+				}
+				if (status != null && status.getClass().getMethod("value").invoke(status) instanceof Integer code) {
+					return code;
+				}
+			}
+			catch (ReflectiveOperationException | RuntimeException ignored) {
+				// Not a status-bearing exception; try the next accessor
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Builder for LLMGateway.
+	 */
+	public static final class Builder {
+
+		private double requestsPerMinute;
+
+		private double tokensPerMinute;
+
+		private int initialConcurrency = 8;
+
+		private int minConcurrency = 1;
+
+		private int maxConcurrency = 64;
+
+		private double latencyTolerance = 2.0;
+
+		private int maxQueueDepth = Integer.MAX_VALUE;
+
+		private Duration maxWait;
+
+		private int rateLimitRetries = 3;
+
+		private Duration retryBackoff = Duration.ofSeconds(1);
+
+		private Predicate<Throwable> rateLimited = LLMGateway::isRateLimited;
+
+		private int completionTokens = 512;
+
+		private Builder() {
+		}
+
+		/**
+		 * Limit the request rate (unlimited by default).
+		 * @param requestsPerMinute requests allowed per minute, also the burst size
+		 * @return this builder
+		 */
+		public Builder requestsPerMinute(double requestsPerMinute) {
+			if (requestsPerMinute <= 0) {
+				throw new IllegalArgumentException("requestsPerMinute must be positive");
+			}
+			this.requestsPerMinute = requestsPerMinute;
+			return this;
+		}
+
+		/**
+		 * Limit the estimated token rate (unlimited by default).
+		 * @param tokensPerMinute prompt and completion tokens allowed per minute
+		 * @return this builder
+		 */
+		public Builder tokensPerMinute(double tokensPerMinute) {
+			if (tokensPerMinute <= 0) {
+				throw new IllegalArgumentException("tokensPerMinute must be positive");
+			}
+			this.tokensPerMinute = tokensPerMinute;
+			return this;
+		}
+
+		/**
+		 * Set the starting concurrency limit (default 8).
+		 * @param initialConcurrency concurrent calls allowed initially
+		 * @return this builder
+		 */
+		public Builder initialConcurrency(int initialConcurrency) {
+			if (initialConcurrency < 1) {
+				throw new IllegalArgumentException("initialConcurrency must be at least 1");
+			}
+			this.initialConcurrency = initialConcurrency;
+			return this;
+		}
+
+		/**
+		 * Set the lowest concurrency limit (default 1).
+		 * @param minConcurrency lower bound of the adaptive limit
+		 * @return this builder
+		 */
+		public Builder minConcurrency(int minConcurrency) {
+			if (minConcurrency < 1) {
+				throw new IllegalArgumentException("minConcurrency must be at least 1");
+			}
+			this.minConcurrency = minConcurrency;
+			return this;
+		}
+
+		/**
+		 * Set the highest concurrency limit (default 64).
+		 * @param maxConcurrency upper bound of the adaptive limit
+		 * @return this builder
+		 */
+		public Builder maxConcurrency(int maxConcurrency) {
+			if (maxConcurrency < 1) {
+				throw new IllegalArgumentException("maxConcurrency must be at least 1");
+			}
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/**
+		 * Set how much slower than its long-term average the recent latency may get
+		 * before the concurrency limit shrinks (default 2.0).
+		 * @param latencyTolerance latency ratio, greater than 1
+		 * @return this builder
+		 */
+		public Builder latencyTolerance(double latencyTolerance) {
+			if (!(latencyTolerance > 1.0)) {
+				throw new IllegalArgumentException("latencyTolerance must be greater than 1");
+			}
+			this.latencyTolerance = latencyTolerance;
+			return this;
+		}
+
+		/**
+		 * Refuse calls when this many are already waiting (unbounded by default).
+		 * @param maxQueueDepth maximum number of waiting calls
+		 * @return this builder
+		 */
+		public Builder maxQueueDepth(int maxQueueDepth) {
+			if (maxQueueDepth < 0) {
+				throw new IllegalArgumentException("maxQueueDepth must not be negative");
+			}
+			this.maxQueueDepth = maxQueueDepth;
+			return this;
+		}
+
+		/**
+		 * Refuse calls that would wait longer than this in total (unbounded by default).
+		 * @param maxWait maximum time spent waiting for permits, slots and retries
+		 * @return this builder
+		 */
+		public Builder maxWait(Duration maxWait) {
+			if (maxWait == null || maxWait.isNegative()) {
+				throw new IllegalArgumentException("maxWait must not be null or negative");
+			}
+			this.maxWait = maxWait;
+			return this;
+		}
+
+		/**
+		 * Set how often a rate-limited call is retried (default 3).
+		 * @param rateLimitRetries retries after the first attempt
+		 * @return this builder
+		 */
+		public Builder rateLimitRetries(int rateLimitRetries) {
+			if (rateLimitRetries < 0) {
+				throw new IllegalArgumentException("rateLimitRetries must not be negative");
+			}
+			this.rateLimitRetries = rateLimitRetries;
+			return this;
+		}
+
+		/**
+		 * Set the backoff before the first retry, doubled for each further retry
+		 * (default 1 second).
+		 * @param retryBackoff initial backoff
+		 * @return this builder
+		 */
+		public Builder retryBackoff(Duration retryBackoff) {
+			if (retryBackoff == null || retryBackoff.isNegative()) {
+				throw new IllegalArgumentException("retryBackoff must not be null or negative");
+			}
+			this.retryBackoff = retryBackoff;
+			return this;
+		}
+
+		/**
+		 * Set how rate-limit failures are recognized (by default an HTTP 429 status in
+		 * the exception type, status code or message).
+		 * @param rateLimited predicate on the exception thrown by the call
+		 * @return this builder
+		 */
+		public Builder rateLimitedWhen(Predicate<Throwable> rateLimited) {
+			if (rateLimited == null) {
+				throw new IllegalArgumentException("rateLimited must not be null");
+			}
+			this.rateLimited = rateLimited;
+			return this;
+		}
+
+		/**
+		 * Set the completion size assumed for requests without {@code maxTokens}
+		 * (default 512).
+		 * @param completionTokens estimated completion tokens
+		 * @return this builder
+		 */
+		public Builder completionTokens(int completionTokens) {
+			if (completionTokens < 0) {
+				throw new IllegalArgumentException("completionTokens must not be negative");
+			}
+			this.completionTokens = completionTokens;
+			return this;
+		}
+
+		/**
+		 * Build the LLMGateway instance.
+		 * @return configured gateway
+		 * @throws IllegalStateException if the minimum concurrency exceeds the maximum
+		 */
+		public LLMGateway build() {
+			if (minConcurrency > maxConcurrency) {
+				throw new IllegalStateException("minConcurrency must not exceed maxConcurrency");
+			}
+			return new LLMGateway(this);
+		}
+
+	}
+
+}
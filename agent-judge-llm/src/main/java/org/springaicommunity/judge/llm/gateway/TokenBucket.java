@@ -0,0 +1,88 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.gateway;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket refilled continuously at a per-minute rate.
+ *
+ * <p>
+ * Callers reserve permits and are told how long to wait before using them. A reservation
+ * larger than the available permits puts the bucket in debt, so later callers wait
+ * behind earlier ones and a request larger than the whole bucket still proceeds once it
+ * is full.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+final class TokenBucket {
+
+	private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+	private final double capacity;
+
+	private final double permitsPerNano;
+
+	private final LongSupplier ticker;
+
+	private double available;
+
+	private long refilledAt;
+
+	TokenBucket(double permitsPerMinute, LongSupplier ticker) {
+		this.capacity = permitsPerMinute;
+		this.permitsPerNano = permitsPerMinute / NANOS_PER_MINUTE;
+		this.ticker = ticker;
+		this.available = permitsPerMinute;
+		this.refilledAt = ticker.getAsLong();
+	}
+
+	/**
+	 * Reserve permits.
+	 * @param permits permits to take
+	 * @return nanoseconds to wait before the permits may be used, zero if available now
+	 */
+	synchronized long reserve(double permits) {
+		refill();
+		double shortfall = Math.min(permits, capacity) - available;
+		available -= permits;
+		return shortfall <= 0 ? 0 : (long) Math.ceil(shortfall / permitsPerNano);
+	}
+
+	/**
+	 * Give back permits that were reserved but not used.
+	 * @param permits permits to return (negative to take more)
+	 */
+	synchronized void release(double permits) {
+		refill();
+		available = Math.min(capacity, available + permits);
+	}
+
+	synchronized double available() {
+		refill();
+		return available;
+	}
+
+	private void refill() {
+		long now = ticker.getAsLong();
+		available = Math.min(capacity, available + (now - refilledAt) * permitsPerNano);
+		refilledAt = now;
+	}
+
+}
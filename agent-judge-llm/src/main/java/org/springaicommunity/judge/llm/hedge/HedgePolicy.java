@@ -0,0 +1,242 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.hedge;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import org.springaicommunity.judge.concurrent.JudgeExecutors;
+
+/**
+ * Settings for hedging slow LLM judge calls.
+ *
+ * <p>
+ * A policy is configuration only and may be shared by several judges (see
+ * {@code LLMJudgeOptions}); each judge creates its own {@link RequestHedger} from it, so
+ * latencies are tracked per judge.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * LLMJudgeOptions options = LLMJudgeOptions.builder()
+ *     .hedgePolicy(HedgePolicy.builder()
+ *         .percentile(0.95)
+ *         .maxHedgeRatio(0.05)
+ *         .build())
+ *     .build();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class HedgePolicy {
+
+	private final double percentile;
+
+	private final double maxHedgeRatio;
+
+	private final int minSamples;
+
+	private final int windowSize;
+
+	private final Duration minDelay;
+
+	private final Executor executor;
+
+	private HedgePolicy(Builder builder) {
+		this.percentile = builder.percentile;
+		this.maxHedgeRatio = builder.maxHedgeRatio;
+		this.minSamples = builder.minSamples;
+		this.windowSize = builder.windowSize;
+		this.minDelay = builder.minDelay;
+		this.executor = builder.executor != null ? builder.executor : JudgeExecutors.virtualThreads();
+	}
+
+	/**
+	 * Get the latency percentile after which a duplicate request is sent.
+	 * @return percentile between 0 and 1
+	 */
+	public double percentile() {
+		return percentile;
+	}
+
+	/**
+	 * Get the largest fraction of calls that may send a duplicate request.
+	 * @return hedge ratio
+	 */
+	public double maxHedgeRatio() {
+		return maxHedgeRatio;
+	}
+
+	/**
+	 * Get the number of latencies recorded before hedging starts.
+	 * @return minimum sample count
+	 */
+	public int minSamples() {
+		return minSamples;
+	}
+
+	/**
+	 * Get the number of calls per latency window.
+	 * @return window size
+	 */
+	public int windowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * Get the shortest wait before a duplicate request is sent.
+	 * @return minimum delay
+	 */
+	public Duration minDelay() {
+		return minDelay;
+	}
+
+	/**
+	 * Get the executor that runs hedged calls.
+	 * @return executor
+	 */
+	public Executor executor() {
+		return executor;
+	}
+
+	/**
+	 * Create a new builder for HedgePolicy.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for HedgePolicy.
+	 */
+	public static final class Builder {
+
+		private double percentile = 0.95;
+
+		private double maxHedgeRatio = 0.05;
+
+		private int minSamples = 20;
+
+		private int windowSize = 500;
+
+		private Duration minDelay = Duration.ZERO;
+
+		private Executor executor;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the latency percentile after which a duplicate request is sent (default
+		 * 0.95).
+		 * @param percentile percentile between 0 and 1 exclusive
+		 * @return this builder
+		 */
+		public Builder percentile(double percentile) {
+			if (!(percentile > 0 && percentile < 1)) {
+				throw new IllegalArgumentException("percentile must be between 0 and 1 exclusive");
+			}
+			this.percentile = percentile;
+			return this;
+		}
+
+		/**
+		 * Set the largest fraction of calls that may send a duplicate request (default
+		 * 0.05). Unused budget accumulates for at most 100 calls, so bursts of slow
+		 * calls cannot double the load.
+		 * @param maxHedgeRatio ratio between 0 exclusive and 1
+		 * @return this builder
+		 */
+		public Builder maxHedgeRatio(double maxHedgeRatio) {
+			if (!(maxHedgeRatio > 0 && maxHedgeRatio <= 1)) {
+				throw new IllegalArgumentException("maxHedgeRatio must be greater than 0 and at most 1");
+			}
+			this.maxHedgeRatio = maxHedgeRatio;
+			return this;
+		}
+
+		/**
+		 * Set the number of latencies recorded before hedging starts (default 20).
+		 * @param minSamples minimum sample count
+		 * @return this builder
+		 */
+		public Builder minSamples(int minSamples) {
+			if (minSamples < 1) {
+				throw new IllegalArgumentException("minSamples must be at least 1");
+			}
+			this.minSamples = minSamples;
+			return this;
+		}
+
+		/**
+		 * Set the number of calls per latency window (default 500). Percentiles are
+		 * computed from the last one to two windows.
+		 * @param windowSize window size
+		 * @return this builder
+		 */
+		public Builder windowSize(int windowSize) {
+			if (windowSize < 1) {
+				throw new IllegalArgumentException("windowSize must be at least 1");
+			}
+			this.windowSize = windowSize;
+			return this;
+		}
+
+		/**
+		 * Set the shortest wait before a duplicate request is sent (default none).
+		 * @param minDelay minimum delay
+		 * @return this builder
+		 */
+		public Builder minDelay(Duration minDelay) {
+			if (minDelay == null || minDelay.isNegative()) {
+				throw new IllegalArgumentException("minDelay must not be null or negative");
+			}
+			this.minDelay = minDelay;
+			return this;
+		}
+
+		/**
+		 * Set the executor that runs hedged calls (default
+		 * {@link JudgeExecutors#virtualThreads()}). Both the original and the duplicate
+		 * request run on it while the caller waits, so it must not be a small pool.
+		 * @param executor the executor
+		 * @return this builder
+		 */
+		public Builder executor(Executor executor) {
+			this.executor = executor;
+			return this;
+		}
+
+		/**
+		 * Build the HedgePolicy instance.
+		 * @return configured policy
+		 * @throws IllegalStateException if minSamples exceeds windowSize
+		 */
+		public HedgePolicy build() {
+			if (minSamples > windowSize) {
+				throw new IllegalStateException("minSamples must not exceed windowSize");
+			}
+			return new HedgePolicy(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.hedge;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time statistics of a {@link RequestHedger}.
+ *
+ * @param callCount calls made through the hedger
+ * @param hedgeCount calls that sent a duplicate request
+ * @param hedgeWinCount calls answered by the duplicate request first
+ * @param hedgeDelay current wait before a duplicate is sent, or null while too few
+ * latencies are recorded to hedge
+ * @param sampleCount recent latencies the delay is computed from
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public record HedgeStats(long callCount, long hedgeCount, long hedgeWinCount, Duration hedgeDelay, int sampleCount) {
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.hedge;
+
+import java.util.Arrays;
+
+/**
+ * Log-bucketed histogram of recent call latencies.
+ *
+ * <p>
+ * Buckets grow by a factor of {@code 2^(1/8)} (about 9%) from one millisecond, so a
+ * percentile is never more than one bucket above the true value. Only recent latencies
+ * count: samples are recorded in a current window, and once it holds
+ * {@code windowSize} samples it replaces the previous window. Percentiles are read from
+ * both windows, so they reflect the last {@code windowSize} to {@code 2 * windowSize}
+ * calls.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+final class LatencyHistogram {
+
+	private static final int BUCKETS = 192;
+
+	private static final double GROWTH = Math.pow(2, 1.0 / 8);
+
+	private static final double LOG_GROWTH = Math.log(GROWTH);
+
+	private static final long MILLISECOND = 1_000_000L;
+
+	private final int windowSize;
+
+	private long[] current = new long[BUCKETS];
+
+	private long[] previous = new long[BUCKETS];
+
+	private int currentCount;
+
+	private int previousCount;
+
+	LatencyHistogram(int windowSize) {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("windowSize must be at least 1");
+		}
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Record the latency of one call.
+	 * @param nanos latency in nanoseconds
+	 */
+	synchronized void record(long nanos) {
+		if (currentCount >= windowSize) {
+			long[] recycled = previous;
+			Arrays.fill(recycled, 0);
+			previous = current;
+			previousCount = currentCount;
+			current = recycled;
+			currentCount = 0;
+		}
+		current[bucket(nanos)]++;
+		currentCount++;
+	}
+
+	/**
+	 * Get the latency below which the given fraction of recent calls completed.
+	 * @param percentile fraction between 0 and 1
+	 * @return upper bound of the bucket holding the percentile, in nanoseconds, or -1 if
+	 * nothing was recorded
+	 */
+	synchronized long percentile(double percentile) {
+		int total = currentCount + previousCount;
+		if (total == 0) {
+			return -1;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile * total));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += current[i] + previous[i];
+			if (seen >= rank) {
+				return upperBound(i);
+			}
+		}
+		return upperBound(BUCKETS - 1);
+	}
+
+	/**
+	 * Get the number of latencies percentiles are read from.
+	 * @return recent sample count
+	 */
+	synchronized int count() {
+		return currentCount + previousCount;
+	}
+
+	static int bucket(long nanos) {
+		if (nanos <= MILLISECOND) {
+			return 0;
+		}
+		int bucket = (int) Math.ceil(Math.log((double) nanos / MILLISECOND) / LOG_GROWTH);
+		return Math.min(bucket, BUCKETS - 1);
+	}
+
+	static long upperBound(int bucket) {
+		return (long) (MILLISECOND * Math.pow(GROWTH, bucket));
+	}
+
+}
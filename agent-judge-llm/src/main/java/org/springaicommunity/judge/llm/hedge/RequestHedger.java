@@ -0,0 +1,238 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.hedge;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Sends a duplicate of a model call that takes longer than usual and returns whichever
+ * response arrives first.
+ *
+ * <p>
+ * LLM latency has a long tail: a few calls take many times the median and dominate the
+ * latency of a whole verdict. The hedger records the latency of every successful call
+ * in a histogram of recent calls. Once it holds enough samples, each call runs on the
+ * policy's executor and, if it has not returned by the configured percentile of recent
+ * latency, a duplicate is sent. The first successful response wins and the other call
+ * is cancelled by interrupting its thread. A call fails only when every request sent
+ * for it fails.
+ * </p>
+ *
+ * <p>
+ * Duplicates are limited to {@link HedgePolicy#maxHedgeRatio()} of calls: each call
+ * earns that fraction of a hedge, and the earned budget is capped at what 100 calls
+ * earn. An {@code LLMJudge} with a hedge policy creates its own hedger, so each judge
+ * hedges against its own latency; {@code LLMJudge.hedgeStats()} exposes the counts.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * RequestHedger hedger = new RequestHedger(HedgePolicy.builder().percentile(0.9).build());
+ * String response = hedger.call(() -> chatClient.prompt().user(prompt).call().content());
+ * HedgeStats stats = hedger.stats();
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class RequestHedger {
+
+	private final HedgePolicy policy;
+
+	private final LatencyHistogram histogram;
+
+	private final double maxCredit;
+
+	private final AtomicLong callCount = new AtomicLong();
+
+	private final AtomicLong hedgeCount = new AtomicLong();
+
+	private final AtomicLong hedgeWinCount = new AtomicLong();
+
+	private double credit;
+
+	/**
+	 * Create a hedger with an empty latency histogram.
+	 * @param policy the hedge policy
+	 */
+	public RequestHedger(HedgePolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("policy must not be null");
+		}
+		this.policy = policy;
+		this.histogram = new LatencyHistogram(policy.windowSize());
+		this.maxCredit = Math.max(1, policy.maxHedgeRatio() * 100);
+	}
+
+	/**
+	 * Make a call, hedging it if it is slow.
+	 * @param call the model call; must be safe to run twice concurrently
+	 * @return the first successful response
+	 * @throws CompletionException if interrupted while waiting
+	 */
+	public String call(Supplier<String> call) {
+		callCount.incrementAndGet();
+		earnCredit();
+		long delay = hedgeDelay();
+		if (delay < 0) {
+			long start = System.nanoTime();
+			String response = call.get();
+			histogram.record(System.nanoTime() - start);
+			return response;
+		}
+
+		CompletableFuture<String> result = new CompletableFuture<>();
+		AtomicInteger pending = new AtomicInteger(1);
+		AtomicReference<Attempt> winner = new AtomicReference<>();
+		Attempt primary = new Attempt(call, result, pending, winner);
+		Attempt hedge = null;
+		policy.executor().execute(primary);
+		try {
+			try {
+				return result.get(delay, TimeUnit.NANOSECONDS);
+			}
+			catch (TimeoutException ex) {
+				// Slower than usual: hedge if the budget allows it
+			}
+			if (!result.isDone() && spendCredit()) {
+				pending.incrementAndGet();
+				hedge = new Attempt(call, result, pending, winner);
+				hedgeCount.incrementAndGet();
+				policy.executor().execute(hedge);
+			}
+			String response = result.get();
+			if (hedge != null && winner.get() == hedge) {
+				hedgeWinCount.incrementAndGet();
+			}
+			return response;
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new CompletionException(cause);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new CompletionException(ex);
+		}
+		finally {
+			primary.cancel(true);
+			if (hedge != null) {
+				hedge.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 * Get the current statistics.
+	 * @return statistics snapshot
+	 */
+	public HedgeStats stats() {
+		long delay = hedgeDelay();
+		return new HedgeStats(callCount.get(), hedgeCount.get(), hedgeWinCount.get(),
+				delay >= 0 ? Duration.ofNanos(delay) : null, histogram.count());
+	}
+
+	private long hedgeDelay() {
+		if (histogram.count() < policy.minSamples()) {
+			return -1;
+		}
+		return Math.max(histogram.percentile(policy.percentile()), policy.minDelay().toNanos());
+	}
+
+	private synchronized void earnCredit() {
+		credit = Math.min(maxCredit, credit + policy.maxHedgeRatio());
+	}
+
+	private synchronized boolean spendCredit() {
+		if (credit < 1) {
+			return false;
+		}
+		credit -= 1;
+		return true;
+	}
+
+	/**
+	 * One request sent for a call. Cancelling it interrupts the thread running the model
+	 * call.
+	 */
+	private final class Attempt extends FutureTask<String> {
+
+		private final CompletableFuture<String> result;
+
+		private final AtomicInteger pending;
+
+		private final AtomicReference<Attempt> winner;
+
+		private volatile long start;
+
+		Attempt(Supplier<String> call, CompletableFuture<String> result, AtomicInteger pending,
+				AtomicReference<Attempt> winner) {
+			super(call::get);
+			this.result = result;
+			this.pending = pending;
+			this.winner = winner;
+		}
+
+		@Override
+		public void run() {
+			start = System.nanoTime();
+			super.run();
+		}
+
+		@Override
+		protected void done() {
+			if (isCancelled()) {
+				return;
+			}
+			try {
+				String response = get();
+				histogram.record(System.nanoTime() - start);
+				if (winner.compareAndSet(null, this)) {
+					result.complete(response);
+				}
+			}
+			catch (ExecutionException ex) {
+				if (pending.decrementAndGet() == 0) {
+					result.completeExceptionally(ex.getCause());
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+	}
+
+}
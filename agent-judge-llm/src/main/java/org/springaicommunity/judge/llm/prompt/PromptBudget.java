@@ -0,0 +1,190 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.prompt;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Token budgets for the variable parts of a judge prompt.
+ *
+ * <p>
+ * Judges that embed agent output and workspace contents in their prompts use a budget to
+ * keep prompts small regardless of transcript size: the agent output is shortened to
+ * {@code outputTokens} with a {@link TextExcerpter}, and the workspace is described in
+ * {@code workspaceTokens} with a {@link WorkspaceDigest}. Budgets are immutable and may
+ * be shared by several judges, which then share the digest cache.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * PromptBudget budget = PromptBudget.builder()
+ *     .outputTokens(6_000)
+ *     .workspaceTokens(2_000)
+ *     .build();
+ *
+ * Judge judge = new CorrectnessJudge(chatClientBuilder, LLMJudgeOptions.defaults(), budget);
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class PromptBudget {
+
+	private final int outputTokens;
+
+	private final int workspaceTokens;
+
+	private final TextExcerpter excerpter;
+
+	private final WorkspaceDigest workspaceDigest;
+
+	private PromptBudget(Builder builder) {
+		this.outputTokens = builder.outputTokens;
+		this.workspaceTokens = builder.workspaceTokens;
+		this.excerpter = builder.excerpter;
+		this.workspaceDigest = builder.workspaceDigest != null ? builder.workspaceDigest
+				: WorkspaceDigest.builder().excerpter(builder.excerpter).build();
+	}
+
+	/**
+	 * Shorten agent output to the output budget.
+	 * @param output the agent output (may be null)
+	 * @param goal the goal, whose words mark relevant passages (may be null)
+	 * @return the output or an excerpt of it
+	 */
+	public String agentOutput(String output, String goal) {
+		return excerpter.excerpt(output, outputTokens, goal);
+	}
+
+	/**
+	 * Describe a workspace within the workspace budget.
+	 * @param workspace the workspace directory (may be null)
+	 * @param changedSince when the agent started (may be null)
+	 * @return the digest, or an empty string if disabled or unavailable
+	 */
+	public String workspace(Path workspace, Instant changedSince) {
+		return workspaceDigest.digest(workspace, changedSince, workspaceTokens);
+	}
+
+	/**
+	 * Get the token budget for agent output.
+	 * @return output tokens
+	 */
+	public int outputTokens() {
+		return outputTokens;
+	}
+
+	/**
+	 * Get the token budget for the workspace digest.
+	 * @return workspace tokens, zero if no digest is included
+	 */
+	public int workspaceTokens() {
+		return workspaceTokens;
+	}
+
+	/**
+	 * Create a new builder for PromptBudget.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Builder for PromptBudget.
+	 */
+	public static final class Builder {
+
+		private int outputTokens = 4_000;
+
+		private int workspaceTokens = 1_000;
+
+		private TextExcerpter excerpter = TextExcerpter.builder().build();
+
+		private WorkspaceDigest workspaceDigest;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the token budget for agent output (default 4000).
+		 * @param outputTokens output tokens
+		 * @return this builder
+		 */
+		public Builder outputTokens(int outputTokens) {
+			if (outputTokens < 1) {
+				throw new IllegalArgumentException("outputTokens must be positive");
+			}
+			this.outputTokens = outputTokens;
+			return this;
+		}
+
+		/**
+		 * Set the token budget for the workspace digest (default 1000).
+		 * @param workspaceTokens workspace tokens, zero to leave the digest out
+		 * @return this builder
+		 */
+		public Builder workspaceTokens(int workspaceTokens) {
+			if (workspaceTokens < 0) {
+				throw new IllegalArgumentException("workspaceTokens must not be negative");
+			}
+			this.workspaceTokens = workspaceTokens;
+			return this;
+		}
+
+		/**
+		 * Set the excerpter for agent output (and, unless a digest is set, for changed
+		 * files).
+		 * @param excerpter the excerpter
+		 * @return this builder
+		 */
+		public Builder excerpter(TextExcerpter excerpter) {
+			if (excerpter == null) {
+				throw new IllegalArgumentException("excerpter must not be null");
+			}
+			this.excerpter = excerpter;
+			return this;
+		}
+
+		/**
+		 * Set the workspace digest, for example to share its cache or skip more
+		 * directories.
+		 * @param workspaceDigest the workspace digest
+		 * @return this builder
+		 */
+		public Builder workspaceDigest(WorkspaceDigest workspaceDigest) {
+			if (workspaceDigest == null) {
+				throw new IllegalArgumentException("workspaceDigest must not be null");
+			}
+			this.workspaceDigest = workspaceDigest;
+			return this;
+		}
+
+		/**
+		 * Build the PromptBudget instance.
+		 * @return configured budget
+		 */
+		public PromptBudget build() {
+			return new PromptBudget(this);
+		}
+
+	}
+
+}
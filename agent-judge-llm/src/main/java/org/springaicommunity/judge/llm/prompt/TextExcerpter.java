@@ -0,0 +1,301 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.prompt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Shortens long text to a token budget while keeping what a judge needs most.
+ *
+ * <p>
+ * Agent transcripts are long but their useful parts are predictable: the head states
+ * what the agent set out to do, the tail holds the final result and any errors, and in
+ * between a few passages mention the goal's subject or report failures. An excerpt
+ * keeps whole lines from the head and tail, then fills the rest of the budget with the
+ * windows of lines that best match the query (usually the goal) and common outcome words
+ * such as "error" or "passed". Omitted lines are marked with
+ * {@code [... N lines omitted ...]}. Text within the budget is returned unchanged.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * TextExcerpter excerpter = TextExcerpter.builder().build();
+ * String excerpt = excerpter.excerpt(transcript, 4_000, context.goal());
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class TextExcerpter {
+
+	private static final Set<String> OUTCOME_TERMS = Set.of("error", "exception", "fail", "failed", "failure",
+			"success", "succeeded", "passed", "created", "warning");
+
+	private static final Set<String> STOP_WORDS = Set.of("the", "and", "for", "with", "that", "this", "from", "into",
+			"are", "was", "should", "must", "will", "all", "any", "have", "has", "not", "use", "using");
+
+	private static final String OMITTED = "[... %d lines omitted ...]";
+
+	private final TokenEstimator estimator;
+
+	private final double headShare;
+
+	private final double tailShare;
+
+	private final int windowLines;
+
+	private TextExcerpter(Builder builder) {
+		this.estimator = builder.estimator;
+		this.headShare = builder.headShare;
+		this.tailShare = builder.tailShare;
+		this.windowLines = builder.windowLines;
+	}
+
+	/**
+	 * Shorten text to a token budget.
+	 * @param text the text (may be null)
+	 * @param maxTokens the token budget
+	 * @param query text whose words mark relevant passages, such as the goal (may be
+	 * null)
+	 * @return the text itself if it fits, otherwise an excerpt of about maxTokens
+	 */
+	public String excerpt(String text, int maxTokens, String query) {
+		if (text == null || estimator.estimate(text) <= maxTokens) {
+			return text;
+		}
+		String[] lines = text.split("\n", -1);
+		int headBudget = (int) (maxTokens * headShare);
+		int tailBudget = (int) (maxTokens * tailShare);
+
+		int head = 0;
+		int used = 0;
+		while (head < lines.length && used + cost(lines[head]) <= headBudget) {
+			used += cost(lines[head++]);
+		}
+		int tail = lines.length;
+		while (tail > head && used + cost(lines[tail - 1]) <= headBudget + tailBudget) {
+			used += cost(lines[--tail]);
+		}
+		if (head == 0 && tail == lines.length) {
+			// No whole line fits: cut characters instead
+			String prefix = prefix(text, headBudget);
+			String suffix = suffix(text, tailBudget);
+			int omitted = text.length() - prefix.length() - suffix.length();
+			return prefix + "\n[... " + omitted + " characters omitted ...]\n" + suffix;
+		}
+
+		int markerCost = cost(OMITTED.formatted(lines.length));
+		List<Window> selected = selectWindows(lines, head, tail, maxTokens - used - markerCost, markerCost,
+				terms(query));
+
+		List<String> out = new ArrayList<>(Arrays.asList(lines).subList(0, head));
+		int next = head;
+		for (Window window : selected) {
+			if (window.start() > next) {
+				out.add(OMITTED.formatted(window.start() - next));
+			}
+			out.addAll(Arrays.asList(lines).subList(window.start(), window.end()));
+			next = window.end();
+		}
+		if (tail > next) {
+			out.add(OMITTED.formatted(tail - next));
+		}
+		out.addAll(Arrays.asList(lines).subList(tail, lines.length));
+		return String.join("\n", out);
+	}
+
+	/**
+	 * Get the token estimator used for budgets.
+	 * @return token estimator
+	 */
+	public TokenEstimator estimator() {
+		return estimator;
+	}
+
+	/**
+	 * Create a new builder for TextExcerpter.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private List<Window> selectWindows(String[] lines, int from, int to, int budget, int markerCost,
+			Set<String> terms) {
+		List<Window> candidates = new ArrayList<>();
+		for (int start = from; start < to; start += windowLines) {
+			int end = Math.min(to, start + windowLines);
+			int score = 0;
+			int cost = 0;
+			for (int i = start; i < end; i++) {
+				score += score(lines[i], terms);
+				cost += cost(lines[i]);
+			}
+			if (score > 0) {
+				candidates.add(new Window(start, end, score, cost));
+			}
+		}
+		candidates.sort(Comparator.comparingInt(Window::score).reversed().thenComparingInt(Window::start));
+		List<Window> selected = new ArrayList<>();
+		int remaining = budget;
+		for (Window window : candidates) {
+			if (window.cost() + markerCost <= remaining) {
+				selected.add(window);
+				remaining -= window.cost() + markerCost;
+			}
+		}
+		selected.sort(Comparator.comparingInt(Window::start));
+		return selected;
+	}
+
+	private static int score(String line, Set<String> terms) {
+		String lower = line.toLowerCase(Locale.ROOT);
+		int score = 0;
+		for (String term : terms) {
+			if (lower.contains(term)) {
+				score++;
+			}
+		}
+		return score;
+	}
+
+	private static Set<String> terms(String query) {
+		Set<String> terms = new LinkedHashSet<>(OUTCOME_TERMS);
+		if (query != null) {
+			for (String word : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}_]+")) {
+				if (word.length() >= 3 && !STOP_WORDS.contains(word)) {
+					terms.add(word);
+				}
+			}
+		}
+		return terms;
+	}
+
+	private int cost(String line) {
+		return estimator.estimate(line) + 1;
+	}
+
+	private String prefix(String text, int tokens) {
+		int low = 0;
+		int high = text.length();
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (estimator.estimate(text.substring(0, mid)) <= tokens) {
+				low = mid;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return text.substring(0, low);
+	}
+
+	private String suffix(String text, int tokens) {
+		int low = 0;
+		int high = text.length();
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (estimator.estimate(text.substring(text.length() - mid)) <= tokens) {
+				low = mid;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return text.substring(text.length() - low);
+	}
+
+	private record Window(int start, int end, int score, int cost) {
+	}
+
+	/**
+	 * Builder for TextExcerpter.
+	 */
+	public static final class Builder {
+
+		private TokenEstimator estimator = TokenEstimator.approximate();
+
+		private double headShare = 0.25;
+
+		private double tailShare = 0.35;
+
+		private int windowLines = 8;
+
+		private Builder() {
+		}
+
+		/**
+		 * Set the token estimator (default four characters per token).
+		 * @param estimator the estimator
+		 * @return this builder
+		 */
+		public Builder estimator(TokenEstimator estimator) {
+			if (estimator == null) {
+				throw new IllegalArgumentException("estimator must not be null");
+			}
+			this.estimator = estimator;
+			return this;
+		}
+
+		/**
+		 * Set the shares of the budget kept for the head and the tail (default 0.25 and
+		 * 0.35); the rest goes to relevant passages.
+		 * @param headShare share of the budget for the first lines
+		 * @param tailShare share of the budget for the last lines
+		 * @return this builder
+		 */
+		public Builder shares(double headShare, double tailShare) {
+			if (headShare < 0 || tailShare < 0 || headShare + tailShare > 1) {
+				throw new IllegalArgumentException("shares must not be negative or sum to more than 1");
+			}
+			this.headShare = headShare;
+			this.tailShare = tailShare;
+			return this;
+		}
+
+		/**
+		 * Set how many lines make up one relevant passage (default 8).
+		 * @param windowLines lines per passage
+		 * @return this builder
+		 */
+		public Builder windowLines(int windowLines) {
+			if (windowLines < 1) {
+				throw new IllegalArgumentException("windowLines must be at least 1");
+			}
+			this.windowLines = windowLines;
+			return this;
+		}
+
+		/**
+		 * Build the TextExcerpter instance.
+		 * @return configured excerpter
+		 */
+		public TextExcerpter build() {
+			return new TextExcerpter(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.prompt;
+
+/**
+ * Estimate of how many model tokens a text uses.
+ *
+ * <p>
+ * Budgets only need to be roughly right, so the default {@link #approximate()} estimator
+ * counts four characters per token, which is close for English text and code with
+ * common tokenizers. Plug in a real tokenizer where budgets are tight.
+ * </p>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+@FunctionalInterface
+public interface TokenEstimator {
+
+	/**
+	 * Estimate the tokens of a text.
+	 * @param text the text (may be null)
+	 * @return estimated token count
+	 */
+	int estimate(String text);
+
+	/**
+	 * Get the default estimator of four characters per token.
+	 * @return approximate estimator
+	 */
+	static TokenEstimator approximate() {
+		return text -> text != null ? (text.length() + 3) / 4 : 0;
+	}
+
+}
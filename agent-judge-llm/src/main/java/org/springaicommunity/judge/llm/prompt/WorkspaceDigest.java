@@ -0,0 +1,352 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.prompt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springaicommunity.judge.fingerprint.WorkspaceFingerprinter;
+
+/**
+ * Compact, token-budgeted description of a workspace for LLM prompts.
+ *
+ * <p>
+ * A workspace path tells a model nothing about what the agent did. A digest lists the
+ * workspace's files, marking those modified since the agent started, followed by
+ * excerpts of the changed files (see {@link TextExcerpter}), all within a token budget.
+ * When the tree does not fit, changed files are listed first and the rest is
+ * summarized as a count; binary files are listed but never excerpted.
+ * </p>
+ *
+ * <p>
+ * Digests are cached by the workspace's content hash (see
+ * {@link WorkspaceFingerprinter}), the change baseline and the budget, so several judges
+ * evaluating the same workspace build it once. Unreadable workspaces yield an empty
+ * digest and a warning.
+ * </p>
+ *
+ * <p>
+ * Example usage:
+ * </p>
+ * <pre>{@code
+ * WorkspaceDigest digests = WorkspaceDigest.builder().ignore("node_modules").build();
+ * String digest = digests.digest(context.workspace(), context.startedAt(), 1_000);
+ * }</pre>
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+public final class WorkspaceDigest {
+
+	private static final Logger logger = LoggerFactory.getLogger(WorkspaceDigest.class);
+
+	private static final int MIN_EXCERPT_TOKENS = 32;
+
+	private final Set<String> ignored;
+
+	private final TextExcerpter excerpter;
+
+	private final TokenEstimator estimator;
+
+	private final WorkspaceFingerprinter fingerprinter;
+
+	private final int maxFileBytes;
+
+	private final Map<String, String> digests;
+
+	private WorkspaceDigest(Builder builder) {
+		this.ignored = Set.copyOf(builder.ignored);
+		this.excerpter = builder.excerpter;
+		this.estimator = builder.excerpter.estimator();
+		this.fingerprinter = builder.fingerprinter;
+		this.maxFileBytes = builder.maxFileBytes;
+		int maxDigests = builder.maxDigests;
+		this.digests = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > maxDigests;
+			}
+		};
+	}
+
+	/**
+	 * Describe a workspace within a token budget.
+	 * @param workspace the workspace directory (may be null)
+	 * @param changedSince files modified at or after this instant are marked as changed
+	 * and excerpted (null to list files only)
+	 * @param maxTokens the token budget
+	 * @return the digest, or an empty string if there is no readable workspace
+	 */
+	public String digest(Path workspace, Instant changedSince, int maxTokens) {
+		if (workspace == null || maxTokens <= 0 || !Files.isDirectory(workspace)) {
+			return "";
+		}
+		try {
+			String key = fingerprinter.fingerprint(workspace).hash() + "|" + changedSince + "|" + maxTokens;
+			synchronized (digests) {
+				String cached = digests.get(key);
+				if (cached != null) {
+					return cached;
+				}
+			}
+			String digest = build(workspace, changedSince, maxTokens);
+			synchronized (digests) {
+				digests.put(key, digest);
+			}
+			return digest;
+		}
+		catch (IOException | UncheckedIOException ex) {
+			logger.warn("Failed to describe workspace {}: {}", workspace, ex.getMessage());
+			return "";
+		}
+	}
+
+	/**
+	 * Create a new builder for WorkspaceDigest.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private String build(Path workspace, Instant changedSince, int maxTokens) throws IOException {
+		List<FileEntry> files = list(workspace);
+		List<FileEntry> changed = new ArrayList<>();
+		for (FileEntry file : files) {
+			if (changedSince != null && !file.modified().isBefore(changedSince)) {
+				changed.add(file);
+			}
+		}
+		int treeBudget = changed.isEmpty() ? maxTokens : maxTokens / 2;
+		StringBuilder digest = new StringBuilder(tree(files, changed, treeBudget));
+
+		changed.sort(Comparator.comparing(FileEntry::modified).reversed());
+		int remaining = maxTokens - estimator.estimate(digest.toString());
+		int shown = 0;
+		for (FileEntry file : changed) {
+			int budget = remaining / (changed.size() - shown);
+			String header = "\n--- " + file.path() + " ---\n";
+			if (budget - estimator.estimate(header) < MIN_EXCERPT_TOKENS) {
+				break;
+			}
+			String content = readText(workspace.resolve(file.path()));
+			if (content != null) {
+				String section = header + excerpter.excerpt(content, budget - estimator.estimate(header), null);
+				digest.append(section);
+				remaining -= estimator.estimate(section);
+			}
+			shown++;
+		}
+		if (shown < changed.size()) {
+			digest.append("\n... ").append(changed.size() - shown).append(" more changed files not shown");
+		}
+		return digest.toString();
+	}
+
+	private String tree(List<FileEntry> files, List<FileEntry> changed, int budget) {
+		String header = changed.isEmpty() ? "Files (" + files.size() + "):"
+				: "Files (" + files.size() + ", * = changed since start):";
+		Set<FileEntry> marked = new HashSet<>(changed);
+		List<FileEntry> candidates = new ArrayList<>(changed);
+		for (FileEntry file : files) {
+			if (!marked.contains(file)) {
+				candidates.add(file);
+			}
+		}
+		int used = estimator.estimate(header) + estimator.estimate("... 999999 more files") + 2;
+		List<FileEntry> listed = new ArrayList<>();
+		for (FileEntry file : candidates) {
+			int cost = estimator.estimate(line(file, marked)) + 1;
+			if (used + cost > budget) {
+				break;
+			}
+			listed.add(file);
+			used += cost;
+		}
+		listed.sort(Comparator.comparing(FileEntry::path));
+		StringBuilder tree = new StringBuilder(header);
+		for (FileEntry file : listed) {
+			tree.append('\n').append(line(file, marked));
+		}
+		if (listed.size() < files.size()) {
+			tree.append("\n... ").append(files.size() - listed.size()).append(" more files");
+		}
+		return tree.toString();
+	}
+
+	private static String line(FileEntry file, Set<FileEntry> changed) {
+		return (changed.contains(file) ? "* " : "  ") + file.path() + " (" + file.size() + " bytes)";
+	}
+
+	private List<FileEntry> list(Path workspace) throws IOException {
+		List<FileEntry> files = new ArrayList<>();
+		Files.walkFileTree(workspace, new SimpleFileVisitor<>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				if (!dir.equals(workspace) && ignored.contains(dir.getFileName().toString())) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (attrs.isRegularFile()) {
+					String relative = workspace.relativize(file).toString().replace('\\', '/');
+					files.add(new FileEntry(relative, attrs.size(), attrs.lastModifiedTime().toInstant()));
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException ex) {
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		files.sort(Comparator.comparing(FileEntry::path));
+		return files;
+	}
+
+	/**
+	 * Read the start of a file as text, or return null for binary content.
+	 */
+	private String readText(Path file) throws IOException {
+		byte[] bytes;
+		try (InputStream in = Files.newInputStream(file)) {
+			bytes = in.readNBytes(maxFileBytes);
+		}
+		for (byte b : bytes) {
+			if (b == 0) {
+				return null;
+			}
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private record FileEntry(String path, long size, Instant modified) {
+	}
+
+	/**
+	 * Builder for WorkspaceDigest.
+	 */
+	public static final class Builder {
+
+		private final Set<String> ignored = new HashSet<>(Set.of("target", ".git"));
+
+		private TextExcerpter excerpter = TextExcerpter.builder().build();
+
+		private WorkspaceFingerprinter fingerprinter = WorkspaceFingerprinter.getDefault();
+
+		private int maxFileBytes = 256 * 1024;
+
+		private int maxDigests = 64;
+
+		private Builder() {
+		}
+
+		/**
+		 * Skip directories with these names, in addition to {@code target} and
+		 * {@code .git}.
+		 * @param directoryNames directory names to skip
+		 * @return this builder
+		 */
+		public Builder ignore(String... directoryNames) {
+			ignored.addAll(List.of(directoryNames));
+			return this;
+		}
+
+		/**
+		 * Set the excerpter for changed files, which also provides the token estimator.
+		 * @param excerpter the excerpter
+		 * @return this builder
+		 */
+		public Builder excerpter(TextExcerpter excerpter) {
+			if (excerpter == null) {
+				throw new IllegalArgumentException("excerpter must not be null");
+			}
+			this.excerpter = excerpter;
+			return this;
+		}
+
+		/**
+		 * Set the fingerprinter whose hashes key the digest cache (default shared
+		 * instance).
+		 * @param fingerprinter the fingerprinter
+		 * @return this builder
+		 */
+		public Builder fingerprinter(WorkspaceFingerprinter fingerprinter) {
+			if (fingerprinter == null) {
+				throw new IllegalArgumentException("fingerprinter must not be null");
+			}
+			this.fingerprinter = fingerprinter;
+			return this;
+		}
+
+		/**
+		 * Set how much of each changed file is read (default 256 KiB).
+		 * @param maxFileBytes bytes read per file
+		 * @return this builder
+		 */
+		public Builder maxFileBytes(int maxFileBytes) {
+			if (maxFileBytes < 1) {
+				throw new IllegalArgumentException("maxFileBytes must be positive");
+			}
+			this.maxFileBytes = maxFileBytes;
+			return this;
+		}
+
+		/**
+		 * Set how many digests are cached (default 64).
+		 * @param maxDigests maximum cached digests
+		 * @return this builder
+		 */
+		public Builder maxDigests(int maxDigests) {
+			if (maxDigests < 0) {
+				throw new IllegalArgumentException("maxDigests must not be negative");
+			}
+			this.maxDigests = maxDigests;
+			return this;
+		}
+
+		/**
+		 * Build the WorkspaceDigest instance.
+		 * @return configured digest
+		 */
+		public WorkspaceDigest build() {
+			return new WorkspaceDigest(this);
+		}
+
+	}
+
+}
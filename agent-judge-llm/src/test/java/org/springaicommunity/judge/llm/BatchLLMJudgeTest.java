@@ -0,0 +1,276 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BatchLLMJudge}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class BatchLLMJudgeTest {
+
+	private static final Pattern ITEM = Pattern.compile("(?m)^\\[(\\d+)\\]\\n(.*)$");
+
+	// ==================== Batching ====================
+
+	@Test
+	void contextsArePackedIntoOneModelCall() {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(BatchOptions.defaults(), ScriptedBatchJudge::answerAll);
+
+		List<Judgment> judgments = judge.judgeAll(contexts("good", "bad", "good"));
+
+		assertThat(judge.batchSizes).containsExactly(3);
+		assertThat(judgments).extracting(Judgment::status)
+			.containsExactly(JudgmentStatus.PASS, JudgmentStatus.FAIL, JudgmentStatus.PASS);
+		assertThat(judgments.get(1).metadata()).containsEntry(BatchLLMJudge.BATCH_SIZE, 3);
+	}
+
+	@Test
+	void batchesAreCutAtTheBatchSizeAndTokenBudget() {
+		ScriptedBatchJudge bySize = new ScriptedBatchJudge(BatchOptions.builder().maxBatchSize(4).build(),
+				ScriptedBatchJudge::answerAll);
+		bySize.judgeAll(contexts("good", "good", "good", "good", "good", "good", "good", "good", "good", "good"));
+
+		ScriptedBatchJudge byTokens = new ScriptedBatchJudge(BatchOptions.builder().maxPromptTokens(200).build(),
+				ScriptedBatchJudge::answerAll);
+		String longOutput = "good " + "x".repeat(400);
+		byTokens.judgeAll(contexts(longOutput, longOutput, longOutput));
+
+		assertThat(bySize.batchSizes).containsExactlyInAnyOrder(4, 4, 2);
+		assertThat(byTokens.batchSizes).hasSize(3);
+	}
+
+	// ==================== Malformed Batches ====================
+
+	@Test
+	void missingAnswersAreRetriedInASmallerBatch() {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(BatchOptions.defaults(),
+				prompt -> ScriptedBatchJudge.answerAll(prompt).replace("[2] NO - bad\n", ""));
+
+		List<Judgment> judgments = judge.judgeAll(contexts("good", "bad", "good"));
+
+		assertThat(judge.batchSizes).containsExactly(3, 1);
+		assertThat(judgments).extracting(Judgment::status)
+			.containsExactly(JudgmentStatus.PASS, JudgmentStatus.FAIL, JudgmentStatus.PASS);
+		assertThat(judgments.get(1).metadata()).containsEntry(BatchLLMJudge.BATCH_SIZE, 1);
+	}
+
+	@Test
+	void unreadableSingleAnswersAreErrors() {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(BatchOptions.defaults(), prompt -> "[1] MAYBE");
+
+		List<Judgment> judgments = judge.judgeAll(contexts("good", "bad"));
+
+		assertThat(judge.batchSizes).containsExactly(2, 1, 1);
+		assertThat(judgments).extracting(Judgment::status).containsOnly(JudgmentStatus.ERROR);
+	}
+
+	@Test
+	void malformedBatchesAreSplitAndTheLimitShrinks() {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(BatchOptions.builder().maxBatchSize(8).build(),
+				prompt -> items(prompt).size() > 2 ? "I can only answer a few at a time."
+						: ScriptedBatchJudge.answerAll(prompt));
+
+		List<Judgment> judgments = judge.judgeAll(contexts("good", "bad", "good", "bad", "good", "bad", "good", "bad"));
+
+		assertThat(judgments).extracting(Judgment::status).doesNotContain(JudgmentStatus.ERROR);
+		assertThat(judge.batchSizes).containsExactly(8, 4, 2, 2, 4, 2, 2);
+		assertThat(judge.batchLimit()).isLessThan(8);
+	}
+
+	@Test
+	void failedCallsAreNotSplit() {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(BatchOptions.defaults(), prompt -> {
+			throw new IllegalStateException("provider unavailable");
+		});
+
+		List<Judgment> judgments = judge.judgeAll(contexts("good", "bad", "good"));
+
+		assertThat(judge.batchSizes).containsExactly(3);
+		assertThat(judgments).extracting(Judgment::status).containsOnly(JudgmentStatus.ERROR);
+		assertThat(judgments.get(0).reasoning()).contains("provider unavailable");
+	}
+
+	@Test
+	void answersAreFoundByNumber() {
+		String[] answers = BatchLLMJudge.parseAnswers("Sure:\n[1] YES - fine\n[3]: NO\nsecond line\n[4] YES\n", 3);
+
+		assertThat(answers).containsExactly("YES - fine", null, "NO\nsecond line");
+	}
+
+	@Test
+	void numbersAnsweredTwiceAreUnanswered() {
+		String[] answers = BatchLLMJudge.parseAnswers("[1] YES\n[2] NO\n[2] YES", 2);
+
+		assertThat(answers).containsExactly("YES", null);
+	}
+
+	// ==================== Collecting ====================
+
+	@Test
+	void concurrentJudgmentsShareABatch() throws Exception {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(
+				BatchOptions.builder().maxBatchSize(10).linger(Duration.ofSeconds(5)).build(),
+				ScriptedBatchJudge::answerAll);
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		try {
+			List<Future<Judgment>> futures = new ArrayList<>();
+			for (JudgmentContext context : contexts("good", "bad", "good", "bad", "good", "bad", "good", "bad", "good",
+					"bad")) {
+				futures.add(executor.submit(() -> judge.judge(context)));
+			}
+
+			for (int i = 0; i < futures.size(); i++) {
+				JudgmentStatus expected = i % 2 == 0 ? JudgmentStatus.PASS : JudgmentStatus.FAIL;
+				assertThat(futures.get(i).get(5, TimeUnit.SECONDS).status()).isEqualTo(expected);
+			}
+			assertThat(judge.batchSizes).containsExactly(10);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void cancelledLeaderSendsTheBatchWithoutItself() throws Exception {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(
+				BatchOptions.builder().maxBatchSize(10).linger(Duration.ofSeconds(30)).build(),
+				ScriptedBatchJudge::answerAll);
+		List<JudgmentContext> contexts = contexts("bad", "good", "good");
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			Future<Judgment> leader = executor.submit(() -> judge.judge(contexts.get(0)));
+			Thread.sleep(100);
+			Future<Judgment> first = executor.submit(() -> judge.judge(contexts.get(1)));
+			Future<Judgment> second = executor.submit(() -> judge.judge(contexts.get(2)));
+			Thread.sleep(100);
+			leader.cancel(true);
+
+			assertThat(first.get(5, TimeUnit.SECONDS).status()).isEqualTo(JudgmentStatus.PASS);
+			assertThat(second.get(5, TimeUnit.SECONDS).status()).isEqualTo(JudgmentStatus.PASS);
+			assertThat(judge.batchSizes).containsExactly(2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void lingerOfZeroJudgesEachContextAlone() {
+		ScriptedBatchJudge judge = new ScriptedBatchJudge(BatchOptions.builder().linger(Duration.ZERO).build(),
+				ScriptedBatchJudge::answerAll);
+
+		Judgment judgment = judge.judge(contexts("bad").get(0));
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(judge.batchSizes).containsExactly(1);
+	}
+
+	// ==================== Helper Methods ====================
+
+	private static List<JudgmentContext> contexts(String... outputs) {
+		List<JudgmentContext> contexts = new ArrayList<>();
+		for (String output : outputs) {
+			contexts.add(JudgmentContext.builder().goal("Write good output").agentOutput(output).build());
+		}
+		return contexts;
+	}
+
+	private static List<String> items(String prompt) {
+		List<String> items = new ArrayList<>();
+		Matcher matcher = ITEM.matcher(prompt);
+		while (matcher.find()) {
+			items.add(matcher.group(2));
+		}
+		return items;
+	}
+
+	/**
+	 * Batch judge that answers model calls with a script and records batch sizes.
+	 */
+	static class ScriptedBatchJudge extends BatchLLMJudge {
+
+		final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+		final AtomicInteger modelCalls = new AtomicInteger();
+
+		private final Function<String, String> script;
+
+		ScriptedBatchJudge(BatchOptions batchOptions, Function<String, String> script) {
+			super("Scripted", "Answers from a script", null, LLMJudgeOptions.defaults(), batchOptions);
+			this.script = script;
+		}
+
+		static String answerAll(String prompt) {
+			StringBuilder response = new StringBuilder();
+			List<String> items = items(prompt);
+			for (int i = 0; i < items.size(); i++) {
+				String answer = items.get(i).startsWith("good") ? "YES - fine" : "NO - bad";
+				response.append('[').append(i + 1).append("] ").append(answer).append('\n');
+			}
+			return response.toString();
+		}
+
+		@Override
+		protected String describeTask() {
+			return "Decide whether each output is good.";
+		}
+
+		@Override
+		protected String formatItem(JudgmentContext context) {
+			return context.agentOutput().orElse("");
+		}
+
+		@Override
+		protected Judgment parseAnswer(String answer, JudgmentContext context) {
+			if (answer.startsWith("YES")) {
+				return Judgment.pass(answer);
+			}
+			return answer.startsWith("NO") ? Judgment.fail(answer) : null;
+		}
+
+		@Override
+		protected String callModel(String prompt) {
+			modelCalls.incrementAndGet();
+			batchSizes.add(items(prompt).size());
+			return script.apply(prompt);
+		}
+
+	}
+
+}
@@ -16,12 +16,17 @@
 
 package org.springaicommunity.judge.llm;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springaicommunity.judge.JudgeType;
 import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.prompt.PromptBudget;
 import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
 import org.springaicommunity.judge.score.BooleanScore;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -141,6 +146,76 @@ class CorrectnessJudgeTest {
 		assertThat(judgment.reasoning()).isEqualTo(response);
 	}
 
+	@Test
+	void responseWithoutVerdictAbstains() {
+		TestCorrectnessJudge judge = new TestCorrectnessJudge();
+
+		Judgment judgment = judge.testParseResponse("The agent changed two files in the module.", null);
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.ABSTAIN);
+	}
+
+	@Test
+	void answerLineTakesPrecedenceOverLaterWords() {
+		TestCorrectnessJudge judge = new TestCorrectnessJudge();
+
+		String response = """
+				Answer: NO
+				Reasoning: YES, the agent tried, but the file is empty.
+				""";
+
+		assertThat(judge.testParseResponse(response, null).pass()).isFalse();
+	}
+
+	@Test
+	void recognizesVerdictInPartialResponse() {
+		TestCorrectnessJudge judge = new TestCorrectnessJudge();
+
+		assertThat(judge.hasVerdict("Answer: YES\n")).isTrue();
+		assertThat(judge.hasVerdict("**Answer:** no\n")).isTrue();
+		assertThat(judge.hasVerdict("Answer: YE")).isFalse();
+		assertThat(judge.hasVerdict("Answer: NO")).isFalse();
+		assertThat(judge.hasVerdict("Answer: NOT")).isFalse();
+	}
+
+	@Test
+	void parsesResponseTruncatedAtVerdict() {
+		TestCorrectnessJudge judge = new TestCorrectnessJudge();
+
+		assertThat(judge.testParseResponse("Answer: YES\n", null).pass()).isTrue();
+		assertThat(judge.testParseResponse("Answer: NO\n", null).pass()).isFalse();
+	}
+
+	@Test
+	void budgetedPromptShortensLongOutput() {
+		TestCorrectnessJudge judge = new TestCorrectnessJudge(PromptBudget.builder().outputTokens(200).build());
+		String output = "step\n".repeat(5_000) + "All tests passed";
+
+		String prompt = judge.testBuildPrompt(JudgmentContext.builder().goal("Fix tests").agentOutput(output).build());
+
+		assertThat(prompt).contains("lines omitted").contains("All tests passed");
+		assertThat(prompt.length()).isLessThan(2_000);
+	}
+
+	@Test
+	void budgetedPromptIncludesWorkspaceDigest(@TempDir Path workspace) throws Exception {
+		Instant startedAt = Instant.now().minusSeconds(60);
+		Files.writeString(workspace.resolve("hello.txt"), "Hello, world");
+		TestCorrectnessJudge judge = new TestCorrectnessJudge(PromptBudget.builder().build());
+
+		String prompt = judge.testBuildPrompt(JudgmentContext.builder()
+			.goal("Create hello.txt")
+			.workspace(workspace)
+			.startedAt(startedAt)
+			.agentOutput("File created successfully")
+			.build());
+
+		assertThat(prompt).contains("Workspace: " + workspace);
+		assertThat(prompt).contains("* hello.txt");
+		assertThat(prompt).contains("--- hello.txt ---\nHello, world");
+		assertThat(prompt).contains("Agent Output: File created successfully");
+	}
+
 	// Test subclass that exposes protected methods for testing
 	static class TestCorrectnessJudge extends CorrectnessJudge {
 
@@ -149,6 +224,10 @@ class CorrectnessJudgeTest {
 			super(null);
 		}
 
+		public TestCorrectnessJudge(PromptBudget promptBudget) {
+			super(null, LLMJudgeOptions.defaults(), promptBudget);
+		}
+
 		public String testBuildPrompt(JudgmentContext context) {
 			return buildPrompt(context);
 		}
@@ -21,14 +21,23 @@ import org.springaicommunity.judge.JudgeMetadata;
 import org.springaicommunity.judge.JudgeType;
 import org.springaicommunity.judge.context.ExecutionStatus;
 import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.cache.CacheMode;
+import org.springaicommunity.judge.llm.cache.LLMResponseCache;
+import org.springaicommunity.judge.llm.hedge.HedgePolicy;
+import org.springaicommunity.judge.llm.hedge.HedgeStats;
 import org.springaicommunity.judge.result.Judgment;
 import org.springaicommunity.judge.result.JudgmentStatus;
 import org.springaicommunity.judge.score.BooleanScore;
 import org.springframework.ai.chat.client.ChatClient;
+import reactor.core.publisher.Flux;
 
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -84,8 +93,206 @@ class LLMJudgeTest {
 		assertThat(judge.chatClient).isNull();
 	}
 
+	// ==================== Response Cache ====================
+
+	@Test
+	void identicalPromptsAreServedFromResponseCache() {
+		CountingLLMJudge judge = new CountingLLMJudge(
+				LLMJudgeOptions.builder().responseCache(LLMResponseCache.builder().build()).build());
+
+		Judgment first = judge.judge(createTestContext());
+		Judgment second = judge.judge(createTestContext());
+
+		assertThat(judge.modelCalls.get()).isEqualTo(1);
+		assertThat(second.reasoning()).isEqualTo(first.reasoning());
+	}
+
+	@Test
+	void differentPromptsMissTheResponseCache() {
+		CountingLLMJudge judge = new CountingLLMJudge(
+				LLMJudgeOptions.builder().responseCache(LLMResponseCache.builder().build()).build());
+
+		judge.judge(createTestContext());
+		judge.judge(JudgmentContext.builder().goal("Other goal").agentOutput("Test output").build());
+
+		assertThat(judge.modelCalls.get()).isEqualTo(2);
+	}
+
+	@Test
+	void bypassModeSkipsTheResponseCache() {
+		LLMResponseCache cache = LLMResponseCache.builder().build();
+		CountingLLMJudge judge = new CountingLLMJudge(
+				LLMJudgeOptions.builder().responseCache(cache).cacheMode(CacheMode.BYPASS).build());
+
+		judge.judge(createTestContext());
+		judge.judge(createTestContext());
+
+		assertThat(judge.modelCalls.get()).isEqualTo(2);
+		assertThat(cache.stats().size()).isZero();
+	}
+
+	@Test
+	void contextMetadataOverridesCacheMode() {
+		CountingLLMJudge judge = new CountingLLMJudge(
+				LLMJudgeOptions.builder().responseCache(LLMResponseCache.builder().build()).build());
+		JudgmentContext refresh = JudgmentContext.builder()
+			.goal("Test goal")
+			.agentOutput("Test output")
+			.metadata(LLMJudgeOptions.CACHE_MODE, CacheMode.REFRESH)
+			.build();
+
+		judge.judge(createTestContext());
+		Judgment refreshed = judge.judge(refresh);
+		Judgment cached = judge.judge(createTestContext());
+
+		assertThat(judge.modelCalls.get()).isEqualTo(2);
+		assertThat(refreshed.reasoning()).contains("response 2");
+		assertThat(cached.reasoning()).contains("response 2");
+	}
+
+	@Test
+	void cacheModeNamesAreCaseInsensitiveAndUnknownNamesFallBack() {
+		LLMResponseCache cache = LLMResponseCache.builder().build();
+		CountingLLMJudge judge = new CountingLLMJudge(LLMJudgeOptions.builder().responseCache(cache).build());
+
+		judge.judge(createTestContext());
+		judge.judge(contextWithCacheMode(" refresh "));
+		Judgment misspelled = judge.judge(contextWithCacheMode("refesh"));
+
+		assertThat(judge.modelCalls.get()).isEqualTo(2);
+		assertThat(misspelled.reasoning()).contains("response 2");
+	}
+
+	@Test
+	void sampledContextsSkipTheResponseCache() {
+		LLMResponseCache cache = LLMResponseCache.builder().build();
+		CountingLLMJudge judge = new CountingLLMJudge(LLMJudgeOptions.builder().responseCache(cache).build());
+		JudgmentContext sample = JudgmentContext.builder()
+			.goal("Test goal")
+			.agentOutput("Test output")
+			.metadata(LLMJudgeOptions.SAMPLE, 1)
+			.build();
+
+		judge.judge(createTestContext());
+		Judgment sampled = judge.judge(sample);
+
+		assertThat(judge.modelCalls.get()).isEqualTo(2);
+		assertThat(sampled.reasoning()).contains("response 2");
+		assertThat(cache.stats().size()).isEqualTo(1);
+	}
+
+	// ==================== Request Coalescing ====================
+
+	@Test
+	void concurrentIdenticalJudgmentsShareOneModelCall() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		CountDownLatch release = new CountDownLatch(1);
+		CountingLLMJudge judge = new CountingLLMJudge(LLMJudgeOptions.builder().requestCoalescer(coalescer).build()) {
+			@Override
+			protected String callModel(String prompt) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.callModel(prompt);
+			}
+		};
+
+		CompletableFuture<Judgment> first = CompletableFuture.supplyAsync(() -> judge.judge(createTestContext()));
+		CompletableFuture<Judgment> second = CompletableFuture.supplyAsync(() -> judge.judge(createTestContext()));
+		while (coalescer.getCallCount() + coalescer.getCoalescedCount() < 2) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+
+		assertThat(first.get(5, TimeUnit.SECONDS).reasoning()).contains("response 1");
+		assertThat(second.get(5, TimeUnit.SECONDS).reasoning()).contains("response 1");
+		assertThat(judge.modelCalls.get()).isEqualTo(1);
+		assertThat(coalescer.getCoalescedCount()).isEqualTo(1);
+	}
+
+	// ==================== Streaming ====================
+
+	@Test
+	void streamingJudgesTheCompleteResponse() {
+		StreamingLLMJudge judge = new StreamingLLMJudge(ResponseMode.STREAMING, null);
+
+		Judgment judgment = judge.judge(createTestContext());
+
+		assertThat(judgment.reasoning()).isEqualTo("Parsed from LLM: VERDICT\nbecause of reasons");
+		assertThat(judge.cancelled.get()).isZero();
+	}
+
+	@Test
+	void streamingUntilVerdictCancelsTheRestOfTheStream() {
+		StreamingLLMJudge judge = new StreamingLLMJudge(ResponseMode.STREAMING_UNTIL_VERDICT, null);
+
+		Judgment judgment = judge.judge(createTestContext());
+
+		assertThat(judgment.reasoning()).isEqualTo("Parsed from LLM: VERDICT\n");
+		assertThat(judge.cancelled.get()).isEqualTo(1);
+	}
+
+	@Test
+	void truncatedResponsesAreNotCached() {
+		LLMResponseCache cache = LLMResponseCache.builder().build();
+		StreamingLLMJudge judge = new StreamingLLMJudge(ResponseMode.STREAMING_UNTIL_VERDICT, cache);
+
+		judge.judge(createTestContext());
+
+		assertThat(cache.stats().size()).isZero();
+	}
+
+	@Test
+	void completeStreamedResponsesAreCached() {
+		LLMResponseCache cache = LLMResponseCache.builder().build();
+		StreamingLLMJudge judge = new StreamingLLMJudge(ResponseMode.STREAMING, cache);
+
+		judge.judge(createTestContext());
+		Judgment cached = judge.judge(createTestContext());
+
+		assertThat(cache.stats().hitCount()).isEqualTo(1);
+		assertThat(cached.reasoning()).contains("because of reasons");
+	}
+
+	// ==================== Hedging ====================
+
+	@Test
+	void judgesWithoutHedgePolicyHaveNoHedgeStats() {
+		assertThat(new CountingLLMJudge(LLMJudgeOptions.defaults()).hedgeStats()).isNull();
+	}
+
+	@Test
+	void eachJudgeTracksItsOwnLatency() {
+		LLMJudgeOptions options = LLMJudgeOptions.builder()
+			.hedgePolicy(HedgePolicy.builder().minSamples(2).build())
+			.build();
+		CountingLLMJudge first = new CountingLLMJudge(options);
+		CountingLLMJudge second = new CountingLLMJudge(options);
+
+		first.judge(createTestContext());
+		first.judge(createTestContext());
+		first.judge(createTestContext());
+
+		HedgeStats stats = first.hedgeStats();
+		assertThat(stats.callCount()).isEqualTo(3);
+		assertThat(stats.hedgeDelay()).isNotNull();
+		assertThat(second.hedgeStats().callCount()).isZero();
+		assertThat(second.hedgeStats().hedgeDelay()).isNull();
+	}
+
 	// ==================== Helper Methods ====================
 
+	private static JudgmentContext contextWithCacheMode(String cacheMode) {
+		return JudgmentContext.builder()
+			.goal("Test goal")
+			.agentOutput("Test output")
+			.metadata(LLMJudgeOptions.CACHE_MODE, cacheMode)
+			.build();
+	}
+
 	private JudgmentContext createTestContext() {
 		return JudgmentContext.builder()
 			.goal("Test goal")
@@ -106,6 +313,10 @@ class LLMJudgeTest {
 			super(name, description, chatClientBuilder);
 		}
 
+		TestLLMJudge(String name, String description, ChatClient.Builder chatClientBuilder, LLMJudgeOptions options) {
+			super(name, description, chatClientBuilder, options);
+		}
+
 		@Override
 		protected String buildPrompt(JudgmentContext context) {
 			return String.format("Evaluate: Goal=%s, Output=%s", context.goal(), context.agentOutput().orElse("None"));
@@ -122,4 +333,46 @@ class LLMJudgeTest {
 
 	}
 
+	/**
+	 * Test judge that answers model calls locally and counts them.
+	 */
+	static class CountingLLMJudge extends TestLLMJudge {
+
+		final AtomicInteger modelCalls = new AtomicInteger();
+
+		CountingLLMJudge(LLMJudgeOptions options) {
+			super("Counting", "Counts model calls", null, options);
+		}
+
+		@Override
+		protected String callModel(String prompt) {
+			return "response " + modelCalls.incrementAndGet();
+		}
+
+	}
+
+	/**
+	 * Test judge that streams a canned response and recognizes its verdict line.
+	 */
+	static class StreamingLLMJudge extends TestLLMJudge {
+
+		final AtomicInteger cancelled = new AtomicInteger();
+
+		StreamingLLMJudge(ResponseMode mode, LLMResponseCache cache) {
+			super("Streaming", "Streams responses", null,
+					LLMJudgeOptions.builder().responseMode(mode).responseCache(cache).build());
+		}
+
+		@Override
+		protected Flux<String> streamModel(String prompt) {
+			return Flux.just("VER", "DICT", "\n", "because ", "of reasons").doOnCancel(cancelled::incrementAndGet);
+		}
+
+		@Override
+		protected boolean hasVerdict(String partialResponse) {
+			return partialResponse.startsWith("VERDICT\n");
+		}
+
+	}
+
 }
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link RequestCoalescer}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class RequestCoalescerTest {
+
+	// ==================== Coalescing ====================
+
+	@Test
+	void concurrentIdenticalCallsShareOneModelCall() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		AtomicInteger modelCalls = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.call("key", () -> {
+			modelCalls.incrementAndGet();
+			started.countDown();
+			await(release);
+			return "response";
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		List<CompletableFuture<String>> followers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			followers.add(CompletableFuture.supplyAsync(() -> coalescer.call("key", () -> {
+				modelCalls.incrementAndGet();
+				return "other";
+			})));
+		}
+		while (coalescer.getCoalescedCount() < 4) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+		for (CompletableFuture<String> follower : followers) {
+			assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+		}
+		assertThat(modelCalls.get()).isEqualTo(1);
+		assertThat(coalescer.getCallCount()).isEqualTo(1);
+		assertThat(coalescer.getInFlightCount()).isZero();
+	}
+
+	@Test
+	void sequentialCallsAreNotCoalesced() {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		AtomicInteger modelCalls = new AtomicInteger();
+
+		coalescer.call("key", () -> "response " + modelCalls.incrementAndGet());
+		String second = coalescer.call("key", () -> "response " + modelCalls.incrementAndGet());
+
+		assertThat(second).isEqualTo("response 2");
+		assertThat(coalescer.getCallCount()).isEqualTo(2);
+		assertThat(coalescer.getCoalescedCount()).isZero();
+	}
+
+	@Test
+	void differentKeysAreNotCoalesced() {
+		RequestCoalescer coalescer = new RequestCoalescer();
+
+		assertThat(coalescer.call("a", () -> "first")).isEqualTo("first");
+		assertThat(coalescer.call("b", () -> "second")).isEqualTo("second");
+		assertThat(coalescer.getCallCount()).isEqualTo(2);
+	}
+
+	@Test
+	void nullResponseIsSharedWithFollowers() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.call("key", () -> {
+			started.countDown();
+			await(release);
+			return null;
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> follower = CompletableFuture
+			.supplyAsync(() -> coalescer.call("key", () -> "unused"));
+		while (coalescer.getCoalescedCount() < 1) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isNull();
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isNull();
+		assertThat(coalescer.getCallCount()).isEqualTo(1);
+	}
+
+	// ==================== Failures ====================
+
+	@Test
+	void failureIsPropagatedToFollowers() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.call("key", () -> {
+			started.countDown();
+			await(release);
+			throw new IllegalStateException("model unavailable");
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<String> follower = CompletableFuture
+			.supplyAsync(() -> coalescer.call("key", () -> "unused"));
+		while (coalescer.getCoalescedCount() < 1) {
+			Thread.sleep(5);
+		}
+		release.countDown();
+
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("model unavailable");
+		assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("model unavailable");
+		assertThat(coalescer.getInFlightCount()).isZero();
+	}
+
+	@Test
+	void failedCallIsNotRemembered() {
+		RequestCoalescer coalescer = new RequestCoalescer();
+
+		assertThatThrownBy(() -> coalescer.call("key", () -> {
+			throw new IllegalStateException("model unavailable");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(coalescer.call("key", () -> "response")).isEqualTo("response");
+	}
+
+	@Test
+	void cancelledLeaderHandsOverToFollower() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		CountDownLatch started = new CountDownLatch(1);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			Future<String> leader = executor.submit(() -> coalescer.call("key", () -> {
+				started.countDown();
+				try {
+					new CountDownLatch(1).await();
+					return "unused";
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new CompletionException(ex);
+				}
+			}));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<String> follower = executor.submit(() -> coalescer.call("key", () -> "response"));
+			while (coalescer.getCoalescedCount() < 1) {
+				Thread.sleep(5);
+			}
+			leader.cancel(true);
+
+			assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+			assertThat(coalescer.getCallCount()).isEqualTo(2);
+
+			assertThat(coalescer.getInFlightCount()).isZero();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void followerRejoiningAfterHandoverIsCountedOnce() throws Exception {
+		RequestCoalescer coalescer = new RequestCoalescer();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			Future<String> leader = executor.submit(() -> coalescer.call("key", () -> {
+				started.countDown();
+				try {
+					new CountDownLatch(1).await();
+					return "unused";
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new CompletionException(ex);
+				}
+			}));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			List<Future<String>> followers = new ArrayList<>();
+			for (int i = 0; i < 2; i++) {
+				followers.add(executor.submit(() -> coalescer.call("key", () -> {
+					await(release);
+					return "response";
+				})));
+			}
+			while (coalescer.getCoalescedCount() < 2) {
+				Thread.sleep(5);
+			}
+			leader.cancel(true);
+			// One follower takes over and the other joins it
+			while (coalescer.getCallCount() < 2) {
+				Thread.sleep(5);
+			}
+			Thread.sleep(100);
+			release.countDown();
+
+			for (Future<String> follower : followers) {
+				assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+			}
+			assertThat(coalescer.getCallCount()).isEqualTo(2);
+			assertThat(coalescer.getCoalescedCount()).isEqualTo(2);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// ==================== Helper Methods ====================
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link RoutingJudge}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class RoutingJudgeTest {
+
+	private final ScriptedJudge strong = new ScriptedJudge(Judgment.fail("Strong model: the tests do not pass"));
+
+	// ==================== Cheap Route ====================
+
+	@Test
+	void agreeingCheapSamplesDecide() {
+		ScriptedJudge cheap = new ScriptedJudge(Judgment.pass("Tests pass"), Judgment.pass("All tests pass"));
+
+		Judgment judgment = routing(cheap).judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(judgment.reasoning()).isEqualTo("Tests pass");
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ROUTE, "cheap")
+			.containsEntry(RoutingJudge.CHEAP_CALLS, 2)
+			.containsEntry(RoutingJudge.STRONG_CALLS, 0)
+			.containsEntry(RoutingJudge.COST, 2.0)
+			.doesNotContainKey(RoutingJudge.ESCALATION_REASON);
+		assertThat(strong.contexts).isEmpty();
+	}
+
+	@Test
+	void onlySecondCheapSampleIsMarkedAsSample() {
+		ScriptedJudge cheap = new ScriptedJudge(Judgment.pass("Tests pass"), Judgment.pass("Tests pass"));
+
+		routing(cheap).judge(context());
+
+		// The first call stays cacheable; the disagreement check needs a fresh answer
+		assertThat(cheap.contexts).extracting(context -> context.metadata().get(LLMJudgeOptions.SAMPLE))
+			.containsExactly(null, 1);
+	}
+
+	@Test
+	void singleCheapSampleDecidesAlone() {
+		ScriptedJudge cheap = new ScriptedJudge(Judgment.fail("Tests fail"));
+
+		Judgment judgment = RoutingJudge.builder()
+			.cheapJudge(cheap)
+			.strongJudge(strong)
+			.cheapSamples(1)
+			.build()
+			.judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.CHEAP_CALLS, 1);
+	}
+
+	// ==================== Escalation ====================
+
+	@Test
+	void unparseableCheapAnswerEscalatesWithoutSecondSample() {
+		ScriptedJudge cheap = new ScriptedJudge(Judgment.error("Could not parse response", null));
+
+		Judgment judgment = routing(cheap).judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ROUTE, "strong")
+			.containsEntry(RoutingJudge.ESCALATION_REASON, "unparseable")
+			.containsEntry(RoutingJudge.CHEAP_CALLS, 1)
+			.containsEntry(RoutingJudge.STRONG_CALLS, 1)
+			.containsEntry(RoutingJudge.COST, 11.0);
+		assertThat(strong.contexts.get(0).metadata()).doesNotContainKey(LLMJudgeOptions.SAMPLE);
+	}
+
+	@Test
+	void failingCheapJudgeEscalates() {
+		Judge cheap = context -> {
+			throw new IllegalStateException("model overloaded");
+		};
+
+		Judgment judgment = routing(cheap).judge(context());
+
+		assertThat(judgment.reasoning()).startsWith("Strong model");
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ESCALATION_REASON, "unparseable")
+			.containsEntry(RoutingJudge.CHEAP_CALLS, 1);
+	}
+
+	@Test
+	void correctnessAnswerWithoutVerdictEscalates() {
+		CannedCorrectnessJudge cheap = new CannedCorrectnessJudge("The agent changed two files in the module.");
+
+		Judgment judgment = routing(cheap).judge(context());
+
+		assertThat(judgment.reasoning()).startsWith("Strong model");
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ESCALATION_REASON, "unparseable");
+		assertThat(cheap.calls).isEqualTo(1);
+	}
+
+	@Test
+	void correctnessAnswersThatAgreeDecide() {
+		CannedCorrectnessJudge cheap = new CannedCorrectnessJudge("Answer: YES\nReasoning: The test now passes.");
+
+		Judgment judgment = routing(cheap).judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ROUTE, "cheap");
+		assertThat(cheap.calls).isEqualTo(2);
+	}
+
+	@Test
+	void hedgedCheapAnswerEscalates() {
+		ScriptedJudge cheap = new ScriptedJudge(Judgment.pass("Answer: YES. I am not sure the tests were run."));
+
+		Judgment judgment = routing(cheap).judge(context());
+
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ESCALATION_REASON, "hedged");
+		assertThat(cheap.contexts).hasSize(1);
+	}
+
+	@Test
+	void disagreeingCheapSamplesEscalate() {
+		ScriptedJudge cheap = new ScriptedJudge(Judgment.pass("Tests pass"), Judgment.fail("Tests fail"));
+
+		Judgment judgment = routing(cheap).judge(context());
+
+		assertThat(judgment.reasoning()).startsWith("Strong model");
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ESCALATION_REASON, "disagreement");
+	}
+
+	@Test
+	void customLowConfidencePredicate() {
+		ScriptedJudge cheap = new ScriptedJudge(Judgment.pass("short"), Judgment.pass("short"));
+
+		Judgment judgment = RoutingJudge.builder()
+			.cheapJudge(cheap)
+			.strongJudge(strong)
+			.lowConfidenceWhen(candidate -> candidate.reasoning().length() < 10)
+			.callCosts(0.5, 20)
+			.build()
+			.judge(context());
+
+		assertThat(judgment.metadata()).containsEntry(RoutingJudge.ESCALATION_REASON, "hedged")
+			.containsEntry(RoutingJudge.COST, 20.5);
+	}
+
+	@Test
+	void hedgingPhrasesAreRecognized() {
+		assertThat(RoutingJudge.isHedged(Judgment.pass("It is unclear whether the file was created"))).isTrue();
+		assertThat(RoutingJudge.isHedged(Judgment.pass("Cannot determine if the build ran"))).isTrue();
+		assertThat(RoutingJudge.isHedged(Judgment.pass("The build succeeded and the tests pass"))).isFalse();
+	}
+
+	// ==================== Builder ====================
+
+	@Test
+	void builderRequiresBothJudges() {
+		assertThatThrownBy(() -> RoutingJudge.builder().cheapJudge(strong).build())
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> RoutingJudge.builder().cheapSamples(3)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// ==================== Helper Methods ====================
+
+	private RoutingJudge routing(Judge cheap) {
+		return RoutingJudge.builder().cheapJudge(cheap).strongJudge(strong).build();
+	}
+
+	private static JudgmentContext context() {
+		return JudgmentContext.builder().goal("Make the tests pass").agentOutput("Fixed the failing test").build();
+	}
+
+	/**
+	 * Judge that returns scripted judgments in turn, repeating the last one.
+	 */
+	static class ScriptedJudge implements Judge {
+
+		private final List<Judgment> script;
+
+		final List<JudgmentContext> contexts = new ArrayList<>();
+
+		ScriptedJudge(Judgment... script) {
+			this.script = List.of(script);
+		}
+
+		@Override
+		public Judgment judge(JudgmentContext context) {
+			contexts.add(context);
+			return script.get(Math.min(contexts.size(), script.size()) - 1);
+		}
+
+	}
+
+	/**
+	 * Correctness judge that answers every model call with a canned response.
+	 */
+	static class CannedCorrectnessJudge extends CorrectnessJudge {
+
+		private final String response;
+
+		int calls;
+
+		CannedCorrectnessJudge(String response) {
+			super(null, LLMJudgeOptions.defaults());
+			this.response = response;
+		}
+
+		@Override
+		protected String callModel(String prompt) {
+			calls++;
+			return response;
+		}
+
+	}
+
+}
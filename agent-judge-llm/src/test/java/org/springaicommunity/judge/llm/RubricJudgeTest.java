@@ -0,0 +1,225 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.JudgeWithMetadata;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.jury.SimpleJury;
+import org.springaicommunity.judge.jury.Verdict;
+import org.springaicommunity.judge.jury.WeightedAverageStrategy;
+import org.springaicommunity.judge.result.Check;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.NumericalScore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link RubricJudge}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class RubricJudgeTest {
+
+	private static final String RESPONSE = """
+			{"criteria": [
+			  {"name": "Correctness", "score": 9, "reasoning": "Does what was asked"},
+			  {"name": "tests", "score": 4, "reasoning": "Only one test"}
+			]}
+			""";
+
+	// ==================== Prompt ====================
+
+	@Test
+	void promptListsAllCriteria() {
+		TestRubricJudge judge = new TestRubricJudge(RESPONSE);
+
+		String prompt = judge.buildPrompt(context("Add a feature"));
+
+		assertThat(prompt).contains("Goal: Add a feature");
+		assertThat(prompt).contains("1. Correctness: The change does what the goal asks");
+		assertThat(prompt).contains("2. Tests: New behavior is covered by tests");
+		assertThat(prompt).contains("3. Docs: Public API is documented");
+		assertThat(prompt).contains("from 0 to 10");
+	}
+
+	// ==================== Combined Judgment ====================
+
+	@Test
+	void combinesCriteriaIntoWeightedScore() {
+		TestRubricJudge judge = new TestRubricJudge(RESPONSE);
+
+		Judgment judgment = judge.judge(context("Add a feature"));
+
+		// (9 * 1 + 4 * 2) / 3, Docs not evaluated
+		assertThat(((NumericalScore) judgment.score()).value()).isCloseTo(5.667, within(0.001));
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(judgment.metadata())
+			.containsEntry("criterion.Correctness", 9.0)
+			.containsEntry("criterion.Tests", 4.0);
+		assertThat(judgment.checks()).extracting(Check::name).containsExactly("Correctness", "Tests", "Docs");
+		assertThat(judgment.checks()).extracting(Check::passed).containsExactly(true, false, false);
+		assertThat(judge.modelCalls.get()).isEqualTo(1);
+	}
+
+	@Test
+	void unparseableResponseIsAnError() {
+		TestRubricJudge judge = new TestRubricJudge("Looks good to me!");
+
+		Judgment judgment = judge.judge(context("Add a feature"));
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.ERROR);
+	}
+
+	// ==================== Criterion Judges ====================
+
+	@Test
+	void criterionJudgesReportOneCriterionEach() {
+		TestRubricJudge judge = new TestRubricJudge(RESPONSE);
+		JudgmentContext context = context("Add a feature");
+
+		List<Judge> judges = judge.criterionJudges();
+
+		assertThat(judges).extracting(j -> ((JudgeWithMetadata) j).metadata().name())
+			.containsExactly("Correctness", "Tests", "Docs");
+		assertThat(judges.get(0).judge(context).status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(judges.get(0).judge(context).score()).isEqualTo(new NumericalScore(9, 0, 10));
+		assertThat(judges.get(1).judge(context).status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(judges.get(2).judge(context).status()).isEqualTo(JudgmentStatus.ABSTAIN);
+		assertThat(judge.modelCalls.get()).isEqualTo(1);
+	}
+
+	@Test
+	void criterionJudgesInParallelJuryShareOneCall() {
+		TestRubricJudge judge = new TestRubricJudge(RESPONSE);
+		SimpleJury.Builder jury = SimpleJury.builder().votingStrategy(new WeightedAverageStrategy()).parallel(true);
+		judge.criterionJudges().forEach(jury::judge);
+
+		Verdict verdict = jury.build().vote(context("Add a feature"));
+
+		assertThat(verdict.individualByName()).containsKeys("Correctness", "Tests", "Docs");
+		assertThat(judge.modelCalls.get()).isEqualTo(1);
+	}
+
+	@Test
+	void differentContextsAreEvaluatedSeparately() {
+		TestRubricJudge judge = new TestRubricJudge(RESPONSE);
+
+		judge.criterionJudges().get(0).judge(context("First goal"));
+		judge.criterionJudges().get(0).judge(context("Second goal"));
+
+		assertThat(judge.modelCalls.get()).isEqualTo(2);
+	}
+
+	@Test
+	void cancelledEvaluationHandsOverToWaitingCriterion() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		AtomicBoolean first = new AtomicBoolean(true);
+		TestRubricJudge judge = new TestRubricJudge(RESPONSE) {
+			@Override
+			protected String callModel(String prompt) {
+				if (first.getAndSet(false)) {
+					started.countDown();
+					try {
+						new CountDownLatch(1).await();
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new CompletionException(ex);
+					}
+				}
+				return super.callModel(prompt);
+			}
+		};
+		JudgmentContext context = context("Add a feature");
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			Future<Judgment> cancelled = executor.submit(() -> judge.criterionJudges().get(0).judge(context));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			Future<Judgment> waiting = executor.submit(() -> judge.criterionJudges().get(1).judge(context));
+			Thread.sleep(50);
+			cancelled.cancel(true);
+
+			assertThat(waiting.get(5, TimeUnit.SECONDS).status()).isEqualTo(JudgmentStatus.FAIL);
+			assertThat(judge.modelCalls.get()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// ==================== Builder ====================
+
+	@Test
+	void builderValidatesCriteriaAndScale() {
+		assertThatThrownBy(() -> RubricJudge.builder().build()).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> RubricJudge.builder().criterion("A", "a").criterion("a", "again"))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RubricJudge.builder().criterion("A", "a", 0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> RubricJudge.builder().criterion("A", "a").scale(1, 5).passThreshold(8).build())
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	// ==================== Helper Methods ====================
+
+	private static JudgmentContext context(String goal) {
+		return JudgmentContext.builder().goal(goal).agentOutput("Implemented the feature").build();
+	}
+
+	/**
+	 * Test rubric with three criteria that answers model calls with a canned response.
+	 */
+	static class TestRubricJudge extends RubricJudge {
+
+		final AtomicInteger modelCalls = new AtomicInteger();
+
+		private final String response;
+
+		TestRubricJudge(String response) {
+			super(RubricJudge.builder()
+				.criterion("Correctness", "The change does what the goal asks")
+				.criterion("Tests", "New behavior is covered by tests", 2.0)
+				.criterion("Docs", "Public API is documented")
+				.passThreshold(6));
+			this.response = response;
+		}
+
+		@Override
+		protected String callModel(String prompt) {
+			modelCalls.incrementAndGet();
+			return response;
+		}
+
+	}
+
+}
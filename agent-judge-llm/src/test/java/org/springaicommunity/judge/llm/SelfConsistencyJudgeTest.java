@@ -0,0 +1,250 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.Judge;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springaicommunity.judge.score.NumericalScore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link SelfConsistencyJudge}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class SelfConsistencyJudgeTest {
+
+	// ==================== Early Stopping ====================
+
+	@Test
+	void agreeingSamplesStopAfterTwo() {
+		ScriptedJudge scripted = new ScriptedJudge(JudgmentStatus.PASS, JudgmentStatus.PASS, JudgmentStatus.PASS);
+		Judgment judgment = SelfConsistencyJudge.builder().judge(scripted).build().judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(scripted.contexts).hasSize(2);
+		assertThat(judgment.metadata().get(SelfConsistencyJudge.SAMPLES)).isEqualTo(2);
+		assertThat(judgment.metadata().get(SelfConsistencyJudge.PASS_VOTES)).isEqualTo(2);
+		assertThat(judgment.reasoning()).startsWith("2 of 2 samples passed");
+	}
+
+	@Test
+	void splitVotesSampleUntilSettled() {
+		ScriptedJudge scripted = new ScriptedJudge(JudgmentStatus.PASS, JudgmentStatus.FAIL, JudgmentStatus.FAIL,
+				JudgmentStatus.FAIL, JudgmentStatus.PASS);
+		Judgment judgment = SelfConsistencyJudge.builder().judge(scripted).build().judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.FAIL);
+		assertThat(scripted.contexts).hasSize(4);
+		assertThat(judgment.metadata().get(SelfConsistencyJudge.FAIL_VOTES)).isEqualTo(3);
+		assertThat((double) judgment.metadata().get(SelfConsistencyJudge.CONFIDENCE)).isGreaterThan(0.8);
+	}
+
+	@Test
+	void unsettledTieAbstainsAtMaxSamples() {
+		ScriptedJudge scripted = new ScriptedJudge(JudgmentStatus.PASS, JudgmentStatus.FAIL, JudgmentStatus.PASS,
+				JudgmentStatus.FAIL);
+		Judgment judgment = SelfConsistencyJudge.builder().judge(scripted).maxSamples(4).build().judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.ABSTAIN);
+		assertThat(scripted.contexts).hasSize(4);
+		assertThat(((NumericalScore) judgment.score()).value()).isEqualTo(0.5);
+		assertThat(judgment.reasoning()).contains("not settled after 4 samples");
+	}
+
+	// ==================== Samples ====================
+
+	@Test
+	void eachSampleIsNumberedInContextMetadata() {
+		ScriptedJudge scripted = new ScriptedJudge(JudgmentStatus.PASS, JudgmentStatus.FAIL, JudgmentStatus.PASS,
+				JudgmentStatus.PASS);
+		SelfConsistencyJudge.builder().judge(scripted).build().judge(context());
+
+		assertThat(scripted.contexts).extracting(context -> context.metadata().get(LLMJudgeOptions.SAMPLE))
+			.containsExactly(0, 1, 2, 3);
+		assertThat(scripted.contexts).allSatisfy(context -> assertThat(context.goal()).isEqualTo("Add a test"));
+	}
+
+	@Test
+	void errorsCountAsSamplesButNotVotes() {
+		ScriptedJudge scripted = new ScriptedJudge(JudgmentStatus.ERROR, JudgmentStatus.PASS, JudgmentStatus.PASS);
+		Judgment judgment = SelfConsistencyJudge.builder().judge(scripted).build().judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(judgment.metadata().get(SelfConsistencyJudge.SAMPLES)).isEqualTo(3);
+		assertThat(judgment.metadata().get(SelfConsistencyJudge.PASS_VOTES)).isEqualTo(2);
+	}
+
+	@Test
+	void allErrorsReturnFirstError() {
+		ScriptedJudge scripted = new ScriptedJudge(JudgmentStatus.ERROR, JudgmentStatus.ERROR);
+		Judgment judgment = SelfConsistencyJudge.builder().judge(scripted).maxSamples(2).build().judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.ERROR);
+		assertThat(judgment.reasoning()).isEqualTo("sample 0");
+	}
+
+	@Test
+	void wavesSampleInParallel() {
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		try {
+			ScriptedJudge scripted = new ScriptedJudge(JudgmentStatus.PASS, JudgmentStatus.PASS, JudgmentStatus.PASS,
+					JudgmentStatus.PASS);
+			Judgment judgment = SelfConsistencyJudge.builder()
+				.judge(scripted)
+				.waveSize(3)
+				.executor(executor)
+				.build()
+				.judge(context());
+
+			assertThat(judgment.status()).isEqualTo(JudgmentStatus.PASS);
+			assertThat(scripted.contexts).hasSize(3);
+			assertThat(judgment.metadata().get(SelfConsistencyJudge.SAMPLES)).isEqualTo(3);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void interruptionStopsSampling() {
+		List<JudgmentContext> contexts = Collections.synchronizedList(new ArrayList<>());
+		Judge interrupted = context -> {
+			contexts.add(context);
+			Thread.currentThread().interrupt();
+			return Judgment.error("Interrupted", null);
+		};
+		try {
+			assertThatThrownBy(() -> SelfConsistencyJudge.builder().judge(interrupted).build().judge(context()))
+				.isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(InterruptedException.class);
+			assertThat(contexts).hasSize(1);
+		}
+		finally {
+			Thread.interrupted();
+		}
+	}
+
+	@Test
+	void interruptingCallerInterruptsParallelSamples() throws Exception {
+		CountDownLatch started = new CountDownLatch(3);
+		CountDownLatch interrupted = new CountDownLatch(3);
+		Judge blocking = context -> {
+			started.countDown();
+			try {
+				new CountDownLatch(1).await();
+				return Judgment.pass("unused");
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+				Thread.currentThread().interrupt();
+				throw new CompletionException(ex);
+			}
+		};
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			SelfConsistencyJudge judge = SelfConsistencyJudge.builder()
+				.judge(blocking)
+				.waveSize(3)
+				.executor(executor)
+				.build();
+			Future<Judgment> caller = executor.submit(() -> judge.judge(context()));
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+			caller.cancel(true);
+
+			assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// ==================== Scoring ====================
+
+	@Test
+	void passProbabilityFollowsVotes() {
+		assertThat(SelfConsistencyJudge.passProbability(0, 0)).isEqualTo(0.5);
+		assertThat(SelfConsistencyJudge.passProbability(2, 0)).isEqualTo(0.875);
+		assertThat(SelfConsistencyJudge.passProbability(0, 2)).isEqualTo(0.125);
+		assertThat(SelfConsistencyJudge.passProbability(3, 3)).isEqualTo(0.5);
+	}
+
+	// ==================== Builder ====================
+
+	@Test
+	void builderValidatesSettings() {
+		assertThatThrownBy(() -> SelfConsistencyJudge.builder().build()).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> SelfConsistencyJudge.builder().maxSamples(0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SelfConsistencyJudge.builder().margin(0.5))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SelfConsistencyJudge.builder().errorRate(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// ==================== Helper Methods ====================
+
+	private static JudgmentContext context() {
+		return JudgmentContext.builder().goal("Add a test").agentOutput("Added a test").build();
+	}
+
+	/**
+	 * Judge that returns a fixed sequence of verdicts and records the contexts it saw.
+	 */
+	static class ScriptedJudge implements Judge {
+
+		private final JudgmentStatus[] script;
+
+		final List<JudgmentContext> contexts = Collections.synchronizedList(new ArrayList<>());
+
+		ScriptedJudge(JudgmentStatus... script) {
+			this.script = script;
+		}
+
+		@Override
+		public Judgment judge(JudgmentContext context) {
+			int sample = (int) context.metadata().get(LLMJudgeOptions.SAMPLE);
+			contexts.add(context);
+			String reasoning = "sample " + sample;
+			return switch (script[sample]) {
+				case PASS -> Judgment.pass(reasoning);
+				case FAIL -> Judgment.fail(reasoning);
+				case ABSTAIN -> Judgment.abstain(reasoning);
+				case ERROR -> Judgment.error(reasoning, null);
+			};
+		}
+
+	}
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link LLMResponseCache}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class LLMResponseCacheTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void keysDependOnNamespaceAndPrompt() {
+		LLMResponseCache cache = LLMResponseCache.builder().namespace("model-a").build();
+		LLMResponseCache other = LLMResponseCache.builder().namespace("model-b").build();
+
+		assertThat(cache.key("prompt", null)).isEqualTo(cache.key("prompt", null));
+		assertThat(cache.key("prompt", null)).isNotEqualTo(cache.key("other prompt", null));
+		assertThat(cache.key("prompt", null)).isNotEqualTo(other.key("prompt", null));
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedFromMemory() {
+		LLMResponseCache cache = LLMResponseCache.builder().maxEntries(2).build();
+		cache.put("a", "A");
+		cache.put("b", "B");
+		cache.get("a");
+
+		cache.put("c", "C");
+
+		assertThat(cache.get("a")).contains("A");
+		assertThat(cache.get("b")).isEmpty();
+		assertThat(cache.stats().evictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void diskTierSurvivesNewInstances() {
+		LLMResponseCache.builder().directory(directory).build().put("key1", "Answer: YES\nReasoning: multi-line");
+
+		LLMResponseCache restarted = LLMResponseCache.builder().directory(directory).build();
+
+		assertThat(restarted.get("key1")).contains("Answer: YES\nReasoning: multi-line");
+		assertThat(restarted.stats().hitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredResponsesAreMissesInBothTiers() {
+		Instant now = Instant.parse("2024-01-01T00:00:00Z");
+		LLMResponseCache.Builder builder = LLMResponseCache.builder()
+			.directory(directory)
+			.timeToLive(Duration.ofMinutes(5));
+		LLMResponseCache cache = builder.clock(Clock.fixed(now, ZoneOffset.UTC)).build();
+		cache.put("key1", "response");
+
+		LLMResponseCache later = builder.clock(Clock.fixed(now.plus(Duration.ofMinutes(6)), ZoneOffset.UTC)).build();
+
+		assertThat(later.get("key1")).isEmpty();
+		assertThat(cache.get("key1")).contains("response");
+	}
+
+	@Test
+	void invalidateAllClearsBothTiers() {
+		LLMResponseCache cache = LLMResponseCache.builder().directory(directory).build();
+		cache.put("key1", "response");
+
+		cache.invalidateAll();
+
+		assertThat(cache.get("key1")).isEmpty();
+		assertThat(LLMResponseCache.builder().directory(directory).build().get("key1")).isEmpty();
+	}
+
+	@Test
+	void builderValidation() {
+		assertThatThrownBy(() -> LLMResponseCache.builder().maxEntries(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LLMResponseCache.builder().timeToLive(Duration.ofSeconds(-1)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
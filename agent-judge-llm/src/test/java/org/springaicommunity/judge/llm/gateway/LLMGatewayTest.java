@@ -0,0 +1,303 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.gateway;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springaicommunity.judge.context.JudgmentContext;
+import org.springaicommunity.judge.llm.CorrectnessJudge;
+import org.springaicommunity.judge.llm.LLMJudgeOptions;
+import org.springaicommunity.judge.result.Judgment;
+import org.springaicommunity.judge.result.JudgmentStatus;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link LLMGateway}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class LLMGatewayTest {
+
+	// ==================== Concurrency ====================
+
+	@Test
+	void concurrentJudgmentsAreCappedAtConcurrencyLimit() throws Exception {
+		StubChatModel model = new StubChatModel(Duration.ofMillis(50));
+		LLMGateway gateway = LLMGateway.builder().initialConcurrency(2).maxConcurrency(2).build();
+		CorrectnessJudge judge = new CorrectnessJudge(ChatClient.builder(model),
+				LLMJudgeOptions.builder().gateway(gateway).build());
+
+		List<CompletableFuture<Judgment>> judgments = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			judgments.add(CompletableFuture.supplyAsync(() -> judge.judge(context())));
+		}
+
+		for (CompletableFuture<Judgment> judgment : judgments) {
+			assertThat(judgment.get(10, TimeUnit.SECONDS).status()).isEqualTo(JudgmentStatus.PASS);
+		}
+		assertThat(model.calls.get()).isEqualTo(8);
+		assertThat(model.maxConcurrent.get()).isEqualTo(2);
+		assertThat(gateway.stats().completedCount()).isEqualTo(8);
+		assertThat(gateway.stats().inFlight()).isZero();
+	}
+
+	@Test
+	void waitingCallsAreReportedAsQueueDepth() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		LLMGateway gateway = LLMGateway.builder().initialConcurrency(1).maxConcurrency(1).build();
+
+		CompletableFuture<String> first = CompletableFuture
+			.supplyAsync(() -> gateway.call("prompt", null, () -> await(release)));
+		CompletableFuture<String> second = CompletableFuture
+			.supplyAsync(() -> gateway.call("prompt", null, () -> "second"));
+		while (gateway.stats().queueDepth() < 1) {
+			Thread.sleep(5);
+		}
+
+		assertThat(gateway.stats().inFlight()).isEqualTo(1);
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("released");
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+		assertThat(gateway.stats().queueDepth()).isZero();
+	}
+
+	@Test
+	void callsBeyondMaxQueueDepthAreRejected() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		LLMGateway gateway = LLMGateway.builder().initialConcurrency(1).maxConcurrency(1).maxQueueDepth(0).build();
+
+		CompletableFuture<String> first = CompletableFuture
+			.supplyAsync(() -> gateway.call("prompt", null, () -> await(release)));
+		while (gateway.stats().inFlight() < 1) {
+			Thread.sleep(5);
+		}
+
+		assertThatThrownBy(() -> gateway.call("prompt", null, () -> "second"))
+			.isInstanceOf(RejectedExecutionException.class);
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("released");
+		assertThat(gateway.stats().rejectedCount()).isEqualTo(1);
+	}
+
+	// ==================== Rate Limits ====================
+
+	@Test
+	void requestRateBeyondMaxWaitIsRejected() {
+		StubChatModel model = new StubChatModel(Duration.ZERO);
+		ChatClient chatClient = ChatClient.builder(model).build();
+		LLMGateway gateway = LLMGateway.builder().requestsPerMinute(1).maxWait(Duration.ofMillis(100)).build();
+
+		assertThat(gateway.call("prompt", null, () -> chatClient.prompt().user("prompt").call().content()))
+			.contains("YES");
+		assertThatThrownBy(
+				() -> gateway.call("prompt", null, () -> chatClient.prompt().user("prompt").call().content()))
+			.isInstanceOf(RejectedExecutionException.class)
+			.hasMessageContaining("rate limit");
+		assertThat(model.calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	void oversizedRequestProceedsWhenTokenBucketIsFull() {
+		LLMGateway gateway = LLMGateway.builder()
+			.tokensPerMinute(100)
+			.completionTokens(0)
+			.maxWait(Duration.ofMillis(100))
+			.build();
+		String prompt = "x".repeat(800);
+
+		assertThat(gateway.call(prompt, null, () -> "")).isEmpty();
+		assertThatThrownBy(() -> gateway.call(prompt, null, () -> ""))
+			.isInstanceOf(RejectedExecutionException.class);
+	}
+
+	@Test
+	void rateLimitedCallsAreRetriedAndShrinkTheLimit() {
+		StubChatModel model = new StubChatModel(Duration.ZERO);
+		model.rateLimitedCalls.set(2);
+		LLMGateway gateway = LLMGateway.builder().initialConcurrency(8).retryBackoff(Duration.ofMillis(10)).build();
+		CorrectnessJudge judge = new CorrectnessJudge(ChatClient.builder(model),
+				LLMJudgeOptions.builder().gateway(gateway).build());
+
+		Judgment judgment = judge.judge(context());
+
+		assertThat(judgment.status()).isEqualTo(JudgmentStatus.PASS);
+		assertThat(model.calls.get()).isEqualTo(3);
+		assertThat(gateway.stats().rateLimitedCount()).isEqualTo(2);
+		assertThat(gateway.stats().concurrencyLimit()).isEqualTo(2);
+	}
+
+	@Test
+	void rateLimitedCallFailsOnceRetriesAreExhausted() {
+		StubChatModel model = new StubChatModel(Duration.ZERO);
+		model.rateLimitedCalls.set(5);
+		ChatClient chatClient = ChatClient.builder(model).build();
+		LLMGateway gateway = LLMGateway.builder().rateLimitRetries(1).retryBackoff(Duration.ZERO).build();
+
+		assertThatThrownBy(
+				() -> gateway.call("prompt", null, () -> chatClient.prompt().user("prompt").call().content()))
+			.hasMessageContaining("429");
+		assertThat(model.calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	void otherFailuresAreNotRetried() {
+		AtomicInteger calls = new AtomicInteger();
+		LLMGateway gateway = LLMGateway.builder().build();
+
+		assertThatThrownBy(() -> gateway.call("prompt", null, () -> {
+			calls.incrementAndGet();
+			throw new IllegalStateException("invalid request");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(gateway.stats().rateLimitedCount()).isZero();
+		assertThat(gateway.stats().inFlight()).isZero();
+	}
+
+	@Test
+	void numbersThatMerelyContain429AreNotRateLimits() {
+		AtomicInteger calls = new AtomicInteger();
+		LLMGateway gateway = LLMGateway.builder().retryBackoff(Duration.ZERO).build();
+
+		assertThatThrownBy(() -> gateway.call("prompt", null, () -> {
+			calls.incrementAndGet();
+			throw new IllegalStateException("request 84291 exceeded 4290 tokens");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(gateway.stats().rateLimitedCount()).isZero();
+	}
+
+	@Test
+	void statusCodeOfClientExceptionIsRecognized() {
+		AtomicInteger calls = new AtomicInteger();
+		LLMGateway gateway = LLMGateway.builder().retryBackoff(Duration.ZERO).build();
+
+		String response = gateway.call("prompt", null, () -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new StatusException(429);
+			}
+			return "response";
+		});
+
+		assertThat(response).isEqualTo("response");
+		assertThat(gateway.stats().rateLimitedCount()).isEqualTo(1);
+	}
+
+	// ==================== Builder ====================
+
+	@Test
+	void builderRejectsInvalidSettings() {
+		assertThatThrownBy(() -> LLMGateway.builder().requestsPerMinute(0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LLMGateway.builder().latencyTolerance(1.0))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> LLMGateway.builder().minConcurrency(4).maxConcurrency(2).build())
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	// ==================== Helper Methods ====================
+
+	private static JudgmentContext context() {
+		return JudgmentContext.builder().goal("Create hello.txt").agentOutput("Created hello.txt").build();
+	}
+
+	private static String await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return "released";
+	}
+
+	/**
+	 * Local chat model that answers YES after a delay, optionally rejecting the first
+	 * calls with a rate-limit error, and records its peak concurrency.
+	 */
+	static class StubChatModel implements ChatModel {
+
+		final AtomicInteger calls = new AtomicInteger();
+
+		final AtomicInteger rateLimitedCalls = new AtomicInteger();
+
+		final AtomicInteger maxConcurrent = new AtomicInteger();
+
+		private final AtomicInteger concurrent = new AtomicInteger();
+
+		private final Duration latency;
+
+		StubChatModel(Duration latency) {
+			this.latency = latency;
+		}
+
+		@Override
+		public ChatResponse call(Prompt prompt) {
+			calls.incrementAndGet();
+			if (rateLimitedCalls.getAndDecrement() > 0) {
+				throw new IllegalStateException("HTTP 429 - Too Many Requests");
+			}
+			maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(latency.toMillis());
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				concurrent.decrementAndGet();
+			}
+			return new ChatResponse(List.of(new Generation(new AssistantMessage("Answer: YES\nReasoning: done"))));
+		}
+
+	}
+
+	/**
+	 * Client exception exposing its status the way Spring's HTTP client exceptions do.
+	 */
+	public static class StatusException extends RuntimeException {
+
+		private final int status;
+
+		StatusException(int status) {
+			super("request failed");
+			this.status = status;
+		}
+
+		public int getStatusCode() {
+			return this.status;
+		}
+
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.gateway;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link TokenBucket} and {@link ConcurrencyLimit}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class TokenBucketTest {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	// ==================== Token Bucket ====================
+
+	@Test
+	void startsFullAndRefillsAtTheConfiguredRate() {
+		TokenBucket bucket = new TokenBucket(60, nanos::get);
+
+		assertThat(bucket.reserve(60)).isZero();
+		assertThat(bucket.reserve(1)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+		nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+		assertThat(bucket.available()).isCloseTo(10, within(1e-6));
+	}
+
+	@Test
+	void laterReservationsWaitBehindEarlierOnes() {
+		TokenBucket bucket = new TokenBucket(60, nanos::get);
+		bucket.reserve(60);
+
+		long first = bucket.reserve(30);
+		long second = bucket.reserve(30);
+
+		assertThat(first).isEqualTo(TimeUnit.SECONDS.toNanos(30));
+		assertThat(second).isEqualTo(TimeUnit.SECONDS.toNanos(60));
+	}
+
+	@Test
+	void releasedPermitsAreAvailableAgainUpToCapacity() {
+		TokenBucket bucket = new TokenBucket(60, nanos::get);
+		bucket.reserve(40);
+
+		bucket.release(100);
+
+		assertThat(bucket.available()).isEqualTo(60);
+	}
+
+	// ==================== Concurrency Limit ====================
+
+	@Test
+	void limitGrowsWhileLatencyStaysLow() {
+		ConcurrencyLimit limit = new ConcurrencyLimit(2, 1, 10, 2.0);
+
+		for (int i = 0; i < 20; i++) {
+			limit.onSuccess(100, limit.current());
+		}
+
+		assertThat(limit.current()).isGreaterThan(2);
+	}
+
+	@Test
+	void limitDoesNotGrowWhenUnderused() {
+		ConcurrencyLimit limit = new ConcurrencyLimit(8, 1, 10, 2.0);
+
+		for (int i = 0; i < 20; i++) {
+			limit.onSuccess(100, 1);
+		}
+
+		assertThat(limit.current()).isEqualTo(8);
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRises() {
+		ConcurrencyLimit limit = new ConcurrencyLimit(8, 1, 10, 2.0);
+		for (int i = 0; i < 40; i++) {
+			limit.onSuccess(100, 1);
+		}
+
+		for (int i = 0; i < 10; i++) {
+			limit.onSuccess(500, 8);
+		}
+
+		assertThat(limit.current()).isLessThan(8);
+	}
+
+	@Test
+	void mixedResponseLengthsDoNotCollapseTheLimit() {
+		ConcurrencyLimit limit = new ConcurrencyLimit(8, 1, 10, 2.0);
+		Random random = new Random(42);
+
+		// Short verdicts and long explanations, twenty times apart in latency
+		for (int i = 0; i < 1000; i++) {
+			limit.onSuccess(random.nextBoolean() ? 100 : 2000, limit.current());
+			assertThat(limit.current()).isGreaterThanOrEqualTo(8);
+		}
+	}
+
+	@Test
+	void rateLimitingHalvesTheLimitDownToTheMinimum() {
+		ConcurrencyLimit limit = new ConcurrencyLimit(8, 3, 10, 2.0);
+
+		limit.onRateLimited();
+		assertThat(limit.current()).isEqualTo(4);
+		limit.onRateLimited();
+		assertThat(limit.current()).isEqualTo(3);
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.hedge;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link RequestHedger} and {@link LatencyHistogram}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class RequestHedgerTest {
+
+	private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	// ==================== Latency Histogram ====================
+
+	@Test
+	void percentilesAreWithinOneBucketOfTheTrueValue() {
+		LatencyHistogram histogram = new LatencyHistogram(1000);
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i * MILLIS);
+		}
+
+		assertThat(histogram.percentile(0.5)).isBetween(50 * MILLIS, 55 * MILLIS);
+		assertThat(histogram.percentile(0.95)).isBetween(95 * MILLIS, 104 * MILLIS);
+		assertThat(histogram.count()).isEqualTo(100);
+	}
+
+	@Test
+	void oldWindowsAreForgotten() {
+		LatencyHistogram histogram = new LatencyHistogram(10);
+		for (int i = 0; i < 10; i++) {
+			histogram.record(1000 * MILLIS);
+		}
+		for (int i = 0; i < 20; i++) {
+			histogram.record(10 * MILLIS);
+		}
+
+		assertThat(histogram.percentile(0.99)).isLessThan(11 * MILLIS);
+		assertThat(histogram.count()).isEqualTo(20);
+	}
+
+	@Test
+	void emptyHistogramHasNoPercentile() {
+		assertThat(new LatencyHistogram(10).percentile(0.5)).isEqualTo(-1);
+	}
+
+	// ==================== Hedging ====================
+
+	@Test
+	void callsRunInlineUntilEnoughLatenciesAreRecorded() {
+		RequestHedger hedger = new RequestHedger(HedgePolicy.builder().minSamples(5).build());
+		Thread caller = Thread.currentThread();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(hedger.call(() -> Thread.currentThread() == caller ? "inline" : "async")).isEqualTo("inline");
+		}
+
+		assertThat(hedger.stats().hedgeDelay()).isNull();
+		assertThat(hedger.stats().sampleCount()).isEqualTo(4);
+	}
+
+	@Test
+	void slowCallIsHedgedAndTheLoserIsInterrupted() throws Exception {
+		RequestHedger hedger = warmHedger(HedgePolicy.builder().minSamples(10).maxHedgeRatio(1.0).build());
+		AtomicInteger attempts = new AtomicInteger();
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		long start = System.nanoTime();
+		String response = hedger.call(() -> {
+			if (attempts.getAndIncrement() == 0) {
+				try {
+					Thread.sleep(5_000);
+				}
+				catch (InterruptedException ex) {
+					interrupted.countDown();
+				}
+				return "slow";
+			}
+			return "fast";
+		});
+
+		assertThat(response).isEqualTo("fast");
+		assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(2));
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(hedger.stats().hedgeWinCount()).isEqualTo(1);
+	}
+
+	@Test
+	void hedgesAreLimitedByTheBudget() {
+		RequestHedger hedger = warmHedger(
+				HedgePolicy.builder().minSamples(10).maxHedgeRatio(0.01).minDelay(Duration.ofMillis(5)).build());
+
+		for (int i = 0; i < 5; i++) {
+			hedger.call(() -> sleep(50));
+		}
+
+		assertThat(hedger.stats().callCount()).isEqualTo(15);
+		assertThat(hedger.stats().hedgeCount()).isZero();
+	}
+
+	@Test
+	void callFailsOnlyWhenEveryAttemptFails() {
+		RequestHedger hedger = warmHedger(HedgePolicy.builder().minSamples(10).maxHedgeRatio(1.0).build());
+		AtomicInteger attempts = new AtomicInteger();
+
+		String response = hedger.call(() -> {
+			if (attempts.getAndIncrement() == 0) {
+				sleep(200);
+				throw new IllegalStateException("primary failed");
+			}
+			return "hedge";
+		});
+		assertThat(response).isEqualTo("hedge");
+
+		assertThatThrownBy(() -> hedger.call(() -> {
+			throw new IllegalStateException("always fails");
+		})).isInstanceOf(IllegalStateException.class).hasMessage("always fails");
+	}
+
+	@Test
+	void builderValidatesSettings() {
+		assertThatThrownBy(() -> HedgePolicy.builder().percentile(1.0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> HedgePolicy.builder().maxHedgeRatio(0)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> HedgePolicy.builder().minSamples(50).windowSize(10).build())
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	// ==================== Helper Methods ====================
+
+	/**
+	 * Create a hedger that has recorded ten fast calls, so it hedges after a few
+	 * milliseconds.
+	 */
+	private static RequestHedger warmHedger(HedgePolicy policy) {
+		RequestHedger hedger = new RequestHedger(policy);
+		for (int i = 0; i < 10; i++) {
+			hedger.call(() -> sleep(1));
+		}
+		return hedger;
+	}
+
+	private static String sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return "done";
+	}
+
+}
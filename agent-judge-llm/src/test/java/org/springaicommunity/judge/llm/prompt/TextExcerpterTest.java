@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.prompt;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link TextExcerpter}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class TextExcerpterTest {
+
+	private final TextExcerpter excerpter = TextExcerpter.builder().build();
+
+	// ==================== Budget ====================
+
+	@Test
+	void textWithinBudgetIsUnchanged() {
+		assertThat(excerpter.excerpt("short output", 100, null)).isEqualTo("short output");
+		assertThat(excerpter.excerpt(null, 100, null)).isNull();
+	}
+
+	@Test
+	void longTextIsShortenedToAboutTheBudget() {
+		String excerpt = excerpter.excerpt(transcript(5_000), 500, null);
+
+		assertThat(TokenEstimator.approximate().estimate(excerpt)).isLessThanOrEqualTo(500);
+		assertThat(excerpt).contains("lines omitted");
+	}
+
+	@Test
+	void singleLongLineIsCutByCharacters() {
+		String excerpt = excerpter.excerpt("a".repeat(5_000) + "z".repeat(5_000), 100, null);
+
+		assertThat(excerpt).startsWith("aaa").endsWith("zzz").contains("characters omitted");
+		assertThat(excerpt.length()).isLessThan(500);
+	}
+
+	// ==================== Selection ====================
+
+	@Test
+	void headAndTailAreKept() {
+		String excerpt = excerpter.excerpt(transcript(5_000), 500, null);
+
+		assertThat(excerpt).startsWith("line 0 routine work");
+		assertThat(excerpt).endsWith("line 4999 routine work");
+	}
+
+	@Test
+	void passagesMatchingTheQueryAreKept() {
+		String text = transcript(2_500) + "\nWrote greeting to hello.txt\n" + transcript(2_500);
+
+		String excerpt = excerpter.excerpt(text, 500, "Create hello.txt containing a greeting");
+
+		assertThat(excerpt).contains("Wrote greeting to hello.txt");
+	}
+
+	@Test
+	void errorsAreKeptWithoutQuery() {
+		String text = transcript(2_500) + "\nERROR: compilation failed\n" + transcript(2_500);
+
+		String excerpt = excerpter.excerpt(text, 500, null);
+
+		assertThat(excerpt).contains("ERROR: compilation failed");
+	}
+
+	@Test
+	void customEstimatorIsUsed() {
+		TextExcerpter perWord = TextExcerpter.builder().estimator(text -> text.split(" ").length).build();
+
+		String excerpt = perWord.excerpt(transcript(1_000), 100, null);
+
+		assertThat(perWord.estimator().estimate(excerpt)).isLessThanOrEqualTo(100);
+	}
+
+	@Test
+	void builderRejectsInvalidShares() {
+		assertThatThrownBy(() -> TextExcerpter.builder().shares(0.7, 0.5)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	// ==================== Helper Methods ====================
+
+	private static String transcript(int lines) {
+		return IntStream.range(0, lines).mapToObj(i -> "line " + i + " routine work").collect(Collectors.joining("\n"));
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 Spring AI Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springaicommunity.judge.llm.prompt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link WorkspaceDigest}.
+ *
+ * @author Mark Pollack
+ * @since 0.9.0
+ */
+class WorkspaceDigestTest {
+
+	@TempDir
+	Path workspace;
+
+	private final WorkspaceDigest digests = WorkspaceDigest.builder().build();
+
+	private final Instant startedAt = Instant.now().minusSeconds(60);
+
+	// ==================== File Tree ====================
+
+	@Test
+	void listsFilesAndMarksChangedOnes() throws Exception {
+		write("README.md", "old", startedAt.minusSeconds(3600));
+		write("src/App.java", "class App {}", Instant.now());
+
+		String digest = digests.digest(workspace, startedAt, 500);
+
+		assertThat(digest).contains("Files (2, * = changed since start):");
+		assertThat(digest).contains("  README.md (3 bytes)");
+		assertThat(digest).contains("* src/App.java (12 bytes)");
+	}
+
+	@Test
+	void ignoredDirectoriesAreSkipped() throws Exception {
+		write("src/App.java", "class App {}", Instant.now());
+		write("target/App.class", "bytes", Instant.now());
+		write("node_modules/lib.js", "lib", Instant.now());
+
+		String digest = WorkspaceDigest.builder().ignore("node_modules").build().digest(workspace, startedAt, 500);
+
+		assertThat(digest).contains("src/App.java").doesNotContain("target").doesNotContain("node_modules");
+	}
+
+	@Test
+	void largeTreeListsChangedFilesFirst() throws Exception {
+		for (int i = 0; i < 200; i++) {
+			write("old/file" + i + ".txt", "old", startedAt.minusSeconds(3600));
+		}
+		write("zz/changed.txt", "new", Instant.now());
+
+		String digest = digests.digest(workspace, startedAt, 200);
+
+		assertThat(digest).contains("* zz/changed.txt").contains("more files");
+		assertThat(TokenEstimator.approximate().estimate(digest)).isLessThanOrEqualTo(200);
+	}
+
+	// ==================== Changed Files ====================
+
+	@Test
+	void changedFilesAreExcerpted() throws Exception {
+		write("old.txt", "unchanged content", startedAt.minusSeconds(3600));
+		write("hello.txt", "Hello, world", Instant.now());
+
+		String digest = digests.digest(workspace, startedAt, 500);
+
+		assertThat(digest).contains("--- hello.txt ---\nHello, world");
+		assertThat(digest).doesNotContain("unchanged content");
+	}
+
+	@Test
+	void binaryFilesAreNotExcerpted() throws Exception {
+		Files.write(workspace.resolve("image.png"), new byte[] { (byte) 0x89, 0, 1, 2 });
+
+		String digest = digests.digest(workspace, startedAt, 500);
+
+		assertThat(digest).contains("* image.png").doesNotContain("--- image.png ---");
+	}
+
+	@Test
+	void withoutBaselineOnlyTheTreeIsListed() throws Exception {
+		write("hello.txt", "Hello, world", Instant.now());
+
+		String digest = digests.digest(workspace, null, 500);
+
+		assertThat(digest).isEqualTo("Files (1):\n  hello.txt (12 bytes)");
+	}
+
+	// ==================== Caching ====================
+
+	@Test
+	void unchangedWorkspaceReusesDigest() throws Exception {
+		write("hello.txt", "Hello, world", Instant.now());
+
+		String first = digests.digest(workspace, startedAt, 500);
+		String second = digests.digest(workspace, startedAt, 500);
+
+		assertThat(second).isSameAs(first);
+	}
+
+	@Test
+	void changedWorkspaceGetsNewDigest() throws Exception {
+		write("hello.txt", "Hello, world", Instant.now());
+		String first = digests.digest(workspace, startedAt, 500);
+
+		write("hello.txt", "Goodbye, world", Instant.now().plusSeconds(5));
+		String second = digests.digest(workspace, startedAt, 500);
+
+		assertThat(second).contains("Goodbye, world").isNotEqualTo(first);
+	}
+
+	@Test
+	void missingWorkspaceYieldsEmptyDigest() {
+		assertThat(digests.digest(null, startedAt, 500)).isEmpty();
+		assertThat(digests.digest(workspace.resolve("missing"), startedAt, 500)).isEmpty();
+	}
+
+	// ==================== Helper Methods ====================
+
+	private void write(String relativePath, String content, Instant modified) throws Exception {
+		Path file = workspace.resolve(relativePath);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content);
+		Files.setLastModifiedTime(file, FileTime.from(modified));
+	}
+
+}